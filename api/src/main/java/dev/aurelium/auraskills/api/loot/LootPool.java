@@ -1,7 +1,8 @@
 package dev.aurelium.auraskills.api.loot;
 
+import org.jetbrains.annotations.Nullable;
+
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class LootPool extends LootOptioned {
 
@@ -11,6 +12,9 @@ public class LootPool extends LootOptioned {
     private final int selectionPriority;
     private final boolean overrideVanillaLoot;
     private final Random random = new Random();
+    // Samplers for all loot and for the loot that can drop in each context, built once since loot doesn't change
+    private final LootSampler allLoot;
+    private final Map<String, ContextIndex> contextIndexes;
 
     public LootPool(String name, List<Loot> loot, double baseChance, int selectionPriority, boolean overrideVanillaLoot, Map<String, Object> options, LootRequirements requirements) {
         super(options, requirements);
@@ -19,6 +23,8 @@ public class LootPool extends LootOptioned {
         this.baseChance = baseChance;
         this.selectionPriority = selectionPriority;
         this.overrideVanillaLoot = overrideVanillaLoot;
+        this.allLoot = new LootSampler(loot);
+        this.contextIndexes = indexContexts();
     }
 
     public String getName() {
@@ -50,28 +56,96 @@ public class LootPool extends LootOptioned {
      * @return the selected Loot as an optional
      */
     public Optional<Loot> rollLoot(LootContextFilter filter) {
-        List<Loot> lootList = new ArrayList<>(loot).stream()
-                .filter(filter::passesFilter)
-                .collect(Collectors.toList());
+        return Optional.ofNullable(allLoot.sample(random, filter));
+    }
+
+    /**
+     * Rolls a {@link Loot} entry like {@link #rollLoot(LootContextFilter)}, only considering entries that can drop
+     * in a context. An entry can drop in the context if it doesn't define any contexts of the context type, or if
+     * the provided context is one of the entry's contexts of that type. Entries are grouped by context when the pool
+     * is created, so the filter should only be used for checks that can change, such as loot requirements.
+     *
+     * @param contextType the key of the context type, such as sources or mobs
+     * @param context the context to roll in, or null to consider every entry
+     * @param filter a filter checked on the selected loot entry, if the filter returns false the entry is rerolled
+     * @return the selected Loot as an optional
+     */
+    public Optional<Loot> rollLoot(String contextType, @Nullable LootContext context, LootContextFilter filter) {
+        return Optional.ofNullable(getSampler(contextType, context).sample(random, filter));
+    }
+
+    /**
+     * Gets whether any loot entry in the pool can drop in a context, not including
+     * entries with a weight of 0 or less.
+     *
+     * @param contextType the key of the context type, such as sources or mobs
+     * @param context the context to check
+     * @return whether the pool has loot for the context
+     */
+    public boolean hasLoot(String contextType, @Nullable LootContext context) {
+        return !getSampler(contextType, context).isEmpty();
+    }
 
-        int totalWeight = 0;
-        for (Loot loot : lootList) {
-            totalWeight += loot.getValues().getWeight();
+    private LootSampler getSampler(String contextType, @Nullable LootContext context) {
+        if (context == null) {
+            return allLoot;
+        }
+        ContextIndex index = contextIndexes.get(contextType);
+        if (index == null) { // No entries define contexts of this type
+            return allLoot;
         }
-        if (totalWeight == 0) { // Don't attempt selection if no loot entries are applicable
-            return Optional.empty();
+        LootSampler sampler = index.byContext.get(context);
+        return sampler != null ? sampler : index.unrestricted;
+    }
+
+    private Map<String, ContextIndex> indexContexts() {
+        Map<String, Set<LootContext>> contextsByType = new HashMap<>();
+        for (Loot entry : loot) {
+            for (Map.Entry<String, Set<LootContext>> contextEntry : entry.getValues().getContexts().entrySet()) {
+                Set<LootContext> contexts = contextsByType.get(contextEntry.getKey());
+                if (contexts == null) {
+                    contexts = new HashSet<>();
+                    contextsByType.put(contextEntry.getKey(), contexts);
+                }
+                contexts.addAll(contextEntry.getValue());
+            }
         }
-        int selected = random.nextInt(totalWeight);
-        int currentWeight = 0;
-        Loot selectedLoot = null;
-        for (Loot loot : lootList) {
-            if (selected >= currentWeight && selected < currentWeight + loot.getValues().getWeight()) {
-                selectedLoot = loot;
-                break;
+        Map<String, ContextIndex> indexes = new HashMap<>();
+        for (Map.Entry<String, Set<LootContext>> typeEntry : contextsByType.entrySet()) {
+            String contextType = typeEntry.getKey();
+            Map<LootContext, LootSampler> byContext = new HashMap<>();
+            for (LootContext context : typeEntry.getValue()) {
+                List<Loot> matching = new ArrayList<>();
+                for (Loot entry : loot) {
+                    Set<LootContext> contexts = entry.getValues().getContexts().get(contextType);
+                    if (contexts == null || contexts.contains(context)) {
+                        matching.add(entry);
+                    }
+                }
+                byContext.put(context, new LootSampler(matching));
+            }
+            // Entries without contexts of this type drop in any context
+            List<Loot> unrestricted = new ArrayList<>();
+            for (Loot entry : loot) {
+                if (entry.getValues().getContexts().get(contextType) == null) {
+                    unrestricted.add(entry);
+                }
             }
-            currentWeight += loot.getValues().getWeight();
+            indexes.put(contextType, new ContextIndex(new LootSampler(unrestricted), byContext));
         }
-        return Optional.ofNullable(selectedLoot);
+        return indexes;
+    }
+
+    private static class ContextIndex {
+
+        private final LootSampler unrestricted;
+        private final Map<LootContext, LootSampler> byContext;
+
+        private ContextIndex(LootSampler unrestricted, Map<LootContext, LootSampler> byContext) {
+            this.unrestricted = unrestricted;
+            this.byContext = byContext;
+        }
+
     }
 
 }
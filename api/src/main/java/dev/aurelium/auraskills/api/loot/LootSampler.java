@@ -0,0 +1,118 @@
+package dev.aurelium.auraskills.api.loot;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Selects loot entries randomly by weight in constant time using an alias table built with Vose's method.
+ * Entries with a weight of 0 or less can never be selected and are left out.
+ */
+final class LootSampler {
+
+    // Number of samples rejected by the filter before falling back to a linear scan
+    private static final int MAX_REJECTIONS = 4;
+
+    private final Loot[] loot;
+    private final double[] probability;
+    private final int[] alias;
+
+    LootSampler(List<Loot> entries) {
+        List<Loot> weighted = new ArrayList<>();
+        long totalWeight = 0;
+        for (Loot entry : entries) {
+            int weight = entry.getValues().getWeight();
+            if (weight > 0) {
+                weighted.add(entry);
+                totalWeight += weight;
+            }
+        }
+        int n = weighted.size();
+        this.loot = weighted.toArray(new Loot[0]);
+        this.probability = new double[n];
+        this.alias = new int[n];
+        if (n == 0) return;
+
+        // Weights scaled by n so that an average column is exactly totalWeight, kept as longs to avoid rounding
+        long[] scaled = new long[n];
+        Deque<Integer> small = new ArrayDeque<>();
+        Deque<Integer> large = new ArrayDeque<>();
+        for (int i = 0; i < n; i++) {
+            scaled[i] = (long) loot[i].getValues().getWeight() * n;
+            if (scaled[i] < totalWeight) {
+                small.push(i);
+            } else {
+                large.push(i);
+            }
+        }
+        while (!small.isEmpty() && !large.isEmpty()) {
+            int less = small.pop();
+            int more = large.pop();
+            probability[less] = (double) scaled[less] / totalWeight;
+            alias[less] = more;
+            // The larger entry fills the rest of the smaller entry's column
+            scaled[more] = scaled[more] + scaled[less] - totalWeight;
+            if (scaled[more] < totalWeight) {
+                small.push(more);
+            } else {
+                large.push(more);
+            }
+        }
+        while (!large.isEmpty()) {
+            probability[large.pop()] = 1.0;
+        }
+        while (!small.isEmpty()) {
+            probability[small.pop()] = 1.0;
+        }
+    }
+
+    boolean isEmpty() {
+        return loot.length == 0;
+    }
+
+    /**
+     * Selects an entry that passes the filter. Entries are sampled from the alias table and rejected
+     * if they fail the filter, which gives the same distribution as only sampling passing entries.
+     * If too many samples are rejected, the passing entries are found with a single weighted scan.
+     *
+     * @param random the random to sample with
+     * @param filter the filter entries must pass
+     * @return the selected entry, or null if no entries pass the filter
+     */
+    @Nullable
+    Loot sample(Random random, LootContextFilter filter) {
+        if (loot.length == 0) {
+            return null;
+        }
+        for (int attempt = 0; attempt < MAX_REJECTIONS; attempt++) {
+            int column = random.nextInt(loot.length);
+            Loot selected = random.nextDouble() < probability[column] ? loot[column] : loot[alias[column]];
+            if (filter.passesFilter(selected)) {
+                return selected;
+            }
+        }
+        return scan(random, filter);
+    }
+
+    // Weighted reservoir sampling over the passing entries, so each entry is filtered only once
+    @Nullable
+    private Loot scan(Random random, LootContextFilter filter) {
+        Loot selected = null;
+        long totalWeight = 0;
+        for (Loot entry : loot) {
+            if (!filter.passesFilter(entry)) continue;
+
+            int weight = entry.getValues().getWeight();
+            totalWeight += weight;
+            if (random.nextDouble() * totalWeight < weight) {
+                selected = entry;
+            }
+        }
+        return selected;
+    }
+
+}
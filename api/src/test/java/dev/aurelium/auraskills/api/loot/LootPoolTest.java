@@ -0,0 +1,79 @@
+package dev.aurelium.auraskills.api.loot;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LootPoolTest {
+
+    private static final LootRequirements NO_REQUIREMENTS = new LootRequirements() {
+        @Override
+        public boolean checkByUuid(UUID uuid) {
+            return true;
+        }
+    };
+
+    private static final LootContext FISH = () -> "fish";
+    private static final LootContext TREASURE = () -> "treasure";
+
+    private static Loot loot(int weight, Map<String, Set<LootContext>> contexts) {
+        return new Loot(new LootValues(weight, null, contexts, Collections.emptyMap(), NO_REQUIREMENTS)) {};
+    }
+
+    private static LootPool pool(Loot... loot) {
+        return new LootPool("test", Arrays.asList(loot), 1.0, 1, false, Collections.emptyMap(), NO_REQUIREMENTS);
+    }
+
+    @Test
+    void testWeights() {
+        Loot common = loot(30, Collections.emptyMap());
+        Loot rare = loot(10, Collections.emptyMap());
+        Loot never = loot(0, Collections.emptyMap());
+        LootPool pool = pool(common, rare, never);
+
+        Map<Loot, Integer> counts = new HashMap<>();
+        int rolls = 40000;
+        for (int i = 0; i < rolls; i++) {
+            Loot selected = pool.rollLoot(loot -> true).orElseThrow(IllegalStateException::new);
+            counts.merge(selected, 1, Integer::sum);
+        }
+        assertNull(counts.get(never));
+        assertEquals(0.75, counts.get(common) / (double) rolls, 0.02);
+        assertEquals(0.25, counts.get(rare) / (double) rolls, 0.02);
+    }
+
+    @Test
+    void testFilter() {
+        Loot passing = loot(1, Collections.emptyMap());
+        Loot failing = loot(1000, Collections.emptyMap());
+        LootPool pool = pool(passing, failing);
+
+        for (int i = 0; i < 100; i++) {
+            assertSame(passing, pool.rollLoot(loot -> loot != failing).orElse(null));
+        }
+        assertFalse(pool.rollLoot(loot -> false).isPresent());
+    }
+
+    @Test
+    void testContexts() {
+        Loot anywhere = loot(1, Collections.emptyMap());
+        Loot fishOnly = loot(1, Collections.singletonMap("sources", Collections.singleton(FISH)));
+        LootPool pool = pool(anywhere, fishOnly);
+
+        assertTrue(pool.hasLoot("sources", FISH));
+        assertTrue(pool.hasLoot("sources", TREASURE));
+        for (int i = 0; i < 100; i++) {
+            assertSame(anywhere, pool.rollLoot("sources", TREASURE, loot -> true).orElse(null));
+            assertSame(fishOnly, pool.rollLoot("sources", FISH, loot -> loot != anywhere).orElse(null));
+        }
+
+        LootPool restricted = pool(fishOnly);
+        assertFalse(restricted.hasLoot("sources", TREASURE));
+        assertFalse(restricted.rollLoot("sources", TREASURE, loot -> true).isPresent());
+        // Context types no entry defines don't restrict anything
+        assertTrue(restricted.hasLoot("mobs", TREASURE));
+    }
+
+}
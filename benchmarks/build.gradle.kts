@@ -0,0 +1,59 @@
+plugins {
+    java
+    id("me.champeau.jmh") version "0.7.3"
+}
+
+java {
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(21)
+    }
+}
+
+repositories {
+    mavenCentral()
+    maven("https://central.sonatype.com/repository/maven-snapshots/")
+    maven("https://hub.spigotmc.org/nexus/content/repositories/snapshots/")
+    maven("https://repo.aikar.co/content/groups/aikar/")
+    maven("https://repo.codemc.io/repository/maven-public/")
+    maven("https://repo.papermc.io/repository/maven-public/")
+    maven("https://jitpack.io")
+}
+
+dependencies {
+    jmh(project(":bukkit"))
+    jmh(project(":common"))
+    jmh(testFixtures(project(":common")))
+    jmh("org.mockbukkit.mockbukkit:mockbukkit-v1.21:4.59.0")
+    jmh("org.slf4j:slf4j-simple:2.0.17")
+    jmh("com.google.guava:guava:33.2.1-jre")
+    jmh("org.jetbrains:annotations:24.1.0")
+}
+
+val compiler = javaToolchains.compilerFor {
+    languageVersion = JavaLanguageVersion.of(21)
+}
+
+tasks.withType<JavaCompile> {
+    options.encoding = "UTF-8"
+    options.compilerArgs.add("-parameters")
+    options.isFork = true
+    options.forkOptions.executable = compiler.map { it.executablePath }.get().toString()
+}
+
+// Run with ./gradlew :benchmarks:jmh, or -PjmhIncludes=BlockSource to run matching benchmarks only
+jmh {
+    if (project.hasProperty("jmhIncludes")) {
+        includes = listOf(project.property("jmhIncludes") as String)
+    }
+    benchmarkMode = listOf("thrpt")
+    timeUnit = "s"
+    fork = 1
+    warmupIterations = 3
+    warmup = "2s"
+    iterations = 5
+    timeOnIteration = "2s"
+    // The gc profiler reports the allocation rate and bytes allocated per operation
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+    resultsFile = project.file("build/results/jmh/results.json")
+}
@@ -0,0 +1,62 @@
+package dev.aurelium.auraskills.benchmarks;
+
+import dev.aurelium.auraskills.api.source.SkillSource;
+import dev.aurelium.auraskills.api.source.type.BlockXpSource;
+import dev.aurelium.auraskills.api.source.type.BlockXpSource.BlockTriggers;
+import dev.aurelium.auraskills.bukkit.source.BlockLeveler;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.Ageable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Finding the source of a broken or placed block, which runs on every block break, interact and place.
+ */
+@State(Scope.Benchmark)
+public class BlockSourceBenchmark {
+
+    private BlockLeveler blockLeveler;
+    private Block stone;
+    private Block wheat;
+    private Block notSource;
+
+    @Setup
+    public void setUp(ServerState server) {
+        blockLeveler = server.plugin.getLevelManager().getLeveler(BlockLeveler.class);
+        World world = server.server.addSimpleWorld("benchmark");
+
+        stone = world.getBlockAt(0, 64, 0);
+        stone.setType(Material.STONE);
+
+        // Crops only match their source when fully grown
+        wheat = world.getBlockAt(1, 64, 0);
+        wheat.setType(Material.WHEAT);
+        if (wheat.getBlockData() instanceof Ageable ageable) {
+            ageable.setAge(ageable.getMaximumAge());
+            wheat.setBlockData(ageable);
+        }
+
+        notSource = world.getBlockAt(2, 64, 0);
+        notSource.setType(Material.CRAFTING_TABLE);
+    }
+
+    @Benchmark
+    public SkillSource<BlockXpSource> getSource() {
+        return blockLeveler.getSource(stone, BlockTriggers.BREAK);
+    }
+
+    @Benchmark
+    public SkillSource<BlockXpSource> getSourceWithStates() {
+        return blockLeveler.getSource(wheat, BlockTriggers.BREAK);
+    }
+
+    @Benchmark
+    public SkillSource<BlockXpSource> getSourceMiss() {
+        return blockLeveler.getSource(notSource, BlockTriggers.BREAK);
+    }
+
+}
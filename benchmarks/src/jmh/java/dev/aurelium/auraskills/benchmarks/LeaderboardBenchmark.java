@@ -0,0 +1,64 @@
+package dev.aurelium.auraskills.benchmarks;
+
+import dev.aurelium.auraskills.api.skill.Skill;
+import dev.aurelium.auraskills.api.skill.Skills;
+import dev.aurelium.auraskills.common.leaderboard.LeaderboardManager;
+import dev.aurelium.auraskills.common.leaderboard.SkillValue;
+import dev.aurelium.auraskills.common.user.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Keeping leaderboards sorted as users gain XP, and reading ranks and pages.
+ */
+@State(Scope.Benchmark)
+public class LeaderboardBenchmark {
+
+    @Param({"10000"})
+    public int users;
+
+    private final Random random = new Random(0);
+    private LeaderboardManager leaderboardManager;
+    private User[] leaderboardUsers;
+
+    @Setup
+    public void setUp(ServerState server) {
+        leaderboardManager = server.plugin.getLeaderboardManager();
+        leaderboardUsers = new User[users];
+        for (int i = 0; i < users; i++) {
+            // Users aren't added to the user manager so they stay offline
+            User user = server.plugin.getUserManager().createNewUser(UUID.randomUUID(), null);
+            for (Skill skill : server.plugin.getSkillManager().getEnabledSkills()) {
+                user.setSkillLevel(skill, 1 + random.nextInt(100));
+                user.setSkillXp(skill, random.nextInt(1000));
+            }
+            leaderboardManager.updateUser(user);
+            leaderboardUsers[i] = user;
+        }
+    }
+
+    @Benchmark
+    public void updateUser() {
+        User user = leaderboardUsers[random.nextInt(users)];
+        user.setSkillXp(Skills.MINING, random.nextInt(1000));
+        leaderboardManager.updateUser(user, Skills.MINING);
+    }
+
+    @Benchmark
+    public int getSkillRank() {
+        return leaderboardManager.getSkillRank(Skills.MINING, leaderboardUsers[random.nextInt(users)].getUuid());
+    }
+
+    @Benchmark
+    public List<SkillValue> getLeaderboardPage() {
+        return leaderboardManager.getLeaderboard(Skills.MINING, 1 + random.nextInt(100), 10);
+    }
+
+}
@@ -0,0 +1,57 @@
+package dev.aurelium.auraskills.benchmarks;
+
+import dev.aurelium.auraskills.api.loot.Loot;
+import dev.aurelium.auraskills.api.loot.LootPool;
+import dev.aurelium.auraskills.api.loot.LootRequirements;
+import dev.aurelium.auraskills.api.loot.LootValues;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Rolling a weighted loot entry from a pool, which runs whenever a loot pool's chance succeeds.
+ */
+@State(Scope.Benchmark)
+public class LootPoolBenchmark {
+
+    private static final LootRequirements NO_REQUIREMENTS = new LootRequirements() {
+        @Override
+        public boolean checkByUuid(UUID uuid) {
+            return true;
+        }
+    };
+
+    @Param({"10", "100"})
+    public int entries;
+
+    private LootPool pool;
+
+    @Setup
+    public void setUp() {
+        List<Loot> loot = new ArrayList<>();
+        for (int i = 0; i < entries; i++) {
+            loot.add(new Loot(new LootValues(1 + i % 10, null, Map.of(), Map.of(), NO_REQUIREMENTS)) {});
+        }
+        pool = new LootPool("benchmark", loot, 1.0, 1, false, Map.of(), NO_REQUIREMENTS);
+    }
+
+    @Benchmark
+    public Optional<Loot> rollLoot() {
+        return pool.rollLoot(loot -> true);
+    }
+
+    @Benchmark
+    public Optional<Loot> rollLootFiltered() {
+        // Half of the entries fail their filter, like loot with requirements the player doesn't meet
+        return pool.rollLoot(loot -> loot.getValues().getWeight() % 2 == 0);
+    }
+
+}
@@ -0,0 +1,69 @@
+package dev.aurelium.auraskills.benchmarks;
+
+import dev.aurelium.auraskills.api.skill.Skill;
+import dev.aurelium.auraskills.api.source.SkillSource;
+import dev.aurelium.auraskills.api.source.type.BlockXpSource;
+import dev.aurelium.auraskills.bukkit.AuraSkills;
+import dev.aurelium.auraskills.common.user.User;
+import dev.aurelium.auraskills.common.util.TestSession;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.UUID;
+
+import static dev.aurelium.auraskills.bukkit.ref.BukkitPlayerRef.wrap;
+
+/**
+ * A mocked server with the plugin loaded and one online user, shared by the benchmarks that
+ * need the platform. The plugin is loaded the same way as in the bukkit module tests.
+ */
+@State(Scope.Benchmark)
+public class ServerState {
+
+    public ServerMock server;
+    public AuraSkills plugin;
+    public PlayerMock player;
+    public User user;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        server = MockBukkit.mock();
+        plugin = MockBukkit.load(AuraSkills.class, TestSession.create());
+        server.getScheduler().performOneTick(); // Loads skills and sources
+
+        player = new PlayerMock(server, "benchmark", UUID.randomUUID());
+        server.addPlayer(player);
+        user = plugin.getUserManager().getUser(player.getUniqueId());
+        if (user == null) {
+            user = plugin.getUserManager().createNewUser(player.getUniqueId(), wrap(player));
+            plugin.getUserManager().addUser(user);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    /**
+     * Gets the first block source of a skill.
+     *
+     * @param skill the skill
+     * @return the source
+     */
+    public BlockXpSource getBlockSource(Skill skill) {
+        for (SkillSource<BlockXpSource> entry : plugin.getSkillManager().getSourcesOfType(BlockXpSource.class)) {
+            if (entry.skill().equals(skill)) {
+                return entry.source();
+            }
+        }
+        throw new IllegalStateException("No block source loaded for " + skill.getId());
+    }
+
+}
@@ -0,0 +1,56 @@
+package dev.aurelium.auraskills.benchmarks;
+
+import dev.aurelium.auraskills.api.skill.Skill;
+import dev.aurelium.auraskills.api.stat.StatModifier;
+import dev.aurelium.auraskills.api.stat.Stats;
+import dev.aurelium.auraskills.api.util.AuraSkillsModifier.Operation;
+import dev.aurelium.auraskills.common.reward.RewardTable;
+import dev.aurelium.auraskills.common.user.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+
+/**
+ * Recalculating stat levels from skill rewards and modifiers.
+ */
+@State(Scope.Benchmark)
+public class StatBenchmark {
+
+    @Param({"50"})
+    public int skillLevel;
+
+    @Param({"20"})
+    public int modifiers;
+
+    private User user;
+    private RewardTable rewardTable;
+
+    @Setup
+    public void setUp(ServerState server) {
+        user = server.user;
+        for (Skill skill : server.plugin.getSkillManager().getEnabledSkills()) {
+            user.setSkillLevel(skill, skillLevel);
+        }
+        Operation[] operations = Operation.values();
+        for (int i = 0; i < modifiers; i++) {
+            user.addStatModifier(new StatModifier("benchmark_" + i, Stats.STRENGTH, i, operations[i % operations.length]), false);
+        }
+        rewardTable = server.plugin.getRewardManager().getRewardTable(server.plugin.getSkillManager().getEnabledSkills().iterator().next());
+    }
+
+    @Benchmark
+    public double recalculateStat() {
+        user.getUserStats().recalculateStat(Stats.STRENGTH);
+        return user.getStatLevel(Stats.STRENGTH);
+    }
+
+    @Benchmark
+    public Map<?, Double> getStatLevels() {
+        return rewardTable.getStatLevels(skillLevel);
+    }
+
+}
@@ -0,0 +1,50 @@
+package dev.aurelium.auraskills.benchmarks;
+
+import dev.aurelium.auraskills.api.skill.Skills;
+import dev.aurelium.auraskills.api.source.type.BlockXpSource;
+import dev.aurelium.auraskills.common.level.LevelManager;
+import dev.aurelium.auraskills.common.user.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The XP gain path run on every source: addXp, calculateMultiplier, addXpRaw, checkLevelUp and sendXpUi.
+ */
+@State(Scope.Benchmark)
+public class XpGainBenchmark {
+
+    private LevelManager levelManager;
+    private User user;
+    private BlockXpSource source;
+    private double levelUpXp;
+
+    @Setup
+    public void setUp(ServerState server) {
+        levelManager = server.plugin.getLevelManager();
+        user = server.user;
+        source = server.getBlockSource(Skills.MINING);
+        levelUpXp = server.plugin.getXpRequirements().getXpRequired(Skills.MINING, 11);
+    }
+
+    @Benchmark
+    public void addXp() {
+        // Reset so the gain never levels up
+        user.setSkillXp(Skills.MINING, 0.0);
+        levelManager.addXp(user, Skills.MINING, source, 1.0);
+    }
+
+    @Benchmark
+    public void addXpWithLevelUp() {
+        user.setSkillLevel(Skills.MINING, 10);
+        user.setSkillXp(Skills.MINING, 0.0);
+        levelManager.addXp(user, Skills.MINING, source, levelUpXp);
+    }
+
+    @Benchmark
+    public double calculateMultiplier() {
+        return levelManager.calculateMultiplier(user, Skills.MINING);
+    }
+
+}
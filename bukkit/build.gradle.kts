@@ -65,6 +65,9 @@ dependencies {
     testImplementation("org.mockbukkit.mockbukkit:mockbukkit-v1.21:4.59.0")
     testImplementation("org.slf4j:slf4j-simple:2.0.17")
     testImplementation("com.mysql:mysql-connector-j:9.3.0")
+    testImplementation("com.h2database:h2:2.2.224")
+    testImplementation("org.xerial:sqlite-jdbc:3.46.1.3")
+    testImplementation("com.zaxxer:HikariCP:5.1.0")
     testImplementation(platform("org.junit:junit-bom:5.13.2"))
     testImplementation("org.junit.jupiter:junit-jupiter")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
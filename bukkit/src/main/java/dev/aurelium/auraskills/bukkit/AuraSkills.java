@@ -53,6 +53,7 @@ import dev.aurelium.auraskills.bukkit.trait.BukkitTraitManager;
 import dev.aurelium.auraskills.bukkit.ui.BukkitUiProvider;
 import dev.aurelium.auraskills.bukkit.user.BukkitUser;
 import dev.aurelium.auraskills.bukkit.user.BukkitUserManager;
+import dev.aurelium.auraskills.bukkit.user.PermissionMultiplierListener;
 import dev.aurelium.auraskills.bukkit.util.BukkitPlatformUtil;
 import dev.aurelium.auraskills.bukkit.util.MetricsUtil;
 import dev.aurelium.auraskills.bukkit.util.UpdateChecker;
@@ -89,6 +90,7 @@ import dev.aurelium.auraskills.common.storage.StorageFactory;
 import dev.aurelium.auraskills.common.storage.StorageProvider;
 import dev.aurelium.auraskills.common.storage.StorageType;
 import dev.aurelium.auraskills.common.storage.backup.BackupProvider;
+import dev.aurelium.auraskills.common.storage.file.FileStorageProvider;
 import dev.aurelium.auraskills.common.storage.sql.SqlStorageProvider;
 import dev.aurelium.auraskills.common.trait.TraitRegistry;
 import dev.aurelium.auraskills.common.user.User;
@@ -159,6 +161,7 @@ public class AuraSkills extends JavaPlugin implements AuraSkillsPlugin {
     private BukkitWorldManager worldManager;
     private BukkitLootManager lootManager;
     private BukkitModifierManager modifierManager;
+    private ItemEffectCache itemEffectCache;
     private RequirementManager requirementManager;
     private BackupProvider backupProvider;
     private InventoryManager inventoryManager;
@@ -171,9 +174,10 @@ public class AuraSkills extends JavaPlugin implements AuraSkillsPlugin {
     private BukkitAntiAfkManager antiAfkManager;
     private boolean nbtApiEnabled;
     // SkillCoins system
-    private dev.aurelium.auraskills.common.skillcoins.FileSkillCoinsStorage skillCoinsStorage;
+    private dev.aurelium.auraskills.common.skillcoins.SkillCoinsStorage skillCoinsStorage;
     private dev.aurelium.auraskills.common.skillcoins.SkillCoinsEconomy skillCoinsEconomy;
     private dev.aurelium.auraskills.bukkit.skillcoins.shop.ShopLoader shopLoader;
+    private dev.aurelium.auraskills.common.skillcoins.LevelPricing levelPricing;
     private dev.aurelium.auraskills.bukkit.skillcoins.vault.VaultEconomyManager vaultEconomyManager;
     // For unit tests
     private final boolean isMock;
@@ -251,11 +255,13 @@ public class AuraSkills extends JavaPlugin implements AuraSkillsPlugin {
         worldManager = new BukkitWorldManager(this);
         worldManager.loadWorlds(); // Requires generateConfigs before
         regionManager = new BukkitRegionManager(this);
+        scheduler.executeAsync(regionManager::migrateLegacyRegions); // Convert .asrg region files to the binary format
         backupProvider = new BackupProvider(this);
         xpRequirements = new XpRequirements(this);
         leaderboardManager = new LeaderboardManager(this, new BukkitLeaderboardExclusion(this));
         uiProvider = new BukkitUiProvider(this);
         modifierManager = new BukkitModifierManager(this);
+        itemEffectCache = new ItemEffectCache();
         inventoryManager = new InventoryManager(this, Scheduler.createScheduler(this));
         inventoryManager.init();
         rewardManager = new RewardManager(this); // Loaded later
@@ -290,6 +296,7 @@ public class AuraSkills extends JavaPlugin implements AuraSkillsPlugin {
             uiProvider.getBossBarManager().loadOptions(); // Requires skills registered
             requirementManager = new RequirementManager(this); // Requires skills registered
             rewardManager.loadRewards(); // Requires skills loaded
+            loadLevelPricing(); // Requires skills loaded
             lootManager.loadLootTables(); // Requires skills registered
             // Register default content
             traitManager.registerTraitImplementations();
@@ -340,16 +347,12 @@ public class AuraSkills extends JavaPlugin implements AuraSkillsPlugin {
             // Save users
             for (User user : userManager.getUserMap().values()) {
                 user.cleanUp(); // Remove Fleeting
-                try {
-                    storageProvider.save(user);
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
             }
+            storageProvider.saveAll(userManager.getUserMap().values());
             userManager.getUserMap().clear();
         }
         if (regionManager != null) {
-            regionManager.saveAllRegions(false, true);
+            regionManager.saveAllRegions();
             regionManager.clearRegionMap();
         }
         leaderboardManager.getLeaderboardExclusion().saveToFile(); // Save excluded leaderboard players
@@ -388,9 +391,11 @@ public class AuraSkills extends JavaPlugin implements AuraSkillsPlugin {
             logger.warn("Error creating automatic backup");
             e.printStackTrace();
         }
-        // Shut down connection pool
+        // Shut down connection pool or close the user summary file
         if (storageProvider instanceof SqlStorageProvider sqlStorageProvider) {
             sqlStorageProvider.getPool().disable();
+        } else if (storageProvider instanceof FileStorageProvider fileStorageProvider) {
+            fileStorageProvider.closeSummary();
         }
         if (itemRegistry != null) {
             itemRegistry.getStorage().save();
@@ -474,8 +479,11 @@ public class AuraSkills extends JavaPlugin implements AuraSkillsPlugin {
     }
 
     private void initStorageProvider() {
-        // MySQL storage
-        StorageType type = configBoolean(Option.SQL_ENABLED) ? StorageType.MYSQL : StorageType.YAML;
+        // MySQL or embedded SQLite storage
+        StorageType type = StorageType.YAML;
+        if (configBoolean(Option.SQL_ENABLED)) {
+            type = configString(Option.SQL_TYPE).equalsIgnoreCase("sqlite") ? StorageType.SQLITE : StorageType.MYSQL;
+        }
         StorageFactory storageFactory = new BukkitStorageFactory(this);
         storageProvider = storageFactory.createStorageProvider(type);
         storageProvider.startAutoSaving();
@@ -484,7 +492,21 @@ public class AuraSkills extends JavaPlugin implements AuraSkillsPlugin {
     private void initializeSkillCoins() {
         try {
             // Initialize storage
-            skillCoinsStorage = new dev.aurelium.auraskills.common.skillcoins.FileSkillCoinsStorage(this);
+            boolean writeBehind = configBoolean(Option.SKILLCOINS_STORAGE_WRITE_BEHIND_ENABLED);
+            if (storageProvider instanceof SqlStorageProvider sqlStorageProvider && configBoolean(Option.SKILLCOINS_STORAGE_SQL_ENABLED)) {
+                // Share the user data connection pool so balances are stored alongside user data.
+                // The journal already buffers changes with write behind, so SQL storage writes them directly
+                skillCoinsStorage = new dev.aurelium.auraskills.common.skillcoins.SqlSkillCoinsStorage(this, sqlStorageProvider.getPool(),
+                        writeBehind ? 0 : configInt(Option.SKILLCOINS_STORAGE_SQL_FLUSH_INTERVAL_MS));
+            } else {
+                skillCoinsStorage = new dev.aurelium.auraskills.common.skillcoins.FileSkillCoinsStorage(this);
+            }
+            if (writeBehind) {
+                // Journal balance changes and compact them into the player files in the background
+                skillCoinsStorage = new dev.aurelium.auraskills.common.skillcoins.JournaledSkillCoinsStorage(this, skillCoinsStorage,
+                        configInt(Option.SKILLCOINS_STORAGE_WRITE_BEHIND_FLUSH_INTERVAL_MS),
+                        configInt(Option.SKILLCOINS_STORAGE_WRITE_BEHIND_COMPACT_INTERVAL_SEC) * 1000L);
+            }
             skillCoinsStorage.initialize();
             
             // Initialize economy
@@ -551,6 +573,7 @@ public class AuraSkills extends JavaPlugin implements AuraSkillsPlugin {
         pm.registerEvents(new RegionBlockListener(this), this);
         pm.registerEvents(new PlayerDeath(this), this);
         pm.registerEvents(new JobsListener(this), this);
+        pm.registerEvents(new PermissionMultiplierListener(this), this);
         pm.registerEvents(((BukkitLeaderboardExclusion) leaderboardManager.getLeaderboardExclusion()), this);
     }
 
@@ -774,6 +797,10 @@ public class AuraSkills extends JavaPlugin implements AuraSkillsPlugin {
         return modifierManager;
     }
 
+    public ItemEffectCache getItemEffectCache() {
+        return itemEffectCache;
+    }
+
     @Override
     public BukkitAntiAfkManager getAntiAfkManager() {
         return antiAfkManager;
@@ -909,6 +936,14 @@ public class AuraSkills extends JavaPlugin implements AuraSkillsPlugin {
         return shopLoader;
     }
 
+    public dev.aurelium.auraskills.common.skillcoins.LevelPricing getLevelPricing() {
+        return levelPricing;
+    }
+
+    public void loadLevelPricing() {
+        levelPricing = new dev.aurelium.auraskills.bukkit.skillcoins.shop.LevelPricingLoader(this).load();
+    }
+
     public dev.aurelium.auraskills.bukkit.skillcoins.vault.VaultEconomyManager getVaultEconomyManager() {
         return vaultEconomyManager;
     }
@@ -38,10 +38,12 @@ public class ReloadExecutor {
         plugin.getLevelManager().loadXpRequirements();
         plugin.getUiProvider().getBossBarManager().loadOptions();
         plugin.getRewardManager().loadRewards();
+        plugin.loadLevelPricing();
         plugin.getLootManager().loadLootTables();
         plugin.getTraitManager().getTraitImpl(DamageReductionTrait.class).resetFormula();
         plugin.getTraitManager().getTraitImpl(AnvilDiscountTrait.class).resetFormula();
         plugin.getLevelManager().getLeveler(BlockLeveler.class).clearSourceCache();
+        plugin.getItemEffectCache().clear();
         // Load menus
         plugin.getMenuFileManager().generateDefaultFiles();
         plugin.getMenuFileManager().loadMenus();
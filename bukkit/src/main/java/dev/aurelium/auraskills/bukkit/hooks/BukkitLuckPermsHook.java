@@ -1,10 +1,12 @@
 package dev.aurelium.auraskills.bukkit.hooks;
 
+import dev.aurelium.auraskills.bukkit.user.BukkitUser;
 import dev.aurelium.auraskills.common.AuraSkillsPlugin;
 import dev.aurelium.auraskills.common.hooks.Hook;
 import dev.aurelium.auraskills.common.hooks.LuckPermsHook;
 import net.luckperms.api.event.node.NodeAddEvent;
 import net.luckperms.api.event.node.NodeRemoveEvent;
+import net.luckperms.api.event.user.UserDataRecalculateEvent;
 import net.luckperms.api.model.PermissionHolder;
 import net.luckperms.api.model.group.Group;
 import net.luckperms.api.model.user.User;
@@ -18,6 +20,7 @@ import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.permissions.PermissionAttachmentInfo;
@@ -46,6 +49,10 @@ public class BukkitLuckPermsHook extends LuckPermsHook implements Listener {
 
         luckPerms.getEventBus().subscribe(NodeRemoveEvent.class,
                 event -> handleEvent(event.getNode(), event.getTarget()));
+
+        // Fired when a user's permissions are recalculated, such as after a context or group change
+        luckPerms.getEventBus().subscribe(UserDataRecalculateEvent.class,
+                event -> refreshOnline(event.getUser().getUniqueId()));
     }
 
     public boolean usePermissionCache() {
@@ -66,7 +73,7 @@ public class BukkitLuckPermsHook extends LuckPermsHook implements Listener {
                         Player player = Bukkit.getPlayer(user.getUniqueId());
                         // In case if someone logs out in that 500 ms timeframe
                         if (player == null || !player.isOnline()) return;
-                        permissionCache.put(user.getUniqueId(), getMultiplierPermissions(user.getUniqueId()));
+                        updateCache(user.getUniqueId());
                     },
                     500,
                     TimeUnit.MILLISECONDS
@@ -96,7 +103,7 @@ public class BukkitLuckPermsHook extends LuckPermsHook implements Listener {
                     Player player = Bukkit.getPlayer(uuid);
                     // In case if someone logs out in that 500 ms timeframe
                     if (player == null || !player.isOnline()) continue;
-                    permissionCache.put(uuid, getMultiplierPermissions(uuid));
+                    updateCache(uuid);
                 }
             }, 500, TimeUnit.MILLISECONDS);
         }
@@ -126,7 +133,29 @@ public class BukkitLuckPermsHook extends LuckPermsHook implements Listener {
         UUID uuid = event.getPlayer().getUniqueId();
         plugin.getScheduler().executeAsync(() -> {
             if (!event.getPlayer().isOnline()) return;
-            permissionCache.put(uuid, getMultiplierPermissions(uuid));
+            updateCache(uuid);
+        });
+    }
+
+    private void updateCache(UUID uuid) {
+        permissionCache.put(uuid, getMultiplierPermissions(uuid));
+        if (plugin.getUserManager().getUser(uuid) instanceof BukkitUser user) {
+            user.refreshPermissionMultipliers();
+        }
+    }
+
+    @EventHandler
+    public void onWorldChange(PlayerChangedWorldEvent event) {
+        // Permissions can depend on the world context
+        refreshOnline(event.getPlayer().getUniqueId());
+    }
+
+    private void refreshOnline(UUID uuid) {
+        if (!permissionCache.containsKey(uuid)) return; // Not online or not cached yet
+        plugin.getScheduler().executeAsync(() -> {
+            Player player = Bukkit.getPlayer(uuid);
+            if (player == null || !player.isOnline()) return;
+            updateCache(uuid);
         });
     }
 
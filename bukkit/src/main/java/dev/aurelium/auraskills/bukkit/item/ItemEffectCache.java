@@ -0,0 +1,44 @@
+package dev.aurelium.auraskills.bukkit.item;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A bounded cache of the effects parsed from items, keyed by the AuraSkills data stored on the item.
+ * Equipping many copies of the same item only parses its data once. The least recently used entries
+ * are evicted once the cache is full.
+ */
+public class ItemEffectCache {
+
+    private static final int MAX_SIZE = 1024;
+
+    private final Map<List<Object>, ItemEffects> cache = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<Object>, ItemEffects> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+
+    synchronized ItemEffects get(List<Object> payload, Supplier<ItemEffects> parser) {
+        ItemEffects effects = cache.get(payload);
+        if (effects == null) {
+            effects = parser.get();
+            cache.put(payload, effects);
+        }
+        return effects;
+    }
+
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    /**
+     * Clears all parsed effects, which is needed when the registered stats, traits, or skills change.
+     */
+    public synchronized void clear() {
+        cache.clear();
+    }
+
+}
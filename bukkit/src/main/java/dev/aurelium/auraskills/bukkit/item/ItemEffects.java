@@ -0,0 +1,69 @@
+package dev.aurelium.auraskills.bukkit.item;
+
+import dev.aurelium.auraskills.api.item.ModifierType;
+import dev.aurelium.auraskills.api.skill.Skill;
+import dev.aurelium.auraskills.api.stat.Stat;
+import dev.aurelium.auraskills.api.trait.Trait;
+import dev.aurelium.auraskills.api.util.AuraSkillsModifier.Operation;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The modifiers, multipliers and requirements parsed from the AuraSkills data of an item. Instances are
+ * shared by every item with the same data, so names that depend on the item's slot are added by
+ * {@link SkillsItem} when the effects are read.
+ */
+final class ItemEffects {
+
+    static final ItemEffects EMPTY = new ItemEffects();
+
+    private final Map<ModifierType, List<Entry<Stat>>> statModifiers = new EnumMap<>(ModifierType.class);
+    private final Map<ModifierType, List<Entry<Trait>>> traitModifiers = new EnumMap<>(ModifierType.class);
+    private final Map<ModifierType, List<MultiplierEntry>> multipliers = new EnumMap<>(ModifierType.class);
+    private final Map<ModifierType, Map<Skill, Integer>> requirements = new EnumMap<>(ModifierType.class);
+
+    List<Entry<Stat>> getStatModifiers(ModifierType type) {
+        return statModifiers.getOrDefault(type, List.of());
+    }
+
+    List<Entry<Trait>> getTraitModifiers(ModifierType type) {
+        return traitModifiers.getOrDefault(type, List.of());
+    }
+
+    List<MultiplierEntry> getMultipliers(ModifierType type) {
+        return multipliers.getOrDefault(type, List.of());
+    }
+
+    Map<Skill, Integer> getRequirements(ModifierType type) {
+        return requirements.getOrDefault(type, Map.of());
+    }
+
+    // Setters are only used while parsing, before the instance is shared
+    void setStatModifiers(ModifierType type, List<Entry<Stat>> entries) {
+        statModifiers.put(type, List.copyOf(entries));
+    }
+
+    void setTraitModifiers(ModifierType type, List<Entry<Trait>> entries) {
+        traitModifiers.put(type, List.copyOf(entries));
+    }
+
+    void setMultipliers(ModifierType type, List<MultiplierEntry> entries) {
+        multipliers.put(type, List.copyOf(entries));
+    }
+
+    void setRequirements(ModifierType type, Map<Skill, Integer> entries) {
+        requirements.put(type, Map.copyOf(entries));
+    }
+
+    record Entry<T>(T type, double value, Operation operation) {
+
+    }
+
+    record MultiplierEntry(@Nullable Skill skill, double value) {
+
+    }
+
+}
@@ -12,17 +12,38 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.PlayerBucketEmptyEvent;
+import org.bukkit.event.player.PlayerBucketFillEvent;
+import org.bukkit.event.player.PlayerDropItemEvent;
+import org.bukkit.event.player.PlayerItemBreakEvent;
+import org.bukkit.event.player.PlayerItemConsumeEvent;
+import org.bukkit.event.player.PlayerItemHeldEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
 import org.bukkit.event.player.PlayerSwapHandItemsEvent;
 import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
 
+import java.util.Iterator;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Applies the modifiers of items held in the main hand and off hand. Events that can change a held item mark the
+ * player as dirty, and only dirty players are checked on the next run of the check task. A slower sweep checks
+ * every online player to catch changes made without an event, such as items set by other plugins.
+ */
 public class ItemListener implements Listener {
 
     private final AuraSkills plugin;
     private final ItemStateManager stateManager;
+    private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
 
     public ItemListener(AuraSkills plugin) {
         this.plugin = plugin;
@@ -34,21 +55,121 @@ public class ItemListener implements Listener {
         var task = new TaskRunnable() {
             @Override
             public void run() {
-                for (Player player : Bukkit.getOnlinePlayers()) {
-                    // Gets stored and held items
-                    ItemStack held = player.getInventory().getItemInMainHand();
-
-                    stateManager.changeItemInSlot(plugin.getUser(player), player, held, EquipmentSlot.HAND);
+                Iterator<UUID> iterator = dirty.iterator();
+                while (iterator.hasNext()) {
+                    UUID uuid = iterator.next();
+                    iterator.remove();
+                    Player player = Bukkit.getPlayer(uuid);
+                    if (player != null) {
+                        checkHeldItems(player);
+                    }
                 }
             }
         };
         plugin.getScheduler().timerSync(task, 0L, plugin.configInt(Option.MODIFIER_ITEM_CHECK_PERIOD) * 50L, TimeUnit.MILLISECONDS);
-        scheduleOffHandTask();
+        scheduleSweepTask();
+    }
+
+    public void scheduleSweepTask() {
+        var task = new TaskRunnable() {
+            @Override
+            public void run() {
+                for (Player player : Bukkit.getOnlinePlayers()) {
+                    checkHeldItems(player);
+                }
+            }
+        };
+        long period = Math.max(plugin.configInt(Option.MODIFIER_ITEM_SWEEP_PERIOD), 1) * 50L;
+        plugin.getScheduler().timerSync(task, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    private void checkHeldItems(Player player) {
+        User user = plugin.getUser(player);
+        // Gets stored and held items
+        ItemStack held = player.getInventory().getItemInMainHand();
+        stateManager.changeItemInSlot(user, player, held, EquipmentSlot.HAND);
+
+        if (plugin.configBoolean(Option.MODIFIER_ITEM_ENABLE_OFF_HAND)) {
+            ItemStack offHand = player.getInventory().getItemInOffHand();
+            stateManager.changeItemInSlot(user, player, offHand, EquipmentSlot.OFF_HAND);
+        }
+    }
+
+    // Held items only change after these events, so players are checked on the next run of the task
+    private void markDirty(Player player) {
+        dirty.add(player.getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemHeld(PlayerItemHeldEvent event) {
+        markDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryClick(InventoryClickEvent event) {
+        if (event.getWhoClicked() instanceof Player player) {
+            markDirty(player);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryDrag(InventoryDragEvent event) {
+        if (event.getWhoClicked() instanceof Player player) {
+            markDirty(player);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPickup(EntityPickupItemEvent event) {
+        if (event.getEntity() instanceof Player player) {
+            markDirty(player);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onDrop(PlayerDropItemEvent event) {
+        markDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlace(BlockPlaceEvent event) {
+        markDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onConsume(PlayerItemConsumeEvent event) {
+        markDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBucketFill(PlayerBucketFillEvent event) {
+        markDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBucketEmpty(PlayerBucketEmptyEvent event) {
+        markDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onItemBreak(PlayerItemBreakEvent event) {
+        markDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onRespawn(PlayerRespawnEvent event) {
+        markDirty(event.getPlayer());
+    }
+
+    @EventHandler
+    public void onQuit(PlayerQuitEvent event) {
+        dirty.remove(event.getPlayer().getUniqueId());
     }
 
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onSwap(PlayerSwapHandItemsEvent event) {
         if (!plugin.configBoolean(Option.MODIFIER_ITEM_ENABLE_OFF_HAND)) {
+            markDirty(event.getPlayer());
             return;
         }
 
@@ -80,22 +201,4 @@ public class ItemListener implements Listener {
         stateManager.reloadIdentifiers(user, toReload);
     }
 
-    public void scheduleOffHandTask() {
-        var task = new TaskRunnable() {
-            @Override
-            public void run() {
-                if (!plugin.configBoolean(Option.MODIFIER_ITEM_ENABLE_OFF_HAND)) {
-                    return;
-                }
-                for (Player player : Bukkit.getOnlinePlayers()) {
-                    // Gets stored and held items
-                    ItemStack held = player.getInventory().getItemInOffHand();
-
-                    stateManager.changeItemInSlot(plugin.getUser(player), player, held, EquipmentSlot.OFF_HAND);
-                }
-            }
-        };
-        plugin.getScheduler().timerSync(task, 0L, plugin.configInt(Option.MODIFIER_ITEM_CHECK_PERIOD) * 50L, TimeUnit.MILLISECONDS);
-    }
-
 }
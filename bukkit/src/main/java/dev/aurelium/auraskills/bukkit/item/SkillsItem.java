@@ -34,22 +34,36 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 public class SkillsItem {
 
+    // Keys shared by every item, in the same namespace as keys created from the plugin
+    private static final NamespacedKey VALUE_KEY = createKey("value");
+    private static final NamespacedKey STAT_KEY = createKey("stat");
+    private static final NamespacedKey TRAIT_KEY = createKey("trait");
+    private static final NamespacedKey OPERATION_KEY = createKey("operation");
+    private static final NamespacedKey GLOBAL_KEY = createKey("global");
+    private static final NamespacedKey IGNORE_KEY = createKey(ManaAbilityProvider.IGNORE_INTERACT_KEY);
+    private static final NamespacedKey[][] CONTAINER_KEYS = createContainerKeys();
+
     private final AuraSkills plugin;
     private final ItemStack item;
     private final ItemMeta meta;
+    @Nullable
+    private ItemEffects effects;
 
     public SkillsItem(ItemStack item, AuraSkills plugin) {
-        this.item = item.clone();
-        this.meta = this.item.getItemMeta();
+        // The meta is already a copy, so the item is only cloned when getItem is called
+        this.item = item;
+        this.meta = item.getItemMeta();
         this.plugin = plugin;
     }
 
     public ItemStack getItem() {
-        item.setItemMeta(meta);
-        return item;
+        ItemStack result = item.clone();
+        result.setItemMeta(meta);
+        return result;
     }
 
     public List<StatModifier> getStatModifiers(ModifierType type) {
@@ -58,105 +72,162 @@ public class SkillsItem {
 
     public List<StatModifier> getStatModifiers(ModifierType type, boolean offhand) {
         List<StatModifier> modifiers = new ArrayList<>();
-        if (isContainerList(MetaType.MODIFIER, type)) {
-            List<PersistentDataContainer> containers = getContainerList(MetaType.MODIFIER, type);
+        for (ItemEffects.Entry<Stat> entry : getEffects().getStatModifiers(type)) {
+            String modifierName = getModifierName(entry.type(), type, offhand);
 
-            for (PersistentDataContainer container : containers) {
-                double value = container.getOrDefault(new NamespacedKey(plugin, "value"), PersistentDataType.DOUBLE, 0.0);
-                if (value == 0.0) continue;
+            var modifier = new StatModifier(modifierName, entry.type(), entry.value(), entry.operation());
+            modifier.setNonPersistent();
+            modifiers.add(modifier);
+        }
+        return modifiers;
+    }
 
-                String statName = container.get(new NamespacedKey(plugin, "stat"), PersistentDataType.STRING);
-                if (statName == null) continue;
+    public List<TraitModifier> getTraitModifiers(ModifierType type) {
+        return getTraitModifiers(type, false);
+    }
 
-                Stat stat = plugin.getStatRegistry().getOrNull(NamespacedId.fromDefault(statName));
-                if (stat == null) continue;
+    public List<TraitModifier> getTraitModifiers(ModifierType type, boolean offhand) {
+        List<TraitModifier> modifiers = new ArrayList<>();
+        for (ItemEffects.Entry<Trait> entry : getEffects().getTraitModifiers(type)) {
+            String modifierName = getModifierName(entry.type(), type, offhand);
 
-                String operationName = container.getOrDefault(new NamespacedKey(plugin, "operation"), PersistentDataType.STRING, Operation.ADD.toString());
-                Operation operation = Operation.parse(operationName);
+            var modifier = new TraitModifier(modifierName, entry.type(), entry.value(), entry.operation());
+            modifier.setNonPersistent();
+            modifiers.add(modifier);
+        }
+        return modifiers;
+    }
 
-                String modifierName = getModifierName(stat, type, offhand);
+    private String getModifierName(ReloadableIdentifier identifier, ModifierType type, boolean offhand) {
+        final String prefix = identifier instanceof Stat ? StatModifier.ITEM_PREFIX : TraitModifier.ITEM_PREFIX;
+        if (type == ModifierType.ITEM) {
+            return prefix + "Item." + getName(identifier) + (offhand ? ".Offhand" : "");
+        } else {
+            return prefix + "Armor." + getSlotName() + "." + getName(identifier);
+        }
+    }
 
-                var modifier = new StatModifier(modifierName, stat, value, operation);
-                modifier.setNonPersistent();
-                modifiers.add(modifier);
-            }
+    /**
+     * Gets the effects parsed from the item's data, which are shared with every item that has the same data.
+     * The effects are kept until the item's data is changed.
+     */
+    private ItemEffects getEffects() {
+        if (effects != null) {
+            return effects;
+        }
+        List<Object> payload = getPayload();
+        if (payload == null) {
+            effects = ItemEffects.EMPTY;
         } else {
-            PersistentDataContainer container = getContainer(MetaType.MODIFIER, type);
+            effects = plugin.getItemEffectCache().get(payload, this::parseEffects);
+        }
+        return effects;
+    }
 
-            for (NamespacedKey key : container.getKeys()) {
-                double value = container.getOrDefault(key, PersistentDataType.DOUBLE, 0.0);
-                if (value == 0.0) continue;
+    // Gets the raw contents of every AuraSkills container on the item, or null if the item has none
+    @Nullable
+    private List<Object> getPayload() {
+        if (meta == null) return null;
+        var container = meta.getPersistentDataContainer();
+        if (container.isEmpty()) return null;
 
-                Stat stat = plugin.getStatRegistry().getOrNull(NamespacedId.fromDefault(key.getKey()));
-                if (stat == null) {
-                    continue;
+        Object[] payload = new Object[MetaType.values().length * ModifierType.values().length];
+        boolean found = false;
+        for (MetaType metaType : MetaType.values()) {
+            for (ModifierType modifierType : ModifierType.values()) {
+                Object value = null;
+                if (isContainerList(metaType, modifierType)) {
+                    value = getContainerList(metaType, modifierType);
+                } else if (isTagContainer(metaType, modifierType)) {
+                    value = container.get(getContainerKey(metaType, modifierType), PersistentDataType.TAG_CONTAINER);
+                }
+                if (value != null) {
+                    payload[metaType.ordinal() * ModifierType.values().length + modifierType.ordinal()] = value;
+                    found = true;
                 }
-
-                String modifierName = getModifierName(stat, type, offhand);
-
-                var modifier = new StatModifier(modifierName, stat, value, Operation.ADD);
-                modifier.setNonPersistent();
-                modifiers.add(modifier);
             }
         }
-        return modifiers;
+        return found ? Arrays.asList(payload) : null;
     }
 
-    public List<TraitModifier> getTraitModifiers(ModifierType type) {
-        return getTraitModifiers(type, false);
+    private ItemEffects parseEffects() {
+        ItemEffects parsed = new ItemEffects();
+        for (ModifierType type : ModifierType.values()) {
+            parsed.setStatModifiers(type, parseModifiers(MetaType.MODIFIER, type, plugin.getStatRegistry()::getOrNull));
+            parsed.setTraitModifiers(type, parseModifiers(MetaType.TRAIT_MODIFIER, type, plugin.getTraitRegistry()::getOrNull));
+            parsed.setMultipliers(type, parseMultipliers(type));
+            parsed.setRequirements(type, parseRequirements(type));
+        }
+        return parsed;
     }
 
-    public List<TraitModifier> getTraitModifiers(ModifierType type, boolean offhand) {
-        List<TraitModifier> modifiers = new ArrayList<>();
-        if (isContainerList(MetaType.TRAIT_MODIFIER, type)) {
-            List<PersistentDataContainer> containers = getContainerList(MetaType.TRAIT_MODIFIER, type);
+    // MetaType must be MODIFIER or TRAIT_MODIFIER
+    private <T> List<ItemEffects.Entry<T>> parseModifiers(MetaType metaType, ModifierType type, Function<NamespacedId, T> registry) {
+        List<ItemEffects.Entry<T>> entries = new ArrayList<>();
+        if (isContainerList(metaType, type)) {
+            List<PersistentDataContainer> containers = getContainerList(metaType, type);
 
             for (PersistentDataContainer container : containers) {
-                double value = container.getOrDefault(new NamespacedKey(plugin, "value"), PersistentDataType.DOUBLE, 0.0);
+                double value = container.getOrDefault(VALUE_KEY, PersistentDataType.DOUBLE, 0.0);
                 if (value == 0.0) continue;
 
-                String traitName = container.get(new NamespacedKey(plugin, "trait"), PersistentDataType.STRING);
-                if (traitName == null) continue;
+                String typeName = container.get(getTypeKey(metaType), PersistentDataType.STRING);
+                if (typeName == null) continue;
 
-                Trait trait = plugin.getTraitRegistry().getOrNull(NamespacedId.fromDefault(traitName));
-                if (trait == null) continue;
+                T identifier = registry.apply(NamespacedId.fromDefault(typeName));
+                if (identifier == null) continue;
 
-                String operationName = container.getOrDefault(new NamespacedKey(plugin, "operation"), PersistentDataType.STRING, Operation.ADD.toString());
+                String operationName = container.getOrDefault(OPERATION_KEY, PersistentDataType.STRING, Operation.ADD.toString());
                 Operation operation = Operation.parse(operationName);
 
-                String modifierName = getModifierName(trait, type, offhand);
-
-                var modifier = new TraitModifier(modifierName, trait, value, operation);
-                modifier.setNonPersistent();
-                modifiers.add(modifier);
+                entries.add(new ItemEffects.Entry<>(identifier, value, operation));
             }
         } else {
-            PersistentDataContainer container = getContainer(MetaType.TRAIT_MODIFIER, type);
+            PersistentDataContainer container = getContainer(metaType, type);
 
             for (NamespacedKey key : container.getKeys()) {
                 double value = container.getOrDefault(key, PersistentDataType.DOUBLE, 0.0);
                 if (value == 0.0) continue;
 
-                Trait trait = plugin.getTraitRegistry().getOrNull(NamespacedId.fromDefault(key.getKey()));
-                if (trait == null) continue;
-
-                String modifierName = getModifierName(trait, type, offhand);
+                T identifier = registry.apply(NamespacedId.fromDefault(key.getKey()));
+                if (identifier == null) continue;
 
-                var modifier = new TraitModifier(modifierName, trait, value, Operation.ADD);
-                modifier.setNonPersistent();
-                modifiers.add(modifier);
+                entries.add(new ItemEffects.Entry<>(identifier, value, Operation.ADD));
             }
         }
-        return modifiers;
+        return entries;
     }
 
-    private String getModifierName(ReloadableIdentifier identifier, ModifierType type, boolean offhand) {
-        final String prefix = identifier instanceof Stat ? StatModifier.ITEM_PREFIX : TraitModifier.ITEM_PREFIX;
-        if (type == ModifierType.ITEM) {
-            return prefix + "Item." + getName(identifier) + (offhand ? ".Offhand" : "");
-        } else {
-            return prefix + "Armor." + getSlotName() + "." + getName(identifier);
+    private List<ItemEffects.MultiplierEntry> parseMultipliers(ModifierType type) {
+        PersistentDataContainer container = getContainer(MetaType.MULTIPLIER, type);
+        List<ItemEffects.MultiplierEntry> entries = new ArrayList<>();
+
+        for (NamespacedKey key : container.getKeys()) {
+            double value = container.getOrDefault(key, PersistentDataType.DOUBLE, 0.0);
+            if (value == 0.0) continue;
+
+            Skill skill = plugin.getSkillRegistry().getOrNull(NamespacedId.fromDefault(key.getKey()));
+            entries.add(new ItemEffects.MultiplierEntry(skill, value));
         }
+        return entries;
+    }
+
+    private Map<Skill, Integer> parseRequirements(ModifierType type) {
+        PersistentDataContainer container = getContainer(MetaType.REQUIREMENT, type);
+        Map<Skill, Integer> requirements = new HashMap<>();
+
+        for (NamespacedKey key : container.getKeys()) {
+            int value = container.getOrDefault(key, PersistentDataType.INTEGER, 0);
+            if (value == 0) continue;
+
+            Skill skill = plugin.getSkillRegistry().getOrNull(NamespacedId.fromDefault(key.getKey()));
+            if (skill == null) {
+                continue;
+            }
+
+            requirements.put(skill, value);
+        }
+        return requirements;
     }
 
     // MetaType must be MODIFIER or TRAIT_MODIFIER
@@ -170,8 +241,8 @@ public class SkillsItem {
 
         container.set(getTypeKey(metaType), PersistentDataType.STRING, identified.getId().toString());
 
-        container.set(new NamespacedKey(plugin, "value"), PersistentDataType.DOUBLE, value);
-        container.set(new NamespacedKey(plugin, "operation"), PersistentDataType.STRING, operation.toString().toLowerCase(Locale.ROOT));
+        container.set(VALUE_KEY, PersistentDataType.DOUBLE, value);
+        container.set(OPERATION_KEY, PersistentDataType.STRING, operation.toString().toLowerCase(Locale.ROOT));
 
         containers.add(container);
         saveContainerList(containers, metaType, modifierType);
@@ -199,9 +270,7 @@ public class SkillsItem {
                 if (isContainerList(metaType, modifierType)) continue; // Skip if already converted
 
                 var oldContainer = meta.getPersistentDataContainer();
-                String name = getContainerName(metaType, modifierType);
-                NamespacedKey metaKey = new NamespacedKey(plugin, name);
-                var metaContainer = oldContainer.get(metaKey, PersistentDataType.TAG_CONTAINER);
+                var metaContainer = oldContainer.get(getContainerKey(metaType, modifierType), PersistentDataType.TAG_CONTAINER);
 
                 if (metaContainer == null) continue; // Skip if no container exists
 
@@ -232,9 +301,9 @@ public class SkillsItem {
 
             created.set(getTypeKey(metaType), PersistentDataType.STRING, identified.getId().toString());
 
-            created.set(new NamespacedKey(plugin, "value"), PersistentDataType.DOUBLE, value);
+            created.set(VALUE_KEY, PersistentDataType.DOUBLE, value);
             // All existing modifiers are Operation.ADD
-            created.set(new NamespacedKey(plugin, "operation"), PersistentDataType.STRING, Operation.ADD.toString().toLowerCase(Locale.ROOT));
+            created.set(OPERATION_KEY, PersistentDataType.STRING, Operation.ADD.toString().toLowerCase(Locale.ROOT));
 
             list.add(created);
         }
@@ -242,18 +311,16 @@ public class SkillsItem {
     }
 
     private NamespacedKey getTypeKey(MetaType metaType) {
-        String key = "stat";
-        if (metaType == MetaType.MODIFIER) {
-            key = "stat";
-        } else if (metaType == MetaType.TRAIT_MODIFIER) {
-            key = "trait";
+        if (metaType == MetaType.TRAIT_MODIFIER) {
+            return TRAIT_KEY;
         }
-        return new NamespacedKey(plugin, key);
+        return STAT_KEY;
     }
 
     public void removeAll(MetaType metaType, ModifierType modifierType) {
         PersistentDataContainer parent = meta.getPersistentDataContainer();
-        parent.remove(new NamespacedKey(plugin, getContainerName(metaType, modifierType)));
+        parent.remove(getContainerKey(metaType, modifierType));
+        effects = null;
     }
 
     public List<Multiplier> getMultipliers(ModifierType type) {
@@ -261,19 +328,14 @@ public class SkillsItem {
     }
 
     public List<Multiplier> getMultipliers(ModifierType type, boolean offhand) {
-        PersistentDataContainer container = getContainer(MetaType.MULTIPLIER, type);
         List<Multiplier> multipliers = new ArrayList<>();
 
-        for (NamespacedKey key : container.getKeys()) {
-            double value = container.getOrDefault(key, PersistentDataType.DOUBLE, 0.0);
-            if (value == 0.0) continue;
-
-            Skill skill = plugin.getSkillRegistry().getOrNull(NamespacedId.fromDefault(key.getKey()));
-
+        for (ItemEffects.MultiplierEntry entry : getEffects().getMultipliers(type)) {
+            Skill skill = entry.skill();
             if (type == ModifierType.ITEM) {
-                multipliers.add(new Multiplier("AuraSkills.Modifiers.Item." + getMultiplierName(skill) + (offhand ? ".Offhand" : ""), skill, value));
+                multipliers.add(new Multiplier("AuraSkills.Modifiers.Item." + getMultiplierName(skill) + (offhand ? ".Offhand" : ""), skill, entry.value()));
             } else if (type == ModifierType.ARMOR) {
-                multipliers.add(new Multiplier("AuraSkills.Modifiers.Armor." + getSlotName() + "." + getMultiplierName(skill), skill, value));
+                multipliers.add(new Multiplier("AuraSkills.Modifiers.Armor." + getSlotName() + "." + getMultiplierName(skill), skill, entry.value()));
             }
         }
         return multipliers;
@@ -293,21 +355,7 @@ public class SkillsItem {
     }
 
     public Map<Skill, Integer> getRequirements(ModifierType type) {
-        PersistentDataContainer container = getContainer(MetaType.REQUIREMENT, type);
-        Map<Skill, Integer> requirements = new ConcurrentHashMap<>();
-
-        for (NamespacedKey key : container.getKeys()) {
-            int value = container.getOrDefault(key, PersistentDataType.INTEGER, 0);
-            if (value == 0) continue;
-
-            Skill skill = plugin.getSkillRegistry().getOrNull(NamespacedId.fromDefault(key.getKey()));
-            if (skill == null) {
-                continue;
-            }
-
-            requirements.put(skill, value);
-        }
-        return requirements;
+        return new ConcurrentHashMap<>(getEffects().getRequirements(type));
     }
 
     public void addRequirement(ModifierType type, Skill skill, int level) {
@@ -327,14 +375,12 @@ public class SkillsItem {
 
     public void addIgnore() {
         PersistentDataContainer container = meta.getPersistentDataContainer();
-        NamespacedKey key = new NamespacedKey(plugin, ManaAbilityProvider.IGNORE_INTERACT_KEY);
-        container.set(key, PersistentDataType.BYTE, (byte) 1);
+        container.set(IGNORE_KEY, PersistentDataType.BYTE, (byte) 1);
     }
 
     public void removeIgnore() {
         PersistentDataContainer container = meta.getPersistentDataContainer();
-        NamespacedKey key = new NamespacedKey(plugin, ManaAbilityProvider.IGNORE_INTERACT_KEY);
-        container.remove(key);
+        container.remove(IGNORE_KEY);
     }
 
     public void convertFromLegacy(ReadWriteNBT nbt) {
@@ -376,7 +422,7 @@ public class SkillsItem {
         if (!plugin.configBoolean(Option.REQUIREMENT_ENABLED)) return true;
         if (player.hasMetadata("NPC")) return true;
         User user = plugin.getUser(player);
-        Map<Skill, Integer> itemRequirements = getRequirements(type);
+        Map<Skill, Integer> itemRequirements = getEffects().getRequirements(type);
 
         // If override_global is true, only check global if the item has no defined NBT requirements
         if (!plugin.configBoolean(Option.REQUIREMENT_OVERRIDE_GLOBAL) || itemRequirements.isEmpty()) {
@@ -388,7 +434,7 @@ public class SkillsItem {
             }
         }
         // Check requirements on item
-        for (Map.Entry<Skill, Integer> entry : getRequirements(type).entrySet()) {
+        for (Map.Entry<Skill, Integer> entry : itemRequirements.entrySet()) {
             if (user.getSkillLevel(entry.getKey()) < entry.getValue()) {
                 return false;
             }
@@ -531,14 +577,13 @@ public class SkillsItem {
         if (skill != null) {
             return new NamespacedKey(plugin, skill.getId().toString());
         } else {
-            return new NamespacedKey(plugin, "global");
+            return GLOBAL_KEY;
         }
     }
 
     private PersistentDataContainer getContainer(MetaType metaType, ModifierType modifierType) {
         var container = meta.getPersistentDataContainer();
-        String name = getContainerName(metaType, modifierType);
-        NamespacedKey metaKey = new NamespacedKey(plugin, name); // Key for identifying meta type, like auraskills:modifiers
+        NamespacedKey metaKey = getContainerKey(metaType, modifierType); // Key for identifying meta type, like auraskills:modifiers
         if (!container.has(metaKey, PersistentDataType.TAG_CONTAINER)) {
             return container.getAdapterContext().newPersistentDataContainer();
         }
@@ -553,8 +598,7 @@ public class SkillsItem {
     @SuppressWarnings("deprecation")
     private List<PersistentDataContainer> getContainerList(MetaType metaType, ModifierType modifierType) {
         var container = meta.getPersistentDataContainer();
-        String name = getContainerName(metaType, modifierType);
-        NamespacedKey metaKey = new NamespacedKey(plugin, name);
+        NamespacedKey metaKey = getContainerKey(metaType, modifierType);
 
         List<PersistentDataContainer> metaContainerList;
         if (VersionUtils.isAtLeastVersion(20, 4)) {
@@ -578,8 +622,7 @@ public class SkillsItem {
     @SuppressWarnings("deprecation")
     private boolean isContainerList(MetaType metaType, ModifierType modifierType) {
         var container = meta.getPersistentDataContainer();
-        String name = getContainerName(metaType, modifierType);
-        NamespacedKey metaKey = new NamespacedKey(plugin, name);
+        NamespacedKey metaKey = getContainerKey(metaType, modifierType);
         if (VersionUtils.isAtLeastVersion(20, 4)) {
             return container.has(metaKey, PersistentDataType.LIST.dataContainers());
         } else {
@@ -589,26 +632,26 @@ public class SkillsItem {
 
     private boolean isTagContainer(MetaType metaType, ModifierType modifierType) {
         var container = meta.getPersistentDataContainer();
-        String name = getContainerName(metaType, modifierType);
-        NamespacedKey metaKey = new NamespacedKey(plugin, name);
+        NamespacedKey metaKey = getContainerKey(metaType, modifierType);
         return container.has(metaKey, PersistentDataType.TAG_CONTAINER);
     }
 
     private void saveTagContainer(PersistentDataContainer container, MetaType metaType, ModifierType modifierType) {
         PersistentDataContainer parent = meta.getPersistentDataContainer();
-        String name = getContainerName(metaType, modifierType);
-        parent.set(new NamespacedKey(plugin, name), PersistentDataType.TAG_CONTAINER, container);
+        parent.set(getContainerKey(metaType, modifierType), PersistentDataType.TAG_CONTAINER, container);
+        effects = null;
     }
 
     @SuppressWarnings("deprecation")
     private void saveContainerList(List<PersistentDataContainer> containers, MetaType metaType, ModifierType modifierType) {
         PersistentDataContainer parent = meta.getPersistentDataContainer();
-        String name = getContainerName(metaType, modifierType);
+        NamespacedKey metaKey = getContainerKey(metaType, modifierType);
         if (VersionUtils.isAtLeastVersion(20, 4)) {
-            parent.set(new NamespacedKey(plugin, name), PersistentDataType.LIST.dataContainers(), containers);
+            parent.set(metaKey, PersistentDataType.LIST.dataContainers(), containers);
         } else {
-            parent.set(new NamespacedKey(plugin, name), PersistentDataType.TAG_CONTAINER_ARRAY, containers.toArray(new PersistentDataContainer[0]));
+            parent.set(metaKey, PersistentDataType.TAG_CONTAINER_ARRAY, containers.toArray(new PersistentDataContainer[0]));
         }
+        effects = null;
     }
 
     private void removeEmpty(PersistentDataContainer container, MetaType metaType, ModifierType modifierType) {
@@ -617,8 +660,8 @@ public class SkillsItem {
         }
 
         PersistentDataContainer parent = meta.getPersistentDataContainer();
-        NamespacedKey metaKey = new NamespacedKey(plugin, getContainerName(metaType, modifierType));
-        parent.remove(metaKey);
+        parent.remove(getContainerKey(metaType, modifierType));
+        effects = null;
     }
 
     private void removeEmpty(List<PersistentDataContainer> containers, MetaType metaType, ModifierType modifierType) {
@@ -627,14 +670,32 @@ public class SkillsItem {
         }
 
         var parent = meta.getPersistentDataContainer();
-        NamespacedKey metaKey = new NamespacedKey(plugin, getContainerName(metaType, modifierType));
-        parent.remove(metaKey);
+        parent.remove(getContainerKey(metaType, modifierType));
+        effects = null;
     }
 
-    private String getContainerName(MetaType metaType, ModifierType modifierType) {
+    private NamespacedKey getContainerKey(MetaType metaType, ModifierType modifierType) {
+        return CONTAINER_KEYS[metaType.ordinal()][modifierType.ordinal()];
+    }
+
+    private static String getContainerName(MetaType metaType, ModifierType modifierType) {
         return modifierType.toString().toLowerCase(Locale.ROOT) + "_" + metaType.getKey();
     }
 
+    private static NamespacedKey[][] createContainerKeys() {
+        NamespacedKey[][] keys = new NamespacedKey[MetaType.values().length][ModifierType.values().length];
+        for (MetaType metaType : MetaType.values()) {
+            for (ModifierType modifierType : ModifierType.values()) {
+                keys[metaType.ordinal()][modifierType.ordinal()] = createKey(getContainerName(metaType, modifierType));
+            }
+        }
+        return keys;
+    }
+
+    private static NamespacedKey createKey(String key) {
+        return new NamespacedKey(NamespacedId.AURASKILLS, key);
+    }
+
     private String getName(ReloadableIdentifier identifier) {
         return TextUtil.capitalize(identifier.name().toLowerCase(Locale.ROOT));
     }
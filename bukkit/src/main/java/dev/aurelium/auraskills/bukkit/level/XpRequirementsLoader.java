@@ -1,18 +1,16 @@
 package dev.aurelium.auraskills.bukkit.level;
 
-import com.ezylang.evalex.EvaluationException;
-import com.ezylang.evalex.Expression;
-import com.ezylang.evalex.parser.ParseException;
 import dev.aurelium.auraskills.api.skill.Skill;
 import dev.aurelium.auraskills.bukkit.AuraSkills;
 import dev.aurelium.auraskills.common.config.ConfigurateLoader;
 import dev.aurelium.auraskills.common.level.XpRequirements;
+import dev.aurelium.auraskills.common.util.math.expression.CompiledExpression;
+import dev.aurelium.auraskills.common.util.math.expression.ExpressionException;
 import org.spongepowered.configurate.ConfigurationNode;
 import org.spongepowered.configurate.serialize.SerializationException;
 import org.spongepowered.configurate.serialize.TypeSerializerCollection;
 
 import java.io.IOException;
-import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -40,9 +38,8 @@ public class XpRequirementsLoader {
             if (!defaultConfig.virtual()) {
                 try {
                     requirements.setDefaultXpRequirements(loadSection(defaultConfig));
-                } catch (EvaluationException | ParseException e) {
-                    plugin.logger().warn("Failed to evaluate default XP requirements expression");
-                    e.printStackTrace();
+                } catch (ExpressionException e) {
+                    plugin.logger().warn("Failed to evaluate default XP requirements expression: " + e.getMessage());
                 }
             }
 
@@ -59,9 +56,8 @@ public class XpRequirementsLoader {
                 if (!skillNode.virtual()) {
                     try {
                         requirements.setSkillXpRequirements(skill, loadSection(skillNode));
-                    } catch (EvaluationException | ParseException e) {
-                        plugin.logger().warn("Failed to evaluate XP requirement expression for skill " + skill);
-                        e.printStackTrace();
+                    } catch (ExpressionException e) {
+                        plugin.logger().warn("Failed to evaluate XP requirement expression for skill " + skill + ": " + e.getMessage());
                     }
                 }
             }
@@ -71,7 +67,7 @@ public class XpRequirementsLoader {
         }
     }
 
-    private List<Integer> loadSection(ConfigurationNode config) throws SerializationException, EvaluationException, ParseException {
+    private List<Integer> loadSection(ConfigurationNode config) throws SerializationException {
         List<Integer> list = new ArrayList<>();
         int highestMaxLevel = plugin.config().getHighestMaxLevel();
 
@@ -90,32 +86,31 @@ public class XpRequirementsLoader {
             }
         } else {
             // Expression based
-            Expression expression = getXpExpression(config);
+            String expressionString = config.node("expression").getString();
+            Objects.requireNonNull(expressionString);
+
+            // Every other key in the section is a variable
+            List<String> variables = new ArrayList<>();
+            variables.add("level");
+            for (Object variableObj : config.childrenMap().keySet()) {
+                String variable = (String) variableObj;
+                if (variable.equals("expression")) continue;
+                variables.add(variable);
+            }
+            CompiledExpression expression = CompiledExpression.compile(expressionString, variables.toArray(new String[0]));
+
+            double[] frame = new double[variables.size()];
+            for (int slot = 1; slot < variables.size(); slot++) {
+                frame[slot] = config.node(variables.get(slot)).getDouble();
+            }
             // Add xp requirement for each level
             for (int i = 0; i < highestMaxLevel; i++) {
-                expression.with("level", BigDecimal.valueOf(i + 2));
-                list.add((int) Math.round(expression.evaluate().getNumberValue().doubleValue()));
+                frame[0] = i + 2;
+                list.add((int) Math.round(expression.evaluate(frame)));
             }
         }
 
         return list;
     }
 
-    private Expression getXpExpression(ConfigurationNode config) {
-        String expressionString = config.node("expression").getString();
-        Objects.requireNonNull(expressionString);
-
-        Expression expression = new Expression(expressionString);
-        // Set variables
-        for (Object variableObj : config.childrenMap().keySet()) {
-            String variable = (String) variableObj;
-
-            if (variable.equals("expression")) continue;
-
-            double variableValue = config.node(variable).getDouble();
-            expression.with(variable, BigDecimal.valueOf(variableValue));
-        }
-        return expression;
-    }
-
 }
@@ -42,7 +42,6 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Locale;
-import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ThreadLocalRandom;
 
@@ -180,40 +179,14 @@ public abstract class LootHandler extends AbstractLootHandler {
     @Nullable
     protected Loot selectLoot(LootPool pool, @NotNull LootContext providedContext, User user) {
         UUID uuid = user.getUuid();
-        return pool.rollLoot(loot -> {
-            if (!loot.checkRequirements(uuid)) return false;
-
-            if (providedContext instanceof SourceContext(XpSource providedSource)) {
-                Set<LootContext> lootContexts = loot.getValues().getContexts().get("sources");
-                // Make sure the loot defines a sources context and the provided context exists
-                if (lootContexts != null && providedSource != null) {
-                    boolean matched = false;
-                    for (LootContext context : lootContexts) { // Go through LootContext and cast to Source
-                        if (context instanceof SourceContext(XpSource configuredSource)) {
-                            if (configuredSource.equals(providedSource)) { // Check if source matches one of the contexts
-                                matched = true;
-                                break;
-                            }
-                        }
-                    }
-                    return matched;
-                }
-            } else if (providedContext instanceof MobContext(EntityType providedType)) {
-                Set<LootContext> lootContexts = loot.getValues().getContexts().get("mobs");
-                if (lootContexts != null && providedType != null) {
-                    boolean matched = false;
-                    for (LootContext context : lootContexts) {
-                        if (context instanceof MobContext(EntityType configuredType)) {
-                            if (configuredType.equals(providedType)) {
-                                matched = true;
-                            }
-                        }
-                    }
-                    return matched;
-                }
-            }
-            return true;
-        }).orElse(null);
+        // Entries are indexed by context in the pool, so only requirements are checked per roll
+        LootContextFilter requirements = loot -> loot.checkRequirements(uuid);
+        if (providedContext instanceof SourceContext(XpSource providedSource) && providedSource != null) {
+            return pool.rollLoot("sources", providedContext, requirements).orElse(null);
+        } else if (providedContext instanceof MobContext(EntityType providedType) && providedType != null) {
+            return pool.rollLoot("mobs", providedContext, requirements).orElse(null);
+        }
+        return pool.rollLoot(requirements).orElse(null);
     }
 
     private void giveXp(Player player, Loot loot, @Nullable XpSource source, Skill skill) {
@@ -2,7 +2,6 @@ package dev.aurelium.auraskills.bukkit.loot.handler;
 
 import dev.aurelium.auraskills.api.event.loot.LootDropEvent;
 import dev.aurelium.auraskills.api.loot.Loot;
-import dev.aurelium.auraskills.api.loot.LootContext;
 import dev.aurelium.auraskills.api.loot.LootPool;
 import dev.aurelium.auraskills.api.loot.LootTable;
 import dev.aurelium.auraskills.api.registry.NamespacedId;
@@ -26,7 +25,6 @@ import org.bukkit.event.entity.EntityDeathEvent;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Random;
-import java.util.Set;
 
 public class MobLootHandler extends LootHandler implements Listener {
 
@@ -104,22 +102,7 @@ public class MobLootHandler extends LootHandler implements Listener {
     }
 
     private boolean isPoolUnobtainable(LootPool pool, EntityType entityType) {
-        for (Loot loot : pool.getLoot()) {
-            Set<LootContext> contexts = loot.getValues().getContexts().getOrDefault("mobs", Set.of());
-            // Loot will be reachable if it has no contexts
-            if (contexts.isEmpty()) {
-                return false;
-            }
-            // Loot is reachable if at least one context matches the entity type
-            for (LootContext context : contexts) {
-                if (context instanceof MobContext(EntityType type)) {
-                    if (type.equals(entityType)) {
-                        return false;
-                    }
-                }
-            }
-        }
-        return true;
+        return !pool.hasLoot("mobs", new MobContext(entityType));
     }
 
     @Nullable
@@ -5,8 +5,6 @@ import dev.aurelium.auraskills.api.source.type.BlockXpSource;
 import dev.aurelium.auraskills.bukkit.AuraSkills;
 import dev.aurelium.auraskills.bukkit.source.BlockLeveler;
 import dev.aurelium.auraskills.common.region.*;
-import org.bukkit.Bukkit;
-import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.jetbrains.annotations.Nullable;
 
@@ -22,23 +20,7 @@ public class BukkitRegionManager extends RegionManager {
     }
 
     public boolean isPlacedBlock(Block block) {
-        int chunkX = block.getChunk().getX();
-        int chunkZ = block.getChunk().getZ();
-
-        int regionX = (int) Math.floor((double) chunkX / 32.0);
-        int regionZ = (int) Math.floor((double) chunkZ / 32.0);
-
-        Region region = regions.get(new RegionCoordinate(block.getWorld().getName(), regionX, regionZ));
-        if (region != null) {
-            byte regionChunkX = (byte) (chunkX - regionX * 32);
-            byte regionChunkZ = (byte) (chunkZ - regionZ * 32);
-            ChunkData chunkData = region.getChunkData(new ChunkCoordinate(regionChunkX, regionChunkZ));
-            if (chunkData != null) {
-                BlockPosition blockPosition = new BlockPosition(block.getX(), block.getY(), block.getZ());
-                return chunkData.isPlacedBlock(blockPosition);
-            }
-        }
-        return false;
+        return isPlacedBlock(block.getWorld().getName(), block.getX(), block.getY(), block.getZ());
     }
 
     public void handleBlockPlace(Block block) {
@@ -65,72 +47,42 @@ public class BukkitRegionManager extends RegionManager {
     public void addPlacedBlock(Block block) {
         Region region = getRegionFromBlock(block);
         // Create region if it does not exist
-        if (region == null || region.shouldReload()) {
-            addLoadRegionAsync(block);
+        if (region == null) {
+            // Count the block's chunk as loaded so the region is evicted once the chunk unloads
+            region = handleChunkLoad(block.getWorld().getName(), block.getX() >> 4, block.getZ() >> 4);
+        }
+        if (!region.isLoaded() || region.shouldReload()) {
+            addLoadRegionAsync(block, region);
         } else {
             addToRegion(block, region);
         }
     }
 
-    private void addLoadRegionAsync(Block block) {
+    private void addLoadRegionAsync(Block block, Region region) {
         plugin.getScheduler().executeAsync(() -> {
-            Region region = getRegionFromBlock(block);
-            if (region == null) {
-                int regionX = (int) Math.floor((double) block.getChunk().getX() / 32.0);
-                int regionZ = (int) Math.floor((double) block.getChunk().getZ() / 32.0);
-                region = new Region(block.getWorld().getName(), regionX, regionZ);
-
-                RegionCoordinate regionCoordinate = new RegionCoordinate(block.getWorld().getName(), regionX, regionZ);
-                regions.put(regionCoordinate, region);
-            }
             loadRegion(region);
             addToRegion(block, region);
         });
     }
 
     private void addToRegion(Block block, Region region) {
-        byte regionChunkX = (byte) (block.getChunk().getX() - region.getX() * 32);
-        byte regionChunkZ = (byte) (block.getChunk().getZ() - region.getZ() * 32);
-        ChunkData chunkData = region.getChunkData(new ChunkCoordinate(regionChunkX, regionChunkZ));
-        // Create chunk data if it does not exist
-        if (chunkData == null) {
-            chunkData = new ChunkData(region, regionChunkX, regionChunkZ);
-            region.setChunkData(new ChunkCoordinate(regionChunkX, regionChunkZ), chunkData);
-        }
-        chunkData.addPlacedBlock(new BlockPosition(block.getX(), block.getY(), block.getZ()));
+        ChunkData chunkData = region.getOrCreateChunkData((block.getX() >> 4) & 31, (block.getZ() >> 4) & 31);
+        chunkData.addPlacedBlock(block.getX(), block.getY(), block.getZ());
     }
 
     public void removePlacedBlock(Block block) {
         Region region = getRegionFromBlock(block);
         if (region != null) {
-            byte regionChunkX = (byte) (block.getChunk().getX() - region.getX() * 32);
-            byte regionChunkZ = (byte) (block.getChunk().getZ() - region.getZ() * 32);
-            ChunkData chunkData = region.getChunkData(new ChunkCoordinate(regionChunkX, regionChunkZ));
+            ChunkData chunkData = region.getChunkData((block.getX() >> 4) & 31, (block.getZ() >> 4) & 31);
             if (chunkData != null) {
-                chunkData.removePlacedBlock(new BlockPosition(block.getX(), block.getY(), block.getZ()));
+                chunkData.removePlacedBlock(block.getX(), block.getY(), block.getZ());
             }
         }
     }
 
     @Nullable
     private Region getRegionFromBlock(Block block) {
-        int chunkX = block.getChunk().getX();
-        int chunkZ = block.getChunk().getZ();
-
-        int regionX = (int) Math.floor((double) chunkX / 32.0);
-        int regionZ = (int) Math.floor((double) chunkZ / 32.0);
-
-        RegionCoordinate regionCoordinate = new RegionCoordinate(block.getWorld().getName(), regionX, regionZ);
-        return regions.get(regionCoordinate);
-    }
-
-    @Override
-    public boolean isChunkLoaded(String worldName, int chunkX, int chunkZ) {
-        World world = Bukkit.getWorld(worldName);
-        if (world == null) {
-            return false;
-        }
-        return world.isChunkLoaded(chunkX, chunkZ);
+        return getRegion(block.getWorld().getName(), block.getX() >> 9, block.getZ() >> 9);
     }
 
 }
@@ -2,12 +2,15 @@ package dev.aurelium.auraskills.bukkit.region;
 
 import dev.aurelium.auraskills.bukkit.AuraSkills;
 import dev.aurelium.auraskills.common.region.Region;
-import dev.aurelium.auraskills.common.region.RegionCoordinate;
 import dev.aurelium.auraskills.common.scheduler.TaskRunnable;
+import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
+import org.bukkit.World;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
 
 import java.util.concurrent.TimeUnit;
 
@@ -19,29 +22,41 @@ public class RegionListener implements Listener {
     public RegionListener(AuraSkills plugin) {
         this.plugin = plugin;
         regionManager = plugin.getRegionManager();
+        trackLoadedChunks();
         startSaveTimer();
     }
 
     @EventHandler
     public void onChunkLoad(ChunkLoadEvent event) {
         Chunk chunk = event.getChunk();
-        int regionX = (int) Math.floor((double) chunk.getX() / 32.0);
-        int regionZ = (int) Math.floor((double) chunk.getZ() / 32.0);
-
-        RegionCoordinate regionCoordinate = new RegionCoordinate(event.getWorld().getName(), regionX, regionZ);
-        Region region = regionManager.getRegion(regionCoordinate);
-
-        if (region == null || region.shouldReload()) {
-            plugin.getScheduler().executeAsync(() -> {
-                Region obtainedRegion = regionManager.getRegion(regionCoordinate);
-                if (obtainedRegion == null) {
-                    obtainedRegion = new Region(event.getWorld().getName(), regionX, regionZ);
-                    regionManager.setRegion(regionCoordinate, obtainedRegion);
-                    regionManager.loadRegion(obtainedRegion);
-                } else if (obtainedRegion.shouldReload()) {
-                    regionManager.loadRegion(obtainedRegion);
-                }
-            });
+        Region region = regionManager.handleChunkLoad(event.getWorld().getName(), chunk.getX(), chunk.getZ());
+        loadIfNeeded(region);
+    }
+
+    @EventHandler
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        Chunk chunk = event.getChunk();
+        regionManager.handleChunkUnload(event.getWorld().getName(), chunk.getX(), chunk.getZ());
+    }
+
+    @EventHandler
+    public void onWorldUnload(WorldUnloadEvent event) {
+        regionManager.handleWorldUnload(event.getWorld().getName());
+    }
+
+    private void loadIfNeeded(Region region) {
+        if (!region.isLoaded() || region.shouldReload()) {
+            plugin.getScheduler().executeAsync(() -> regionManager.loadRegion(region));
+        }
+    }
+
+    // Chunks loaded before the plugin enabled don't fire ChunkLoadEvent
+    private void trackLoadedChunks() {
+        for (World world : Bukkit.getWorlds()) {
+            for (Chunk chunk : world.getLoadedChunks()) {
+                Region region = regionManager.handleChunkLoad(world.getName(), chunk.getX(), chunk.getZ());
+                loadIfNeeded(region);
+            }
         }
     }
 
@@ -49,7 +64,7 @@ public class RegionListener implements Listener {
         plugin.getScheduler().timerAsync(new TaskRunnable() {
             @Override
             public void run() {
-                regionManager.saveAllRegions(true, false);
+                regionManager.saveDirtyRegions();
             }
         }, 5, 5, TimeUnit.MINUTES);
     }
@@ -80,9 +80,13 @@ public class PayCommand extends BaseCommand {
             return;
         }
         
-        // Perform transaction
-        economy.subtractBalance(sender.getUniqueId(), CurrencyType.COINS, amount);
-        economy.addBalance(target.getUniqueId(), CurrencyType.COINS, amount);
+        // Perform transaction atomically (balance may have changed since the check above)
+        if (!economy.transfer(sender.getUniqueId(), target.getUniqueId(), CurrencyType.COINS, amount)) {
+            sender.sendMessage(ChatColor.of("#FF5555") + "✖ " + ChatColor.of("#FFFFFF") + 
+                    "Insufficient funds!");
+            sender.playSound(sender.getLocation(), Sound.ENTITY_VILLAGER_NO, 1.0f, 1.0f);
+            return;
+        }
         
         // Success feedback for sender
         sender.sendMessage(ChatColor.of("#55FF55") + "✔ Payment Sent!");
@@ -90,7 +94,7 @@ public class PayCommand extends BaseCommand {
                 MONEY_FORMAT.format(amount) + " Coins " + ChatColor.of("#FFFFFF") + 
                 "to " + ChatColor.of("#00FFFF") + target.getName());
         sender.sendMessage(ChatColor.of("#808080") + "New balance: " + ChatColor.of("#FFFFFF") + 
-                MONEY_FORMAT.format(senderBalance - amount) + " Coins");
+                MONEY_FORMAT.format(economy.getBalance(sender.getUniqueId(), CurrencyType.COINS)) + " Coins");
         sender.playSound(sender.getLocation(), Sound.ENTITY_EXPERIENCE_ORB_PICKUP, 1.0f, 1.2f);
         
         // Notification for recipient
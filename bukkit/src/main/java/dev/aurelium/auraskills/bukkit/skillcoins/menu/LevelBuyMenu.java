@@ -21,9 +21,6 @@ import java.text.DecimalFormat;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
-import dev.aurelium.auraskills.common.util.file.FileUtil;
-import org.spongepowered.configurate.ConfigurationNode;
-import java.io.File;
 
 /**
  * Level Buy Menu - Uses the same track layout as level progression
@@ -41,15 +38,6 @@ public class LevelBuyMenu {
     private static final int ITEMS_PER_PAGE = 24;
     private static final DecimalFormat MONEY_FORMAT = new DecimalFormat("#,##0");
     
-    // Exponential pricing system in TOKENS - balanced around shop economy
-    // Base: 1 token for first level
-    // Formula (tokens per level): cost = 1 * (1.08 ^ (level - 1)), rounded UP to nearest whole token
-    // This scales from ~1 token at level 1 to larger token costs at late levels
-    // Pricing values loaded from shop-config.yml (skill-levels.base-price and skill-levels.multiplier)
-    // Defaults: base 1 token, multiplier 1.08
-    private double baseTokens = 1.0; // base cost in tokens (can be configured)
-    private double growthRate = 1.08; // growth per level (can be configured)
-    
     // Title prefix to identify this menu
     private static final String TITLE_PREFIX = ChatColor.DARK_GRAY + "Buy ";
     
@@ -87,8 +75,6 @@ public class LevelBuyMenu {
         this.plugin = plugin;
         this.economy = economy;
         this.navbarManager = new SharedNavbarManager(plugin, economy);
-        // Load configurable pricing
-        loadPricingConfig();
     }
     
     /**
@@ -286,7 +272,7 @@ public class LevelBuyMenu {
         double tokenBalance = economy.getBalance(uuid, CurrencyType.TOKENS);
         
         int levelsToBuy = selectedLevel - currentLevel;
-        int totalCost = calculateTotalCost(currentLevel, selectedLevel);
+        long totalCost = plugin.getLevelPricing().getCost(currentLevel, selectedLevel);
         boolean canAfford = tokenBalance >= (double) totalCost;
         
         // Slot 0: Skill Info
@@ -298,6 +284,8 @@ public class LevelBuyMenu {
             lore.add("");
             lore.add(ChatColor.GRAY + "Current Level: " + ChatColor.WHITE + currentLevel);
             lore.add(ChatColor.GRAY + "Max Level: " + ChatColor.WHITE + maxLevel);
+            int affordable = plugin.getLevelPricing().getMaxAffordableLevels(currentLevel, maxLevel, tokenBalance);
+            lore.add(ChatColor.GRAY + "Affordable up to: " + ChatColor.WHITE + "Level " + (currentLevel + affordable));
             lore.add("");
             lore.add(ChatColor.YELLOW + "Click levels below to select!");
             skillMeta.setLore(lore);
@@ -404,7 +392,7 @@ public class LevelBuyMenu {
                 // Selected for purchase - cyan/light blue glass (highlighted)
                 material = Material.LIGHT_BLUE_STAINED_GLASS_PANE;
                 displayName = ChatColor.of("#00FFFF") + "Level " + level + " ★";
-                int levelCost = calculateLevelCost(level);
+                long levelCost = plugin.getLevelPricing().getLevelCost(level);
                 lore.add("");
                 lore.add(ChatColor.AQUA + "SELECTED FOR PURCHASE");
                 lore.add("");
@@ -415,7 +403,7 @@ public class LevelBuyMenu {
                 // Not selected, can be purchased - red/orange glass
                 material = Material.RED_STAINED_GLASS_PANE;
                 displayName = ChatColor.RED + "Level " + level;
-                int levelCost = calculateLevelCost(level);
+                long levelCost = plugin.getLevelPricing().getLevelCost(level);
                 lore.add("");
                 lore.add(ChatColor.GRAY + "Locked");
                 lore.add("");
@@ -597,7 +585,7 @@ public class LevelBuyMenu {
         UUID uuid = player.getUniqueId();
         
         int levelsToBuy = selectedLevel - currentLevel;
-        int totalCost = calculateTotalCost(currentLevel, selectedLevel);
+        long totalCost = plugin.getLevelPricing().getCost(currentLevel, selectedLevel);
         
         double balance = economy.getBalance(uuid, CurrencyType.TOKENS);
         
@@ -607,13 +595,17 @@ public class LevelBuyMenu {
             return;
         }
         
-        // Deduct tokens
-        economy.subtractBalance(uuid, CurrencyType.TOKENS, totalCost);
-        
         // Add levels
         User user = plugin.getUser(player);
         if (user == null) return;
         
+        // Deduct tokens atomically, the balance may have changed since the check above
+        if (!economy.withdraw(uuid, CurrencyType.TOKENS, totalCost)) {
+            player.sendMessage(ChatColor.RED + "✖ Insufficient tokens!");
+            player.playSound(player.getLocation(), Sound.ENTITY_VILLAGER_NO, 1.0f, 1.0f);
+            return;
+        }
+        
         user.setSkillLevel(skill, selectedLevel);
         
         // Success feedback
@@ -684,56 +676,6 @@ public class LevelBuyMenu {
         }, 1L); // 1 tick delay
     }
     
-    /**
-     * Calculate the cost of a single level using exponential formula (in whole TOKENS)
-     * Formula (tokens per level): BASE_TOKENS * (GROWTH_RATE ^ (level - 1))
-     * Round to nearest whole token (standard rounding, e.g., 1.4 -> 1, 1.5 -> 2).
-     */
-    private int calculateLevelCost(int level) {
-        double raw = baseTokens * Math.pow(growthRate, level - 1);
-        return (int) Math.round(raw);
-    }
-    
-    /**
-     * Calculate total cost for purchasing multiple levels (from startLevel+1 to endLevel)
-     * This sums the individual level token costs (each rounded up)
-     */
-    private int calculateTotalCost(int startLevel, int endLevel) {
-        int total = 0;
-        for (int i = startLevel + 1; i <= endLevel; i++) {
-            total += calculateLevelCost(i);
-        }
-        return total;
-    }
-    
-    private void loadPricingConfig() {
-        try {
-            // Prefer user config in plugin data folder if present
-            File userFile = new File(plugin.getDataFolder(), "shop-config.yml");
-            ConfigurationNode cfg = null;
-            if (userFile.exists()) {
-                cfg = FileUtil.loadYamlFile(userFile);
-                if (cfg != null && !cfg.node("skill-levels").virtual()) {
-                    baseTokens = cfg.node("skill-levels", "base-price").getDouble(baseTokens);
-                    growthRate = cfg.node("skill-levels", "multiplier").getDouble(growthRate);
-                    plugin.getLogger().info("Loaded shop-config.yml from data folder: base=" + baseTokens + ", multiplier=" + growthRate);
-                    return;
-                }
-            }
-            // Fallback to embedded default
-            cfg = FileUtil.loadEmbeddedYamlFile("shop-config.yml", plugin);
-            if (cfg != null && !cfg.node("skill-levels").virtual()) {
-                baseTokens = cfg.node("skill-levels", "base-price").getDouble(baseTokens);
-                growthRate = cfg.node("skill-levels", "multiplier").getDouble(growthRate);
-                if (cfg.node("debug", "log-pricing").getBoolean(false)) {
-                    plugin.getLogger().info("Skill level pricing (embedded) loaded: base=" + baseTokens + ", multiplier=" + growthRate);
-                }
-            }
-        } catch (Exception e) {
-            plugin.getLogger().log(Level.WARNING, "Failed to load shop-config.yml pricing, using defaults", e);
-        }
-    }
-
     private Material getSkillIcon(Skill skill) {
         String skillName = skill.getId().getKey().toLowerCase();
         
@@ -9,9 +9,6 @@ import dev.aurelium.auraskills.common.user.User;
 import net.md_5.bungee.api.ChatColor;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
-import dev.aurelium.auraskills.common.util.file.FileUtil;
-import org.spongepowered.configurate.ConfigurationNode;
-import java.io.File;
 import org.bukkit.Sound;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryClickEvent;
@@ -42,11 +39,6 @@ public class SkillLevelPurchaseMenu {
     private static final int MIN_QUANTITY = 1;
     private static final int MAX_QUANTITY = 64;
     
-    // Pricing values loaded from shop-config.yml (skill-levels.base-price and skill-levels.multiplier)
-    // Defaults: base 1 token, multiplier 1.08
-    private double baseTokens = 1.0; // base cost in tokens (can be configured)
-    private double growthRate = 1.08; // growth per level (can be configured)
-    
     // Thread-safe player session data
     private final Map<UUID, Skill> selectedSkills = new ConcurrentHashMap<>();
     private final Map<UUID, Integer> quantities = new ConcurrentHashMap<>();
@@ -58,8 +50,6 @@ public class SkillLevelPurchaseMenu {
         this.plugin = plugin;
         this.economy = economy;
         this.navbarManager = new SharedNavbarManager(plugin, economy);
-        // Load configurable pricing
-        loadPricingConfig();
     }
     
     public void open(Player player) {
@@ -136,9 +126,10 @@ public class SkillLevelPurchaseMenu {
                         MONEY_FORMAT.format(tokenBalance) + " 🎟");
                 lore.add("");
                 lore.add(ChatColor.of("#808080") + "Pricing: " + ChatColor.of("#FFFF00") + "Exponential");
-                lore.add(ChatColor.of("#808080") + "Level 1: " + ChatColor.of("#00FFFF") + "1 token");
-                lore.add(ChatColor.of("#808080") + "Level 10: " + ChatColor.of("#00FFFF") + "~2 tokens");
-                lore.add(ChatColor.of("#808080") + "Level 50: " + ChatColor.of("#00FFFF") + "~43 tokens");
+                for (int level : new int[] {1, 10, 50}) {
+                    lore.add(ChatColor.of("#808080") + "Level " + level + ": " + ChatColor.of("#00FFFF") +
+                            MONEY_FORMAT.format(plugin.getLevelPricing().getLevelCost(level)) + " tokens");
+                }
                 balanceMeta.setLore(lore);
                 balance.setItemMeta(balanceMeta);
             }
@@ -160,7 +151,7 @@ public class SkillLevelPurchaseMenu {
                 ItemMeta meta = skillItem.getItemMeta();
                 
                 if (meta != null) {
-                    int nextLevelCost = calculateLevelCost(currentLevel + 1);
+                    long nextLevelCost = plugin.getLevelPricing().getLevelCost(currentLevel + 1);
                     meta.setDisplayName(ChatColor.of("#00FFFF") + skill.getDisplayName(user.getLocale()));
                     List<String> lore = new ArrayList<>();
                     lore.add("");
@@ -255,7 +246,7 @@ public class SkillLevelPurchaseMenu {
             quantities.put(uuid, quantity);
             
             double tokenBalance = economy.getBalance(uuid, CurrencyType.TOKENS);
-            int totalCost = calculateTotalCost(currentLevel, currentLevel + quantity);
+            long totalCost = plugin.getLevelPricing().getCost(currentLevel, currentLevel + quantity);
             
             inv.clear();
             fillBorder(inv);
@@ -277,7 +268,7 @@ public class SkillLevelPurchaseMenu {
     }
     
     private void addSkillDisplay(Inventory inv, Skill skill, int quantity, int currentLevel, 
-                                 int maxLevel, double tokenBalance, int totalCost, User user) {
+                                 int maxLevel, double tokenBalance, long totalCost, User user) {
         if (inv == null) return;
         
         try {
@@ -297,6 +288,9 @@ public class SkillLevelPurchaseMenu {
                 lore.add("");
                 lore.add(ChatColor.of("#00FFFF") + "Total Cost: " + ChatColor.of("#FFFFFF") + 
                         MONEY_FORMAT.format(totalCost) + " tokens");
+                int affordable = plugin.getLevelPricing().getMaxAffordableLevels(currentLevel, maxLevel, tokenBalance);
+                lore.add(ChatColor.of("#808080") + "Can afford: " + ChatColor.of("#FFFFFF") + affordable +
+                        ChatColor.of("#808080") + " level" + (affordable != 1 ? "s" : ""));
                 lore.add("");
                 
                 if (tokenBalance >= (double) totalCost) {
@@ -404,7 +398,7 @@ public class SkillLevelPurchaseMenu {
         }
     }
     
-    private void addConfirmButton(Inventory inv, int quantity, int totalCost, 
+    private void addConfirmButton(Inventory inv, int quantity, long totalCost, 
                                   double tokenBalance, int availableLevels) {
         if (inv == null) return;
         
@@ -526,7 +520,7 @@ public class SkillLevelPurchaseMenu {
         try {
             // Note: This creates a button for a preset amount, but cost depends on current level
             // For now, show estimated cost starting from level 1 as a reference
-            int estimatedCost = calculateTotalCost(0, amount);
+            long estimatedCost = plugin.getLevelPricing().getCost(0, amount);
             ItemStack button = new ItemStack(material);
             ItemMeta meta = button.getItemMeta();
             if (meta != null) {
@@ -690,7 +684,7 @@ public class SkillLevelPurchaseMenu {
         }
         
         int currentLevel = user.getSkillLevel(skill);
-        int totalCost = calculateTotalCost(currentLevel, currentLevel + quantity);
+        long totalCost = plugin.getLevelPricing().getCost(currentLevel, currentLevel + quantity);
         double tokenBalance = economy.getBalance(uuid, CurrencyType.TOKENS);
         int maxLevel = skill.getMaxLevel();
         
@@ -707,7 +701,11 @@ public class SkillLevelPurchaseMenu {
         }
         
         try {
-            economy.subtractBalance(uuid, CurrencyType.TOKENS, totalCost);
+            if (!economy.withdraw(uuid, CurrencyType.TOKENS, totalCost)) {
+                player.sendMessage(ChatColor.of("#FF5555") + "✖ Not enough tokens!");
+                player.playSound(player.getLocation(), Sound.ENTITY_VILLAGER_NO, 1.0f, 1.0f);
+                return;
+            }
             user.setSkillLevel(skill, currentLevel + quantity);
             
             player.sendMessage(ChatColor.of("#55FF55") + "✔ Purchase Successful!");
@@ -770,34 +768,6 @@ public class SkillLevelPurchaseMenu {
         }
     }
     
-    private void loadPricingConfig() {
-        try {
-            // Prefer user config in plugin data folder if present
-            File userFile = new File(plugin.getDataFolder(), "shop-config.yml");
-            ConfigurationNode cfg = null;
-            if (userFile.exists()) {
-                cfg = FileUtil.loadYamlFile(userFile);
-                if (cfg != null && !cfg.node("skill-levels").virtual()) {
-                    baseTokens = cfg.node("skill-levels", "base-price").getDouble(baseTokens);
-                    growthRate = cfg.node("skill-levels", "multiplier").getDouble(growthRate);
-                    plugin.getLogger().info("Loaded shop-config.yml from data folder: base=" + baseTokens + ", multiplier=" + growthRate);
-                    return;
-                }
-            }
-            // Fallback to embedded default
-            cfg = FileUtil.loadEmbeddedYamlFile("shop-config.yml", plugin);
-            if (cfg != null && !cfg.node("skill-levels").virtual()) {
-                baseTokens = cfg.node("skill-levels", "base-price").getDouble(baseTokens);
-                growthRate = cfg.node("skill-levels", "multiplier").getDouble(growthRate);
-                if (cfg.node("debug", "log-pricing").getBoolean(false)) {
-                    plugin.getLogger().info("Skill level pricing (embedded) loaded: base=" + baseTokens + ", multiplier=" + growthRate);
-                }
-            }
-        } catch (Exception e) {
-            plugin.getLogger().log(java.util.logging.Level.WARNING, "Failed to load shop-config.yml pricing, using defaults", e);
-        }
-    }
-
     private Material getSkillIcon(Skill skill) {
         if (skill == null) return Material.EXPERIENCE_BOTTLE;
         switch (skill.name().toUpperCase()) {
@@ -819,26 +789,4 @@ public class SkillLevelPurchaseMenu {
             default: return Material.EXPERIENCE_BOTTLE;
         }
     }
-    
-    /**
-     * Calculate the cost of a single level using exponential formula (in whole TOKENS)
-     * Formula (tokens per level): BASE_TOKENS * (GROWTH_RATE ^ (level - 1))
-     * Round to nearest whole token (standard rounding, e.g., 1.4 -> 1, 1.5 -> 2).
-     */
-    private int calculateLevelCost(int level) {
-        double raw = baseTokens * Math.pow(growthRate, level - 1);
-        return (int) Math.round(raw);
-    }
-    
-    /**
-     * Calculate total cost for purchasing multiple levels (from startLevel+1 to endLevel)
-     * This sums the individual level token costs (each rounded up)
-     */
-    private int calculateTotalCost(int startLevel, int endLevel) {
-        int total = 0;
-        for (int i = startLevel + 1; i <= endLevel; i++) {
-            total += calculateLevelCost(i);
-        }
-        return total;
-    }
 }
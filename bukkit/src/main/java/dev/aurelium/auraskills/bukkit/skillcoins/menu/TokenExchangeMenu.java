@@ -3,6 +3,7 @@ package dev.aurelium.auraskills.bukkit.skillcoins.menu;
 import dev.aurelium.auraskills.bukkit.AuraSkills;
 import dev.aurelium.auraskills.common.skillcoins.CurrencyType;
 import dev.aurelium.auraskills.common.skillcoins.EconomyProvider;
+import dev.aurelium.auraskills.common.skillcoins.LevelPricing;
 import net.md_5.bungee.api.ChatColor;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
@@ -20,10 +21,6 @@ import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
-import dev.aurelium.auraskills.common.util.file.FileUtil;
-import org.spongepowered.configurate.ConfigurationNode;
-import java.io.File;
-
 /**
  * Token Exchange menu for buying tokens with coins - FULLY REWRITTEN
  * 
@@ -39,7 +36,6 @@ public class TokenExchangeMenu {
     private static final String MENU_TITLE = "§a🎟" + ChatColor.DARK_GRAY + " Token Exchange";
     private static final String PRESET_TITLE = "§e⚡" + ChatColor.DARK_GRAY + " Quick Select Amount";
     private static final DecimalFormat MONEY_FORMAT = new DecimalFormat("#,##0.00");
-    private int coinsPerToken = 1000; // Default rate
     private static final int MIN_QUANTITY = 1;
     private static final int MAX_QUANTITY = 1000;
     
@@ -54,28 +50,8 @@ public class TokenExchangeMenu {
         if (economy == null) throw new IllegalArgumentException("Economy provider cannot be null");
         this.plugin = plugin;
         this.economy = economy;
-        loadConfig();
     }
 
-    private void loadConfig() {
-        try {
-            File userFile = new File(plugin.getDataFolder(), "shop-config.yml");
-            if (userFile.exists()) {
-                ConfigurationNode cfg = FileUtil.loadYamlFile(userFile);
-                if (cfg != null && !cfg.node("token-exchange").virtual()) {
-                    coinsPerToken = cfg.node("token-exchange", "coins-per-token").getInt(coinsPerToken);
-                }
-            } else {
-                ConfigurationNode cfg = FileUtil.loadEmbeddedYamlFile("shop-config.yml", plugin);
-                if (cfg != null && !cfg.node("token-exchange").virtual()) {
-                    coinsPerToken = cfg.node("token-exchange", "coins-per-token").getInt(coinsPerToken);
-                }
-            }
-        } catch (Exception e) {
-            plugin.getLogger().log(Level.WARNING, "Failed to load shop-config.yml token exchange pricing, using defaults", e);
-        }
-    }
-    
     /**
      * Open the main token exchange menu with validation
      */
@@ -180,7 +156,8 @@ public class TokenExchangeMenu {
             playerQuantities.put(uuid, quantity);
             
             // Calculate cost with overflow protection
-            long totalCoinsLong = (long) coinsPerToken * quantity;
+            LevelPricing pricing = plugin.getLevelPricing();
+            long totalCoinsLong = pricing.getTokenCost(quantity);
             if (totalCoinsLong > Integer.MAX_VALUE) {
                 plugin.getLogger().warning("Overflow detected in token cost calculation");
                 totalCoinsLong = Integer.MAX_VALUE;
@@ -210,11 +187,13 @@ public class TokenExchangeMenu {
             lore.add("");
             lore.add(ChatColor.of("#d0de34") + "Tokens to purchase: " + ChatColor.of("#FFFFFF") + quantity);
             lore.add(ChatColor.GRAY + "Exchange Rate: " + ChatColor.of("#FFD700") + 
-                    coinsPerToken + " ⛃" + ChatColor.of("#808080") + " = " + 
+                    pricing.getCoinsPerToken() + " ⛃" + ChatColor.of("#808080") + " = " + 
                     ChatColor.GREEN + "1 🎟");
             lore.add("");
             lore.add(ChatColor.WHITE + "Total Cost: " + ChatColor.GOLD + 
                     MONEY_FORMAT.format(totalCoins) + " ⛃");
+            lore.add(ChatColor.GRAY + "Can afford: " + ChatColor.of("#FFFFFF") +
+                    Math.min(pricing.getMaxAffordableTokens(coinBalance), MAX_QUANTITY) + " 🎟");
             lore.add("");
             
             if (coinBalance >= totalCoins) {
@@ -494,7 +473,7 @@ public class TokenExchangeMenu {
         
         try {
             // Calculate with overflow protection
-            long totalCoinsLong = (long) coinsPerToken * quantity;
+            long totalCoinsLong = plugin.getLevelPricing().getTokenCost(quantity);
             if (totalCoinsLong > Integer.MAX_VALUE) {
                 player.sendMessage(ChatColor.of("#FF5555") + "✖ Purchase amount too large!");
                 return;
@@ -517,20 +496,10 @@ public class TokenExchangeMenu {
                 return;
             }
             
-            // Atomic transaction with error handling
-            try {
-                economy.subtractBalance(uuid, CurrencyType.COINS, totalCoins);
-                economy.addBalance(uuid, CurrencyType.TOKENS, quantity);
-            } catch (Exception e) {
-                plugin.getLogger().log(Level.SEVERE, "Transaction failed, attempting rollback", e);
-                // Attempt rollback
-                try {
-                    economy.addBalance(uuid, CurrencyType.COINS, totalCoins);
-                    player.sendMessage(ChatColor.of("#FF5555") + "✖ Transaction failed! Funds refunded.");
-                } catch (Exception rollbackError) {
-                    plugin.getLogger().log(Level.SEVERE, "CRITICAL: Rollback failed!", rollbackError);
-                    player.sendMessage(ChatColor.of("#FF5555") + "✖ CRITICAL ERROR! Contact an administrator.");
-                }
+            // Atomic exchange, fails without side effects if coins were spent in the meantime
+            if (!economy.exchange(uuid, CurrencyType.COINS, totalCoins, CurrencyType.TOKENS, quantity)) {
+                player.sendMessage(ChatColor.of("#FF5555") + "✖ Not enough coins!");
+                playSound(player, Sound.ENTITY_VILLAGER_NO, 1.0f, 1.0f);
                 return;
             }
             
@@ -628,7 +597,7 @@ public class TokenExchangeMenu {
             List<String> lore = new ArrayList<>();
             lore.add("");
             lore.add(ChatColor.of("#808080") + "Cost: " + ChatColor.of("#FFD700") + 
-                    MONEY_FORMAT.format(coinsPerToken * amount) + " Coins");
+                    MONEY_FORMAT.format(plugin.getLevelPricing().getTokenCost(amount)) + " Coins");
             lore.add("");
             lore.add(ChatColor.of("#55FF55") + "▸ Click to select!");
             meta.setLore(lore);
@@ -569,21 +569,23 @@ public class TransactionMenu {
             return;
         }
         
-        // Atomic transaction
+        // Create items before charging so a failure doesn't need a refund
+        ItemStack item = shopItem.createItemStack(quantity);
+        if (item == null) {
+            player.sendMessage(ChatColor.of("#FF5555") + "✖ Error creating item!");
+            plugin.getLogger().severe("Failed to create item stack for purchase");
+            return;
+        }
+        
+        // Atomic withdrawal, fails if the balance changed since the pre-validation
+        if (!economy.withdraw(uuid, shopItem.getCurrency(), totalPrice)) {
+            player.sendMessage(ChatColor.of("#FF5555") + "✖ " + 
+                    ChatColor.of("#FFFFFF") + "You don't have enough " + getCurrencyName() + "!");
+            playSound(player, Sound.ENTITY_VILLAGER_NO, 1.0f, 1.0f);
+            return;
+        }
+        
         try {
-            // Deduct currency first
-            economy.subtractBalance(uuid, shopItem.getCurrency(), totalPrice);
-            
-            // Give items
-            ItemStack item = shopItem.createItemStack(quantity);
-            if (item == null) {
-                // Rollback - refund currency
-                economy.addBalance(uuid, shopItem.getCurrency(), totalPrice);
-                player.sendMessage(ChatColor.of("#FF5555") + "✖ Error creating item! Refunded.");
-                plugin.getLogger().severe("Failed to create item stack for purchase");
-                return;
-            }
-            
             player.getInventory().addItem(item);
             
             // Success
@@ -0,0 +1,61 @@
+package dev.aurelium.auraskills.bukkit.skillcoins.shop;
+
+import dev.aurelium.auraskills.bukkit.AuraSkills;
+import dev.aurelium.auraskills.common.skillcoins.LevelPricing;
+import dev.aurelium.auraskills.common.util.file.FileUtil;
+import org.jetbrains.annotations.Nullable;
+import org.spongepowered.configurate.ConfigurationNode;
+
+import java.io.File;
+import java.util.logging.Level;
+
+/**
+ * Loads skill level and token exchange pricing from shop-config.yml
+ */
+public class LevelPricingLoader {
+
+    private static final double DEFAULT_BASE_PRICE = 1.0;
+    private static final double DEFAULT_MULTIPLIER = 1.08;
+    private static final int DEFAULT_COINS_PER_TOKEN = 1000;
+
+    private final AuraSkills plugin;
+
+    public LevelPricingLoader(AuraSkills plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Load pricing, resolving each key from the user config in the data folder first and the embedded default second.
+     * Prices are tabled up to the highest skill max level, so this requires skills loaded.
+     */
+    public LevelPricing load() {
+        double basePrice = DEFAULT_BASE_PRICE;
+        double multiplier = DEFAULT_MULTIPLIER;
+        int coinsPerToken = DEFAULT_COINS_PER_TOKEN;
+        try {
+            File userFile = new File(plugin.getDataFolder(), "shop-config.yml");
+            ConfigurationNode user = userFile.exists() ? FileUtil.loadYamlFile(userFile) : null;
+            ConfigurationNode embedded = FileUtil.loadEmbeddedYamlFile("shop-config.yml", plugin);
+
+            basePrice = resolve(user, embedded, "skill-levels", "base-price").getDouble(basePrice);
+            multiplier = resolve(user, embedded, "skill-levels", "multiplier").getDouble(multiplier);
+            coinsPerToken = resolve(user, embedded, "token-exchange", "coins-per-token").getInt(coinsPerToken);
+            if (resolve(user, embedded, "debug", "log-pricing").getBoolean(false)) {
+                plugin.getLogger().info("Skill level pricing loaded: base=" + basePrice + ", multiplier=" + multiplier
+                        + ", coins-per-token=" + coinsPerToken);
+            }
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to load shop-config.yml pricing, using defaults", e);
+        }
+        return new LevelPricing(basePrice, multiplier, plugin.config().getHighestMaxLevel(), coinsPerToken);
+    }
+
+    // Gets the node at the path in the user config if set, otherwise in the embedded default
+    private ConfigurationNode resolve(@Nullable ConfigurationNode user, ConfigurationNode embedded, Object... path) {
+        if (user != null && !user.node(path).virtual()) {
+            return user.node(path);
+        }
+        return embedded.node(path);
+    }
+
+}
@@ -212,7 +212,11 @@ public class SkillCoinsEconomyProvider implements Economy {
                 plugin.getLogger().warning("withdrawPlayer(OfflinePlayer) failed: Insufficient funds");
                 return new EconomyResponse(0, balance, EconomyResponse.ResponseType.FAILURE, "Insufficient funds");
             }
-            economyProvider.subtractBalance(uuid, getCurrency(), amount);
+            if (!economyProvider.withdraw(uuid, getCurrency(), amount)) {
+                plugin.getLogger().warning("withdrawPlayer(OfflinePlayer) failed: Insufficient funds");
+                return new EconomyResponse(0, economyProvider.getBalance(uuid, getCurrency()),
+                        EconomyResponse.ResponseType.FAILURE, "Insufficient funds");
+            }
             double newBalance = economyProvider.getBalance(uuid, getCurrency());
             EconomyResponse response = new EconomyResponse(amount, newBalance, EconomyResponse.ResponseType.SUCCESS, null);
             return response;
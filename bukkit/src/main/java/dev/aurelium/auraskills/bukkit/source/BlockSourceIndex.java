@@ -0,0 +1,150 @@
+package dev.aurelium.auraskills.bukkit.source;
+
+import dev.aurelium.auraskills.api.source.SkillSource;
+import dev.aurelium.auraskills.api.source.type.BlockXpSource;
+import dev.aurelium.auraskills.api.source.type.BlockXpSource.BlockTriggers;
+import dev.aurelium.auraskills.api.source.type.BlockXpSource.BlockXpSourceState;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Block sources indexed by material and then trigger, so finding the source of a block doesn't
+ * scan every source. Source states are compiled to {@link BlockData} once and compared with
+ * {@link BlockData#matches(BlockData)} instead of serializing the block data of each block.
+ * An index is built from the source list cached by the skill manager, which is replaced
+ * when skills are loaded.
+ */
+public class BlockSourceIndex {
+
+    private static final BlockTriggers[] TRIGGERS = BlockTriggers.values();
+
+    private final List<SkillSource<BlockXpSource>> sources;
+    // Candidates of each material indexed by trigger ordinal, in the same order as the source list
+    private final Map<Material, Candidate[][]> candidates = new EnumMap<>(Material.class);
+    private final Map<Material, SkillSource<BlockXpSource>> firstByMaterial = new EnumMap<>(Material.class);
+
+    public BlockSourceIndex(List<SkillSource<BlockXpSource>> sources) {
+        this.sources = sources;
+        Map<Material, List<List<Candidate>>> building = new EnumMap<>(Material.class);
+        for (SkillSource<BlockXpSource> entry : sources) {
+            BlockXpSource source = entry.source();
+            for (String blockName : source.getBlocks()) {
+                Material material = Material.getMaterial(blockName.toUpperCase(Locale.ROOT));
+                if (material == null) continue;
+
+                firstByMaterial.putIfAbsent(material, entry);
+                Candidate candidate = new Candidate(entry, compileStates(material, source.getStates()));
+                List<List<Candidate>> byTrigger = building.computeIfAbsent(material, m -> {
+                    List<List<Candidate>> lists = new ArrayList<>(TRIGGERS.length);
+                    for (int i = 0; i < TRIGGERS.length; i++) {
+                        lists.add(new ArrayList<>());
+                    }
+                    return lists;
+                });
+                for (BlockTriggers trigger : source.getTriggers()) {
+                    List<Candidate> list = byTrigger.get(trigger.ordinal());
+                    if (list.isEmpty() || list.getLast() != candidate) {
+                        list.add(candidate);
+                    }
+                }
+            }
+        }
+        building.forEach((material, byTrigger) -> {
+            Candidate[][] array = new Candidate[TRIGGERS.length][];
+            for (int i = 0; i < TRIGGERS.length; i++) {
+                array[i] = byTrigger.get(i).isEmpty() ? null : byTrigger.get(i).toArray(new Candidate[0]);
+            }
+            candidates.put(material, array);
+        });
+    }
+
+    /**
+     * Gets whether this index was built from the given source list instance.
+     *
+     * @param sources the current list of block sources
+     * @return true if the index is up to date
+     */
+    public boolean isBuiltFrom(List<SkillSource<BlockXpSource>> sources) {
+        return this.sources == sources;
+    }
+
+    /**
+     * Gets the first source matching the material, trigger and state of a block.
+     *
+     * @param block the block
+     * @param trigger the trigger
+     * @return the source, or null if no source matches
+     */
+    @Nullable
+    public SkillSource<BlockXpSource> get(Block block, BlockTriggers trigger) {
+        Candidate[][] byTrigger = candidates.get(block.getType());
+        if (byTrigger == null) return null;
+        Candidate[] list = byTrigger[trigger.ordinal()];
+        if (list == null) return null;
+
+        BlockData blockData = null; // Only get block data if a source has states
+        for (Candidate candidate : list) {
+            if (candidate.states() == null) {
+                return candidate.source();
+            }
+            if (blockData == null) {
+                blockData = block.getBlockData();
+            }
+            for (BlockData state : candidate.states()) {
+                if (blockData.matches(state)) {
+                    return candidate.source();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the first source with a material regardless of trigger and state.
+     *
+     * @param material the material
+     * @return the source, or null if no source has the material
+     */
+    @Nullable
+    public SkillSource<BlockXpSource> getByMaterial(Material material) {
+        return firstByMaterial.get(material);
+    }
+
+    /**
+     * Compiles source states to block data with only the state properties set.
+     *
+     * @return the compiled states, or null if any block data matches
+     */
+    private BlockData @Nullable [] compileStates(Material material, BlockXpSourceState @Nullable [] states) {
+        if (states == null) return null;
+        List<BlockData> compiled = new ArrayList<>();
+        for (BlockXpSourceState state : states) {
+            if (state == null) continue;
+            if (state.getStateMap().isEmpty()) return null; // An empty state matches every block
+
+            StringJoiner properties = new StringJoiner(",", "[", "]");
+            state.getStateMap().forEach((key, value) -> properties.add(key + "=" + value));
+            try {
+                compiled.add(Bukkit.createBlockData(material, properties.toString()));
+            } catch (IllegalArgumentException e) {
+                // The material doesn't have the property or value, so the state can't match
+            }
+        }
+        return compiled.toArray(new BlockData[0]);
+    }
+
+    private record Candidate(SkillSource<BlockXpSource> source, BlockData @Nullable [] states) {
+
+    }
+
+}
@@ -1,8 +1,5 @@
 package dev.aurelium.auraskills.bukkit.trait;
 
-import com.ezylang.evalex.EvaluationException;
-import com.ezylang.evalex.Expression;
-import com.ezylang.evalex.parser.ParseException;
 import dev.aurelium.auraskills.api.stat.Stats;
 import dev.aurelium.auraskills.api.trait.Trait;
 import dev.aurelium.auraskills.api.trait.Traits;
@@ -10,6 +7,8 @@ import dev.aurelium.auraskills.api.util.NumberUtil;
 import dev.aurelium.auraskills.bukkit.AuraSkills;
 import dev.aurelium.auraskills.bukkit.util.VersionUtils;
 import dev.aurelium.auraskills.common.user.User;
+import dev.aurelium.auraskills.common.util.math.expression.CompiledExpression;
+import dev.aurelium.auraskills.common.util.math.expression.ExpressionException;
 import org.bukkit.entity.HumanEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -23,7 +22,7 @@ import java.util.Locale;
 public class AnvilDiscountTrait extends TraitImpl {
 
     @Nullable
-    private Expression formula;
+    private volatile CompiledExpression formula;
 
     AnvilDiscountTrait(AuraSkills plugin) {
         super(plugin, Traits.ANVIL_DISCOUNT);
@@ -95,13 +94,13 @@ public class AnvilDiscountTrait extends TraitImpl {
     // Gets the anvil discount from 0 (0% off) to 1 (100% off)
     private double getDiscount(double traitValue) {
         try {
+            CompiledExpression formula = this.formula;
             if (formula == null) {
-                formula = new Expression(Traits.ANVIL_DISCOUNT.optionString("formula"));
+                formula = CompiledExpression.compile(Traits.ANVIL_DISCOUNT.optionString("formula"), "value");
+                this.formula = formula;
             }
-            formula.with("value", traitValue);
-
-            return formula.evaluate().getNumberValue().doubleValue();
-        } catch (EvaluationException | ParseException | UnsupportedOperationException e) {
+            return formula.evaluate(traitValue);
+        } catch (ExpressionException e) {
             plugin.logger().warn("Failed to evaluate formula for trait auraskills/anvil_discount: " + e.getMessage());
         }
         return -1.0 * Math.pow(1.025, -1.0 * traitValue) + 1;
@@ -1,8 +1,5 @@
 package dev.aurelium.auraskills.bukkit.trait;
 
-import com.ezylang.evalex.EvaluationException;
-import com.ezylang.evalex.Expression;
-import com.ezylang.evalex.parser.ParseException;
 import dev.aurelium.auraskills.api.damage.DamageMeta;
 import dev.aurelium.auraskills.api.damage.DamageModifier;
 import dev.aurelium.auraskills.api.event.damage.DamageEvent;
@@ -11,6 +8,8 @@ import dev.aurelium.auraskills.api.trait.Traits;
 import dev.aurelium.auraskills.api.util.NumberUtil;
 import dev.aurelium.auraskills.bukkit.AuraSkills;
 import dev.aurelium.auraskills.common.user.User;
+import dev.aurelium.auraskills.common.util.math.expression.CompiledExpression;
+import dev.aurelium.auraskills.common.util.math.expression.ExpressionException;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -21,7 +20,7 @@ import java.util.Locale;
 public class DamageReductionTrait extends TraitImpl {
 
     @Nullable
-    private Expression formula;
+    private volatile CompiledExpression formula;
 
     DamageReductionTrait(AuraSkills plugin) {
         super(plugin, Traits.DAMAGE_REDUCTION);
@@ -68,13 +67,13 @@ public class DamageReductionTrait extends TraitImpl {
     private double getReductionValue(double value) {
         Trait trait = Traits.DAMAGE_REDUCTION;
         try {
+            CompiledExpression formula = this.formula;
             if (formula == null) {
-                formula = new Expression(trait.optionString("formula"));
+                formula = CompiledExpression.compile(trait.optionString("formula"), "value");
+                this.formula = formula;
             }
-            formula.with("value", value);
-
-            return formula.evaluate().getNumberValue().doubleValue();
-        } catch (EvaluationException | ParseException | UnsupportedOperationException e) {
+            return formula.evaluate(value);
+        } catch (ExpressionException e) {
             plugin.logger().warn("Failed to evaluate formula for trait auraskills/damage_reduction: " + e.getMessage());
         }
         // Default formula
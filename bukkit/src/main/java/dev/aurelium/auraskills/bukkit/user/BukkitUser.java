@@ -7,6 +7,7 @@ import dev.aurelium.auraskills.bukkit.hooks.BukkitLuckPermsHook;
 import dev.aurelium.auraskills.bukkit.item.TraitModifiers;
 import dev.aurelium.auraskills.bukkit.item.UserEquipment;
 import dev.aurelium.auraskills.common.api.implementation.ApiSkillsUser;
+import dev.aurelium.auraskills.common.user.SkillArrays;
 import dev.aurelium.auraskills.common.user.User;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
@@ -15,17 +16,22 @@ import org.bukkit.permissions.PermissionAttachmentInfo;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.HashSet;
 import java.util.Locale;
 import java.util.Set;
 import java.util.UUID;
 
 public class BukkitUser extends User {
 
+    private static final String MULTIPLIER_PREFIX = "auraskills.multiplier.";
+
     @Nullable
     private final Player player;
     private final AuraSkills plugin;
     // Non-persistent data
     private final UserEquipment equipment;
+    @Nullable
+    private volatile PermissionMultipliers permissionMultipliers;
 
     public BukkitUser(UUID uuid, @Nullable Player player, AuraSkills plugin) {
         super(uuid, plugin);
@@ -87,32 +93,66 @@ public class BukkitUser extends User {
         if (player == null) {
             return 0.0;
         }
-        double multiplier = 0.0;
+        PermissionMultipliers multipliers = permissionMultipliers;
+        if (multipliers == null) {
+            refreshPermissionMultipliers();
+            multipliers = permissionMultipliers;
+        }
+        return multipliers.get(skill);
+    }
+
+    /**
+     * Reads the player's multiplier permissions and recalculates the cached multipliers
+     * if they changed. Called on load, world change, LuckPerms updates, and periodically
+     * by {@link PermissionMultiplierListener}, since Bukkit has no event for attachment changes.
+     */
+    public void refreshPermissionMultipliers() {
+        if (player == null) return;
+        PermissionMultipliers multipliers = permissionMultipliers;
+        Set<String> permissions = getMultiplierPermissions(player);
+        // The LuckPerms hook replaces its cached set when permissions change, so it is compared by identity first
+        if (multipliers == null || (multipliers.permissions() != permissions && !multipliers.permissions().equals(permissions))) {
+            permissionMultipliers = computePermissionMultipliers(permissions);
+        }
+    }
 
+    private Set<String> getMultiplierPermissions(Player player) {
         if (plugin.getHookManager().isRegistered(BukkitLuckPermsHook.class)
                 && plugin.getHookManager().getHook(BukkitLuckPermsHook.class).usePermissionCache()) {
-            Set<String> permissions = plugin.getHookManager().getHook(BukkitLuckPermsHook.class).getMultiplierPermissions(player);
+            return plugin.getHookManager().getHook(BukkitLuckPermsHook.class).getMultiplierPermissions(player);
+        }
+        Set<String> permissions = new HashSet<>();
+        for (PermissionAttachmentInfo permission : player.getEffectivePermissions()) {
+            if (!permission.getValue()) continue;
+            if (!permission.getPermission().startsWith(MULTIPLIER_PREFIX)) continue;
+            permissions.add(permission.getPermission());
+        }
+        return permissions;
+    }
+
+    private PermissionMultipliers computePermissionMultipliers(Set<String> permissions) {
+        double global = 0.0;
+        for (String permission : permissions) {
+            global += getMultiplierFromPermission(permission, null);
+        }
+        SkillArrays.Index index = new SkillArrays.Index(plugin.getSkillRegistry().getValues());
+        double[] skills = new double[index.size()];
+        for (Skill skill : plugin.getSkillRegistry().getValues()) {
+            double multiplier = 0.0;
             for (String permission : permissions) {
                 multiplier += getMultiplierFromPermission(permission, skill);
             }
-            return multiplier;
-        } else {
-            for (PermissionAttachmentInfo permission : player.getEffectivePermissions()) {
-                if (!permission.getValue()) continue;
-                multiplier += getMultiplierFromPermission(permission.getPermission(), skill);
-            }
+            skills[index.indexOf(skill)] = multiplier;
         }
-
-        return multiplier;
+        return new PermissionMultipliers(permissions, global, index, skills);
     }
 
     private double getMultiplierFromPermission(String permission, @Nullable Skill skill) {
-        final String prefix = "auraskills.multiplier.";
-        if (!permission.startsWith(prefix)) {
+        if (!permission.startsWith(MULTIPLIER_PREFIX)) {
             return 0.0;
         }
 
-        permission = permission.substring(prefix.length());
+        permission = permission.substring(MULTIPLIER_PREFIX.length());
 
         if (isNumeric(permission)) {
             return Double.parseDouble(permission) / 100.0;
@@ -245,4 +285,18 @@ public class BukkitUser extends User {
         removeTraitModifier(TraitModifiers.FLEETING.getModifierId(), false);
     }
 
+    /**
+     * Multipliers from auraskills.multiplier permissions totaled once for the global
+     * multiplier and each registered skill, stored in an array indexed by skill.
+     */
+    private record PermissionMultipliers(Set<String> permissions, double global, SkillArrays.Index index, double[] skills) {
+
+        double get(@Nullable Skill skill) {
+            if (skill == null) return global;
+            int i = index.indexOf(skill);
+            return i >= 0 ? skills[i] : global;
+        }
+
+    }
+
 }
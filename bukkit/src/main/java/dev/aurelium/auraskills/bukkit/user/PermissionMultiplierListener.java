@@ -0,0 +1,59 @@
+package dev.aurelium.auraskills.bukkit.user;
+
+import dev.aurelium.auraskills.api.event.user.UserLoadEvent;
+import dev.aurelium.auraskills.bukkit.AuraSkills;
+import dev.aurelium.auraskills.common.scheduler.TaskRunnable;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the cached permission XP multipliers of online users up to date, so XP gains only read
+ * the cached values. Multipliers are refreshed when a user loads and on world change. Bukkit has no
+ * event for permission attachment changes, so every online player is also rechecked periodically.
+ */
+public class PermissionMultiplierListener implements Listener {
+
+    public static final long RECHECK_PERIOD_MS = 30_000;
+
+    private final AuraSkills plugin;
+
+    public PermissionMultiplierListener(AuraSkills plugin) {
+        this.plugin = plugin;
+        scheduleRecheck();
+    }
+
+    private void scheduleRecheck() {
+        var task = new TaskRunnable() {
+            @Override
+            public void run() {
+                for (Player player : Bukkit.getOnlinePlayers()) {
+                    refresh(player);
+                }
+            }
+        };
+        plugin.getScheduler().timerSync(task, RECHECK_PERIOD_MS, RECHECK_PERIOD_MS, TimeUnit.MILLISECONDS);
+    }
+
+    @EventHandler
+    public void onUserLoad(UserLoadEvent event) {
+        BukkitUser.getUser(event.getUser()).refreshPermissionMultipliers();
+    }
+
+    @EventHandler
+    public void onWorldChange(PlayerChangedWorldEvent event) {
+        // Permissions can depend on the world context
+        refresh(event.getPlayer());
+    }
+
+    private void refresh(Player player) {
+        if (plugin.getUserManager().getUser(player.getUniqueId()) instanceof BukkitUser user) {
+            user.refreshPermissionMultipliers();
+        }
+    }
+
+}
@@ -4,6 +4,7 @@ import dev.aurelium.auraskills.bukkit.AuraSkills;
 import dev.aurelium.auraskills.common.config.Option;
 import dev.aurelium.auraskills.common.storage.sql.SqlStorageProvider;
 import dev.aurelium.auraskills.common.storage.sql.pool.MySqlConnectionPool;
+import dev.aurelium.auraskills.common.storage.sql.pool.SqliteConnectionPool;
 import org.bstats.bukkit.Metrics;
 import org.bstats.charts.SimplePie;
 
@@ -25,6 +26,8 @@ public class MetricsUtil {
             if (plugin.getStorageProvider() instanceof SqlStorageProvider sql) {
                 if (sql.getPool() instanceof MySqlConnectionPool) {
                     type = "mysql";
+                } else if (sql.getPool() instanceof SqliteConnectionPool) {
+                    type = "sqlite";
                 }
             }
             return type;
@@ -0,0 +1,79 @@
+package dev.aurelium.auraskills.bukkit.item;
+
+import dev.aurelium.auraskills.api.item.ModifierType;
+import dev.aurelium.auraskills.api.util.AuraSkillsModifier.Operation;
+import dev.aurelium.auraskills.bukkit.AuraSkills;
+import dev.aurelium.auraskills.bukkit.SyncOnlyScheduler;
+import dev.aurelium.auraskills.bukkit.item.SkillsItem.MetaType;
+import dev.aurelium.auraskills.common.config.Option;
+import dev.aurelium.auraskills.common.user.User;
+import dev.aurelium.auraskills.common.util.TestSession;
+import org.bukkit.Material;
+import org.bukkit.event.player.PlayerItemHeldEvent;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+
+import static dev.aurelium.auraskills.api.stat.Stats.STRENGTH;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ItemListenerTest {
+
+    private ServerMock server;
+    private AuraSkills plugin;
+    private PlayerMock player;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        server = MockBukkit.mock();
+        plugin = MockBukkit.load(AuraSkills.class, TestSession.create());
+        server.getScheduler().performOneTick();
+        plugin.setScheduler(new SyncOnlyScheduler(plugin));
+
+        player = server.addPlayer();
+        server.getScheduler().performOneTick();
+        user = plugin.getUser(player);
+    }
+
+    @AfterEach
+    void unload() {
+        MockBukkit.unmock();
+    }
+
+    @Test
+    void testHeldSlotChangeAppliedOnNextCheck() {
+        double base = user.getStatLevel(STRENGTH);
+        player.getInventory().setItem(1, createItem());
+
+        player.getInventory().setHeldItemSlot(1);
+        server.getPluginManager().callEvent(new PlayerItemHeldEvent(player, 0, 1));
+        server.getScheduler().performTicks(plugin.configInt(Option.MODIFIER_ITEM_CHECK_PERIOD));
+
+        assertEquals(base + 5.0, user.getStatLevel(STRENGTH));
+    }
+
+    @Test
+    void testItemSetWithoutEventAppliedBySweep() {
+        double base = user.getStatLevel(STRENGTH);
+        player.getInventory().setItemInMainHand(createItem());
+
+        // No event marks the player as dirty, so the check task alone does not apply the item
+        server.getScheduler().performTicks(plugin.configInt(Option.MODIFIER_ITEM_CHECK_PERIOD));
+        assertEquals(base, user.getStatLevel(STRENGTH));
+
+        server.getScheduler().performTicks(plugin.configInt(Option.MODIFIER_ITEM_SWEEP_PERIOD));
+        assertEquals(base + 5.0, user.getStatLevel(STRENGTH));
+    }
+
+    private ItemStack createItem() {
+        SkillsItem skillsItem = new SkillsItem(new ItemStack(Material.DIAMOND_SWORD), plugin);
+        skillsItem.addModifier(MetaType.MODIFIER, ModifierType.ITEM, STRENGTH, 5.0, Operation.ADD);
+        return skillsItem.getItem();
+    }
+
+}
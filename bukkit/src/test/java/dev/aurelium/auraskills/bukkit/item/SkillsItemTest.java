@@ -0,0 +1,86 @@
+package dev.aurelium.auraskills.bukkit.item;
+
+import dev.aurelium.auraskills.api.item.ModifierType;
+import dev.aurelium.auraskills.api.skill.Multiplier;
+import dev.aurelium.auraskills.api.stat.StatModifier;
+import dev.aurelium.auraskills.api.util.AuraSkillsModifier.Operation;
+import dev.aurelium.auraskills.bukkit.AuraSkills;
+import dev.aurelium.auraskills.bukkit.item.SkillsItem.MetaType;
+import dev.aurelium.auraskills.common.util.TestSession;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+
+import java.util.List;
+import java.util.Map;
+
+import static dev.aurelium.auraskills.api.skill.Skills.FIGHTING;
+import static dev.aurelium.auraskills.api.stat.Stats.STRENGTH;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SkillsItemTest {
+
+    private static AuraSkills plugin;
+
+    @BeforeAll
+    static void setUp() {
+        ServerMock server = MockBukkit.mock();
+        plugin = MockBukkit.load(AuraSkills.class, TestSession.create());
+        server.getScheduler().performOneTick();
+    }
+
+    @AfterAll
+    static void unload() {
+        MockBukkit.unmock();
+    }
+
+    @Test
+    void testReadWrittenEffects() {
+        SkillsItem skillsItem = new SkillsItem(new ItemStack(Material.DIAMOND_CHESTPLATE), plugin);
+        assertTrue(skillsItem.getStatModifiers(ModifierType.ARMOR).isEmpty());
+
+        // Reading again after a change must not return the effects read before it
+        skillsItem.addModifier(MetaType.MODIFIER, ModifierType.ARMOR, STRENGTH, 5.0, Operation.ADD);
+        skillsItem.addMultiplier(ModifierType.ARMOR, FIGHTING, 10.0);
+        skillsItem.addRequirement(ModifierType.ARMOR, FIGHTING, 3);
+
+        List<StatModifier> modifiers = new SkillsItem(skillsItem.getItem(), plugin).getStatModifiers(ModifierType.ARMOR);
+        assertEquals(1, modifiers.size());
+        assertEquals(STRENGTH, modifiers.get(0).stat());
+        assertEquals(5.0, modifiers.get(0).value());
+        assertEquals(StatModifier.ITEM_PREFIX + "Armor.Chestplate.Strength", modifiers.get(0).name());
+
+        List<Multiplier> multipliers = skillsItem.getMultipliers(ModifierType.ARMOR);
+        assertEquals(1, multipliers.size());
+        assertEquals(10.0, multipliers.get(0).value());
+        assertEquals(Map.of(FIGHTING, 3), skillsItem.getRequirements(ModifierType.ARMOR));
+        assertTrue(skillsItem.getStatModifiers(ModifierType.ITEM).isEmpty());
+
+        skillsItem.removeModifier(MetaType.MODIFIER, ModifierType.ARMOR, STRENGTH);
+        assertTrue(skillsItem.getStatModifiers(ModifierType.ARMOR).isEmpty());
+    }
+
+    @Test
+    void testIdenticalItemsShareCache() {
+        SkillsItem source = new SkillsItem(new ItemStack(Material.DIAMOND_SWORD), plugin);
+        source.addModifier(MetaType.MODIFIER, ModifierType.ITEM, STRENGTH, 2.0, Operation.ADD);
+        ItemStack item = source.getItem();
+
+        plugin.getItemEffectCache().clear();
+        for (int i = 0; i < 10; i++) {
+            List<StatModifier> modifiers = new SkillsItem(item.clone(), plugin).getStatModifiers(ModifierType.ITEM, true);
+            assertEquals(1, modifiers.size());
+            assertEquals(StatModifier.ITEM_PREFIX + "Item.Strength.Offhand", modifiers.get(0).name());
+        }
+        assertEquals(1, plugin.getItemEffectCache().size());
+
+        // Items without any AuraSkills data are never cached
+        new SkillsItem(new ItemStack(Material.DIAMOND_SWORD), plugin).getStatModifiers(ModifierType.ITEM);
+        assertEquals(1, plugin.getItemEffectCache().size());
+    }
+
+}
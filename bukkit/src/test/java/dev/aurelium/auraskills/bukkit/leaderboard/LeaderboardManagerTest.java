@@ -216,6 +216,40 @@ public class LeaderboardManagerTest {
         assertEquals(1, leaderboardManager.getAverageRank(nonExcludedUser.getUuid()));
     }
 
+    @Test
+    void testChangesPublishedInBatches() {
+        LeaderboardManager leaderboardManager = new LeaderboardManager(plugin, new BukkitLeaderboardExclusion(plugin));
+        User user = addUser(new SkillLevelMaps(Map.of(FARMING, 5), Map.of()));
+        leaderboardManager.updateLeaderboards();
+        assertEquals(5, leaderboardManager.getLeaderboard(FARMING).getFirst().level());
+
+        // Changes are only visible after the next publish, and the list and ranks always agree
+        user.setSkillLevel(FARMING, 7);
+        leaderboardManager.markDirty(user);
+        assertEquals(5, leaderboardManager.getLeaderboard(FARMING).getFirst().level());
+        assertEquals(1, leaderboardManager.getSkillRank(FARMING, user.getUuid()));
+
+        leaderboardManager.publishChanges();
+        assertEquals(7, leaderboardManager.getLeaderboard(FARMING).getFirst().level());
+        assertEquals(7, leaderboardManager.getPowerLeaderboard().getFirst().level());
+    }
+
+    @Test
+    void testDeletedUsersRemoved() throws Exception {
+        UUID uuid = UUID.fromString("4954374f-e6c8-4c0d-b5fb-686cde397d8d");
+        copyResourceToTemp("userdata/" + uuid + ".yml", plugin);
+
+        LeaderboardManager leaderboardManager = new LeaderboardManager(plugin, new BukkitLeaderboardExclusion(plugin));
+        leaderboardManager.updateLeaderboards();
+        assertEquals(1, leaderboardManager.getSkillRank(MINING, uuid));
+
+        plugin.getStorageProvider().delete(uuid);
+        leaderboardManager.updateLeaderboards();
+        assertEquals(0, leaderboardManager.getSkillRank(MINING, uuid));
+        assertEquals(0, leaderboardManager.getPowerRank(uuid));
+        assertTrue(leaderboardManager.getLeaderboard(MINING).isEmpty());
+    }
+
     private User addUser(SkillLevelMaps skillLevelMaps) {
         // Create a PlayerMock instance directly so that PlayerJoinEvent isn't called
         PlayerMock playerMock = new PlayerMock(server, "player1", UUID.randomUUID());
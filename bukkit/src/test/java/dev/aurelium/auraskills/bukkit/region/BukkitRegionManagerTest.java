@@ -0,0 +1,82 @@
+package dev.aurelium.auraskills.bukkit.region;
+
+import dev.aurelium.auraskills.bukkit.AuraSkills;
+import dev.aurelium.auraskills.bukkit.SyncOnlyScheduler;
+import dev.aurelium.auraskills.common.region.Region;
+import dev.aurelium.auraskills.common.region.RegionFile;
+import dev.aurelium.auraskills.common.util.TestSession;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+
+import java.io.File;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BukkitRegionManagerTest {
+
+    private ServerMock server;
+    private AuraSkills plugin;
+    private BukkitRegionManager regionManager;
+
+    @BeforeEach
+    void setUp() {
+        server = MockBukkit.mock();
+        plugin = MockBukkit.load(AuraSkills.class, TestSession.create());
+        server.getScheduler().performOneTick();
+        plugin.setScheduler(new SyncOnlyScheduler(plugin));
+        regionManager = plugin.getRegionManager();
+    }
+
+    @AfterEach
+    void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Test
+    void testPlacedBlockRegionEvictedAfterSave() {
+        World world = server.addSimpleWorld("region_world");
+        Block block = world.getBlockAt(5, 64, 5);
+
+        // The region isn't loaded, so placing the block loads it and counts the block's chunk
+        regionManager.addPlacedBlock(block);
+        server.getScheduler().performOneTick();
+        Region region = regionManager.getRegion("region_world", 0, 0);
+        assertNotNull(region);
+        assertTrue(region.hasLoadedChunks());
+        assertTrue(regionManager.isPlacedBlock(block));
+
+        regionManager.handleChunkUnload("region_world", 0, 0);
+        regionManager.saveAllRegions(); // Waits for the eviction to finish
+
+        // The region is only removed after its save finished
+        assertNull(regionManager.getRegion("region_world", 0, 0));
+        assertFalse(region.isDirty());
+        assertTrue(new File(plugin.getPluginFolder(), "regiondata/region_world/r.0.0" + RegionFile.EXTENSION).exists());
+
+        // A chunk loading again gets a new region that reads the saved block
+        Region reloaded = regionManager.handleChunkLoad("region_world", 0, 0);
+        assertNotSame(region, reloaded);
+        regionManager.loadRegion(reloaded);
+        assertTrue(regionManager.isPlacedBlock(block));
+    }
+
+    @Test
+    void testConcurrentLoadReadsOnce() {
+        Region region = regionManager.handleChunkLoad("region_world", 0, 0);
+        assertTrue(region.startLoading());
+        // Another thread is already loading the region, so this returns without reading the file
+        regionManager.loadRegion(region);
+        assertFalse(region.isLoaded());
+        region.setLoading(false);
+
+        regionManager.loadRegion(region);
+        assertTrue(region.isLoaded());
+        assertFalse(region.isLoading());
+    }
+
+}
@@ -0,0 +1,65 @@
+package dev.aurelium.auraskills.bukkit.region;
+
+import dev.aurelium.auraskills.bukkit.AuraSkills;
+import dev.aurelium.auraskills.common.region.LegacyRegionMigrator;
+import dev.aurelium.auraskills.common.region.RegionFile;
+import dev.aurelium.auraskills.common.util.TestSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockbukkit.mockbukkit.MockBukkit;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LegacyRegionMigratorTest {
+
+    // An uncompressed NBT file holding an empty root compound
+    private static final byte[] EMPTY_REGION = {10, 0, 0, 0};
+
+    private AuraSkills plugin;
+    private LegacyRegionMigrator migrator;
+    private Path worldFolder;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockBukkit.mock();
+        plugin = MockBukkit.load(AuraSkills.class, TestSession.create());
+        migrator = new LegacyRegionMigrator(plugin);
+        worldFolder = Files.createDirectories(new File(plugin.getPluginFolder(), "regiondata/world").toPath());
+    }
+
+    @AfterEach
+    void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Test
+    void testFailedWriteKeepsLegacyFile() throws Exception {
+        Path legacyFile = Files.write(worldFolder.resolve("r.0.0" + LegacyRegionMigrator.LEGACY_EXTENSION), EMPTY_REGION);
+        // A non-empty directory in place of the temporary file makes writing the converted file fail
+        Path temp = Files.createDirectories(worldFolder.resolve("r.0.0" + RegionFile.EXTENSION + ".tmp"));
+        Files.createFile(temp.resolve("blocker"));
+
+        assertFalse(migrator.migrate(legacyFile.toFile()));
+        assertTrue(Files.exists(legacyFile));
+
+        // The conversion succeeds once the cause of the failure is gone
+        Files.delete(temp.resolve("blocker"));
+        Files.delete(temp);
+        assertTrue(migrator.migrate(legacyFile.toFile()));
+        assertFalse(Files.exists(legacyFile));
+    }
+
+    @Test
+    void testCorruptedFileIsDeleted() throws Exception {
+        Path legacyFile = Files.write(worldFolder.resolve("r.1.0" + LegacyRegionMigrator.LEGACY_EXTENSION), new byte[]{10, 0});
+
+        assertFalse(migrator.migrate(legacyFile.toFile()));
+        assertFalse(Files.exists(legacyFile));
+    }
+
+}
@@ -0,0 +1,64 @@
+package dev.aurelium.auraskills.bukkit.reward;
+
+import dev.aurelium.auraskills.api.stat.Stat;
+import dev.aurelium.auraskills.bukkit.AuraSkills;
+import dev.aurelium.auraskills.common.reward.RewardTable;
+import dev.aurelium.auraskills.common.reward.type.StatReward;
+import dev.aurelium.auraskills.common.util.TestSession;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockbukkit.mockbukkit.MockBukkit;
+
+import java.util.Map;
+
+import static dev.aurelium.auraskills.api.skill.Skills.FARMING;
+import static dev.aurelium.auraskills.api.stat.Stats.HEALTH;
+import static dev.aurelium.auraskills.api.stat.Stats.STRENGTH;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RewardTableTest {
+
+    private static AuraSkills plugin;
+
+    @BeforeAll
+    static void setUp() {
+        MockBukkit.mock();
+        plugin = MockBukkit.load(AuraSkills.class, TestSession.create());
+    }
+
+    @AfterAll
+    static void unload() {
+        MockBukkit.unmock();
+    }
+
+    @Test
+    void testStatLevels() {
+        int start = plugin.config().getStartLevel();
+        RewardTable table = new RewardTable(plugin);
+        table.addReward(new StatReward(plugin, FARMING, HEALTH, 1.5, null), start + 1);
+        table.addReward(new StatReward(plugin, FARMING, HEALTH, 0.5, null), start + 2);
+        table.addReward(new StatReward(plugin, FARMING, STRENGTH, 2.0, null), start + 3);
+
+        assertEquals(0.0, table.getStatLevel(HEALTH, start));
+        assertEquals(1.5, table.getStatLevel(HEALTH, start + 1));
+        assertEquals(2.0, table.getStatLevel(HEALTH, start + 2));
+        assertEquals(0.0, table.getStatLevel(STRENGTH, start + 2));
+        assertEquals(2.0, table.getStatLevel(STRENGTH, start + 3));
+        // Levels past the last reward keep the final totals
+        assertEquals(2.0, table.getStatLevel(STRENGTH, start + 50));
+
+        Map<Stat, Double> levels = table.getStatLevels(start + 2);
+        assertEquals(1, levels.size());
+        assertEquals(2.0, levels.get(HEALTH));
+        assertEquals(2, table.getStatLevels(start + 3).size());
+        assertTrue(table.getStatLevels(start).isEmpty());
+
+        // Adding a reward rebuilds the totals
+        table.addReward(new StatReward(plugin, FARMING, HEALTH, 1.0, null), start + 3);
+        assertEquals(3.0, table.getStatLevel(HEALTH, start + 3));
+        assertEquals(1, table.searchRewards(StatReward.class, start + 1).size());
+        assertEquals(2, table.searchRewards(StatReward.class, start + 3).size());
+    }
+
+}
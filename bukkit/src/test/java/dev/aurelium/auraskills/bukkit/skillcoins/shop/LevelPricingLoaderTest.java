@@ -0,0 +1,45 @@
+package dev.aurelium.auraskills.bukkit.skillcoins.shop;
+
+import dev.aurelium.auraskills.bukkit.AuraSkills;
+import dev.aurelium.auraskills.common.skillcoins.LevelPricing;
+import dev.aurelium.auraskills.common.util.TestSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LevelPricingLoaderTest {
+
+    private AuraSkills plugin;
+
+    @BeforeEach
+    void setUp() {
+        ServerMock server = MockBukkit.mock();
+        plugin = MockBukkit.load(AuraSkills.class, TestSession.create());
+        server.getScheduler().performOneTick();
+    }
+
+    @AfterEach
+    void unload() {
+        MockBukkit.unmock();
+    }
+
+    @Test
+    void testUserKeysOverrideEmbeddedDefaults() throws Exception {
+        // Only sets the token exchange rate, so skill level pricing comes from the embedded default
+        Files.writeString(new File(plugin.getDataFolder(), "shop-config.yml").toPath(),
+                "token-exchange:\n  coins-per-token: 250\n");
+
+        LevelPricing pricing = new LevelPricingLoader(plugin).load();
+        assertEquals(250, pricing.getCoinsPerToken());
+        assertEquals(100.0, pricing.getBasePrice());
+        assertEquals(1.15, pricing.getMultiplier());
+    }
+
+}
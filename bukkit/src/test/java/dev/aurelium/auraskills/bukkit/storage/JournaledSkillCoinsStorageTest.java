@@ -0,0 +1,66 @@
+package dev.aurelium.auraskills.bukkit.storage;
+
+import dev.aurelium.auraskills.bukkit.AuraSkills;
+import dev.aurelium.auraskills.common.skillcoins.BalanceJournal;
+import dev.aurelium.auraskills.common.skillcoins.CurrencyType;
+import dev.aurelium.auraskills.common.skillcoins.JournaledSkillCoinsStorage;
+import dev.aurelium.auraskills.common.skillcoins.MemorySkillCoinsStorage;
+import dev.aurelium.auraskills.common.util.TestSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockbukkit.mockbukkit.MockBukkit;
+
+import java.io.File;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JournaledSkillCoinsStorageTest {
+
+    private AuraSkills plugin;
+    private MemorySkillCoinsStorage delegate;
+    private JournaledSkillCoinsStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        MockBukkit.mock();
+        plugin = MockBukkit.load(AuraSkills.class, TestSession.create());
+        delegate = new MemorySkillCoinsStorage();
+        storage = new JournaledSkillCoinsStorage(plugin, delegate, 1000, 60000);
+        storage.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        delegate.setFailing(false);
+        storage.close();
+        MockBukkit.unmock();
+    }
+
+    @Test
+    void testFailedCompactionKeepsSegments() {
+        UUID uuid = UUID.randomUUID();
+        storage.save(uuid, CurrencyType.COINS, 10.0);
+
+        delegate.setFailing(true);
+        storage.compact();
+        // The sealed segment is the only durable copy of the balance, so it must not be deleted
+        assertFalse(getSegments().isEmpty());
+        assertTrue(delegate.getBalances().isEmpty());
+        assertEquals(10.0, storage.load(uuid).get(CurrencyType.COINS));
+
+        // A newer balance saved before the retry takes precedence over the failed one
+        storage.save(uuid, CurrencyType.COINS, 12.0);
+        delegate.setFailing(false);
+        storage.compact();
+        assertEquals(12.0, delegate.getBalances().get(uuid).get(CurrencyType.COINS));
+        assertEquals(1, getSegments().size()); // Only the open segment is left
+    }
+
+    private List<File> getSegments() {
+        return new BalanceJournal(new File(plugin.getPluginFolder(), "skillcoins/journal")).getSegments();
+    }
+
+}
@@ -0,0 +1,164 @@
+package dev.aurelium.auraskills.bukkit.storage;
+
+import com.zaxxer.hikari.HikariConfig;
+import dev.aurelium.auraskills.bukkit.AuraSkills;
+import dev.aurelium.auraskills.common.skillcoins.CurrencyType;
+import dev.aurelium.auraskills.common.skillcoins.SqlSkillCoinsStorage;
+import dev.aurelium.auraskills.common.storage.sql.DatabaseCredentials;
+import dev.aurelium.auraskills.common.storage.sql.dialect.SqlDialect;
+import dev.aurelium.auraskills.common.storage.sql.migration.SkillCoinsYamlImport;
+import dev.aurelium.auraskills.common.storage.sql.pool.ConnectionPool;
+import dev.aurelium.auraskills.common.util.TestSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SqlSkillCoinsStorageTest {
+
+    private AuraSkills plugin;
+    private ConnectionPool pool;
+    private SqlSkillCoinsStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        ServerMock server = MockBukkit.mock();
+        plugin = MockBukkit.load(AuraSkills.class, TestSession.create());
+        server.getScheduler().performOneTick();
+
+        pool = new ConnectionPool(plugin, new DatabaseCredentials("", 0, "skillcoins", "sa", "", false)) {
+            @Override
+            public void configure(HikariConfig config, DatabaseCredentials credentials) {
+                config.setDriverClassName("org.h2.Driver");
+                config.setJdbcUrl("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+                config.setUsername(credentials.username());
+                config.setPassword(credentials.password());
+            }
+        };
+        pool.enable();
+        storage = new SqlSkillCoinsStorage(plugin, pool, 1000);
+        storage.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        storage.close();
+        pool.disable();
+        MockBukkit.unmock();
+    }
+
+    @Test
+    void testBufferedSaveIsVisibleBeforeFlush() {
+        UUID uuid = UUID.randomUUID();
+        storage.save(uuid, CurrencyType.COINS, 25.0);
+        assertEquals(25.0, storage.load(uuid).get(CurrencyType.COINS));
+
+        storage.flush();
+        assertEquals(25.0, storage.load(uuid).get(CurrencyType.COINS));
+        assertEquals(0.0, storage.load(uuid).get(CurrencyType.TOKENS));
+    }
+
+    @Test
+    void testFlushUpsertsLatestBalance() {
+        UUID uuid = UUID.randomUUID();
+        storage.save(uuid, CurrencyType.TOKENS, 3.0);
+        storage.flush();
+        storage.save(uuid, CurrencyType.TOKENS, 8.0);
+        storage.flush();
+        assertEquals(8.0, storage.load(uuid).get(CurrencyType.TOKENS));
+    }
+
+    @Test
+    void testSaveAllWritesImmediately() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        storage.saveAll(Map.of(first, Map.of(CurrencyType.COINS, 1.5), second, Map.of(CurrencyType.COINS, 2.5)));
+        assertEquals(1.5, storage.load(first).get(CurrencyType.COINS));
+        assertEquals(2.5, storage.load(second).get(CurrencyType.COINS));
+    }
+
+    @Test
+    void testYamlImport() throws Exception {
+        UUID uuid = UUID.randomUUID();
+        File folder = new File(plugin.getPluginFolder(), "skillcoins");
+        Files.createDirectories(folder.toPath());
+        Files.writeString(new File(folder, uuid + ".yml").toPath(), "coins: 120.0\ntokens: 4.0\n");
+
+        try (Connection connection = pool.getConnection()) {
+            new SkillCoinsYamlImport(plugin, SqlDialect.MYSQL).migrate(connection);
+        }
+        Map<CurrencyType, Double> balances = storage.load(uuid);
+        assertEquals(120.0, balances.get(CurrencyType.COINS));
+        assertEquals(4.0, balances.get(CurrencyType.TOKENS));
+    }
+
+    @Test
+    void testYamlImportRunsOnFirstInitializeOnly() throws Exception {
+        // The import already ran when the storage was initialized in setUp, so later files are not imported
+        File folder = new File(plugin.getPluginFolder(), "skillcoins");
+        assertTrue(new File(folder, ".sql_imported").exists());
+        UUID uuid = UUID.randomUUID();
+        Files.writeString(new File(folder, uuid + ".yml").toPath(), "coins: 50.0\n");
+
+        SqlSkillCoinsStorage reopened = new SqlSkillCoinsStorage(plugin, pool, 1000);
+        reopened.initialize();
+        assertEquals(0.0, reopened.load(uuid).get(CurrencyType.COINS));
+        reopened.close();
+    }
+
+    @Test
+    void testYamlImportRunsPerServer() throws Exception {
+        // Another server of the network already imported its files and saved a newer balance
+        UUID shared = UUID.randomUUID();
+        storage.saveAll(Map.of(shared, Map.of(CurrencyType.COINS, 75.0)));
+
+        // This server hasn't imported its own files yet
+        UUID local = UUID.randomUUID();
+        File folder = new File(plugin.getPluginFolder(), "skillcoins");
+        Files.delete(new File(folder, ".sql_imported").toPath());
+        Files.writeString(new File(folder, shared + ".yml").toPath(), "coins: 10.0\n");
+        Files.writeString(new File(folder, local + ".yml").toPath(), "coins: 30.0\n");
+
+        SqlSkillCoinsStorage otherServer = new SqlSkillCoinsStorage(plugin, pool, 1000);
+        otherServer.initialize();
+        assertEquals(75.0, otherServer.load(shared).get(CurrencyType.COINS));
+        assertEquals(30.0, otherServer.load(local).get(CurrencyType.COINS));
+        otherServer.close();
+    }
+
+    @Test
+    void testBufferedSaveNotWrittenUntilFlush() {
+        UUID uuid = UUID.randomUUID();
+        storage.save(uuid, CurrencyType.COINS, 40.0);
+
+        // Until the next flush the balance is only in memory, so a crash would lose it
+        SqlSkillCoinsStorage reader = new SqlSkillCoinsStorage(plugin, pool, 1000);
+        assertEquals(0.0, reader.load(uuid).get(CurrencyType.COINS));
+
+        storage.flush();
+        assertEquals(40.0, reader.load(uuid).get(CurrencyType.COINS));
+    }
+
+    @Test
+    void testWriteThroughSaveWrittenImmediately() {
+        SqlSkillCoinsStorage writeThrough = new SqlSkillCoinsStorage(plugin, pool, 0);
+        writeThrough.initialize();
+        UUID uuid = UUID.randomUUID();
+        writeThrough.save(uuid, CurrencyType.TOKENS, 12.0);
+
+        SqlSkillCoinsStorage reader = new SqlSkillCoinsStorage(plugin, pool, 1000);
+        assertEquals(12.0, reader.load(uuid).get(CurrencyType.TOKENS));
+        writeThrough.close();
+    }
+
+}
@@ -0,0 +1,81 @@
+package dev.aurelium.auraskills.bukkit.storage;
+
+import dev.aurelium.auraskills.api.skill.Skill;
+import dev.aurelium.auraskills.bukkit.AuraSkills;
+import dev.aurelium.auraskills.common.skillcoins.CurrencyType;
+import dev.aurelium.auraskills.common.skillcoins.SqlSkillCoinsStorage;
+import dev.aurelium.auraskills.common.storage.sql.SqlStorageProvider;
+import dev.aurelium.auraskills.common.storage.sql.pool.ConnectionPool;
+import dev.aurelium.auraskills.common.storage.sql.pool.SqliteConnectionPool;
+import dev.aurelium.auraskills.common.user.UserState;
+import dev.aurelium.auraskills.common.util.TestSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static dev.aurelium.auraskills.api.skill.Skills.MINING;
+import static dev.aurelium.auraskills.common.TestUtil.copyResourceToTemp;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SqliteStorageTest {
+
+    private static final UUID USER = UUID.fromString("4954374f-e6c8-4c0d-b5fb-686cde397d8d");
+
+    private AuraSkills plugin;
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        ServerMock server = MockBukkit.mock();
+        plugin = MockBukkit.load(AuraSkills.class, TestSession.create());
+        server.getScheduler().performOneTick();
+        pool = new SqliteConnectionPool(plugin, new File(plugin.getPluginFolder(), "test.db"));
+        pool.enable();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.disable();
+        MockBukkit.unmock();
+    }
+
+    @Test
+    void testRoundTripAfterYamlImport() throws Exception {
+        copyResourceToTemp("userdata/" + USER + ".yml", plugin);
+        File skillCoinsFolder = new File(plugin.getPluginFolder(), "skillcoins");
+        Files.createDirectories(skillCoinsFolder.toPath());
+        Files.writeString(new File(skillCoinsFolder, USER + ".yml").toPath(), "coins: 75.0\ntokens: 2.0\n");
+
+        // Creating the provider runs the migrations, which import the YAML user files into the new database
+        SqlStorageProvider provider = new SqlStorageProvider(plugin, pool);
+        UserState state = provider.loadState(USER);
+        assertEquals(5, state.skillLevels().get(MINING));
+        assertEquals(1.5, state.skillXp().get(MINING));
+
+        // SkillCoins balances are imported once the SQL SkillCoins storage is initialized
+        SqlSkillCoinsStorage skillCoins = new SqlSkillCoinsStorage(plugin, pool, 1000);
+        skillCoins.initialize();
+        assertEquals(75.0, skillCoins.load(USER).get(CurrencyType.COINS));
+        assertEquals(2.0, skillCoins.load(USER).get(CurrencyType.TOKENS));
+        skillCoins.close();
+
+        Map<Skill, Integer> levels = new HashMap<>(state.skillLevels());
+        Map<Skill, Double> xp = new HashMap<>(state.skillXp());
+        levels.put(MINING, 9);
+        xp.put(MINING, 20.5);
+        provider.applyState(new UserState(USER, levels, xp, state.statModifiers(), state.traitModifiers(), state.mana()));
+
+        UserState saved = provider.loadState(USER);
+        assertEquals(9, saved.skillLevels().get(MINING));
+        assertEquals(20.5, saved.skillXp().get(MINING));
+    }
+
+}
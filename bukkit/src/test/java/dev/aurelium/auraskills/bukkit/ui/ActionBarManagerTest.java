@@ -0,0 +1,132 @@
+package dev.aurelium.auraskills.bukkit.ui;
+
+import dev.aurelium.auraskills.api.skill.Skill;
+import dev.aurelium.auraskills.bukkit.AuraSkills;
+import dev.aurelium.auraskills.bukkit.SyncOnlyScheduler;
+import dev.aurelium.auraskills.common.config.Option;
+import dev.aurelium.auraskills.common.ui.ActionBarManager;
+import dev.aurelium.auraskills.common.ui.UiProvider;
+import dev.aurelium.auraskills.common.user.User;
+import dev.aurelium.auraskills.common.util.TestSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+
+import java.text.NumberFormat;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ActionBarManagerTest {
+
+    private ServerMock server;
+    private AuraSkills plugin;
+    private User user;
+    private RecordingUiProvider uiProvider;
+    private ActionBarManager actionBarManager;
+
+    @BeforeEach
+    void setUp() {
+        server = MockBukkit.mock();
+        plugin = MockBukkit.load(AuraSkills.class, TestSession.create());
+        server.getScheduler().performOneTick();
+        plugin.setScheduler(new SyncOnlyScheduler(plugin));
+
+        PlayerMock player = server.addPlayer();
+        server.getScheduler().performOneTick();
+        user = plugin.getUser(player);
+        user.setMana(user.getMaxMana()); // Full mana doesn't regenerate, so the idle bar stays the same
+
+        uiProvider = new RecordingUiProvider(user);
+        actionBarManager = new BukkitActionBarManager(plugin, uiProvider);
+    }
+
+    @AfterEach
+    void unload() {
+        MockBukkit.unmock();
+    }
+
+    @Test
+    void testUnchangedIdleBarNotResent() {
+        runIdleUpdate();
+        assertEquals(1, uiProvider.sent.size());
+
+        runIdleUpdate();
+        runIdleUpdate();
+        assertEquals(1, uiProvider.sent.size());
+    }
+
+    @Test
+    void testChangedIdleBarSentImmediately() {
+        runIdleUpdate();
+        assertEquals(1, uiProvider.sent.size());
+
+        user.setMana(user.getMaxMana() - 10);
+        runIdleUpdate();
+        assertEquals(2, uiProvider.sent.size());
+        assertNotEquals(uiProvider.sent.get(0), uiProvider.sent.get(1));
+    }
+
+    @Test
+    void testIdleBarResumesAfterPause() throws InterruptedException {
+        runIdleUpdate();
+        assertEquals(1, uiProvider.sent.size());
+
+        actionBarManager.setPaused(user, 100, TimeUnit.MILLISECONDS);
+        runIdleUpdate();
+        assertEquals(1, uiProvider.sent.size());
+
+        // The same bar is sent again as soon as the pause ends, since the client stopped showing it
+        Thread.sleep(150);
+        runIdleUpdate();
+        assertEquals(2, uiProvider.sent.size());
+        assertEquals(uiProvider.sent.get(0), uiProvider.sent.get(1));
+    }
+
+    // Runs the idle task exactly once
+    private void runIdleUpdate() {
+        server.getScheduler().performTicks(plugin.configInt(Option.ACTION_BAR_UPDATE_PERIOD));
+    }
+
+    private static class RecordingUiProvider implements UiProvider {
+
+        private final User user;
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+
+        private RecordingUiProvider(User user) {
+            this.user = user;
+        }
+
+        @Override
+        public ActionBarManager getActionBarManager() {
+            return null;
+        }
+
+        @Override
+        public NumberFormat getFormat(FormatType type) {
+            return NumberFormat.getInstance();
+        }
+
+        @Override
+        public void sendActionBar(User user, String message) {
+            if (user.getUuid().equals(this.user.getUuid())) {
+                sent.add(message);
+            }
+        }
+
+        @Override
+        public void sendXpBossBar(User user, Skill skill, double currentXp, double levelXp, double xpGained, int level, boolean maxed, double income) {
+        }
+
+        @Override
+        public void sendTitle(User user, String title, String subtitle, int fadeIn, int stay, int fadeOut) {
+        }
+
+    }
+
+}
@@ -1,9 +1,20 @@
 package dev.aurelium.auraskills.bukkit.user;
 
+import dev.aurelium.auraskills.api.mana.ManaAbilities;
 import dev.aurelium.auraskills.api.skill.Skills;
+import dev.aurelium.auraskills.api.stat.StatModifier;
+import dev.aurelium.auraskills.api.stat.Stats;
+import dev.aurelium.auraskills.api.trait.TraitModifier;
+import dev.aurelium.auraskills.api.trait.Traits;
 import dev.aurelium.auraskills.api.user.SkillsUser;
+import dev.aurelium.auraskills.api.util.AuraSkillsModifier.Operation;
 import dev.aurelium.auraskills.bukkit.AuraSkills;
+import dev.aurelium.auraskills.common.ui.ActionBarType;
+import dev.aurelium.auraskills.common.user.UserSection;
+import dev.aurelium.auraskills.common.user.UserStats;
+import dev.aurelium.auraskills.common.util.data.KeyIntPair;
 import dev.aurelium.auraskills.common.util.TestSession;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.permissions.PermissionAttachment;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -101,12 +112,16 @@ public class BukkitUserTest {
 
         permissionAttachment.setPermission("auraskills.multiplier.10", true);
         permissionAttachment.setPermission("auraskills.multiplier.malformed", true);
+        // XP gains read the cached multipliers until they are refreshed
+        assertEquals(0.5, user.getPermissionMultiplier(null));
+        user.refreshPermissionMultipliers();
 
         assertEquals(0.6, user.getPermissionMultiplier(null));
         assertEquals(0.6, user.getPermissionMultiplier(FARMING));
 
         permissionAttachment.setPermission("auraskills.multiplier.farming.40", true);
         permissionAttachment.setPermission("auraskills.multiplier.auraskills/mining.100", true);
+        user.refreshPermissionMultipliers();
 
         assertEquals(0.6, user.getPermissionMultiplier(null));
         assertEquals(1, user.getPermissionMultiplier(FARMING));
@@ -118,6 +133,29 @@ public class BukkitUserTest {
         }
     }
 
+    @Test
+    void testPermissionMultipliersRechecked() {
+        server.getScheduler().performOneTick(); // Registers listeners
+        PlayerMock player = server.addPlayer();
+        BukkitUser user = new BukkitUser(player.getUniqueId(), player, plugin);
+        plugin.getUserManager().addUser(user);
+        assertEquals(0.0, user.getPermissionMultiplier(null));
+
+        PermissionAttachment permissionAttachment = player.addAttachment(plugin);
+        permissionAttachment.setPermission("auraskills.multiplier.20", true);
+        assertEquals(0.0, user.getPermissionMultiplier(null));
+
+        // Attachment changes fire no event, so they are picked up by the periodic recheck
+        server.getScheduler().performTicks(PermissionMultiplierListener.RECHECK_PERIOD_MS / 50);
+        assertEquals(0.2, user.getPermissionMultiplier(null));
+
+        permissionAttachment.setPermission("auraskills.multiplier.20", false);
+        server.getPluginManager().callEvent(new PlayerChangedWorldEvent(player, player.getWorld()));
+        assertEquals(0.0, user.getPermissionMultiplier(null));
+
+        plugin.getUserManager().removeUser(player.getUniqueId());
+    }
+
     @Test
     void testPermissionJobLimit() {
         PlayerMock player = server.addPlayer();
@@ -190,4 +228,106 @@ public class BukkitUserTest {
         assertTrue(userWithoutPlayer.canSelectJob(MINING));
     }
 
+    @Test
+    void testDirtySections() {
+        PlayerMock player = server.addPlayer();
+        BukkitUser user = new BukkitUser(player.getUniqueId(), player, plugin);
+
+        // New users have never been saved
+        assertEquals(UserSection.ALL, user.takeDirtySections());
+        assertEquals(0, user.takeDirtySections());
+
+        user.setSkillLevel(FARMING, 5);
+        user.setActionBarSetting(ActionBarType.IDLE, false);
+        int sections = user.takeDirtySections();
+        assertTrue(UserSection.SKILLS.isIn(sections));
+        assertTrue(UserSection.ACTION_BAR.isIn(sections));
+        assertFalse(UserSection.MANA.isIn(sections));
+        assertEquals(0, user.takeDirtySections());
+
+        // Setting the same values doesn't dirty the user
+        user.setMana(user.getMana());
+        user.setActionBarSetting(ActionBarType.IDLE, false);
+        assertEquals(0, user.takeDirtySections());
+
+        // Changes through returned collections are detected
+        user.getUnclaimedItems().add(new KeyIntPair("test", 1));
+        assertEquals(UserSection.UNCLAIMED_ITEMS.bit(), user.takeDirtySections());
+        user.getUnclaimedItems().getFirst().setValue(2);
+        assertEquals(UserSection.UNCLAIMED_ITEMS.bit(), user.takeDirtySections());
+
+        user.getManaAbilityData(ManaAbilities.REPLENISH).setCooldown(20);
+        assertEquals(UserSection.ABILITY_DATA.bit(), user.takeDirtySections());
+
+        // Failed saves keep their sections dirty
+        user.setMana(user.getMana() + 1);
+        sections = user.takeDirtySections();
+        user.restoreDirtySections(sections);
+        assertEquals(UserSection.MANA.bit(), user.takeDirtySections());
+    }
+
+    @Test
+    void testStatModifierTotals() {
+        PlayerMock player = server.addPlayer();
+        BukkitUser user = new BukkitUser(player.getUniqueId(), player, plugin);
+        UserStats stats = user.getUserStats();
+        // Strength has no direct trait, so its percent modifiers apply to the stat
+        assertFalse(Stats.STRENGTH.hasDirectTrait());
+        stats.addStatModifier(new StatModifier("add_1", Stats.STRENGTH, 5), false);
+        stats.addStatModifier(new StatModifier("add_2", Stats.STRENGTH, 3), false);
+        stats.addStatModifier(new StatModifier("multiply", Stats.STRENGTH, 2, Operation.MULTIPLY), false);
+        stats.addStatModifier(new StatModifier("percent", Stats.STRENGTH, 10, Operation.ADD_PERCENT), false);
+
+        double base = stats.getBaseStatLevel(Stats.STRENGTH);
+        assertEquals(base + 8, stats.getStatBaseAddSum(Stats.STRENGTH));
+        assertEquals(10, stats.getStatAddPercentSum(Stats.STRENGTH));
+        assertEquals(2, stats.getStatMultiplyProduct(Stats.STRENGTH));
+        assertEquals((base + 8) * 2 * (1 + 10.0 / 100), stats.getStatLevel(Stats.STRENGTH), 1e-9);
+        assertEquals(stats.getStatLevel(Stats.STRENGTH) * Stats.STRENGTH.getTraitModifier(Traits.ATTACK_DAMAGE),
+                stats.getBonusTraitLevel(Traits.ATTACK_DAMAGE), 1e-9);
+
+        stats.removeStatModifier("multiply", false);
+        assertEquals(1, stats.getStatMultiplyProduct(Stats.STRENGTH));
+        // Replacing a modifier with the same name replaces its value in the totals
+        stats.addStatModifier(new StatModifier("add_1", Stats.STRENGTH, 1), false);
+        assertEquals(base + 4, stats.getStatBaseAddSum(Stats.STRENGTH));
+        assertEquals((base + 4) * (1 + 10.0 / 100), stats.getStatLevel(Stats.STRENGTH), 1e-9);
+
+        // Health has a direct trait, so its percent modifiers apply to the trait instead of the stat
+        assertTrue(Stats.HEALTH.hasDirectTrait());
+        stats.addStatModifier(new StatModifier("health_add", Stats.HEALTH, 4), false);
+        stats.addStatModifier(new StatModifier("health_multiply", Stats.HEALTH, 2, Operation.MULTIPLY), false);
+        stats.addStatModifier(new StatModifier("health_percent", Stats.HEALTH, 10, Operation.ADD_PERCENT), false);
+
+        double healthLevel = stats.getBaseStatLevel(Stats.HEALTH) + 4;
+        assertEquals(healthLevel, stats.getStatBaseAddSum(Stats.HEALTH));
+        assertEquals(healthLevel, stats.getStatLevel(Stats.HEALTH), 1e-9);
+        assertEquals(healthLevel * 2 * (1 + 10.0 / 100), stats.getBonusTraitLevel(Traits.HP), 1e-9);
+
+        stats.removeStatModifier("health_multiply", false);
+        assertEquals(healthLevel * (1 + 10.0 / 100), stats.getBonusTraitLevel(Traits.HP), 1e-9);
+
+        stats.addTraitModifier(new TraitModifier("trait_percent", Traits.HP, 20, Operation.ADD_PERCENT), false);
+        assertEquals(20, stats.getTraitAddPercentSum(Traits.HP));
+        assertEquals(healthLevel * (1 + 30.0 / 100), stats.getBonusTraitLevel(Traits.HP), 1e-9);
+        stats.removeTraitModifier("trait_percent", false);
+        assertEquals(0, stats.getTraitAddPercentSum(Traits.HP));
+        assertEquals(healthLevel * (1 + 10.0 / 100), stats.getBonusTraitLevel(Traits.HP), 1e-9);
+
+        // Repeated swaps must not accumulate rounding errors in the totals
+        double before = stats.getStatLevel(Stats.STRENGTH);
+        for (int i = 0; i < 1000; i++) {
+            stats.addStatModifier(new StatModifier("swap_add", Stats.STRENGTH, 0.1), false);
+            stats.addStatModifier(new StatModifier("swap_multiply", Stats.STRENGTH, 1.1, Operation.MULTIPLY), false);
+            stats.removeStatModifier("swap_add", false);
+            stats.removeStatModifier("swap_multiply", false);
+        }
+        assertEquals(before, stats.getStatLevel(Stats.STRENGTH));
+
+        // Modifiers can only be changed through the methods that update the totals
+        assertThrows(UnsupportedOperationException.class,
+                () -> stats.getStatModifiers().put("direct", new StatModifier("direct", Stats.STRENGTH, 1)));
+        assertThrows(UnsupportedOperationException.class, () -> stats.getTraitModifiers().remove("trait_percent"));
+    }
+
 }
@@ -10,10 +10,22 @@ public class AbilityData {
 
     private final AbstractAbility ability;
     private final Map<String, Object> data;
+    private final Runnable changeListener;
 
     public AbilityData(AbstractAbility ability) {
+        this(ability, () -> {});
+    }
+
+    /**
+     * Creates ability data that notifies a listener whenever a value is set or removed.
+     *
+     * @param ability the ability the data is for
+     * @param changeListener called after the data changes
+     */
+    public AbilityData(AbstractAbility ability, Runnable changeListener) {
         this.ability = ability;
         this.data = new ConcurrentHashMap<>();
+        this.changeListener = changeListener;
     }
 
     public AbstractAbility getAbility() {
@@ -30,11 +42,15 @@ public class AbilityData {
     }
 
     public void setData(String key, Object value) {
-        this.data.put(key, value);
+        if (!value.equals(this.data.put(key, value))) {
+            changeListener.run();
+        }
     }
 
     public void remove(String key) {
-        this.data.remove(key);
+        if (this.data.remove(key) != null) {
+            changeListener.run();
+        }
     }
 
     /**
@@ -1,14 +1,15 @@
 package dev.aurelium.auraskills.common.antiafk;
 
-import com.ezylang.evalex.Expression;
-import com.ezylang.evalex.parser.ParseException;
 import dev.aurelium.auraskills.common.AuraSkillsPlugin;
 import dev.aurelium.auraskills.common.config.Option;
 import dev.aurelium.auraskills.common.message.type.CommandMessage;
 import dev.aurelium.auraskills.common.ref.PlayerRef;
 import dev.aurelium.auraskills.common.user.AntiAfkLog;
 import dev.aurelium.auraskills.common.user.User;
+import dev.aurelium.auraskills.common.util.math.expression.CompiledExpression;
+import dev.aurelium.auraskills.common.util.math.expression.ExpressionException;
 import dev.aurelium.auraskills.common.util.text.TextUtil;
+import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
@@ -20,7 +21,8 @@ public abstract class AntiAfkManager {
 
     private final AuraSkillsPlugin plugin;
     private final Map<CheckType, Check> checkMap = new ConcurrentHashMap<>();
-    private Expression logThresholdExpression;
+    @Nullable
+    private CompiledExpression logThresholdExpression;
 
     public AntiAfkManager(AuraSkillsPlugin plugin) {
         this.plugin = plugin;
@@ -52,7 +54,8 @@ public abstract class AntiAfkManager {
         return plugin;
     }
 
-    public Expression getLogThresholdExpression() {
+    @Nullable
+    public CompiledExpression getLogThresholdExpression() {
         return logThresholdExpression;
     }
 
@@ -120,12 +123,11 @@ public abstract class AntiAfkManager {
     }
 
     private void loadLogThresholdExpression() {
-        this.logThresholdExpression = new Expression(plugin.configString(Option.ANTI_AFK_LOG_THRESHOLD));
         try {
-            this.logThresholdExpression.validate();
-        } catch (ParseException e) {
+            this.logThresholdExpression = CompiledExpression.compile(plugin.configString(Option.ANTI_AFK_LOG_THRESHOLD), "min_count");
+        } catch (ExpressionException e) {
+            this.logThresholdExpression = null;
             plugin.logger().warn("Failed to parse anti_afk.log_threshold expression: " + e.getMessage());
-            e.printStackTrace();
         }
     }
 
@@ -1,10 +1,10 @@
 package dev.aurelium.auraskills.common.antiafk;
 
-import com.ezylang.evalex.EvaluationException;
-import com.ezylang.evalex.parser.ParseException;
 import dev.aurelium.auraskills.common.AuraSkillsPlugin;
 import dev.aurelium.auraskills.common.config.Option;
 import dev.aurelium.auraskills.common.ref.PlayerRef;
+import dev.aurelium.auraskills.common.util.math.expression.CompiledExpression;
+import dev.aurelium.auraskills.common.util.math.expression.ExpressionException;
 import org.jetbrains.annotations.VisibleForTesting;
 
 import java.util.Locale;
@@ -25,17 +25,14 @@ public class Check {
         this.configPrefix = "ANTI_AFK_CHECKS_" + type.toString() + "_";
         this.enabledOption = Option.valueOf(configPrefix + "ENABLED");
         int minCount = optionInt("min_count");
-        int logThresholdParsed;
-        try {
-            logThresholdParsed = manager.getLogThresholdExpression()
-                    .with("min_count", minCount)
-                    .evaluate()
-                    .getNumberValue()
-                    .intValue();
-        } catch (EvaluationException | ParseException e) {
-            plugin.logger().warn("Failed to evaluate anti_afk.log_threshold expression: " + e.getMessage());
-            e.printStackTrace();
-            logThresholdParsed = minCount; // Fallback value
+        int logThresholdParsed = minCount; // Fallback value
+        CompiledExpression logThresholdExpression = manager.getLogThresholdExpression();
+        if (logThresholdExpression != null) {
+            try {
+                logThresholdParsed = (int) logThresholdExpression.evaluate(minCount);
+            } catch (ExpressionException e) {
+                plugin.logger().warn("Failed to evaluate anti_afk.log_threshold expression: " + e.getMessage());
+            }
         }
         this.logThreshold = logThresholdParsed;
     }
@@ -10,6 +10,7 @@ import dev.aurelium.auraskills.api.trait.Trait;
 import dev.aurelium.auraskills.api.trait.TraitModifier;
 import dev.aurelium.auraskills.api.user.SkillsUser;
 import dev.aurelium.auraskills.common.AuraSkillsPlugin;
+import dev.aurelium.auraskills.common.user.UserState;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
@@ -21,10 +22,13 @@ public class OfflineSkillsUser implements SkillsUser {
 
     private final AuraSkillsPlugin plugin;
     private final UUID uuid;
+    @Nullable
+    private final UserState summary; // Stored levels, xp and mana if the storage provider keeps a summary
 
     public OfflineSkillsUser(AuraSkillsPlugin plugin, UUID uuid) {
         this.plugin = plugin;
         this.uuid = uuid;
+        this.summary = plugin.getStorageProvider().getOfflineSummary(uuid);
     }
 
     @Override
@@ -39,7 +43,8 @@ public class OfflineSkillsUser implements SkillsUser {
 
     @Override
     public double getSkillXp(Skill skill) {
-        return 0;
+        if (summary == null) return 0;
+        return summary.skillXp().getOrDefault(skill, 0.0);
     }
 
     @Override
@@ -64,7 +69,8 @@ public class OfflineSkillsUser implements SkillsUser {
 
     @Override
     public int getSkillLevel(Skill skill) {
-        return plugin.config().getStartLevel();
+        if (summary == null) return plugin.config().getStartLevel();
+        return summary.skillLevels().getOrDefault(skill, plugin.config().getStartLevel());
     }
 
     @Override
@@ -79,7 +85,17 @@ public class OfflineSkillsUser implements SkillsUser {
 
     @Override
     public double getSkillAverage() {
-        return 0;
+        if (summary == null) return 0;
+        int sum = 0;
+        int numEnabled = 0;
+        // Only add enabled skills
+        for (Map.Entry<Skill, Integer> entry : summary.skillLevels().entrySet()) {
+            if (entry.getKey().isEnabled()) {
+                sum += entry.getValue();
+                numEnabled++;
+            }
+        }
+        return numEnabled > 0 ? sum / (double) numEnabled : 0;
     }
 
     @Override
@@ -94,7 +110,8 @@ public class OfflineSkillsUser implements SkillsUser {
 
     @Override
     public double getMana() {
-        return 0;
+        if (summary == null) return 0;
+        return summary.mana();
     }
 
     @Override
@@ -114,7 +131,14 @@ public class OfflineSkillsUser implements SkillsUser {
 
     @Override
     public int getPowerLevel() {
-        return 0;
+        if (summary == null) return 0;
+        int power = 0;
+        for (Map.Entry<Skill, Integer> entry : summary.skillLevels().entrySet()) {
+            if (entry.getKey().isEnabled()) {
+                power += entry.getValue();
+            }
+        }
+        return power;
     }
 
     @Override
@@ -4,6 +4,7 @@ public enum Option {
 
     // Mysql Options
     SQL_ENABLED("sql.enabled", OptionType.BOOLEAN),
+    SQL_TYPE("sql.type", OptionType.STRING),
     SQL_HOST("sql.host", OptionType.STRING),
     SQL_PORT("sql.port", OptionType.INT),
     SQL_DATABASE("sql.database", OptionType.STRING),
@@ -61,6 +62,12 @@ public enum Option {
     JOBS_INCOME_BATCHING_ENABLED("jobs.income.batching.enabled", OptionType.BOOLEAN),
     JOBS_INCOME_BATCHING_INTERVAL_MS("jobs.income.batching.interval_ms", OptionType.INT),
     JOBS_INCOME_BATCHING_DISPLAY_INDIVIDUAL("jobs.income.batching.display_individual", OptionType.BOOLEAN),
+    // SkillCoins options
+    SKILLCOINS_STORAGE_SQL_ENABLED("skillcoins.storage.sql.enabled", OptionType.BOOLEAN),
+    SKILLCOINS_STORAGE_SQL_FLUSH_INTERVAL_MS("skillcoins.storage.sql.flush_interval_ms", OptionType.INT),
+    SKILLCOINS_STORAGE_WRITE_BEHIND_ENABLED("skillcoins.storage.write_behind.enabled", OptionType.BOOLEAN),
+    SKILLCOINS_STORAGE_WRITE_BEHIND_FLUSH_INTERVAL_MS("skillcoins.storage.write_behind.flush_interval_ms", OptionType.INT),
+    SKILLCOINS_STORAGE_WRITE_BEHIND_COMPACT_INTERVAL_SEC("skillcoins.storage.write_behind.compact_interval_sec", OptionType.INT),
     // Anti-AFK options
     ANTI_AFK_ENABLED("anti_afk.enabled", OptionType.BOOLEAN),
     ANTI_AFK_LOGGING_ENABLED("anti_afk.logging_enabled", OptionType.BOOLEAN),
@@ -123,7 +130,6 @@ public enum Option {
     LEVELER_SOUND_CATEGORY("leveler.sound.category", OptionType.STRING),
     LEVELER_SOUND_VOLUME("leveler.sound.volume", OptionType.DOUBLE),
     LEVELER_SOUND_PITCH("leveler.sound.pitch", OptionType.DOUBLE),
-    LEVELER_DOUBLE_CHECK_DELAY("leveler.double_check_delay", OptionType.INT),
     MANA_ENABLED("mana.enabled", OptionType.BOOLEAN),
     MANA_COOLDOWN_TIMER_PERIOD("mana.cooldown_timer_period", OptionType.INT),
     // Modifier options
@@ -132,6 +138,7 @@ public enum Option {
     MODIFIER_ARMOR_TIMER_CHECK_PERIOD("modifier.armor.timer.check_period", OptionType.INT),
     MODIFIER_ITEM_CHECK_PERIOD("modifier.item.check_period", OptionType.INT),
     MODIFIER_ITEM_ENABLE_OFF_HAND("modifier.item.enable_off_hand", OptionType.BOOLEAN),
+    MODIFIER_ITEM_SWEEP_PERIOD("modifier.item.sweep_period", OptionType.INT),
     MODIFIER_MULTIPLIER_ENABLED("modifier.multiplier.enabled", OptionType.BOOLEAN),
     MODIFIER_AUTO_CONVERT_FROM_LEGACY("modifier.auto_convert_from_legacy", OptionType.BOOLEAN),
     MODIFIER_TEMPORARY_ENABLED("modifier.temporary.enabled", OptionType.BOOLEAN),
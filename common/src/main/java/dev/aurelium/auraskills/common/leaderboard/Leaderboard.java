@@ -0,0 +1,17 @@
+package dev.aurelium.auraskills.common.leaderboard;
+
+import java.util.List;
+
+/**
+ * A snapshot of a sorted leaderboard together with its rank index, published as one unit so
+ * readers never see a list and index from different updates.
+ */
+public record Leaderboard(List<SkillValue> values, RankIndex index) {
+
+    public static final Leaderboard EMPTY = new Leaderboard(List.of(), RankIndex.EMPTY);
+
+    public static Leaderboard of(List<SkillValue> sorted) {
+        return new Leaderboard(sorted, new RankIndex(sorted));
+    }
+
+}
@@ -2,6 +2,7 @@ package dev.aurelium.auraskills.common.leaderboard;
 
 import com.google.common.collect.Sets;
 import dev.aurelium.auraskills.common.AuraSkillsPlugin;
+import dev.aurelium.auraskills.common.user.User;
 import dev.aurelium.auraskills.common.util.file.FileUtil;
 import org.spongepowered.configurate.ConfigurationNode;
 
@@ -23,12 +24,27 @@ public abstract class LeaderboardExclusion {
         return excludedPlayers.contains(uuid);
     }
 
+    public Set<UUID> getExcludedPlayers() {
+        return Collections.unmodifiableSet(excludedPlayers);
+    }
+
     public void addExcludedPlayer(UUID uuid) {
-        excludedPlayers.add(uuid);
+        if (excludedPlayers.add(uuid)) {
+            LeaderboardManager leaderboardManager = plugin.getLeaderboardManager();
+            if (leaderboardManager != null) { // Null while the plugin is enabling
+                leaderboardManager.removePlayer(uuid);
+            }
+        }
     }
 
     public void removeExcludedPlayer(UUID uuid) {
-        excludedPlayers.remove(uuid);
+        if (excludedPlayers.remove(uuid)) {
+            LeaderboardManager leaderboardManager = plugin.getLeaderboardManager();
+            User user = plugin.getUserManager().getUser(uuid);
+            if (leaderboardManager != null && user != null) {
+                leaderboardManager.updateUser(user);
+            }
+        }
     }
 
     public void loadFromFile() {
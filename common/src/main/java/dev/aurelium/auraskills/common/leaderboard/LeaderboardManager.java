@@ -10,59 +10,98 @@ import org.jetbrains.annotations.Nullable;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 
 public class LeaderboardManager {
 
+    // Highest level first, then highest XP
+    static final Comparator<SkillValue> LEVEL_ORDER = Comparator.comparingInt(SkillValue::level)
+            .thenComparingDouble(SkillValue::xp)
+            .reversed();
+    // The average level is stored as the XP value
+    static final Comparator<SkillValue> AVERAGE_ORDER = Comparator.comparingDouble(SkillValue::xp).reversed();
+    // Changed users are applied and the leaderboards published this often, so menus, commands and placeholders can be this far behind
+    private static final long PUBLISH_INTERVAL_MS = 5000;
+    // Every this many storage updates, all users are read to remove deleted players
+    private static final int FULL_UPDATE_INTERVAL = 12;
+
     private final AuraSkillsPlugin plugin;
     private final LeaderboardExclusion leaderboardExclusion;
-    private final Map<Skill, List<SkillValue>> skillLeaderboards;
+    private final Map<Skill, RankedLeaderboard> skillLeaderboards;
 
-    private List<SkillValue> powerLeaderboard;
-    private List<SkillValue> averageLeaderboard;
+    private final RankedLeaderboard powerLeaderboard;
+    private final RankedLeaderboard averageLeaderboard;
+    // Loaded users whose skills changed since the last publish
+    private final Set<UUID> dirtyUsers = ConcurrentHashMap.newKeySet();
     private volatile boolean sorting = false;
     private long previousFetchTime = 0; // The first time leaderboards sort, all users should be fetched
+    private int updatesSinceFullUpdate = 0;
 
     public LeaderboardManager(AuraSkillsPlugin plugin, LeaderboardExclusion leaderboardExclusion) {
         this.plugin = plugin;
         this.leaderboardExclusion = leaderboardExclusion;
         this.skillLeaderboards = new ConcurrentHashMap<>();
-        this.powerLeaderboard = new ArrayList<>();
-        this.averageLeaderboard = new ArrayList<>();
+        this.powerLeaderboard = new RankedLeaderboard(LEVEL_ORDER);
+        this.averageLeaderboard = new RankedLeaderboard(AVERAGE_ORDER);
         // Load excluded players
         this.leaderboardExclusion.loadFromFile();
     }
 
     public void startLeaderboardUpdater() {
+        // Applies the changes of loaded users in batches
+        plugin.getScheduler().timerAsync(new TaskRunnable() {
+            @Override
+            public void run() {
+                publishChanges();
+            }
+        }, PUBLISH_INTERVAL_MS, PUBLISH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        // Picks up offline changes and exclusions
         plugin.getScheduler().timerAsync(new TaskRunnable() {
             @Override
             public void run() {
-                updateLeaderboardsSync();
+                updateLeaderboardsSync(false);
             }
         }, 5 * 60, 5 * 60, TimeUnit.SECONDS);
     }
 
+    /**
+     * Reads every user from storage and publishes the leaderboards, also removing players whose data was deleted.
+     *
+     * @return the time the update took in milliseconds
+     */
     public long updateLeaderboards() {
-        return updateLeaderboardsSync();
+        return updateLeaderboardsSync(true);
     }
 
-    private long updateLeaderboardsSync() {
+    private long updateLeaderboardsSync(boolean forceFull) {
         if (sorting) return 0;
         long start = System.currentTimeMillis();
         try {
             setSorting(true);
-            // Initialize lists
-            Map<Skill, List<SkillValue>> skillLeaderboards = new ConcurrentHashMap<>();
-            for (Skill skill : plugin.getSkillRegistry().getValues()) {
-                skillLeaderboards.put(skill, new ArrayList<>());
+            // Remove players excluded since the last update
+            for (UUID id : leaderboardExclusion.getExcludedPlayers()) {
+                removePlayer(id);
             }
-            List<SkillValue> powerLeaderboard = new ArrayList<>();
-            List<SkillValue> averageLeaderboard = new ArrayList<>();
             // Add players already in memory
-            addLoadedPlayersToLeaderboards(skillLeaderboards, powerLeaderboard, averageLeaderboard);
-            // Add offline players
-            addOfflinePlayers(skillLeaderboards, powerLeaderboard, averageLeaderboard, previousFetchTime);
-            // Sort leaderboards and set as current
-            sortLeaderboards(skillLeaderboards, powerLeaderboard, averageLeaderboard);
+            for (User user : plugin.getUserManager().getUserMap().values()) {
+                dirtyUsers.remove(user.getUuid());
+                updateUser(user);
+            }
+            // Add offline players changed since the last update. A periodic full read also finds players
+            // whose data was deleted, which an incremental read can't see.
+            boolean fullUpdate = forceFull || previousFetchTime == 0 || updatesSinceFullUpdate >= FULL_UPDATE_INTERVAL;
+            Set<UUID> seen = new HashSet<>();
+            plugin.getStorageProvider().forEachState(true, true, fullUpdate ? 0 : previousFetchTime, state -> {
+                seen.add(state.uuid());
+                updateState(state);
+            });
+            if (fullUpdate) {
+                removeMissing(seen);
+                updatesSinceFullUpdate = 0;
+            } else {
+                updatesSinceFullUpdate++;
+            }
+            publish();
 
             setSorting(false);
             previousFetchTime = start;
@@ -76,19 +115,136 @@ public class LeaderboardManager {
         return System.currentTimeMillis() - start;
     }
 
+    /**
+     * Marks a loaded user's skills as changed, so their entries are updated on the next publish.
+     *
+     * @param user the user
+     */
+    public void markDirty(User user) {
+        dirtyUsers.add(user.getUuid());
+    }
+
+    /**
+     * Applies the changes of loaded users marked dirty and publishes the leaderboards.
+     */
+    public void publishChanges() {
+        Iterator<UUID> iterator = dirtyUsers.iterator();
+        while (iterator.hasNext()) {
+            UUID id = iterator.next();
+            iterator.remove();
+            User user = plugin.getUserManager().getUser(id);
+            if (user != null) {
+                updateUser(user);
+            }
+        }
+        publish();
+    }
+
+    /**
+     * Updates a user's entries on every leaderboard. Excluded users are skipped, since they are removed
+     * from the leaderboards when they are excluded.
+     *
+     * @param user the user
+     */
+    public void updateUser(User user) {
+        UUID id = user.getUuid();
+        if (leaderboardExclusion.isExcludedPlayer(id)) {
+            return;
+        }
+        for (Skill skill : plugin.getSkillManager().getSkillValues()) {
+            getSkillLeaderboard(skill).update(new SkillValue(id, user.getSkillLevel(skill), user.getSkillXp(skill)));
+        }
+        updateTotals(user);
+    }
+
+    private void updateTotals(User user) {
+        int powerLevel = 0;
+        double powerXp = 0;
+        int numEnabled = 0;
+        for (Skill skill : plugin.getSkillManager().getSkillValues()) {
+            if (skill.isEnabled()) {
+                powerLevel += user.getSkillLevel(skill);
+                powerXp += user.getSkillXp(skill);
+                numEnabled++;
+            }
+        }
+        powerLeaderboard.update(new SkillValue(user.getUuid(), powerLevel, powerXp));
+        double averageLevel = (double) powerLevel / numEnabled;
+        averageLeaderboard.update(new SkillValue(user.getUuid(), 0, averageLevel));
+    }
+
+    private void updateState(UserState state) {
+        UUID id = state.uuid();
+        // Loaded users have newer values in memory than the stored row
+        if (leaderboardExclusion.isExcludedPlayer(id) || plugin.getUserManager().hasUser(id)) {
+            return;
+        }
+        int powerLevel = 0;
+        double powerXp = 0.0;
+        int numEnabled = 0;
+        for (Skill skill : state.skillLevels().keySet()) {
+            int level = state.skillLevels().get(skill);
+            double xp = state.skillXp().get(skill);
+
+            getSkillLeaderboard(skill).update(new SkillValue(id, level, xp));
+
+            if (skill.isEnabled()) {
+                powerLevel += level;
+                powerXp += xp;
+                numEnabled++;
+            }
+        }
+        powerLeaderboard.update(new SkillValue(id, powerLevel, powerXp));
+
+        double averageLevel = (double) powerLevel / numEnabled;
+        averageLeaderboard.update(new SkillValue(id, 0, averageLevel));
+    }
+
+    /**
+     * Removes a player from every leaderboard.
+     *
+     * @param id the player's UUID
+     */
+    public void removePlayer(UUID id) {
+        for (RankedLeaderboard leaderboard : skillLeaderboards.values()) {
+            leaderboard.remove(id);
+        }
+        powerLeaderboard.remove(id);
+        averageLeaderboard.remove(id);
+    }
+
+    // Removes players that are neither loaded nor in storage anymore
+    private void removeMissing(Set<UUID> stored) {
+        Predicate<UUID> missing = id -> !stored.contains(id) && !plugin.getUserManager().hasUser(id);
+        for (RankedLeaderboard leaderboard : skillLeaderboards.values()) {
+            leaderboard.removeIf(missing);
+        }
+        powerLeaderboard.removeIf(missing);
+        averageLeaderboard.removeIf(missing);
+    }
+
+    private void publish() {
+        for (RankedLeaderboard leaderboard : skillLeaderboards.values()) {
+            leaderboard.publish();
+        }
+        powerLeaderboard.publish();
+        averageLeaderboard.publish();
+    }
+
+    private RankedLeaderboard getSkillLeaderboard(Skill skill) {
+        return skillLeaderboards.computeIfAbsent(skill, k -> new RankedLeaderboard(LEVEL_ORDER));
+    }
+
     public List<SkillValue> getLeaderboard(Skill skill) {
-        return skillLeaderboards.computeIfAbsent(skill, s -> new ArrayList<>());
+        return getSkillLeaderboard(skill).getValues();
     }
 
     public void setLeaderboard(Skill skill, List<SkillValue> leaderboard) {
-        this.skillLeaderboards.put(skill, leaderboard);
+        replace(getSkillLeaderboard(skill), leaderboard);
     }
 
     public List<SkillValue> getLeaderboard(Skill skill, int page, int numPerPage) {
-        List<SkillValue> leaderboard = skillLeaderboards.computeIfAbsent(skill, k -> new ArrayList<>());
-        int from = (Math.max(page, 1) - 1) * numPerPage;
-        int to = from + numPerPage;
-        return leaderboard.subList(Math.min(from, leaderboard.size()), Math.min(to, leaderboard.size()));
+        return getPage(getSkillLeaderboard(skill), page, numPerPage);
     }
 
     @Nullable
@@ -101,64 +257,42 @@ public class LeaderboardManager {
     }
 
     public List<SkillValue> getPowerLeaderboard() {
-        return powerLeaderboard;
+        return powerLeaderboard.getValues();
     }
 
     public List<SkillValue> getPowerLeaderboard(int page, int numPerPage) {
-        int from = (Math.max(page, 1) - 1) * numPerPage;
-        int to = from + numPerPage;
-        return powerLeaderboard.subList(Math.min(from, powerLeaderboard.size()), Math.min(to, powerLeaderboard.size()));
+        return getPage(powerLeaderboard, page, numPerPage);
     }
 
     public void setPowerLeaderboard(List<SkillValue> leaderboard) {
-        this.powerLeaderboard = leaderboard;
+        replace(powerLeaderboard, leaderboard);
     }
 
     public List<SkillValue> getAverageLeaderboard() {
-        return averageLeaderboard;
+        return averageLeaderboard.getValues();
     }
 
     public List<SkillValue> getAverageLeaderboard(int page, int numPerPage) {
-        int from = (Math.max(page, 1) - 1) * numPerPage;
-        int to = from + numPerPage;
-        return averageLeaderboard.subList(Math.min(from, averageLeaderboard.size()), Math.min(to, averageLeaderboard.size()));
+        return getPage(averageLeaderboard, page, numPerPage);
     }
 
     public void setAverageLeaderboard(List<SkillValue> leaderboard) {
-        this.averageLeaderboard = leaderboard;
+        replace(averageLeaderboard, leaderboard);
     }
 
     public int getSkillRank(Skill skill, UUID id) {
-        List<SkillValue> leaderboard = skillLeaderboards.get(skill);
+        RankedLeaderboard leaderboard = skillLeaderboards.get(skill);
         if (leaderboard == null) return 0;
 
-        for (int i = 0; i < leaderboard.size(); i++) {
-            SkillValue skillValue = leaderboard.get(i);
-            if (skillValue.id().equals(id)) {
-                return i + 1;
-            }
-        }
-        return 0;
+        return leaderboard.getRank(id);
     }
 
     public int getPowerRank(UUID id) {
-        for (int i = 0; i < powerLeaderboard.size(); i++) {
-            SkillValue skillValue = powerLeaderboard.get(i);
-            if (skillValue.id().equals(id)) {
-                return i + 1;
-            }
-        }
-        return 0;
+        return powerLeaderboard.getRank(id);
     }
 
     public int getAverageRank(UUID id) {
-        for (int i = 0; i < averageLeaderboard.size(); i++) {
-            SkillValue skillValue = averageLeaderboard.get(i);
-            if (skillValue.id().equals(id)) {
-                return i + 1;
-            }
-        }
-        return 0;
+        return averageLeaderboard.getRank(id);
     }
 
     public boolean isNotSorting() {
@@ -173,86 +307,19 @@ public class LeaderboardManager {
         return leaderboardExclusion;
     }
 
-    private void addLoadedPlayersToLeaderboards(Map<Skill, List<SkillValue>> skillLb, List<SkillValue> powerLb, List<SkillValue> averageLb) {
-        for (User user : plugin.getUserManager().getUserMap().values()) {
-            UUID id = user.getUuid();
-
-            if (leaderboardExclusion.isExcludedPlayer(id)) {
-                continue;
-            }
-
-            int powerLevel = 0;
-            double powerXp = 0;
-            int numEnabled = 0;
-            for (Skill skill : plugin.getSkillManager().getSkillValues()) {
-                int level = user.getSkillLevel(skill);
-                double xp = user.getSkillXp(skill);
-                // Add to lists
-                SkillValue skillLevel = new SkillValue(id, level, xp);
-                skillLb.get(skill).add(skillLevel);
-
-                if (skill.isEnabled()) {
-                    powerLevel += level;
-                    powerXp += xp;
-                    numEnabled++;
-                }
-            }
-            // Add power and average
-            SkillValue powerValue = new SkillValue(id, powerLevel, powerXp);
-            powerLb.add(powerValue);
-            double averageLevel = (double) powerLevel / numEnabled;
-            SkillValue averageValue = new SkillValue(id, 0, averageLevel);
-            averageLb.add(averageValue);
-        }
+    private List<SkillValue> getPage(RankedLeaderboard leaderboard, int page, int numPerPage) {
+        int from = (Math.max(page, 1) - 1) * numPerPage;
+        return leaderboard.getRange(from, from + numPerPage);
     }
 
-    private void addOfflinePlayers(Map<Skill, List<SkillValue>> skillLb, List<SkillValue> powerLb, List<SkillValue> averageLb, long previousFetchTime) throws Exception {
-        List<UserState> offlineStates = plugin.getStorageProvider().loadStates(true, true, previousFetchTime);
-        for (UserState state : offlineStates) {
-            if (leaderboardExclusion.isExcludedPlayer(state.uuid())) {
-                continue;
-            }
-
-            int powerLevel = 0;
-            double powerXp = 0.0;
-            int numEnabled = 0;
-            for (Skill skill : state.skillLevels().keySet()) {
-                int level = state.skillLevels().get(skill);
-                double xp = state.skillXp().get(skill);
-
-                // Add to skill leaderboard
-                SkillValue skillValue = new SkillValue(state.uuid(), level, xp);
-                skillLb.computeIfAbsent(skill, k -> new ArrayList<>()).add(skillValue);
-
-                if (skill.isEnabled()) {
-                    powerLevel += level;
-                    powerXp += xp;
-                    numEnabled++;
-                }
+    private void replace(RankedLeaderboard leaderboard, List<SkillValue> values) {
+        synchronized (leaderboard) {
+            leaderboard.clear();
+            for (SkillValue value : values) {
+                leaderboard.update(value);
             }
-            // Add to power and average leaderboards
-            powerLb.add(new SkillValue(state.uuid(), powerLevel, powerXp));
-
-            double averageLevel = (double) powerLevel / numEnabled;
-            averageLb.add(new SkillValue(state.uuid(), 0, averageLevel));
-        }
-    }
-
-    private void sortLeaderboards(Map<Skill, List<SkillValue>> skillLb, List<SkillValue> powerLb, List<SkillValue> averageLb) {
-        LeaderboardSorter sorter = new LeaderboardSorter();
-        for (Skill skill : plugin.getSkillManager().getSkillValues()) {
-            skillLb.computeIfAbsent(skill, k -> new ArrayList<>()).sort(sorter);
-        }
-        powerLb.sort(sorter);
-        AverageSorter averageSorter = new AverageSorter();
-        averageLb.sort(averageSorter);
-
-        // Add skill leaderboards to map
-        for (Skill skill : plugin.getSkillManager().getSkillValues()) {
-            setLeaderboard(skill, skillLb.get(skill));
+            leaderboard.publish();
         }
-        setPowerLeaderboard(powerLb);
-        setAverageLeaderboard(averageLb);
     }
 
 }
@@ -0,0 +1,70 @@
+package dev.aurelium.auraskills.common.leaderboard;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Open-addressing hash index from player UUID to 1-based leaderboard rank, built once
+ * from a sorted leaderboard so rank lookups don't need to scan the list.
+ */
+public class RankIndex {
+
+    public static final RankIndex EMPTY = new RankIndex(List.of());
+
+    private final long[] mostBits;
+    private final long[] leastBits;
+    private final int[] ranks; // 0 marks an empty slot
+    private final int mask;
+
+    public RankIndex(List<SkillValue> sorted) {
+        int capacity = Integer.highestOneBit(Math.max(sorted.size(), 1) * 2 - 1) << 1;
+        this.mostBits = new long[capacity];
+        this.leastBits = new long[capacity];
+        this.ranks = new int[capacity];
+        this.mask = capacity - 1;
+        for (int i = 0; i < sorted.size(); i++) {
+            UUID id = sorted.get(i).id();
+            long most = id.getMostSignificantBits();
+            long least = id.getLeastSignificantBits();
+            int slot = slot(most, least);
+            while (ranks[slot] != 0) {
+                if (mostBits[slot] == most && leastBits[slot] == least) {
+                    break; // Keep the highest rank of duplicate entries
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (ranks[slot] == 0) {
+                mostBits[slot] = most;
+                leastBits[slot] = least;
+                ranks[slot] = i + 1;
+            }
+        }
+    }
+
+    /**
+     * Gets the rank of a player.
+     *
+     * @param id the player's UUID
+     * @return the 1-based rank, or 0 if the player is not on the leaderboard
+     */
+    public int getRank(UUID id) {
+        long most = id.getMostSignificantBits();
+        long least = id.getLeastSignificantBits();
+        int slot = slot(most, least);
+        int rank;
+        while ((rank = ranks[slot]) != 0) {
+            if (mostBits[slot] == most && leastBits[slot] == least) {
+                return rank;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return 0;
+    }
+
+    private int slot(long most, long least) {
+        long hash = most ^ least;
+        hash *= 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+}
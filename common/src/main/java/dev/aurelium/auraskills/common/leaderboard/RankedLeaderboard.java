@@ -0,0 +1,243 @@
+package dev.aurelium.auraskills.common.leaderboard;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * A leaderboard that stays sorted as values change, backed by a treap. Each player has at most
+ * one entry, and updates and removals are O(log n), so the leaderboard never needs to be re-sorted.
+ * Entries that compare equal are ordered by UUID so every entry has a fixed position. Changes are
+ * only visible to readers once {@link #publish()} is called, which rebuilds the list and its
+ * {@link RankIndex} together so the values, pages and ranks read by menus always agree.
+ */
+public class RankedLeaderboard {
+
+    private final Comparator<SkillValue> order;
+    private final Map<UUID, Node> nodes = new HashMap<>();
+    private Node root;
+    // Results of the last split
+    private Node splitLeft;
+    private Node splitRight;
+    private int modCount;
+    private int publishedModCount;
+    private volatile Leaderboard snapshot = Leaderboard.EMPTY;
+
+    public RankedLeaderboard(Comparator<SkillValue> comparator) {
+        this.order = comparator.thenComparing(SkillValue::id);
+    }
+
+    /**
+     * Adds a player's value or replaces their existing value.
+     *
+     * @param value the new value
+     * @return true if the leaderboard changed
+     */
+    public synchronized boolean update(SkillValue value) {
+        Node node = nodes.get(value.id());
+        if (node != null) {
+            if (node.value.equals(value)) {
+                return false;
+            }
+            root = remove(root, node.value);
+        }
+        node = new Node(value);
+        nodes.put(value.id(), node);
+        root = insert(root, node);
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Removes a player from the leaderboard.
+     *
+     * @param id the player's UUID
+     * @return true if the player was on the leaderboard
+     */
+    public synchronized boolean remove(UUID id) {
+        Node node = nodes.remove(id);
+        if (node == null) {
+            return false;
+        }
+        root = remove(root, node.value);
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Removes every player matching a filter.
+     *
+     * @param filter returns true for the UUIDs to remove
+     */
+    public synchronized void removeIf(Predicate<UUID> filter) {
+        for (UUID id : new ArrayList<>(nodes.keySet())) {
+            if (filter.test(id)) {
+                remove(id);
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        nodes.clear();
+        root = null;
+        modCount++;
+    }
+
+    /**
+     * Makes the changes since the last publish visible to readers.
+     *
+     * @return true if the leaderboard changed since the last publish
+     */
+    public synchronized boolean publish() {
+        if (publishedModCount == modCount) {
+            return false;
+        }
+        List<SkillValue> values = new ArrayList<>(nodes.size());
+        collect(root, values);
+        snapshot = Leaderboard.of(Collections.unmodifiableList(values));
+        publishedModCount = modCount;
+        return true;
+    }
+
+    /**
+     * Gets the rank of a player as of the last publish.
+     *
+     * @param id the player's UUID
+     * @return the 1-based rank, or 0 if the player is not on the leaderboard
+     */
+    public int getRank(UUID id) {
+        return snapshot.index().getRank(id);
+    }
+
+    /**
+     * Gets the entries between two 0-based positions as of the last publish.
+     *
+     * @param from the first position, inclusive
+     * @param to the last position, exclusive
+     * @return the entries in leaderboard order
+     */
+    public List<SkillValue> getRange(int from, int to) {
+        List<SkillValue> values = snapshot.values();
+        from = Math.max(from, 0);
+        to = Math.min(to, values.size());
+        if (from >= to) {
+            return List.of();
+        }
+        return values.subList(from, to);
+    }
+
+    /**
+     * Gets every entry in leaderboard order as of the last publish.
+     *
+     * @return an unmodifiable snapshot of the leaderboard
+     */
+    public List<SkillValue> getValues() {
+        return snapshot.values();
+    }
+
+    /**
+     * Gets the number of entries, including changes that are not published yet.
+     *
+     * @return the number of entries
+     */
+    public synchronized int size() {
+        return nodes.size();
+    }
+
+    private Node insert(Node node, Node inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (inserted.priority > node.priority) {
+            split(node, inserted.value);
+            inserted.left = splitLeft;
+            inserted.right = splitRight;
+            splitLeft = null;
+            splitRight = null;
+            return inserted;
+        }
+        if (order.compare(inserted.value, node.value) < 0) {
+            node.left = insert(node.left, inserted);
+        } else {
+            node.right = insert(node.right, inserted);
+        }
+        return node;
+    }
+
+    private Node remove(Node node, SkillValue value) {
+        if (node == null) {
+            return null;
+        }
+        int compare = order.compare(value, node.value);
+        if (compare == 0) {
+            return merge(node.left, node.right);
+        }
+        if (compare < 0) {
+            node.left = remove(node.left, value);
+        } else {
+            node.right = remove(node.right, value);
+        }
+        return node;
+    }
+
+    // Splits a subtree into nodes ordered before the key (splitLeft) and the rest (splitRight)
+    private void split(Node node, SkillValue key) {
+        if (node == null) {
+            splitLeft = null;
+            splitRight = null;
+            return;
+        }
+        if (order.compare(node.value, key) < 0) {
+            split(node.right, key);
+            node.right = splitLeft;
+            splitLeft = node;
+        } else {
+            split(node.left, key);
+            node.left = splitRight;
+            splitRight = node;
+        }
+    }
+
+    // Merges two subtrees where every node in left is ordered before every node in right
+    private Node merge(Node left, Node right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return left;
+        } else {
+            right.left = merge(left, right.left);
+            return right;
+        }
+    }
+
+    private void collect(Node node, List<SkillValue> values) {
+        if (node == null) {
+            return;
+        }
+        collect(node.left, values);
+        values.add(node.value);
+        collect(node.right, values);
+    }
+
+    private static class Node {
+
+        private final SkillValue value;
+        private final int priority;
+        private Node left;
+        private Node right;
+
+        private Node(SkillValue value) {
+            this.value = value;
+            this.priority = ThreadLocalRandom.current().nextInt();
+        }
+
+    }
+
+}
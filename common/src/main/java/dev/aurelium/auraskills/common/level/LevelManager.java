@@ -7,15 +7,14 @@ import dev.aurelium.auraskills.common.AuraSkillsPlugin;
 import dev.aurelium.auraskills.common.config.Option;
 import dev.aurelium.auraskills.common.hooks.EconomyHook;
 import dev.aurelium.auraskills.common.jobs.JobsBatchData;
+import dev.aurelium.auraskills.common.level.XpTable.LevelProgress;
 import dev.aurelium.auraskills.common.reward.SkillReward;
-import dev.aurelium.auraskills.common.scheduler.Tick;
 import dev.aurelium.auraskills.common.user.User;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Interface with methods to add xp and level up players.
@@ -165,49 +164,51 @@ public abstract class LevelManager {
         int currentLevel = user.getSkillLevel(skill);
         double currentXp = user.getSkillXp(skill);
 
-        if (currentLevel >= skill.getMaxLevel()) return; // Check max level options
-        if (xpRequirements.getListSize(skill) <= currentLevel - 1) return; // Check if skill is maxed
-
-        if (currentXp >= xpRequirements.getXpRequired(skill, currentLevel + 1)) {
-            levelUpSkill(user, skill);
+        // Resolves every level the xp is enough for, stopping at the max level and end of the requirements
+        LevelProgress progress = xpRequirements.resolveLevel(skill, currentLevel, currentXp);
+        if (progress.level() > currentLevel) {
+            levelUpSkill(user, skill, currentLevel, progress.level());
         }
     }
 
-    private void levelUpSkill(User user, Skill skill) {
+    private void levelUpSkill(User user, Skill skill, int fromLevel, int toLevel) {
         Locale locale = user.getLocale();
+        XpTable table = xpRequirements.getTable(skill);
 
-        double currentXp = user.getSkillXp(skill);
-        int level = user.getSkillLevel(skill) + 1;
-
-        user.setSkillXp(skill, currentXp - xpRequirements.getXpRequired(skill, level));
-        user.setSkillLevel(skill, level);
-        // Give custom rewards
-        List<SkillReward> rewards = plugin.getRewardManager().getRewardTable(skill).getRewards(level);
-        for (SkillReward reward : rewards) {
-            reward.giveReward(user, skill, level);
-        }
+        double startXp = user.getSkillXp(skill);
+        long baseXp = table.getCumulativeXp(fromLevel);
+        // Checked once since it doesn't change between levels
+        boolean suppressMessages = shouldSuppressLevelUpMessages(user, skill);
 
-        // Reload items and armor to check for newly met requirements
-        plugin.getModifierManager().applyModifiers(user, true);
-        // Calls event
-        plugin.getEventHandler().callSkillLevelUpEvent(user, skill, level);
+        LevelUpMessenger messenger = null;
+        for (int level = fromLevel + 1; level <= toLevel; level++) {
+            user.setSkillXp(skill, startXp - (table.getCumulativeXp(level) - baseXp));
+            user.setSkillLevel(skill, level);
+            // Give custom rewards
+            List<SkillReward> rewards = plugin.getRewardManager().getRewardTable(skill).getRewards(level);
+            for (SkillReward reward : rewards) {
+                reward.giveReward(user, skill, level);
+            }
+
+            // Reload items and armor to check for newly met requirements
+            plugin.getModifierManager().applyModifiers(user, true);
+            // Calls event
+            plugin.getEventHandler().callSkillLevelUpEvent(user, skill, level);
+
+            // Sends a chat message for each level - check if suppressed by WDP-Start
+            messenger = new LevelUpMessenger(plugin, user, locale, skill, level, rewards);
+            if (!suppressMessages) {
+                messenger.sendChatMessage();
+            }
+        }
 
-        // Sends messages - check if suppressed by WDP-Start
-        boolean suppressMessages = shouldSuppressLevelUpMessages(user, skill);
-        
-        LevelUpMessenger messenger = new LevelUpMessenger(plugin, user, locale, skill, level, rewards);
-        if (!suppressMessages && plugin.configBoolean(Option.LEVELER_TITLE_ENABLED)) {
+        // Titles and sounds sent in the same tick would overwrite each other, so only send them for the final level
+        if (messenger != null && !suppressMessages && plugin.configBoolean(Option.LEVELER_TITLE_ENABLED)) {
             messenger.sendTitle();
         }
-        if (!suppressMessages && plugin.configBoolean(Option.LEVELER_SOUND_ENABLED)) {
+        if (messenger != null && !suppressMessages && plugin.configBoolean(Option.LEVELER_SOUND_ENABLED)) {
             playLevelUpSound(user);
         }
-        if (!suppressMessages) {
-            messenger.sendChatMessage();
-        }
-
-        // Check for multiple level ups in a row after a delay
-        plugin.getScheduler().scheduleSync(() -> checkLevelUp(user, skill), Tick.MS * plugin.configInt(Option.LEVELER_DOUBLE_CHECK_DELAY), TimeUnit.MILLISECONDS);
     }
 
     public double calculateMultiplier(@NotNull User user, Skill skill) {
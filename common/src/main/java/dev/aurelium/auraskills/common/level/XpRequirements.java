@@ -2,6 +2,7 @@ package dev.aurelium.auraskills.common.level;
 
 import dev.aurelium.auraskills.api.skill.Skill;
 import dev.aurelium.auraskills.common.AuraSkillsPlugin;
+import dev.aurelium.auraskills.common.level.XpTable.LevelProgress;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -15,18 +16,17 @@ import java.util.concurrent.ConcurrentHashMap;
 public class XpRequirements {
 
     private final AuraSkillsPlugin plugin;
-    private final List<Integer> defaultXpRequirements;
-    private final Map<Skill, List<Integer>> skillXpRequirements;
+    private volatile XpTable defaultXpRequirements;
+    private final Map<Skill, XpTable> skillXpRequirements;
 
     public XpRequirements(AuraSkillsPlugin plugin) {
         this.plugin = plugin;
-        this.defaultXpRequirements = new ArrayList<>();
         this.skillXpRequirements = new ConcurrentHashMap<>();
         addDefaultXpRequirements();
     }
 
     public void setSkillXpRequirements(Skill skill, List<Integer> xpRequirements) {
-        skillXpRequirements.put(skill, xpRequirements);
+        skillXpRequirements.put(skill, new XpTable(plugin.config().getStartLevel(), xpRequirements));
     }
 
     public void removeSkillXpRequirements(Skill skill) {
@@ -34,46 +34,67 @@ public class XpRequirements {
     }
 
     public void setDefaultXpRequirements(List<Integer> xpRequirements) {
-        defaultXpRequirements.clear();
-        defaultXpRequirements.addAll(xpRequirements);
+        defaultXpRequirements = new XpTable(plugin.config().getStartLevel(), xpRequirements);
     }
 
-    public int getXpRequired(Skill skill, int level) {
-        // Use skill specific xp requirements if exists
-        List<Integer> skillList = skillXpRequirements.get(skill);
-        if (skillList != null) {
-            if (skillList.size() > level - plugin.config().getStartLevel() - 1) {
-                return skillList.get(level - plugin.config().getStartLevel() - 1);
-            } else {
-                return 0;
-            }
+    /**
+     * Gets the table of xp requirements used by a skill, which is the skill's
+     * own requirements if it has any or the default requirements otherwise.
+     *
+     * @param skill the skill
+     * @return the xp table
+     */
+    public XpTable getTable(Skill skill) {
+        XpTable table = skillXpRequirements.get(skill);
+        if (table != null) {
+            return table;
         }
-        // Else use default
-        return getDefaultXpRequired(level);
+        return defaultXpRequirements;
+    }
+
+    public int getXpRequired(Skill skill, int level) {
+        return getTable(skill).getXpRequired(level);
     }
 
     public int getDefaultXpRequired(int level) {
-        if (defaultXpRequirements.size() > level - plugin.config().getStartLevel() - 1) {
-            return defaultXpRequirements.get(level - plugin.config().getStartLevel() - 1);
-        } else {
-            return 0;
-        }
+        return defaultXpRequirements.getXpRequired(level);
     }
 
     public int getListSize(Skill skill) {
-        List<Integer> skillList = skillXpRequirements.get(skill);
-        if (skillList != null) {
-            return skillList.size();
-        }
-        return defaultXpRequirements.size();
+        return getTable(skill).size();
+    }
+
+    /**
+     * Gets the total xp needed to reach a level from the start level.
+     *
+     * @param skill the skill
+     * @param level the level to reach
+     * @return the cumulative xp
+     */
+    public long getCumulativeXp(Skill skill, int level) {
+        return getTable(skill).getCumulativeXp(level);
+    }
+
+    /**
+     * Resolves the level and leftover xp reached from a level with some xp towards the next level,
+     * stopping at the skill's max level.
+     *
+     * @param skill the skill
+     * @param level the current level
+     * @param xp the current xp towards the next level
+     * @return the level reached and the xp left over towards the next level
+     */
+    public LevelProgress resolveLevel(Skill skill, int level, double xp) {
+        return getTable(skill).resolve(level, xp, skill.getMaxLevel());
     }
 
     private void addDefaultXpRequirements() {
-        defaultXpRequirements.clear();
+        List<Integer> requirements = new ArrayList<>();
         int highestMaxLevel = plugin.config().getHighestMaxLevel();
         for (int i = 0; i < highestMaxLevel - plugin.config().getStartLevel(); i++) {
-            defaultXpRequirements.add(100 * i * i + 100);
+            requirements.add(100 * i * i + 100);
         }
+        setDefaultXpRequirements(requirements);
     }
 
 }
@@ -0,0 +1,115 @@
+package dev.aurelium.auraskills.common.level;
+
+import java.util.List;
+
+/**
+ * An immutable table of the xp required for each level, along with the cumulative
+ * xp needed to reach each level from the start level.
+ */
+public final class XpTable {
+
+    private final int startLevel;
+    private final int[] required;
+    // cumulative[i] is the total xp needed to go from the start level to startLevel + i
+    private final long[] cumulative;
+
+    public XpTable(int startLevel, List<Integer> requirements) {
+        this.startLevel = startLevel;
+        this.required = new int[requirements.size()];
+        this.cumulative = new long[requirements.size() + 1];
+        for (int i = 0; i < required.length; i++) {
+            // Negative requirements would break the binary search, treat them as free levels
+            required[i] = Math.max(requirements.get(i), 0);
+            cumulative[i + 1] = cumulative[i] + required[i];
+        }
+    }
+
+    public int getStartLevel() {
+        return startLevel;
+    }
+
+    public int size() {
+        return required.length;
+    }
+
+    /**
+     * Gets the xp required to level up to a level from the level before it.
+     *
+     * @param level the level being leveled up to
+     * @return the xp required, or 0 if the level is outside the table
+     */
+    public int getXpRequired(int level) {
+        int index = level - startLevel - 1;
+        if (index < 0 || index >= required.length) {
+            return 0;
+        }
+        return required[index];
+    }
+
+    /**
+     * Gets the highest level the table has requirements for.
+     *
+     * @return the last level in the table
+     */
+    public int getLastLevel() {
+        return startLevel + required.length;
+    }
+
+    /**
+     * Gets the total xp needed to reach a level from the start level.
+     *
+     * @param level the level to reach
+     * @return the cumulative xp, clamped to the bounds of the table
+     */
+    public long getCumulativeXp(int level) {
+        int index = Math.max(0, Math.min(level - startLevel, required.length));
+        return cumulative[index];
+    }
+
+    /**
+     * Resolves the level and leftover xp reached by a total amount of xp accumulated
+     * from the start level.
+     *
+     * @param totalXp the total xp accumulated since the start level
+     * @param maxLevel the level to stop at even if there is xp left over
+     * @return the level reached and the xp left over towards the next level
+     */
+    public LevelProgress resolve(double totalXp, int maxLevel) {
+        return resolve(startLevel, totalXp, maxLevel);
+    }
+
+    /**
+     * Resolves the level and leftover xp reached from a level with some xp towards the next level.
+     * All levels reached are resolved at once by binary searching the cumulative xp.
+     *
+     * @param level the current level
+     * @param xp the current xp towards the next level
+     * @param maxLevel the level to stop at even if there is xp left over
+     * @return the level reached and the xp left over towards the next level
+     */
+    public LevelProgress resolve(int level, double xp, int maxLevel) {
+        int from = level - startLevel;
+        int to = Math.min(maxLevel - startLevel, required.length);
+        if (from < 0 || from >= to) {
+            return new LevelProgress(level, xp);
+        }
+        long base = cumulative[from];
+        // Find the highest index in (from, to] whose requirement is covered by xp
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (cumulative[mid] - base <= xp) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return new LevelProgress(startLevel + low, xp - (cumulative[low] - base));
+    }
+
+    public record LevelProgress(int level, double xp) {
+
+    }
+
+}
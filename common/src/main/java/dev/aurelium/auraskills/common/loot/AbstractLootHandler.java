@@ -1,15 +1,11 @@
 package dev.aurelium.auraskills.common.loot;
 
 import dev.aurelium.auraskills.api.ability.Ability;
-import dev.aurelium.auraskills.api.loot.Loot;
-import dev.aurelium.auraskills.api.loot.LootContext;
 import dev.aurelium.auraskills.api.loot.LootPool;
 import dev.aurelium.auraskills.api.source.XpSource;
 import dev.aurelium.auraskills.api.stat.Stats;
 import dev.aurelium.auraskills.common.user.User;
 
-import java.util.HashSet;
-import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
 
 public abstract class AbstractLootHandler {
@@ -30,22 +26,7 @@ public abstract class AbstractLootHandler {
     }
 
     protected boolean isPoolUnobtainable(LootPool pool, XpSource source) {
-        for (Loot loot : pool.getLoot()) {
-            Set<LootContext> contexts = loot.getValues().getContexts().getOrDefault("sources", new HashSet<>());
-            // Loot will be reachable if it has no contexts
-            if (contexts.isEmpty()) {
-                return false;
-            }
-            // Loot is reachable if at least one context matches the entity type
-            for (LootContext context : contexts) {
-                if (context instanceof SourceContext(XpSource contextSource)) {
-                    if (contextSource.equals(source)) {
-                        return false;
-                    }
-                }
-            }
-        }
-        return true;
+        return !pool.hasLoot("sources", new SourceContext(source));
     }
 
     protected int generateAmount(int minAmount, int maxAmount) {
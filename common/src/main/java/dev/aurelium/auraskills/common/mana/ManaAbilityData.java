@@ -9,9 +9,22 @@ public class ManaAbilityData {
     private boolean ready;
     private boolean activated;
     private int errorTimer;
+    private final Runnable cooldownListener;
 
     public ManaAbilityData(ManaAbility manaAbility) {
+        this(manaAbility, () -> {});
+    }
+
+    /**
+     * Creates mana ability data that notifies a listener whenever the cooldown changes,
+     * since the cooldown is the only persistent value.
+     *
+     * @param manaAbility the mana ability the data is for
+     * @param cooldownListener called after the cooldown changes
+     */
+    public ManaAbilityData(ManaAbility manaAbility, Runnable cooldownListener) {
         this.manaAbility = manaAbility;
+        this.cooldownListener = cooldownListener;
     }
 
     public ManaAbility getManaAbility() {
@@ -23,7 +36,10 @@ public class ManaAbilityData {
     }
 
     public void setCooldown(int cooldown) {
-        this.cooldown = cooldown;
+        if (this.cooldown != cooldown) {
+            this.cooldown = cooldown;
+            cooldownListener.run();
+        }
     }
 
     public boolean isReady() {
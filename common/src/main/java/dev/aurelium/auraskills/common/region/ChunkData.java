@@ -1,20 +1,24 @@
 package dev.aurelium.auraskills.common.region;
 
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
 
 public class ChunkData {
 
     private final Region region;
     private final byte x;
     private final byte z;
-    private final ConcurrentMap<BlockPosition, BlockPosition> placedBlocks;
+    private final PackedBlockSet placedBlocks;
+    private long generation; // Incremented every time blocks change
+    private long savedGeneration;
 
     public ChunkData(Region region, byte x, byte z) {
         this.region = region;
         this.x = x;
         this.z = z;
-        this.placedBlocks = new ConcurrentHashMap<>();
+        this.placedBlocks = new PackedBlockSet();
     }
 
     public Region getRegion() {
@@ -30,19 +34,126 @@ public class ChunkData {
     }
 
     public boolean isPlacedBlock(BlockPosition blockPosition) {
-        return placedBlocks.containsKey(blockPosition);
+        return isPlacedBlock(blockPosition.getX(), blockPosition.getY(), blockPosition.getZ());
+    }
+
+    /**
+     * Checks whether a block in this chunk was placed by a player without allocating.
+     *
+     * @param x the block x coordinate
+     * @param y the block y coordinate
+     * @param z the block z coordinate
+     * @return true if the block is a placed block
+     */
+    public synchronized boolean isPlacedBlock(int x, int y, int z) {
+        return placedBlocks.contains(PackedBlockSet.pack(x, y, z));
+    }
+
+    /**
+     * Gets a copy of every placed block in the chunk. Use {@link #getPackedBlocks()}
+     * to avoid creating a {@link BlockPosition} for each block.
+     *
+     * @return the positions of placed blocks
+     */
+    public List<BlockPosition> getPlacedBlocks() {
+        int[] packed = getPackedBlocks();
+        int originX = (region.getX() * 32 + x) * 16;
+        int originZ = (region.getZ() * 32 + z) * 16;
+        List<BlockPosition> positions = new ArrayList<>(packed.length);
+        for (int block : packed) {
+            positions.add(new BlockPosition(originX + PackedBlockSet.unpackLocalX(block), PackedBlockSet.unpackY(block),
+                    originZ + PackedBlockSet.unpackLocalZ(block)));
+        }
+        return positions;
+    }
+
+    /**
+     * Gets a sorted copy of every placed block packed as {@code y << 8 | localZ << 4 | localX},
+     * where the local coordinates are relative to the chunk.
+     *
+     * @return the packed positions of placed blocks
+     */
+    public synchronized int[] getPackedBlocks() {
+        return placedBlocks.toSortedArray();
+    }
+
+    /**
+     * Gets the packed placed blocks to save if they changed since the last save.
+     * Pass the snapshot's generation to {@link #markSaved(long)} once it is written.
+     *
+     * @return the snapshot, or null if the chunk has no unsaved changes
+     */
+    @Nullable
+    public synchronized Snapshot getDirtySnapshot() {
+        if (generation == savedGeneration) {
+            return null;
+        }
+        return new Snapshot(placedBlocks.toSortedArray(), generation);
+    }
+
+    public synchronized boolean isDirty() {
+        return generation != savedGeneration;
+    }
+
+    /**
+     * Marks the blocks of a snapshot as saved. Changes made after the snapshot
+     * was taken keep the chunk dirty.
+     *
+     * @param generation the generation of the saved snapshot
+     */
+    public synchronized void markSaved(long generation) {
+        if (generation > savedGeneration) {
+            savedGeneration = generation;
+        }
     }
 
-    public ConcurrentMap<BlockPosition, BlockPosition> getPlacedBlocks() {
-        return placedBlocks;
+    public synchronized int getPlacedBlockCount() {
+        return placedBlocks.size();
     }
 
     public void addPlacedBlock(BlockPosition blockPosition) {
-        this.placedBlocks.put(blockPosition, blockPosition);
+        addPlacedBlock(blockPosition.getX(), blockPosition.getY(), blockPosition.getZ());
+    }
+
+    public synchronized void addPlacedBlock(int x, int y, int z) {
+        if (placedBlocks.add(PackedBlockSet.pack(x, y, z))) {
+            markChanged();
+        }
+    }
+
+    /**
+     * Adds a block using the packed form returned by {@link #getPackedBlocks()}. Used when loading,
+     * so it doesn't mark the chunk as dirty.
+     *
+     * @param packed the packed position
+     */
+    public synchronized void addPackedBlock(int packed) {
+        placedBlocks.add(packed);
     }
 
     public void removePlacedBlock(BlockPosition blockPosition) {
-        this.placedBlocks.remove(blockPosition);
+        removePlacedBlock(blockPosition.getX(), blockPosition.getY(), blockPosition.getZ());
+    }
+
+    public synchronized void removePlacedBlock(int x, int y, int z) {
+        if (placedBlocks.remove(PackedBlockSet.pack(x, y, z))) {
+            markChanged();
+        }
+    }
+
+    private void markChanged() {
+        generation++;
+        region.markChanged();
+    }
+
+    /**
+     * The placed blocks of a chunk at a point in time.
+     *
+     * @param blocks the sorted packed blocks
+     * @param generation the generation of the chunk when the snapshot was taken
+     */
+    public record Snapshot(int[] blocks, long generation) {
+
     }
 
 }
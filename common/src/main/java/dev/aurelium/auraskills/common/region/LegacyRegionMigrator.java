@@ -0,0 +1,143 @@
+package dev.aurelium.auraskills.common.region;
+
+import dev.aurelium.auraskills.common.AuraSkillsPlugin;
+import net.querz.nbt.io.NBTUtil;
+import net.querz.nbt.io.NamedTag;
+import net.querz.nbt.tag.CompoundTag;
+import net.querz.nbt.tag.ListTag;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Converts region files from the old NBT format (.asrg) to the binary {@link RegionFile} format.
+ */
+public class LegacyRegionMigrator {
+
+    public static final String LEGACY_EXTENSION = ".asrg";
+
+    private final AuraSkillsPlugin plugin;
+
+    public LegacyRegionMigrator(AuraSkillsPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Converts every legacy region file in the regiondata folder.
+     */
+    public void migrateAll() {
+        File[] worldFolders = new File(plugin.getPluginFolder(), "regiondata").listFiles(File::isDirectory);
+        if (worldFolders == null) return;
+
+        int migrated = 0;
+        for (File worldFolder : worldFolders) {
+            File[] files = worldFolder.listFiles((dir, name) -> name.endsWith(LEGACY_EXTENSION));
+            if (files == null) continue;
+
+            for (File file : files) {
+                if (migrate(file)) {
+                    migrated++;
+                }
+            }
+        }
+        if (migrated > 0) {
+            plugin.logger().info("[Migrator] Converted " + migrated + " region file" + (migrated != 1 ? "s" : "") + " to the new format");
+        }
+    }
+
+    /**
+     * Converts a legacy region file and deletes it once the new file is written. Files that cannot be parsed are
+     * deleted, while files that fail to be written are kept so the conversion is retried the next time.
+     *
+     * @param legacyFile the .asrg file
+     * @return true if the file was converted
+     */
+    public synchronized boolean migrate(File legacyFile) {
+        if (!legacyFile.exists()) {
+            return false; // Already converted by another caller
+        }
+        String name = legacyFile.getName();
+        Path target = legacyFile.toPath().resolveSibling(name.substring(0, name.length() - LEGACY_EXTENSION.length()) + RegionFile.EXTENSION);
+        if (!Files.exists(target)) {
+            Map<Integer, int[]> chunks;
+            try {
+                chunks = readLegacyFile(legacyFile);
+            } catch (IOException | RuntimeException e) {
+                plugin.logger().warn("[Migrator] Failed to read region file " + name + ", deleting it since it is corrupted");
+                if (!legacyFile.delete()) {
+                    e.printStackTrace();
+                }
+                return false;
+            }
+            // Write to a temporary file first so a partially converted file is never loaded
+            Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+            try {
+                Files.deleteIfExists(temp);
+                RegionFile.write(temp, chunks);
+                if (Files.exists(temp)) {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+            } catch (IOException e) {
+                plugin.logger().warn("[Migrator] Failed to write converted region file for " + name + ", keeping it to retry later: " + e.getMessage());
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                }
+                return false;
+            }
+        }
+        try {
+            Files.delete(legacyFile.toPath());
+        } catch (IOException e) {
+            plugin.logger().warn("[Migrator] Failed to delete converted region file " + name + ": " + e.getMessage());
+        }
+        return true;
+    }
+
+    private Map<Integer, int[]> readLegacyFile(File file) throws IOException {
+        Map<Integer, int[]> chunks = new HashMap<>();
+        NamedTag namedTag = NBTUtil.read(file);
+        if (!(namedTag.getTag() instanceof CompoundTag compoundTag)) {
+            return chunks;
+        }
+        for (String key : compoundTag.keySet()) {
+            // Chunk keys are in the format chunk[x,z]
+            if (!key.startsWith("chunk")) {
+                continue;
+            }
+            int commaIndex = key.indexOf(",");
+            byte chunkX = Byte.parseByte(key.substring(key.indexOf("[") + 1, commaIndex));
+            byte chunkZ = Byte.parseByte(key.substring(commaIndex + 1, key.lastIndexOf("]")));
+
+            ListTag<?> placedBlocks = compoundTag.getCompoundTag(key).getListTag("placed_blocks");
+            if (placedBlocks == null || placedBlocks.size() == 0) {
+                continue;
+            }
+            int[] packed = new int[placedBlocks.size()];
+            int count = 0;
+            for (CompoundTag block : placedBlocks.asCompoundTagList()) {
+                packed[count++] = PackedBlockSet.pack(block.getInt("x"), block.getInt("y"), block.getInt("z"));
+            }
+            Arrays.sort(packed);
+            chunks.put(RegionFile.index(chunkX, chunkZ), dedupe(packed));
+        }
+        return chunks;
+    }
+
+    private int[] dedupe(int[] sorted) {
+        int count = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[count++] = sorted[i];
+            }
+        }
+        return count == sorted.length ? sorted : Arrays.copyOf(sorted, count);
+    }
+
+}
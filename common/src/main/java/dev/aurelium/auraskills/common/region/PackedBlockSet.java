@@ -0,0 +1,148 @@
+package dev.aurelium.auraskills.common.region;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash set of block positions packed into ints relative to their chunk.
+ * Uses about 8 bytes per block instead of a boxed key and map entry. Not thread-safe,
+ * {@link ChunkData} guards access to it.
+ */
+class PackedBlockSet {
+
+    private static final int EMPTY = Integer.MIN_VALUE;
+    private static final int MIN_CAPACITY = 8;
+
+    private int[] keys;
+    private int size;
+
+    PackedBlockSet() {
+        this.keys = newTable(MIN_CAPACITY);
+    }
+
+    /**
+     * Packs a block position into an int. The low 8 bits hold the x and z coordinates within
+     * the chunk and the remaining bits hold the signed y coordinate.
+     */
+    static int pack(int x, int y, int z) {
+        return (y << 8) | ((z & 15) << 4) | (x & 15);
+    }
+
+    static int unpackLocalX(int packed) {
+        return packed & 15;
+    }
+
+    static int unpackY(int packed) {
+        return packed >> 8;
+    }
+
+    static int unpackLocalZ(int packed) {
+        return (packed >> 4) & 15;
+    }
+
+    boolean contains(int packed) {
+        int[] keys = this.keys;
+        int mask = keys.length - 1;
+        int slot = slot(packed, mask);
+        int key;
+        while ((key = keys[slot]) != EMPTY) {
+            if (key == packed) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    boolean add(int packed) {
+        int mask = keys.length - 1;
+        int slot = slot(packed, mask);
+        int key;
+        while ((key = keys[slot]) != EMPTY) {
+            if (key == packed) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = packed;
+        // Keep the load factor at or below 0.5
+        if (++size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        return true;
+    }
+
+    boolean remove(int packed) {
+        int mask = keys.length - 1;
+        int slot = slot(packed, mask);
+        int key;
+        while ((key = keys[slot]) != packed) {
+            if (key == EMPTY) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        // Shift later keys in the probe sequence back so lookups don't need tombstones
+        int gap = slot;
+        slot = (slot + 1) & mask;
+        while ((key = keys[slot]) != EMPTY) {
+            int home = slot(key, mask);
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = key;
+                gap = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[gap] = EMPTY;
+        size--;
+        if (size * 8 < keys.length && keys.length > MIN_CAPACITY) {
+            resize(keys.length / 2);
+        }
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Copies every packed position into a new sorted array.
+     */
+    int[] toSortedArray() {
+        int[] values = new int[size];
+        int i = 0;
+        for (int key : keys) {
+            if (key != EMPTY) {
+                values[i++] = key;
+            }
+        }
+        Arrays.sort(values);
+        return values;
+    }
+
+    private void resize(int capacity) {
+        int[] old = keys;
+        keys = newTable(capacity);
+        int mask = capacity - 1;
+        for (int key : old) {
+            if (key != EMPTY) {
+                int slot = slot(key, mask);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+            }
+        }
+    }
+
+    private static int[] newTable(int capacity) {
+        int[] table = new int[capacity];
+        Arrays.fill(table, EMPTY);
+        return table;
+    }
+
+    private static int slot(int packed, int mask) {
+        int hash = packed * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+}
@@ -2,26 +2,37 @@ package dev.aurelium.auraskills.common.region;
 
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 public class Region {
 
     private final String worldName;
     private final int x;
     private final int z;
-    private final ConcurrentMap<ChunkCoordinate, ChunkData> chunks;
+    // Indexed by chunk z * 32 + chunk x within the region
+    private final AtomicReferenceArray<ChunkData> chunks;
     private boolean reload;
-    private boolean loading;
+    private final AtomicBoolean loading;
+    private volatile boolean loaded;
+    // Incremented every time a chunk in the region changes
+    private final AtomicLong generation;
+    private volatile long savedGeneration;
+    // Number of world chunks in the region that are loaded, guarded by this
+    private int loadedChunks;
+    private boolean evicted;
 
     public Region(String worldName, int x, int z) {
         this.worldName = worldName;
         this.x = x;
         this.z = z;
-        this.chunks = new ConcurrentHashMap<>();
+        this.chunks = new AtomicReferenceArray<>(32 * 32);
         this.reload = false;
-        this.loading = false;
+        this.loading = new AtomicBoolean();
+        this.generation = new AtomicLong();
     }
 
     public String getWorldName() {
@@ -38,15 +49,53 @@ public class Region {
 
     @Nullable
     public ChunkData getChunkData(ChunkCoordinate chunkCoordinate) {
-        return chunks.get(chunkCoordinate);
+        return getChunkData(chunkCoordinate.getX(), chunkCoordinate.getZ());
+    }
+
+    /**
+     * Gets the data of a chunk by its coordinates within the region.
+     *
+     * @param chunkX the chunk x coordinate within the region, from 0 to 31
+     * @param chunkZ the chunk z coordinate within the region, from 0 to 31
+     * @return the chunk data, or null if the chunk has none
+     */
+    @Nullable
+    public ChunkData getChunkData(int chunkX, int chunkZ) {
+        return chunks.get(index(chunkX, chunkZ));
     }
 
     public void setChunkData(ChunkCoordinate chunkCoordinate, ChunkData chunkData) {
-        chunks.put(chunkCoordinate, chunkData);
+        chunks.set(index(chunkCoordinate.getX(), chunkCoordinate.getZ()), chunkData);
+    }
+
+    /**
+     * Gets the data of a chunk, creating it if the chunk has none.
+     *
+     * @param chunkX the chunk x coordinate within the region, from 0 to 31
+     * @param chunkZ the chunk z coordinate within the region, from 0 to 31
+     * @return the chunk data
+     */
+    public ChunkData getOrCreateChunkData(int chunkX, int chunkZ) {
+        int index = index(chunkX, chunkZ);
+        ChunkData chunkData = chunks.get(index);
+        if (chunkData == null) {
+            chunkData = new ChunkData(this, (byte) chunkX, (byte) chunkZ);
+            if (!chunks.compareAndSet(index, null, chunkData)) {
+                chunkData = chunks.get(index);
+            }
+        }
+        return chunkData;
     }
 
-    public Map<ChunkCoordinate, ChunkData> getChunkMap() {
-        return chunks;
+    public List<ChunkData> getChunks() {
+        List<ChunkData> list = new ArrayList<>();
+        for (int i = 0; i < chunks.length(); i++) {
+            ChunkData chunkData = chunks.get(i);
+            if (chunkData != null) {
+                list.add(chunkData);
+            }
+        }
+        return list;
     }
 
     public void setReload(boolean reload) {
@@ -58,11 +107,102 @@ public class Region {
     }
 
     public boolean isLoading() {
-        return loading;
+        return loading.get();
+    }
+
+    /**
+     * Marks the region as loading unless another thread is already loading it.
+     *
+     * @return true if the caller should load the region
+     */
+    public boolean startLoading() {
+        return loading.compareAndSet(false, true);
     }
 
     public void setLoading(boolean loading) {
-        this.loading = loading;
+        this.loading.set(loading);
+    }
+
+    /**
+     * Gets whether the region's file has been read, so saving it won't overwrite blocks that aren't loaded yet.
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public void setLoaded(boolean loaded) {
+        this.loaded = loaded;
+    }
+
+    void markChanged() {
+        generation.incrementAndGet();
+    }
+
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    public boolean isDirty() {
+        return generation.get() != savedGeneration;
+    }
+
+    /**
+     * Marks every change up to a generation as saved.
+     *
+     * @param generation the generation read before the region's chunks were saved
+     */
+    public synchronized void markSaved(long generation) {
+        if (generation > savedGeneration) {
+            savedGeneration = generation;
+        }
+    }
+
+    /**
+     * Records that a world chunk in the region loaded.
+     *
+     * @return false if the region was evicted and a new one should be used instead
+     */
+    public synchronized boolean addLoadedChunk() {
+        if (evicted) {
+            return false;
+        }
+        loadedChunks++;
+        return true;
+    }
+
+    /**
+     * Records that a world chunk in the region unloaded.
+     *
+     * @return true if no chunks in the region are loaded anymore
+     */
+    public synchronized boolean removeLoadedChunk() {
+        loadedChunks = Math.max(loadedChunks - 1, 0);
+        return loadedChunks == 0;
+    }
+
+    public synchronized boolean hasLoadedChunks() {
+        return loadedChunks > 0;
+    }
+
+    public synchronized void clearLoadedChunks() {
+        loadedChunks = 0;
+    }
+
+    /**
+     * Marks the region as evicted if none of its chunks are loaded.
+     *
+     * @return true if the region was evicted
+     */
+    public synchronized boolean evictIfUnused() {
+        if (loadedChunks > 0) {
+            return false;
+        }
+        evicted = true;
+        return true;
+    }
+
+    private static int index(int chunkX, int chunkZ) {
+        return (chunkZ << 5) | chunkX;
     }
 
 }
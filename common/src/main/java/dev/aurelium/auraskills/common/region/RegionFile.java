@@ -0,0 +1,280 @@
+package dev.aurelium.auraskills.common.region;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Reads and writes the binary region format that stores the placed blocks of the 32x32
+ * chunks in a region.
+ *
+ * <p>The file starts with a magic number, a format version, and a table of 1024 (offset, length)
+ * entries indexed by {@code chunkZ * 32 + chunkX}. An offset of 0 means the chunk has no placed blocks.
+ * Each chunk payload is the varint length of the encoded blocks followed by the deflated blocks,
+ * which are the block count and the sorted packed positions from {@link ChunkData#getPackedBlocks()},
+ * with the first position zigzag encoded and the rest encoded as varint deltas.</p>
+ *
+ * <p>Updated chunks are appended to the end of the file before the table is rewritten, so a crash
+ * leaves the file pointing at either the old or the new payload. The file is compacted once
+ * unreferenced payloads take up more space than referenced ones.</p>
+ */
+public final class RegionFile {
+
+    public static final String EXTENSION = ".asrb";
+    private static final int MAGIC = 0x41535242; // ASRB
+    private static final int VERSION = 1;
+    private static final int CHUNKS = 32 * 32;
+    private static final int HEADER_SIZE = 8 + CHUNKS * 8;
+    private static final int MIN_COMPACT_WASTE = 64 * 1024;
+
+    private RegionFile() {
+    }
+
+    @FunctionalInterface
+    public interface ChunkReader {
+
+        void accept(int chunkX, int chunkZ, int[] packedBlocks);
+
+    }
+
+    public static int index(int chunkX, int chunkZ) {
+        return (chunkZ << 5) | chunkX;
+    }
+
+    /**
+     * Reads every chunk in a region file.
+     *
+     * @param path the region file
+     * @param reader called with the sorted packed blocks of each chunk that has any
+     * @throws IOException if the file can't be read or is not a valid region file
+     */
+    public static void read(Path path, ChunkReader reader) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = readHeader(channel);
+            for (int i = 0; i < CHUNKS; i++) {
+                int offset = header.getInt(8 + i * 8);
+                int length = header.getInt(12 + i * 8);
+                if (offset == 0) continue;
+
+                ByteBuffer payload = readFully(channel, offset, length);
+                reader.accept(i & 31, i >> 5, decode(payload));
+            }
+        }
+    }
+
+    /**
+     * Writes chunks to a region file, creating the file if it doesn't exist. Chunks not in
+     * the map are left untouched. The file is deleted if no chunks with blocks remain.
+     *
+     * @param path the region file
+     * @param chunks the sorted packed blocks of each chunk to write, keyed by {@link #index(int, int)}.
+     *               An empty array removes the chunk.
+     * @throws IOException if the file can't be written
+     */
+    public static void write(Path path, Map<Integer, int[]> chunks) throws IOException {
+        boolean empty = true;
+        long waste;
+        long live = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE)) {
+            ByteBuffer header;
+            if (channel.size() == 0) {
+                header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(0, MAGIC).putInt(4, VERSION);
+                channel.write(header.duplicate(), 0);
+            } else {
+                header = readHeader(channel);
+            }
+            // Append new payloads first so the old ones stay valid until the header points elsewhere
+            long position = channel.size();
+            for (Map.Entry<Integer, int[]> entry : chunks.entrySet()) {
+                int index = entry.getKey();
+                int[] blocks = entry.getValue();
+                if (blocks.length == 0) {
+                    header.putInt(8 + index * 8, 0).putInt(12 + index * 8, 0);
+                    continue;
+                }
+                ByteBuffer payload = ByteBuffer.wrap(encode(blocks));
+                int length = payload.remaining();
+                writeFully(channel, payload, position);
+                header.putInt(8 + index * 8, (int) position).putInt(12 + index * 8, length);
+                position += length;
+            }
+            channel.force(false);
+            writeFully(channel, header.duplicate().clear(), 0);
+            channel.force(false);
+
+            for (int i = 0; i < CHUNKS; i++) {
+                if (header.getInt(8 + i * 8) != 0) {
+                    empty = false;
+                    live += header.getInt(12 + i * 8);
+                }
+            }
+            waste = channel.size() - HEADER_SIZE - live;
+        }
+        if (empty) {
+            Files.deleteIfExists(path);
+        } else if (waste > live && waste > MIN_COMPACT_WASTE) {
+            compact(path);
+        }
+    }
+
+    /**
+     * Rewrites a region file without unreferenced payloads.
+     */
+    private static void compact(Path path) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel source = FileChannel.open(path, StandardOpenOption.READ);
+             FileChannel target = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = readHeader(source);
+            long position = HEADER_SIZE;
+            for (int i = 0; i < CHUNKS; i++) {
+                int offset = header.getInt(8 + i * 8);
+                int length = header.getInt(12 + i * 8);
+                if (offset == 0) continue;
+
+                writeFully(target, readFully(source, offset, length), position);
+                header.putInt(8 + i * 8, (int) position);
+                position += length;
+            }
+            writeFully(target, header.duplicate().clear(), 0);
+            target.force(false);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static byte[] encode(int[] sortedBlocks) {
+        ByteArrayOutputStream raw = new ByteArrayOutputStream(sortedBlocks.length * 2 + 5);
+        writeVarInt(raw, sortedBlocks.length);
+        int previous = 0;
+        for (int i = 0; i < sortedBlocks.length; i++) {
+            int block = sortedBlocks[i];
+            if (i == 0) {
+                writeVarInt(raw, (block << 1) ^ (block >> 31)); // Zigzag since y can be negative
+            } else {
+                writeVarInt(raw, block - previous);
+            }
+            previous = block;
+        }
+        byte[] input = raw.toByteArray();
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 2 + 16);
+            writeVarInt(out, input.length);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(buffer);
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    static int[] decode(ByteBuffer payload) throws IOException {
+        int rawLength = readVarInt(payload);
+        byte[] raw = new byte[rawLength];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(payload);
+            int read = 0;
+            while (read < rawLength) {
+                int count = inflater.inflate(raw, read, rawLength - read);
+                if (count == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw new IOException("Truncated chunk payload");
+                }
+                read += count;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupted chunk payload", e);
+        } finally {
+            inflater.end();
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(raw);
+        int count = readVarInt(buffer);
+        int[] blocks = new int[count];
+        int previous = 0;
+        for (int i = 0; i < count; i++) {
+            int value = readVarInt(buffer);
+            if (i == 0) {
+                previous = (value >>> 1) ^ -(value & 1);
+            } else {
+                previous += value;
+            }
+            blocks[i] = previous;
+        }
+        return blocks;
+    }
+
+    private static ByteBuffer readHeader(FileChannel channel) throws IOException {
+        if (channel.size() < HEADER_SIZE) {
+            throw new IOException("Region file is too short");
+        }
+        ByteBuffer header = readFully(channel, 0, HEADER_SIZE);
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException("Not a region file");
+        }
+        int version = header.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("Unsupported region file version " + version);
+        }
+        return header;
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        if (position + length > channel.size()) {
+            throw new IOException("Chunk payload is outside of the region file");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of region file");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(ByteBuffer buffer) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            if (!buffer.hasRemaining()) {
+                throw new IOException("Truncated varint");
+            }
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Varint is too long");
+    }
+
+}
@@ -0,0 +1,122 @@
+package dev.aurelium.auraskills.common.region;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Secondary index of loaded regions that can be queried by world name and region coordinates
+ * without allocating a {@link RegionCoordinate}. Each world has an immutable open-addressing
+ * table that is copied on write, since regions are looked up on every block break but only
+ * added or removed when they load or unload.
+ */
+class RegionLookup {
+
+    private final ConcurrentMap<String, Table> worlds = new ConcurrentHashMap<>();
+
+    @Nullable
+    Region get(String worldName, int regionX, int regionZ) {
+        Table table = worlds.get(worldName);
+        return table != null ? table.get(regionX, regionZ) : null;
+    }
+
+    synchronized void put(Region region) {
+        Table table = worlds.get(region.getWorldName());
+        worlds.put(region.getWorldName(), Table.with(table, region));
+    }
+
+    synchronized void remove(String worldName, int regionX, int regionZ) {
+        Table table = worlds.get(worldName);
+        if (table == null || table.get(regionX, regionZ) == null) {
+            return;
+        }
+        Table removed = Table.without(table, regionX, regionZ);
+        if (removed.size == 0) {
+            worlds.remove(worldName);
+        } else {
+            worlds.put(worldName, removed);
+        }
+    }
+
+    synchronized void clear() {
+        worlds.clear();
+    }
+
+    private static class Table {
+
+        private final long[] keys;
+        private final Region[] values;
+        private final int mask;
+        private final int size;
+
+        private Table(int size) {
+            int capacity = Integer.highestOneBit(Math.max(size, 1) * 2 - 1) << 1;
+            this.keys = new long[capacity];
+            this.values = new Region[capacity];
+            this.mask = capacity - 1;
+            this.size = size;
+        }
+
+        @Nullable
+        Region get(int regionX, int regionZ) {
+            long key = key(regionX, regionZ);
+            int slot = slot(key, mask);
+            Region region;
+            while ((region = values[slot]) != null) {
+                if (keys[slot] == key) {
+                    return region;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+
+        static Table with(@Nullable Table old, Region region) {
+            boolean replace = old != null && old.get(region.getX(), region.getZ()) != null;
+            int size = old == null ? 1 : (replace ? old.size : old.size + 1);
+            Table table = new Table(size);
+            if (old != null) {
+                for (int i = 0; i < old.values.length; i++) {
+                    Region existing = old.values[i];
+                    if (existing != null && old.keys[i] != key(region.getX(), region.getZ())) {
+                        table.insert(old.keys[i], existing);
+                    }
+                }
+            }
+            table.insert(key(region.getX(), region.getZ()), region);
+            return table;
+        }
+
+        static Table without(Table old, int regionX, int regionZ) {
+            long removedKey = key(regionX, regionZ);
+            Table table = new Table(old.size - 1);
+            for (int i = 0; i < old.values.length; i++) {
+                if (old.values[i] != null && old.keys[i] != removedKey) {
+                    table.insert(old.keys[i], old.values[i]);
+                }
+            }
+            return table;
+        }
+
+        private void insert(long key, Region region) {
+            int slot = slot(key, mask);
+            while (values[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = region;
+        }
+
+        private static long key(int regionX, int regionZ) {
+            return ((long) regionX << 32) | (regionZ & 0xFFFFFFFFL);
+        }
+
+        private static int slot(long key, int mask) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+
+    }
+
+}
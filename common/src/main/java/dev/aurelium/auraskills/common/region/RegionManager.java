@@ -1,29 +1,41 @@
 package dev.aurelium.auraskills.common.region;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import dev.aurelium.auraskills.common.AuraSkillsPlugin;
-import net.querz.nbt.io.NBTUtil;
-import net.querz.nbt.io.NamedTag;
-import net.querz.nbt.tag.CompoundTag;
-import net.querz.nbt.tag.ListTag;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 public abstract class RegionManager {
 
+    private static final int SAVE_QUEUE_CAPACITY = 1024;
+
     protected final AuraSkillsPlugin plugin;
     protected final ConcurrentMap<RegionCoordinate, Region> regions;
-    private boolean saving;
+    private final RegionLookup regionLookup;
+    private final LegacyRegionMigrator legacyMigrator;
+    // Single background thread for region saves with a bounded queue
+    private final ThreadPoolExecutor saveExecutor;
+    private final Set<Region> queuedSaves;
 
     public RegionManager(AuraSkillsPlugin plugin) {
         this.plugin = plugin;
         this.regions = new ConcurrentHashMap<>();
-        this.saving = false;
+        this.regionLookup = new RegionLookup();
+        this.legacyMigrator = new LegacyRegionMigrator(plugin);
+        this.saveExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(SAVE_QUEUE_CAPACITY),
+                new ThreadFactoryBuilder().setNameFormat("auraskills-region-saver-%d").setDaemon(true).build());
+        this.queuedSaves = ConcurrentHashMap.newKeySet();
     }
 
     @Nullable
@@ -31,32 +43,91 @@ public abstract class RegionManager {
         return regions.get(regionCoordinate);
     }
 
-    public abstract boolean isChunkLoaded(String worldName, int chunkX, int chunkZ);
+    /**
+     * Gets a loaded region without allocating a {@link RegionCoordinate}.
+     *
+     * @param worldName the name of the world
+     * @param regionX the region x coordinate
+     * @param regionZ the region z coordinate
+     * @return the region, or null if it is not loaded
+     */
+    @Nullable
+    public Region getRegion(String worldName, int regionX, int regionZ) {
+        return regionLookup.get(worldName, regionX, regionZ);
+    }
+
+    /**
+     * Checks whether a block was placed by a player. Does not allocate, so it is safe
+     * to call on every block break.
+     *
+     * @param worldName the name of the block's world
+     * @param x the block x coordinate
+     * @param y the block y coordinate
+     * @param z the block z coordinate
+     * @return true if the block is a placed block
+     */
+    public boolean isPlacedBlock(String worldName, int x, int y, int z) {
+        int chunkX = x >> 4;
+        int chunkZ = z >> 4;
+        Region region = regionLookup.get(worldName, chunkX >> 5, chunkZ >> 5);
+        if (region == null) {
+            return false;
+        }
+        ChunkData chunkData = region.getChunkData(chunkX & 31, chunkZ & 31);
+        return chunkData != null && chunkData.isPlacedBlock(x, y, z);
+    }
 
     public void clearRegionMap() {
         regions.clear();
+        regionLookup.clear();
     }
 
     public void setRegion(RegionCoordinate coordinate, Region region) {
         regions.put(coordinate, region);
+        regionLookup.put(region);
     }
 
-    public void loadRegion(Region region) {
-        if (region.isLoading()) return;
-        region.setLoading(true);
+    /**
+     * Gets a loaded region or creates an empty one if it is not loaded.
+     *
+     * @param worldName the name of the world
+     * @param regionX the region x coordinate
+     * @param regionZ the region z coordinate
+     * @return the region
+     */
+    public Region getOrCreateRegion(String worldName, int regionX, int regionZ) {
+        Region region = regionLookup.get(worldName, regionX, regionZ);
+        if (region != null) {
+            return region;
+        }
+        region = regions.computeIfAbsent(new RegionCoordinate(worldName, regionX, regionZ),
+                c -> new Region(worldName, regionX, regionZ));
+        regionLookup.put(region);
+        return region;
+    }
+
+    public void removeRegion(RegionCoordinate coordinate) {
+        regions.remove(coordinate);
+        regionLookup.remove(coordinate.getWorldName(), coordinate.getX(), coordinate.getZ());
+    }
 
-        RegionCoordinate regionCoordinate = new RegionCoordinate(region.getWorldName(), region.getX(), region.getZ());
-        String worldName = regionCoordinate.getWorldName();
-        int regionX = regionCoordinate.getX();
-        int regionZ = regionCoordinate.getZ();
+    public void loadRegion(Region region) {
+        if (!region.startLoading()) return;
 
-        File file = new File(plugin.getPluginFolder() + "/regiondata/" + worldName + "/r." + regionX + "." + regionZ + ".asrg");
+        File file = getRegionFile(region.getWorldName(), region.getX(), region.getZ());
+        File legacyFile = new File(file.getParentFile(), "r." + region.getX() + "." + region.getZ() + LegacyRegionMigrator.LEGACY_EXTENSION);
+        if (legacyFile.exists()) {
+            legacyMigrator.migrate(legacyFile);
+        }
         if (file.exists()) {
-            if (saving) {
-                region.setReload(true);
-            }
             try {
-                loadNbtFile(file, region);
+                RegionFile.read(file.toPath(), (chunkX, chunkZ, packedBlocks) -> {
+                    ChunkData chunkData = region.getOrCreateChunkData(chunkX, chunkZ);
+                    for (int block : packedBlocks) {
+                        chunkData.addPackedBlock(block);
+                    }
+                });
+                region.setReload(false);
             } catch (IOException e) {
                 boolean deleted = file.delete();
                 if (deleted) {
@@ -68,156 +139,174 @@ public abstract class RegionManager {
                 region.setReload(false);
             }
         }
+        region.setLoaded(true);
         region.setLoading(false);
     }
 
-    private void loadNbtFile(File file, Region region) throws IOException {
-        NamedTag namedTag = NBTUtil.read(file);
-        if (namedTag.getTag() instanceof CompoundTag compoundTag) {
-            for (String key : compoundTag.keySet()) {
-                // Load each chunk
-                if (!key.startsWith("chunk")) {
-                    continue;
-                }
-                // Get chunk coordinates
-                int commaIndex = key.indexOf(",");
-                byte chunkX = Byte.parseByte(key.substring(key.indexOf("[") + 1, commaIndex));
-                byte chunkZ = Byte.parseByte(key.substring(commaIndex + 1, key.lastIndexOf("]")));
-                // Load chunk
-                CompoundTag chunkCompound = compoundTag.getCompoundTag(key);
-                ChunkCoordinate chunkCoordinate = new ChunkCoordinate(chunkX, chunkZ);
-                loadChunk(region, chunkCoordinate, chunkCompound);
+    /**
+     * Converts region files in the old NBT format to the binary format.
+     */
+    public void migrateLegacyRegions() {
+        legacyMigrator.migrateAll();
+    }
+
+    /**
+     * Records that a world chunk loaded, creating its region if it isn't in memory.
+     *
+     * @param worldName the name of the world
+     * @param chunkX the chunk x coordinate
+     * @param chunkZ the chunk z coordinate
+     * @return the chunk's region, which still needs to be loaded if {@link Region#isLoaded()} is false
+     */
+    public Region handleChunkLoad(String worldName, int chunkX, int chunkZ) {
+        while (true) {
+            Region region = getOrCreateRegion(worldName, chunkX >> 5, chunkZ >> 5);
+            if (region.addLoadedChunk()) {
+                return region;
             }
+            // A region is only evicted after its saves finish and is removed from the map at the same time,
+            // so the next attempt creates a new region that can safely read the file without waiting
         }
-        region.setReload(false);
     }
 
-    private void loadChunk(Region region, ChunkCoordinate chunkCoordinate, CompoundTag compound) {
-        ChunkData chunkData = region.getChunkData(chunkCoordinate);
-        if (chunkData == null) {
-            chunkData = new ChunkData(region, chunkCoordinate.getX(), chunkCoordinate.getZ());
+    /**
+     * Records that a world chunk unloaded and evicts its region once none of the region's chunks are loaded.
+     *
+     * @param worldName the name of the world
+     * @param chunkX the chunk x coordinate
+     * @param chunkZ the chunk z coordinate
+     */
+    public void handleChunkUnload(String worldName, int chunkX, int chunkZ) {
+        Region region = getRegion(worldName, chunkX >> 5, chunkZ >> 5);
+        if (region != null && region.removeLoadedChunk()) {
+            submit(() -> evictRegion(region));
         }
-        ListTag<?> placedBlocks = compound.getListTag("placed_blocks");
-        for (CompoundTag block : placedBlocks.asCompoundTagList()) {
-            int x = block.getInt("x");
-            int y = block.getInt("y");
-            int z = block.getInt("z");
-            chunkData.addPlacedBlock(new BlockPosition(x, y, z));
-        }
-        region.setChunkData(chunkCoordinate, chunkData);
     }
 
-    private void saveRegion(String worldName, int regionX, int regionZ) {
-        RegionCoordinate regionCoordinate = new RegionCoordinate(worldName, regionX, regionZ);
-        Region region = getRegion(regionCoordinate);
-        if (region == null) return;
-        if (region.getChunkMap().isEmpty()) return;
+    /**
+     * Evicts every region in a world.
+     *
+     * @param worldName the name of the world
+     */
+    public void handleWorldUnload(String worldName) {
+        for (Region region : regions.values()) {
+            if (region.getWorldName().equals(worldName)) {
+                region.clearLoadedChunks();
+                submit(() -> evictRegion(region));
+            }
+        }
+    }
 
-        File file = new File(plugin.getPluginFolder() + "/regiondata/" + worldName + "/r." + regionX + "." + regionZ + ".asrg");
-        try {
-            if (!file.exists()) {
-                File parent = file.getParentFile();
-                if (parent != null && !parent.exists()) {
-                    if (!parent.mkdirs()) {
-                        plugin.logger().warn("Failed to create directory " + parent.getName());
-                    }
-                }
-                NBTUtil.write(new NamedTag(file.getName(), new CompoundTag()), file);
+    // The region stays in the map until every save finishes, so a chunk loading in the meantime keeps using it
+    // instead of reading a new region from a file that is still being written
+    private void evictRegion(Region region) {
+        while (true) {
+            if (region.isLoaded() && region.isDirty() && !saveRegion(region)) {
+                return; // Retried by the next save of dirty regions
             }
-            NamedTag namedTag = NBTUtil.read(file);
-            if (!(namedTag.getTag() instanceof CompoundTag)) {
-                namedTag.setTag(new CompoundTag());
+            synchronized (region) {
+                if (region.hasLoadedChunks() || region.isLoading()) {
+                    return; // A chunk loaded again
+                }
+                if (region.isLoaded() && region.isDirty()) {
+                    continue; // Changed while saving
+                }
+                region.evictIfUnused();
+                removeRegion(new RegionCoordinate(region.getWorldName(), region.getX(), region.getZ()));
+                return;
             }
-            CompoundTag compoundTag = (CompoundTag) namedTag.getTag();
-            for (ChunkData chunkData : region.getChunkMap().values()) {
-                // Save each chunk
-                saveChunk(compoundTag, chunkData);
+        }
+    }
+
+    /**
+     * Queues every region with unsaved changes to be saved in the background.
+     * Also retries evicting unused regions whose eviction couldn't be queued.
+     */
+    public void saveDirtyRegions() {
+        for (Region region : regions.values()) {
+            if (!region.hasLoadedChunks()) {
+                submit(() -> evictRegion(region));
+                continue;
             }
-            if (compoundTag.keySet().isEmpty()) {
-                if (file.exists()) {
-                    try {
-                        Files.delete(file.toPath());
-                    } catch (Exception ignored) {
-                    }
+            if (region.isLoaded() && region.isDirty() && queuedSaves.add(region)) {
+                boolean submitted = submit(() -> {
+                    queuedSaves.remove(region);
+                    saveRegion(region);
+                });
+                if (!submitted) {
+                    queuedSaves.remove(region);
                 }
-            } else {
-                NBTUtil.write(namedTag, file);
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-            boolean deleted = file.delete();
-            if (deleted) {
-                plugin.logger().warn("Deleted " + file.getName() + " because it was corrupted, this won't affect anything");
             }
         }
     }
 
-    private void saveChunk(CompoundTag compound, ChunkData chunkData) {
-        String chunkName = "chunk[" + chunkData.getX() + "," + chunkData.getZ() + "]";
-        CompoundTag chunk = compound.getCompoundTag(chunkName);
-        if (chunk == null) {
-            chunk = new CompoundTag();
-            compound.put(chunkName, chunk);
-        }
-        ListTag<?> listTag = chunk.getListTag("placed_blocks");
-        ListTag<CompoundTag> placedBlocks;
-        if (listTag != null) {
-            placedBlocks = listTag.asCompoundTagList();
-        } else {
-            // Create and add placed_blocks ListTag if not exists
-            placedBlocks = new ListTag<>(CompoundTag.class);
-            chunk.put("placed_blocks", placedBlocks);
-        }
-        placedBlocks.clear(); // Clears list of block positions to account for removed positions
-        // Adds all positions to nbt compound list
-        for (BlockPosition block : chunkData.getPlacedBlocks().keySet()) {
-            CompoundTag blockCompound = new CompoundTag();
-            blockCompound.putInt("x", block.getX());
-            blockCompound.putInt("y", block.getY());
-            blockCompound.putInt("z", block.getZ());
-            placedBlocks.add(blockCompound);
+    /**
+     * Waits for queued saves to finish and saves every region with unsaved changes on the calling thread.
+     * Used when the server shuts down.
+     */
+    public void saveAllRegions() {
+        saveExecutor.shutdown();
+        try {
+            if (!saveExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                plugin.logger().warn("Timed out waiting for region saves to finish");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
-        // Remove tags that are empty
-        if (placedBlocks.size() == 0) {
-            chunk.remove("placed_blocks");
+        for (Region region : regions.values()) {
+            if (region.isLoaded() && region.isDirty()) {
+                saveRegion(region);
+            }
         }
-        if (chunk.keySet().isEmpty()) {
-            compound.remove(chunkName);
+    }
+
+    private boolean submit(Runnable task) {
+        try {
+            saveExecutor.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            // Queue is full or shutting down, dirty regions are picked up by the next save
+            return false;
         }
     }
 
-    public void saveAllRegions(boolean clearUnused, boolean serverShutdown) {
-        if (saving && !serverShutdown) return;
-        saving = true;
-        for (Region region : regions.values()) {
-            try {
-                saveRegion(region.getWorldName(), region.getX(), region.getZ());
-                // Clear region from memory if no chunks are loaded in it
-                if (clearUnused) {
-                    if (isRegionUnused(region)) {
-                        regions.remove(new RegionCoordinate(region.getWorldName(), region.getX(), region.getZ()));
-                    }
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
+    private boolean saveRegion(Region region) {
+        long generation = region.getGeneration();
+        // Only chunks changed since the last save are written
+        Map<Integer, int[]> dirtyChunks = new HashMap<>();
+        Map<ChunkData, Long> savedGenerations = new HashMap<>();
+        for (ChunkData chunkData : region.getChunks()) {
+            ChunkData.Snapshot snapshot = chunkData.getDirtySnapshot();
+            if (snapshot != null) {
+                dirtyChunks.put(RegionFile.index(chunkData.getX(), chunkData.getZ()), snapshot.blocks());
+                savedGenerations.put(chunkData, snapshot.generation());
             }
         }
-        if (!serverShutdown) {
-            plugin.getScheduler().scheduleSync(() -> saving = false, 1, TimeUnit.SECONDS);
-        } else {
-            saving = false;
+        if (dirtyChunks.isEmpty()) {
+            region.markSaved(generation);
+            return true;
         }
-    }
 
-    private boolean isRegionUnused(Region region) {
-        for (int chunkX = region.getX() * 32; chunkX < region.getX() * 32 + 32; chunkX++) {
-            for (int chunkZ = region.getZ() * 32; chunkZ < region.getZ() * 32 + 32; chunkZ++) {
-                if (isChunkLoaded(region.getWorldName(), chunkX, chunkZ)) {
-                    return false;
-                }
+        File file = getRegionFile(region.getWorldName(), region.getX(), region.getZ());
+        try {
+            File parent = file.getParentFile();
+            if (!parent.exists() && !parent.mkdirs()) {
+                plugin.logger().warn("Failed to create directory " + parent.getName());
             }
+            RegionFile.write(file.toPath(), dirtyChunks);
+            savedGenerations.forEach(ChunkData::markSaved);
+            region.markSaved(generation);
+            return true;
+        } catch (IOException e) {
+            // Chunks stay dirty and are retried on the next save
+            plugin.logger().warn("Failed to save region file " + file.getName());
+            e.printStackTrace();
+            return false;
         }
-        return true;
+    }
+
+    private File getRegionFile(String worldName, int regionX, int regionZ) {
+        return new File(plugin.getPluginFolder() + "/regiondata/" + worldName + "/r." + regionX + "." + regionZ + RegionFile.EXTENSION);
     }
 
 }
@@ -26,15 +26,17 @@ public class RewardManager {
 
     protected final AuraSkillsPlugin plugin;
     private final Map<Skill, RewardTable> rewardTables;
+    private final RewardTable emptyTable;
 
     public RewardManager(AuraSkillsPlugin plugin) {
         this.plugin = plugin;
         this.rewardTables = new ConcurrentHashMap<>();
+        this.emptyTable = new RewardTable(plugin);
     }
 
     @NotNull
     public RewardTable getRewardTable(Skill skill) {
-        return rewardTables.getOrDefault(skill, new RewardTable(plugin));
+        return rewardTables.getOrDefault(skill, emptyTable);
     }
 
     public void loadRewards() {
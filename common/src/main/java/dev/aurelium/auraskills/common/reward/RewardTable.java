@@ -9,8 +9,11 @@ import dev.aurelium.auraskills.common.reward.type.PermissionReward;
 import dev.aurelium.auraskills.common.reward.type.StatReward;
 import dev.aurelium.auraskills.common.user.User;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -20,11 +23,16 @@ public class RewardTable {
     private final AuraSkillsPlugin plugin;
     private final List<Stat> statsLeveled;
     private final Map<Integer, List<SkillReward>> rewards;
+    // Indexes built from the rewards on first use and cleared when a reward is added
+    private final Map<Class<?>, Map<Integer, ? extends ImmutableList<?>>> typeIndexes;
+    @Nullable
+    private volatile StatTable statTable;
 
     public RewardTable(AuraSkillsPlugin plugin) {
         this.plugin = plugin;
         this.rewards = new ConcurrentHashMap<>();
         this.statsLeveled = new ArrayList<>();
+        this.typeIndexes = new ConcurrentHashMap<>();
     }
 
     public ImmutableList<SkillReward> getRewards(int level) {
@@ -43,6 +51,8 @@ public class RewardTable {
                 statsLeveled.add(statReward.getStat());
             }
         }
+        typeIndexes.clear();
+        statTable = null;
     }
 
     public ImmutableList<Stat> getStatsLeveled() {
@@ -56,7 +66,12 @@ public class RewardTable {
      * @param <T> The reward type
      * @return A map of each level to a list of rewards of that type
      */
+    @SuppressWarnings("unchecked")
     public <T extends SkillReward> Map<Integer, ImmutableList<T>> searchRewards(Class<T> type) {
+        return (Map<Integer, ImmutableList<T>>) typeIndexes.computeIfAbsent(type, k -> indexRewards(type));
+    }
+
+    private <T extends SkillReward> Map<Integer, ImmutableList<T>> indexRewards(Class<T> type) {
         ImmutableMap.Builder<Integer, ImmutableList<T>> builder = ImmutableMap.builder();
         for (Map.Entry<Integer, List<SkillReward>> entry : rewards.entrySet()) {
             List<T> rewardList = new ArrayList<>();
@@ -74,31 +89,50 @@ public class RewardTable {
 
     // Searches all rewards of a certain type at a single level
     public <T extends SkillReward> ImmutableList<T> searchRewards(Class<T> type, int level) {
-        ImmutableList<SkillReward> levelRewards = getRewards(level);
-        List<T> rewardList = new ArrayList<>();
-        for (SkillReward reward : levelRewards) {
-            if (type.isInstance(reward)) {
-                rewardList.add(type.cast(reward));
-            }
-        }
-        return ImmutableList.copyOf(rewardList);
+        return searchRewards(type).getOrDefault(level, ImmutableList.of());
     }
 
     public Map<Stat, Double> getStatLevels(int level) {
         Map<Stat, Double> statsMap = new ConcurrentHashMap<>();
-        Map<Integer, ImmutableList<StatReward>> statRewardMap = searchRewards(StatReward.class);
-        for (int i = plugin.config().getStartLevel() + 1; i <= level; i++) {
-            ImmutableList<StatReward> statRewardList = statRewardMap.get(i);
-            if (statRewardList != null) {
-                for (StatReward statReward : statRewardList) {
-                    double existing = statsMap.getOrDefault(statReward.getStat(), 0.0);
-                    statsMap.put(statReward.getStat(), existing + statReward.getValue());
-                }
+        StatTable table = getStatTable();
+        double[] totals = table.getRow(level);
+        if (totals == null) {
+            return statsMap;
+        }
+        for (int i = 0; i < table.stats.length; i++) {
+            if (table.rewarded[i] <= level) {
+                statsMap.put(table.stats[i], totals[i]);
             }
         }
         return statsMap;
     }
 
+    /**
+     * Gets the total amount of a stat rewarded by all levels up to and including a level.
+     *
+     * @param stat the stat
+     * @param level the skill level
+     * @return the sum of the stat rewards
+     */
+    public double getStatLevel(Stat stat, int level) {
+        StatTable table = getStatTable();
+        Integer index = table.indexes.get(stat);
+        if (index == null) {
+            return 0.0;
+        }
+        double[] totals = table.getRow(level);
+        return totals != null ? totals[index] : 0.0;
+    }
+
+    private StatTable getStatTable() {
+        StatTable table = statTable;
+        if (table == null) {
+            table = new StatTable(plugin.config().getStartLevel(), searchRewards(StatReward.class));
+            statTable = table;
+        }
+        return table;
+    }
+
     public void applyPermissions(User player, int level) {
         Map<Integer, ImmutableList<PermissionReward>> permissionRewardMap = searchRewards(PermissionReward.class);
         for (Map.Entry<Integer, ImmutableList<PermissionReward>> entry : permissionRewardMap.entrySet()) {
@@ -116,4 +150,63 @@ public class RewardTable {
         }
     }
 
+    /**
+     * Running totals of each stat rewarded, so the stats from any level are one array lookup.
+     */
+    private static class StatTable {
+
+        private final int startLevel;
+        private final Stat[] stats;
+        private final Map<Stat, Integer> indexes;
+        // The first level each stat is rewarded at, only stats that have been reached are included in getStatLevels
+        private final int[] rewarded;
+        // cumulative[level - startLevel][index] is the amount of the stat rewarded up to the level
+        private final double[][] cumulative;
+
+        private StatTable(int startLevel, Map<Integer, ImmutableList<StatReward>> statRewards) {
+            this.startLevel = startLevel;
+            int maxLevel = startLevel;
+            Map<Stat, Integer> indexes = new HashMap<>();
+            List<Stat> stats = new ArrayList<>();
+            for (Map.Entry<Integer, ImmutableList<StatReward>> entry : statRewards.entrySet()) {
+                if (entry.getKey() <= startLevel) continue;
+                maxLevel = Math.max(maxLevel, entry.getKey());
+                for (StatReward reward : entry.getValue()) {
+                    if (!indexes.containsKey(reward.getStat())) {
+                        indexes.put(reward.getStat(), stats.size());
+                        stats.add(reward.getStat());
+                    }
+                }
+            }
+            this.stats = stats.toArray(new Stat[0]);
+            this.indexes = indexes;
+            this.rewarded = new int[stats.size()];
+            Arrays.fill(rewarded, Integer.MAX_VALUE);
+            this.cumulative = new double[maxLevel - startLevel + 1][];
+            cumulative[0] = new double[stats.size()];
+            // Sum in level order so totals match adding the rewards one level at a time
+            for (int level = startLevel + 1; level <= maxLevel; level++) {
+                double[] row = cumulative[level - startLevel - 1].clone();
+                ImmutableList<StatReward> levelRewards = statRewards.get(level);
+                if (levelRewards != null) {
+                    for (StatReward reward : levelRewards) {
+                        int index = indexes.get(reward.getStat());
+                        row[index] += reward.getValue();
+                        rewarded[index] = Math.min(rewarded[index], level);
+                    }
+                }
+                cumulative[level - startLevel] = row;
+            }
+        }
+
+        @Nullable
+        private double[] getRow(int level) {
+            if (level <= startLevel) {
+                return null;
+            }
+            return cumulative[Math.min(level - startLevel, cumulative.length - 1)];
+        }
+
+    }
+
 }
@@ -1,13 +1,12 @@
 package dev.aurelium.auraskills.common.reward.type;
 
-import com.ezylang.evalex.EvaluationException;
-import com.ezylang.evalex.Expression;
-import com.ezylang.evalex.parser.ParseException;
 import dev.aurelium.auraskills.api.skill.Skill;
 import dev.aurelium.auraskills.common.AuraSkillsPlugin;
 import dev.aurelium.auraskills.common.hooks.EconomyHook;
 import dev.aurelium.auraskills.common.reward.SkillReward;
 import dev.aurelium.auraskills.common.user.User;
+import dev.aurelium.auraskills.common.util.math.expression.CompiledExpression;
+import dev.aurelium.auraskills.common.util.math.expression.ExpressionException;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Locale;
@@ -17,11 +16,14 @@ public class MoneyReward extends SkillReward {
     private final double amount;
     @Nullable
     private final String formula;
+    @Nullable
+    private final CompiledExpression expression;
 
     public MoneyReward(AuraSkillsPlugin plugin, Skill skill, double amount, @Nullable String formula) {
         super(plugin, skill);
         this.amount = amount;
         this.formula = formula;
+        this.expression = formula != null ? compileFormula(formula) : null;
     }
 
     @Override
@@ -35,19 +37,26 @@ public class MoneyReward extends SkillReward {
     public double getAmount(int level) {
         if (formula == null && amount > 0) {
             return amount;
-        } else if (formula != null) {
-            Expression expression = new Expression(formula);
-            expression.with("level", level);
+        } else if (expression != null) {
             try {
-                return expression.evaluate().getNumberValue().doubleValue();
-            } catch (EvaluationException | ParseException e) {
-                plugin.logger().warn("Failed to evaluate money reward expression " + expression);
-                e.printStackTrace();
+                return expression.evaluate(level);
+            } catch (ExpressionException e) {
+                plugin.logger().warn("Failed to evaluate money reward expression " + expression + ": " + e.getMessage());
             }
         }
         return 0.0;
     }
 
+    @Nullable
+    private CompiledExpression compileFormula(String formula) {
+        try {
+            return CompiledExpression.compile(formula, "level");
+        } catch (ExpressionException e) {
+            plugin.logger().warn("Failed to parse money reward expression " + formula + ": " + e.getMessage());
+            return null;
+        }
+    }
+
     @Override
     public String getMenuMessage(User player, Locale locale, Skill skill, int level) {
         return ""; // All money rewards have to be added into one line
@@ -0,0 +1,214 @@
+package dev.aurelium.auraskills.common.skillcoins;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of absolute currency balances, split into numbered segment files.
+ * Appends only write to the OS page cache, while {@link #sync()} batches the fsync
+ * of every record appended since the last call.
+ */
+public class BalanceJournal {
+
+    // uuid (16) + currency ordinal (1) + balance (8) + crc32 (4)
+    private static final int RECORD_SIZE = 29;
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final File directory;
+    private final Object appendLock = new Object();
+    private final Object syncLock = new Object();
+    private final ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE);
+    private final CRC32 crc = new CRC32();
+
+    private FileChannel channel;
+    private long segment;
+    private boolean unsynced;
+
+    public BalanceJournal(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Opens a new segment to append to, numbered after any existing segments.
+     *
+     * @throws IOException if the segment could not be created
+     */
+    public void open() throws IOException {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Failed to create journal directory " + directory.getPath());
+        }
+        long last = 0;
+        for (File file : getSegments()) {
+            last = Math.max(last, getSequence(file));
+        }
+        synchronized (appendLock) {
+            segment = last + 1;
+            channel = openSegment(segment);
+        }
+    }
+
+    /**
+     * Appends a balance record to the current segment. The record is not durable
+     * until the next call to {@link #sync()}.
+     */
+    public void append(UUID uuid, CurrencyType type, double balance) throws IOException {
+        synchronized (appendLock) {
+            if (channel == null) {
+                throw new IOException("Balance journal is not open");
+            }
+            buffer.clear();
+            buffer.putLong(uuid.getMostSignificantBits());
+            buffer.putLong(uuid.getLeastSignificantBits());
+            buffer.put((byte) type.ordinal());
+            buffer.putDouble(balance);
+            crc.reset();
+            crc.update(buffer.array(), 0, RECORD_SIZE - 4);
+            buffer.putInt((int) crc.getValue());
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            unsynced = true;
+        }
+    }
+
+    /**
+     * Forces all records appended since the last sync to disk. Appends are not
+     * blocked while the fsync is in progress.
+     */
+    public void sync() throws IOException {
+        synchronized (syncLock) {
+            FileChannel toSync;
+            synchronized (appendLock) {
+                if (!unsynced || channel == null) {
+                    return;
+                }
+                toSync = channel;
+                unsynced = false;
+            }
+            toSync.force(false);
+        }
+    }
+
+    /**
+     * Seals the current segment and starts appending to a new one. The caller must
+     * ensure that no append happens concurrently with rotation if it needs to know
+     * exactly which records ended up in the sealed segments.
+     *
+     * @return every sealed segment, oldest first
+     */
+    public List<File> rotate() throws IOException {
+        synchronized (syncLock) {
+            FileChannel previous;
+            synchronized (appendLock) {
+                previous = channel;
+                segment++;
+                channel = openSegment(segment);
+                unsynced = false;
+            }
+            if (previous != null) {
+                previous.force(false);
+                previous.close();
+            }
+            List<File> sealed = getSegments();
+            sealed.removeIf(file -> getSequence(file) >= segment);
+            return sealed;
+        }
+    }
+
+    /**
+     * Syncs and closes the current segment.
+     */
+    public void close() throws IOException {
+        synchronized (syncLock) {
+            synchronized (appendLock) {
+                if (channel != null) {
+                    channel.force(false);
+                    channel.close();
+                    channel = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets all segment files in the journal directory, oldest first.
+     */
+    public List<File> getSegments() {
+        List<File> segments = new ArrayList<>();
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return segments;
+        }
+        for (File file : files) {
+            if (getSequence(file) > 0) {
+                segments.add(file);
+            }
+        }
+        segments.sort(Comparator.comparingLong(BalanceJournal::getSequence));
+        return segments;
+    }
+
+    /**
+     * Reads every intact record in a segment in append order. Reading stops at the
+     * first torn or corrupted record, which can only be the tail of a segment that
+     * was being written when the server crashed.
+     */
+    public static void replay(File file, RecordConsumer consumer) throws IOException {
+        try (FileChannel in = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer data = ByteBuffer.allocate((int) in.size());
+            while (data.hasRemaining() && in.read(data) != -1) ;
+            data.flip();
+            CRC32 checksum = new CRC32();
+            CurrencyType[] types = CurrencyType.values();
+            while (data.remaining() >= RECORD_SIZE) {
+                int start = data.position();
+                checksum.reset();
+                checksum.update(data.array(), start, RECORD_SIZE - 4);
+                UUID uuid = new UUID(data.getLong(), data.getLong());
+                int ordinal = data.get();
+                double balance = data.getDouble();
+                int expected = data.getInt();
+                if ((int) checksum.getValue() != expected || ordinal < 0 || ordinal >= types.length) {
+                    return;
+                }
+                consumer.accept(uuid, types[ordinal], balance);
+            }
+        }
+    }
+
+    private FileChannel openSegment(long sequence) throws IOException {
+        File file = new File(directory, SEGMENT_PREFIX + sequence + SEGMENT_SUFFIX);
+        return FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    private static long getSequence(File file) {
+        String name = file.getName();
+        if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @FunctionalInterface
+    public interface RecordConsumer {
+
+        void accept(UUID uuid, CurrencyType type, double balance);
+
+    }
+
+}
@@ -115,6 +115,50 @@ public interface EconomyProvider {
         return hasBalance(user.getUuid(), type, amount);
     }
     
+    /**
+     * Atomically set a player's balance only if it currently equals the expected amount.
+     * Implementations must check and update the balance under the same lock as every other balance change
+     * @param uuid Player UUID
+     * @param type Currency type
+     * @param expected Balance the player must currently have
+     * @param amount New balance amount
+     * @return true if the balance matched and was updated
+     */
+    boolean compareAndSetBalance(UUID uuid, CurrencyType type, double expected, double amount);
+    
+    /**
+     * Atomically subtract currency from a player's balance if they have enough.
+     * Implementations must never leave the balance below zero, even when called concurrently
+     * @param uuid Player UUID
+     * @param type Currency type
+     * @param amount Amount to subtract
+     * @return true if the player had enough currency and it was subtracted
+     */
+    boolean withdraw(UUID uuid, CurrencyType type, double amount);
+    
+    /**
+     * Atomically move currency from one player to another.
+     * Implementations must never create or destroy currency, even when called concurrently
+     * @param from UUID of the player paying
+     * @param to UUID of the player receiving
+     * @param type Currency type
+     * @param amount Amount to transfer
+     * @return true if the payer had enough currency and the transfer completed
+     */
+    boolean transfer(UUID from, UUID to, CurrencyType type, double amount);
+    
+    /**
+     * Atomically exchange one currency for another in a player's balance.
+     * Implementations must apply both balance changes or neither
+     * @param uuid Player UUID
+     * @param fromType Currency type to pay with
+     * @param fromAmount Amount of fromType to pay
+     * @param toType Currency type to receive
+     * @param toAmount Amount of toType to receive
+     * @return true if the player had enough of fromType and the exchange completed
+     */
+    boolean exchange(UUID uuid, CurrencyType fromType, double fromAmount, CurrencyType toType, double toAmount);
+    
     /**
      * Load currency data for a player
      * @param uuid Player UUID
@@ -6,6 +6,8 @@ import org.spongepowered.configurate.yaml.YamlConfigurationLoader;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -93,6 +95,51 @@ public class FileSkillCoinsStorage implements SkillCoinsStorage {
         }
     }
     
+    @Override
+    public void save(UUID uuid, Map<CurrencyType, Double> balances) {
+        write(uuid, balances);
+    }
+    
+    @Override
+    public boolean saveAll(Map<UUID, Map<CurrencyType, Double>> balances) {
+        boolean success = true;
+        for (Map.Entry<UUID, Map<CurrencyType, Double>> entry : balances.entrySet()) {
+            success &= write(entry.getKey(), entry.getValue());
+        }
+        return success;
+    }
+    
+    private boolean write(UUID uuid, Map<CurrencyType, Double> balances) {
+        File playerFile = getPlayerFile(uuid);
+
+        try {
+            if (!playerFile.exists()) {
+                playerFile.getParentFile().mkdirs();
+                playerFile.createNewFile();
+            }
+
+            YamlConfigurationLoader loader = YamlConfigurationLoader.builder()
+                    .file(playerFile)
+                    .build();
+            ConfigurationNode root = loader.load();
+
+            for (Map.Entry<CurrencyType, Double> entry : balances.entrySet()) {
+                root.node(entry.getKey().name().toLowerCase()).set(entry.getValue());
+            }
+
+            loader.save(root);
+            // Force the file to disk so callers can safely discard journaled copies of these balances
+            try (FileChannel channel = FileChannel.open(playerFile.toPath(), StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            return true;
+        } catch (IOException e) {
+            plugin.logger().severe("Failed to save SkillCoins data for " + uuid);
+            e.printStackTrace();
+            return false;
+        }
+    }
+
     @Override
     public void saveAsync(UUID uuid, CurrencyType type, double amount) {
         // Store in pending saves map
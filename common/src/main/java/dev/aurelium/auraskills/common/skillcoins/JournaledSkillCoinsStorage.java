@@ -0,0 +1,221 @@
+package dev.aurelium.auraskills.common.skillcoins;
+
+import dev.aurelium.auraskills.common.AuraSkillsPlugin;
+import dev.aurelium.auraskills.common.scheduler.Task;
+import dev.aurelium.auraskills.common.scheduler.TaskRunnable;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind storage that records every balance change in a {@link BalanceJournal}
+ * and periodically compacts the journal into the wrapped storage.
+ * Saving a balance only appends a small record to the journal, so its cost does not depend
+ * on the wrapped storage. Journal segments left over from a crash are replayed on startup.
+ */
+public class JournaledSkillCoinsStorage implements SkillCoinsStorage {
+
+    private final AuraSkillsPlugin plugin;
+    private final SkillCoinsStorage delegate;
+    private final BalanceJournal journal;
+    private final long flushIntervalMs;
+    private final long compactIntervalMs;
+    private final Object writeLock = new Object();
+    private final Object compactLock = new Object();
+
+    // Balances appended to the current journal segment
+    private volatile Map<UUID, Map<CurrencyType, Double>> dirty = new ConcurrentHashMap<>();
+    // Balances from sealed segments that are being written to the delegate
+    private volatile Map<UUID, Map<CurrencyType, Double>> compacting = Map.of();
+    private Task flushTask;
+    private Task compactTask;
+
+    public JournaledSkillCoinsStorage(AuraSkillsPlugin plugin, SkillCoinsStorage delegate, long flushIntervalMs,
+                                      long compactIntervalMs) {
+        this.plugin = plugin;
+        this.delegate = delegate;
+        this.journal = new BalanceJournal(new File(plugin.getPluginFolder(), "skillcoins/journal"));
+        this.flushIntervalMs = Math.max(flushIntervalMs, 1);
+        this.compactIntervalMs = Math.max(compactIntervalMs, 1000);
+    }
+
+    @Override
+    public void initialize() {
+        delegate.initialize();
+        recover();
+        try {
+            journal.open();
+        } catch (IOException e) {
+            plugin.logger().severe("Failed to open SkillCoins journal, balances will be saved directly");
+            e.printStackTrace();
+            return;
+        }
+        flushTask = plugin.getScheduler().timerAsync(new TaskRunnable() {
+            @Override
+            public void run() {
+                flush();
+            }
+        }, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        compactTask = plugin.getScheduler().timerAsync(new TaskRunnable() {
+            @Override
+            public void run() {
+                compact();
+            }
+        }, compactIntervalMs, compactIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Map<CurrencyType, Double> load(UUID uuid) {
+        // Read the journaled maps before the delegate so a compaction finishing in between can't hide a balance
+        Map<UUID, Map<CurrencyType, Double>> current = dirty;
+        Map<UUID, Map<CurrencyType, Double>> sealed = compacting;
+        Map<CurrencyType, Double> balances = new HashMap<>(delegate.load(uuid));
+        // Journaled balances are newer than anything the delegate has
+        Map<CurrencyType, Double> pending = sealed.get(uuid);
+        if (pending != null) {
+            balances.putAll(pending);
+        }
+        pending = current.get(uuid);
+        if (pending != null) {
+            balances.putAll(pending);
+        }
+        return balances;
+    }
+
+    @Override
+    public void save(UUID uuid, CurrencyType type, double amount) {
+        synchronized (writeLock) {
+            try {
+                journal.append(uuid, type, amount);
+            } catch (IOException e) {
+                plugin.logger().severe("Failed to journal SkillCoins balance for " + uuid + ", saving directly");
+                e.printStackTrace();
+                delegate.save(uuid, type, amount);
+                return;
+            }
+            dirty.computeIfAbsent(uuid, k -> new ConcurrentHashMap<>()).put(type, amount);
+        }
+    }
+
+    @Override
+    public void saveAsync(UUID uuid, CurrencyType type, double amount) {
+        // Journal appends are already cheap enough to run on the calling thread
+        save(uuid, type, amount);
+    }
+
+    /**
+     * Forces every balance journaled since the last flush to disk.
+     */
+    public void flush() {
+        try {
+            journal.sync();
+        } catch (IOException e) {
+            plugin.logger().warn("Failed to flush SkillCoins journal");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Writes every balance in sealed journal segments to the wrapped storage and deletes the segments.
+     */
+    public void compact() {
+        synchronized (compactLock) {
+            List<File> sealed;
+            synchronized (writeLock) {
+                if (dirty.isEmpty()) {
+                    return;
+                }
+                try {
+                    sealed = journal.rotate();
+                } catch (IOException e) {
+                    plugin.logger().warn("Failed to rotate SkillCoins journal");
+                    e.printStackTrace();
+                    return;
+                }
+                compacting = dirty;
+                dirty = new ConcurrentHashMap<>();
+            }
+            if (delegate.saveAll(compacting)) {
+                deleteSegments(sealed);
+            } else {
+                // Keep the sealed segments and retry their balances next time, newer balances take precedence
+                plugin.logger().warn("Failed to compact SkillCoins journal, retrying on the next compaction");
+                synchronized (writeLock) {
+                    for (Map.Entry<UUID, Map<CurrencyType, Double>> entry : compacting.entrySet()) {
+                        Map<CurrencyType, Double> current = dirty.computeIfAbsent(entry.getKey(), k -> new ConcurrentHashMap<>());
+                        entry.getValue().forEach(current::putIfAbsent);
+                    }
+                }
+            }
+            compacting = Map.of();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (flushTask != null) {
+            flushTask.cancel();
+        }
+        if (compactTask != null) {
+            compactTask.cancel();
+        }
+        compact();
+        try {
+            journal.close();
+        } catch (IOException e) {
+            plugin.logger().warn("Failed to close SkillCoins journal");
+            e.printStackTrace();
+        }
+        delegate.close();
+    }
+
+    /**
+     * Replays segments left behind by an unclean shutdown into the wrapped storage.
+     */
+    private void recover() {
+        List<File> segments = journal.getSegments();
+        if (segments.isEmpty()) {
+            return;
+        }
+        Map<UUID, Map<CurrencyType, Double>> replayed = new LinkedHashMap<>();
+        int records = 0;
+        for (File segment : segments) {
+            try {
+                int[] count = new int[1];
+                BalanceJournal.replay(segment, (uuid, type, balance) -> {
+                    replayed.computeIfAbsent(uuid, k -> new HashMap<>()).put(type, balance);
+                    count[0]++;
+                });
+                records += count[0];
+            } catch (IOException e) {
+                plugin.logger().severe("Failed to replay SkillCoins journal segment " + segment.getName()
+                        + ", it will be kept for manual recovery");
+                e.printStackTrace();
+                return;
+            }
+        }
+        if (!delegate.saveAll(replayed)) {
+            plugin.logger().severe("Failed to save recovered SkillCoins balances, journal segments will be kept");
+            return;
+        }
+        deleteSegments(segments);
+        plugin.logger().info("Recovered " + records + " SkillCoins balance change" + (records != 1 ? "s" : "")
+                + " for " + replayed.size() + " player" + (replayed.size() != 1 ? "s" : "") + " from journal");
+    }
+
+    private void deleteSegments(List<File> segments) {
+        for (File segment : segments) {
+            if (!segment.delete()) {
+                plugin.logger().warn("Failed to delete compacted SkillCoins journal segment " + segment.getName());
+            }
+        }
+    }
+
+}
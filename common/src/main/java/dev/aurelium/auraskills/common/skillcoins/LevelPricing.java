@@ -0,0 +1,146 @@
+package dev.aurelium.auraskills.common.skillcoins;
+
+/**
+ * Prices for buying skill levels with tokens and buying tokens with coins.
+ * <p>
+ * A level costs {@code basePrice * multiplier ^ (level - 1)} tokens rounded to the nearest
+ * whole token. Prices and their running totals are computed once up to the table size, so the
+ * cost of any range of levels is a single subtraction and the number of affordable levels
+ * is a binary search.
+ */
+public class LevelPricing {
+
+    private final double basePrice;
+    private final double multiplier;
+    private final int coinsPerToken;
+    // prices[level] is the cost of the level, cumulative[level] is the cost of levels 1 to level
+    private final long[] prices;
+    private final long[] cumulative;
+
+    public LevelPricing(double basePrice, double multiplier, int tableSize, int coinsPerToken) {
+        this.basePrice = basePrice;
+        this.multiplier = multiplier;
+        this.coinsPerToken = coinsPerToken;
+        int size = Math.max(tableSize, 0);
+        this.prices = new long[size + 1];
+        this.cumulative = new long[size + 1];
+        for (int level = 1; level <= size; level++) {
+            prices[level] = computeLevelCost(level);
+            cumulative[level] = saturatedAdd(cumulative[level - 1], prices[level]);
+        }
+    }
+
+    public double getBasePrice() {
+        return basePrice;
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    public int getCoinsPerToken() {
+        return coinsPerToken;
+    }
+
+    /**
+     * Gets the token cost of buying a single level.
+     *
+     * @param level the level being bought
+     * @return the cost in tokens
+     */
+    public long getLevelCost(int level) {
+        if (level >= 1 && level < prices.length) {
+            return prices[level];
+        }
+        return computeLevelCost(level);
+    }
+
+    /**
+     * Gets the token cost of buying every level after the current level up to and including a target level.
+     *
+     * @param currentLevel the level the player is at
+     * @param targetLevel the level to buy up to
+     * @return the total cost in tokens, or 0 if the target is not above the current level
+     */
+    public long getCost(int currentLevel, int targetLevel) {
+        if (targetLevel <= currentLevel) {
+            return 0;
+        }
+        int from = Math.max(currentLevel, 0);
+        int tableEnd = prices.length - 1;
+        if (targetLevel <= tableEnd) {
+            long total = cumulative[targetLevel];
+            if (total == Long.MAX_VALUE) {
+                return total;
+            }
+            return total - cumulative[from];
+        }
+        // Levels past the table are summed individually, which only happens if a max level was raised without a reload
+        long total = from < tableEnd ? getCost(from, tableEnd) : 0;
+        for (int level = Math.max(from, tableEnd) + 1; level <= targetLevel; level++) {
+            total = saturatedAdd(total, computeLevelCost(level));
+        }
+        return total;
+    }
+
+    /**
+     * Gets the most levels that can be bought with a balance.
+     *
+     * @param currentLevel the level the player is at
+     * @param maxLevel the highest level that can be bought
+     * @param balance the player's token balance
+     * @return the number of levels that can be afforded
+     */
+    public int getMaxAffordableLevels(int currentLevel, int maxLevel, double balance) {
+        int low = 0;
+        int high = Math.max(maxLevel - currentLevel, 0);
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            long cost = getCost(currentLevel, currentLevel + mid);
+            // A saturated cost is too large to ever be afforded
+            if (cost != Long.MAX_VALUE && cost <= balance) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Gets the coin cost of buying tokens.
+     *
+     * @param tokens the number of tokens
+     * @return the cost in coins
+     */
+    public long getTokenCost(int tokens) {
+        return (long) coinsPerToken * tokens;
+    }
+
+    /**
+     * Gets the most tokens that can be bought with a coin balance.
+     *
+     * @param balance the player's coin balance
+     * @return the number of tokens that can be afforded
+     */
+    public long getMaxAffordableTokens(double balance) {
+        if (coinsPerToken <= 0 || balance <= 0) {
+            return 0;
+        }
+        return (long) Math.floor(balance / coinsPerToken);
+    }
+
+    private long computeLevelCost(int level) {
+        return Math.round(basePrice * Math.pow(multiplier, level - 1));
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long result = a + b;
+        // Overflow if both have the same sign and the result's sign differs
+        if (((a ^ result) & (b ^ result)) < 0) {
+            return a < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+        return result;
+    }
+
+}
@@ -9,56 +9,63 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * In-memory implementation of the EconomyProvider
  * Stores currency balances in memory with file/database persistence
+ * Mutations lock only the account's lock stripe, so unrelated players don't contend
  */
 public class SkillCoinsEconomy implements EconomyProvider {
     
+    private static final int LOCK_STRIPES = 64; // Must be a power of two
+    
     private final Map<UUID, Map<CurrencyType, Double>> balances;
     private final SkillCoinsStorage storage;
+    private final Object[] locks;
     
     public SkillCoinsEconomy(AuraSkillsPlugin plugin, SkillCoinsStorage storage) {
         this.storage = storage;
         this.balances = new ConcurrentHashMap<>();
+        this.locks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
     }
     
     @Override
     public double getBalance(UUID uuid, CurrencyType type) {
-        // Load data from storage if not already in memory (for offline players)
-        if (!balances.containsKey(uuid)) {
-            load(uuid);
-        }
-        return balances.computeIfAbsent(uuid, k -> new ConcurrentHashMap<>())
-                .getOrDefault(type, 0.0);
+        return getAccount(uuid).getOrDefault(type, 0.0);
     }
     
     @Override
     public void setBalance(UUID uuid, CurrencyType type, double amount) {
-        balances.computeIfAbsent(uuid, k -> new ConcurrentHashMap<>())
-                .put(type, Math.max(0, amount));
-        // CRITICAL: Save immediately to disk on every change (prevents data loss)
-        storage.save(uuid, type, amount);
+        double balance = Math.max(0, amount);
+        synchronized (lockFor(uuid)) {
+            getAccount(uuid).put(type, balance);
+            // CRITICAL: Persist on every change (prevents data loss), journaled when write-behind is enabled
+            storage.save(uuid, type, balance);
+        }
     }
     
     @Override
     public void load(UUID uuid) {
-        Map<CurrencyType, Double> playerBalances = storage.load(uuid);
-        balances.put(uuid, new ConcurrentHashMap<>(playerBalances));
+        synchronized (lockFor(uuid)) {
+            Map<CurrencyType, Double> playerBalances = storage.load(uuid);
+            balances.put(uuid, new ConcurrentHashMap<>(playerBalances));
+        }
     }
     
     @Override
     public void save(UUID uuid) {
         Map<CurrencyType, Double> playerBalances = balances.get(uuid);
         if (playerBalances != null) {
-            for (Map.Entry<CurrencyType, Double> entry : playerBalances.entrySet()) {
-                storage.save(uuid, entry.getKey(), entry.getValue());
-            }
+            storage.save(uuid, Map.copyOf(playerBalances));
         }
     }
     
     @Override
     public void unload(UUID uuid) {
-        // Save before unloading
-        save(uuid);
-        balances.remove(uuid);
+        synchronized (lockFor(uuid)) {
+            // Save before unloading
+            save(uuid);
+            balances.remove(uuid);
+        }
     }
     
     /**
@@ -77,11 +84,13 @@ public class SkillCoinsEconomy implements EconomyProvider {
      * Overrides default implementation to prevent race conditions
      */
     @Override
-    public synchronized double addBalance(UUID uuid, CurrencyType type, double amount) {
-        double currentBalance = getBalance(uuid, type);
-        double newBalance = currentBalance + amount;
-        setBalance(uuid, type, newBalance);
-        return newBalance;
+    public double addBalance(UUID uuid, CurrencyType type, double amount) {
+        synchronized (lockFor(uuid)) {
+            double currentBalance = getBalance(uuid, type);
+            double newBalance = currentBalance + amount;
+            setBalance(uuid, type, newBalance);
+            return newBalance;
+        }
     }
     
     /**
@@ -90,15 +99,17 @@ public class SkillCoinsEconomy implements EconomyProvider {
      * CRITICAL: This prevents the economy duplication exploit
      */
     @Override
-    public synchronized double subtractBalance(UUID uuid, CurrencyType type, double amount) {
-        double currentBalance = getBalance(uuid, type);
-        if (currentBalance < amount) {
-            // Insufficient funds - don't allow negative balance
-            return currentBalance;
+    public double subtractBalance(UUID uuid, CurrencyType type, double amount) {
+        synchronized (lockFor(uuid)) {
+            double currentBalance = getBalance(uuid, type);
+            if (currentBalance < amount) {
+                // Insufficient funds - don't allow negative balance
+                return currentBalance;
+            }
+            double newBalance = currentBalance - amount;
+            setBalance(uuid, type, newBalance);
+            return newBalance;
         }
-        double newBalance = currentBalance - amount;
-        setBalance(uuid, type, newBalance);
-        return newBalance;
     }
     
     /**
@@ -106,7 +117,98 @@ public class SkillCoinsEconomy implements EconomyProvider {
      * Returns false immediately if insufficient funds
      */
     @Override
-    public synchronized boolean hasBalance(UUID uuid, CurrencyType type, double amount) {
+    public boolean hasBalance(UUID uuid, CurrencyType type, double amount) {
         return getBalance(uuid, type) >= amount;
     }
+    
+    @Override
+    public boolean compareAndSetBalance(UUID uuid, CurrencyType type, double expected, double amount) {
+        synchronized (lockFor(uuid)) {
+            if (Double.compare(getBalance(uuid, type), expected) != 0) {
+                return false;
+            }
+            setBalance(uuid, type, amount);
+            return true;
+        }
+    }
+    
+    @Override
+    public boolean withdraw(UUID uuid, CurrencyType type, double amount) {
+        synchronized (lockFor(uuid)) {
+            double currentBalance = getBalance(uuid, type);
+            if (amount < 0 || currentBalance < amount) {
+                return false;
+            }
+            setBalance(uuid, type, currentBalance - amount);
+            return true;
+        }
+    }
+    
+    /**
+     * Thread-safe transfer between two accounts
+     * Both lock stripes are taken in index order so opposite transfers can't deadlock
+     */
+    @Override
+    public boolean transfer(UUID from, UUID to, CurrencyType type, double amount) {
+        if (amount < 0) {
+            return false;
+        }
+        int fromIndex = stripe(from);
+        int toIndex = stripe(to);
+        synchronized (locks[Math.min(fromIndex, toIndex)]) {
+            synchronized (locks[Math.max(fromIndex, toIndex)]) {
+                double fromBalance = getBalance(from, type);
+                if (fromBalance < amount) {
+                    return false;
+                }
+                if (from.equals(to)) {
+                    return true;
+                }
+                setBalance(from, type, fromBalance - amount);
+                setBalance(to, type, getBalance(to, type) + amount);
+                return true;
+            }
+        }
+    }
+    
+    @Override
+    public boolean exchange(UUID uuid, CurrencyType fromType, double fromAmount, CurrencyType toType, double toAmount) {
+        if (fromAmount < 0 || toAmount < 0) {
+            return false;
+        }
+        synchronized (lockFor(uuid)) {
+            double fromBalance = getBalance(uuid, fromType);
+            if (fromBalance < fromAmount) {
+                return false;
+            }
+            setBalance(uuid, fromType, fromBalance - fromAmount);
+            setBalance(uuid, toType, getBalance(uuid, toType) + toAmount);
+            return true;
+        }
+    }
+    
+    private Map<CurrencyType, Double> getAccount(UUID uuid) {
+        Map<CurrencyType, Double> account = balances.get(uuid);
+        if (account != null) {
+            return account;
+        }
+        // Load data from storage if not already in memory (for offline players)
+        synchronized (lockFor(uuid)) {
+            account = balances.get(uuid);
+            if (account == null) {
+                account = new ConcurrentHashMap<>(storage.load(uuid));
+                balances.put(uuid, account);
+            }
+            return account;
+        }
+    }
+    
+    private Object lockFor(UUID uuid) {
+        return locks[stripe(uuid)];
+    }
+    
+    private int stripe(UUID uuid) {
+        int hash = uuid.hashCode();
+        return (hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1);
+    }
 }
@@ -23,6 +23,37 @@ public interface SkillCoinsStorage {
      */
     void save(UUID uuid, CurrencyType type, double amount);
     
+    /**
+     * Save several currency balances for a player at once
+     * @param uuid Player UUID
+     * @param balances Map of currency types to balances
+     */
+    default void save(UUID uuid, Map<CurrencyType, Double> balances) {
+        for (Map.Entry<CurrencyType, Double> entry : balances.entrySet()) {
+            save(uuid, entry.getKey(), entry.getValue());
+        }
+    }
+    
+    /**
+     * Save the balances of many players at once, persisted by the time this returns.
+     * The default implementation keeps saving the other players when a save throws, storages
+     * that only log failed saves must override it to report them
+     * @param balances Map of player UUIDs to their currency balances
+     * @return true if every balance was saved successfully
+     */
+    default boolean saveAll(Map<UUID, Map<CurrencyType, Double>> balances) {
+        boolean success = true;
+        for (Map.Entry<UUID, Map<CurrencyType, Double>> entry : balances.entrySet()) {
+            try {
+                save(entry.getKey(), entry.getValue());
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+                success = false;
+            }
+        }
+        return success;
+    }
+    
     /**
      * Save a specific currency balance asynchronously
      * @param uuid Player UUID
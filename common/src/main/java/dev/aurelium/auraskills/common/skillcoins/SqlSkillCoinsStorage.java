@@ -0,0 +1,260 @@
+package dev.aurelium.auraskills.common.skillcoins;
+
+import dev.aurelium.auraskills.common.AuraSkillsPlugin;
+import dev.aurelium.auraskills.common.scheduler.Task;
+import dev.aurelium.auraskills.common.scheduler.TaskRunnable;
+import dev.aurelium.auraskills.common.storage.sql.TableCreator;
+import dev.aurelium.auraskills.common.storage.sql.migration.SkillCoinsYamlImport;
+import dev.aurelium.auraskills.common.storage.sql.pool.ConnectionPool;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static dev.aurelium.auraskills.common.storage.sql.SqlStorageProvider.TABLE_PREFIX;
+
+/**
+ * SQL storage implementation for SkillCoins data using the same connection pool as user data.
+ * With a positive flush interval, single balance changes are buffered and written as batched upserts
+ * on that interval, so a crash loses the changes of up to one interval. With a flush interval of 0,
+ * every change is written as soon as it is saved, which is used when the journal already buffers changes.
+ */
+public class SqlSkillCoinsStorage implements SkillCoinsStorage {
+
+    public static final String TABLE_NAME = TABLE_PREFIX + "skillcoins";
+    private static final int BATCH_SIZE = 500;
+    // Failed writes of write-through storage are retried on this interval
+    private static final long RETRY_INTERVAL_MS = 5000;
+    private static final String IMPORT_MARKER = ".sql_imported";
+
+    private final AuraSkillsPlugin plugin;
+    private final ConnectionPool pool;
+    private final long flushIntervalMs;
+    private final boolean writeThrough;
+    private final String upsertQuery;
+    private final Map<UUID, Map<CurrencyType, Double>> pending = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+    // Balances removed from pending that are currently being written
+    private volatile Map<UUID, Map<CurrencyType, Double>> flushing = Map.of();
+    private Task flushTask;
+
+    public SqlSkillCoinsStorage(AuraSkillsPlugin plugin, ConnectionPool pool, long flushIntervalMs) {
+        this.plugin = plugin;
+        this.pool = pool;
+        this.writeThrough = flushIntervalMs <= 0;
+        this.flushIntervalMs = writeThrough ? RETRY_INTERVAL_MS : Math.max(flushIntervalMs, 50);
+        this.upsertQuery = "INSERT INTO " + TABLE_NAME + " (player_uuid, currency, balance) VALUES (?, ?, ?) " +
+                pool.getDialect().onConflictUpdate("player_uuid, currency", "balance");
+    }
+
+    @Override
+    public void initialize() {
+        try (Connection connection = pool.getConnection()) {
+            new TableCreator(plugin, pool, TABLE_PREFIX).createSkillCoinsTable(connection);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to create SkillCoins SQL table", e);
+        }
+        importYamlBalances();
+        flushTask = plugin.getScheduler().timerAsync(new TaskRunnable() {
+            @Override
+            public void run() {
+                flush();
+            }
+        }, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Map<CurrencyType, Double> load(UUID uuid) {
+        // Read buffered balances before querying so a flush finishing in between can't hide a balance
+        Map<CurrencyType, Double> buffered = pending.get(uuid);
+        Map<CurrencyType, Double> inFlight = flushing.get(uuid);
+
+        Map<CurrencyType, Double> balances = new EnumMap<>(CurrencyType.class);
+        for (CurrencyType type : CurrencyType.values()) {
+            balances.put(type, 0.0);
+        }
+        String query = "SELECT currency, balance FROM " + TABLE_NAME + " WHERE player_uuid=?";
+        try (Connection connection = pool.getConnection();
+             PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.setString(1, uuid.toString());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    CurrencyType type = parseCurrency(resultSet.getString("currency"));
+                    if (type != null) {
+                        balances.put(type, resultSet.getDouble("balance"));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            plugin.logger().severe("Failed to load SkillCoins data for " + uuid);
+            e.printStackTrace();
+        }
+        if (inFlight != null) {
+            balances.putAll(inFlight);
+        }
+        if (buffered != null) {
+            balances.putAll(buffered);
+        }
+        return balances;
+    }
+
+    @Override
+    public void save(UUID uuid, CurrencyType type, double amount) {
+        buffer(uuid, type, amount);
+        if (writeThrough) {
+            flush();
+        }
+    }
+
+    private void buffer(UUID uuid, CurrencyType type, double amount) {
+        pending.compute(uuid, (k, balances) -> {
+            if (balances == null) {
+                balances = new ConcurrentHashMap<>();
+            }
+            balances.put(type, amount);
+            return balances;
+        });
+    }
+
+    @Override
+    public void save(UUID uuid, Map<CurrencyType, Double> balances) {
+        saveAll(Map.of(uuid, balances));
+    }
+
+    @Override
+    public boolean saveAll(Map<UUID, Map<CurrencyType, Double>> balances) {
+        try {
+            writeBatch(balances);
+            return true;
+        } catch (SQLException e) {
+            plugin.logger().severe("Failed to save SkillCoins data for " + balances.size() + " players");
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    @Override
+    public void saveAsync(UUID uuid, CurrencyType type, double amount) {
+        buffer(uuid, type, amount);
+        if (writeThrough) {
+            // Flushing writes the latest buffered balance, so saves can't be written out of order
+            plugin.getScheduler().executeAsync(this::flush);
+        }
+    }
+
+    /**
+     * Imports the YAML balances of this server the first time it uses SQL storage, the files are current
+     * until then. Every server of a network has its own files, so the import is tracked by a marker file
+     * in the server's SkillCoins folder instead of the shared database. Balances already in the table
+     * were saved by another server after its own import and are kept.
+     */
+    private void importYamlBalances() {
+        File folder = new File(plugin.getPluginFolder(), "skillcoins");
+        File marker = new File(folder, IMPORT_MARKER);
+        if (marker.exists()) {
+            return;
+        }
+        try (Connection connection = pool.getConnection()) {
+            new SkillCoinsYamlImport(plugin, pool.getDialect()).migrate(connection);
+            Files.createDirectories(folder.toPath());
+            Files.createFile(marker.toPath());
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("Failed to import SkillCoins balances into SQL", e);
+        }
+    }
+
+    /**
+     * Writes all buffered balance changes in a single batched transaction.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            Map<UUID, Map<CurrencyType, Double>> batch = new ConcurrentHashMap<>();
+            flushing = batch;
+            for (UUID uuid : pending.keySet()) {
+                Map<CurrencyType, Double> balances = pending.remove(uuid);
+                if (balances != null) {
+                    batch.put(uuid, balances);
+                }
+            }
+            try {
+                writeBatch(batch);
+            } catch (SQLException e) {
+                plugin.logger().warn("Failed to flush SkillCoins data, retrying on the next flush");
+                e.printStackTrace();
+                // Put balances back without overwriting newer changes
+                for (Map.Entry<UUID, Map<CurrencyType, Double>> entry : batch.entrySet()) {
+                    pending.compute(entry.getKey(), (k, balances) -> {
+                        if (balances == null) {
+                            balances = new ConcurrentHashMap<>();
+                        }
+                        entry.getValue().forEach(balances::putIfAbsent);
+                        return balances;
+                    });
+                }
+            } finally {
+                flushing = Map.of();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (flushTask != null) {
+            flushTask.cancel();
+        }
+        flush();
+    }
+
+    private void writeBatch(Map<UUID, Map<CurrencyType, Double>> balances) throws SQLException {
+        if (balances.isEmpty()) {
+            return;
+        }
+        try (Connection connection = pool.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(upsertQuery)) {
+                int count = 0;
+                for (Map.Entry<UUID, Map<CurrencyType, Double>> entry : balances.entrySet()) {
+                    String uuid = entry.getKey().toString();
+                    for (Map.Entry<CurrencyType, Double> balance : entry.getValue().entrySet()) {
+                        statement.setString(1, uuid);
+                        statement.setString(2, balance.getKey().name().toLowerCase(Locale.ROOT));
+                        statement.setDouble(3, balance.getValue());
+                        statement.addBatch();
+                        if (++count % BATCH_SIZE == 0) {
+                            statement.executeBatch();
+                        }
+                    }
+                }
+                statement.executeBatch();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    private CurrencyType parseCurrency(String name) {
+        try {
+            return CurrencyType.valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+}
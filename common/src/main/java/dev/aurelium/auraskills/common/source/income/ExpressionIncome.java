@@ -1,37 +1,43 @@
 package dev.aurelium.auraskills.common.source.income;
 
-import com.ezylang.evalex.EvaluationException;
-import com.ezylang.evalex.Expression;
-import com.ezylang.evalex.data.EvaluationValue;
-import com.ezylang.evalex.parser.ParseException;
 import dev.aurelium.auraskills.api.skill.Skill;
 import dev.aurelium.auraskills.api.source.SourceIncome;
 import dev.aurelium.auraskills.api.source.SourceValues;
 import dev.aurelium.auraskills.api.user.SkillsUser;
 import dev.aurelium.auraskills.common.AuraSkillsPlugin;
+import dev.aurelium.auraskills.common.util.math.expression.CompiledExpression;
+import dev.aurelium.auraskills.common.util.math.expression.ExpressionException;
 
 public class ExpressionIncome implements SourceIncome {
 
+    // Variables available to income expressions, in frame slot order
+    public static final String[] VARIABLES = {"xp", "base_xp", "level", "power", "skill_average"};
+    private static final int XP = 0;
+    private static final int BASE_XP = 1;
+    private static final int LEVEL = 2;
+    private static final int POWER = 3;
+    private static final int SKILL_AVERAGE = 4;
+
     private final AuraSkillsPlugin plugin;
-    private final Expression expression;
+    private final CompiledExpression expression;
 
-    public ExpressionIncome(AuraSkillsPlugin plugin, Expression expression) {
+    public ExpressionIncome(AuraSkillsPlugin plugin, CompiledExpression expression) {
         this.plugin = plugin;
         this.expression = expression;
     }
 
     @Override
     public double getIncomeEarned(SkillsUser user, SourceValues sourceValues, Skill skill, double finalXp) {
-        // Set expression variables
-        expression.with("xp", finalXp)
-                .with("base_xp", sourceValues.getXp())
-                .with("level", user.getSkillLevel(skill))
-                .with("power", user.getPowerLevel())
-                .with("skill_average", user.getSkillAverage());
+        // Set expression variables in this thread's frame
+        double[] frame = expression.frame();
+        frame[XP] = finalXp;
+        frame[BASE_XP] = sourceValues.getXp();
+        frame[LEVEL] = user.getSkillLevel(skill);
+        frame[POWER] = user.getPowerLevel();
+        frame[SKILL_AVERAGE] = user.getSkillAverage();
         try {
-            EvaluationValue value = expression.evaluate();
-            return value.getNumberValue().doubleValue();
-        } catch (EvaluationException | ParseException e) {
+            return expression.evaluate(frame);
+        } catch (ExpressionException e) {
             plugin.logger().warn("Error evaluating ExpressionIncome for source with id " + sourceValues.getId() + ": " + e.getMessage());
             e.printStackTrace();
         }
@@ -1,9 +1,10 @@
 package dev.aurelium.auraskills.common.source.income;
 
-import com.ezylang.evalex.Expression;
 import dev.aurelium.auraskills.api.source.SourceIncome;
 import dev.aurelium.auraskills.common.AuraSkillsPlugin;
 import dev.aurelium.auraskills.common.config.Option;
+import dev.aurelium.auraskills.common.util.math.expression.CompiledExpression;
+import dev.aurelium.auraskills.common.util.math.expression.ExpressionException;
 import org.spongepowered.configurate.ConfigurationNode;
 
 public class IncomeLoader {
@@ -24,8 +25,7 @@ public class IncomeLoader {
             return new FixedIncome(income);
         } else if (!source.node("income_expression").virtual()) {
             String incomeExpression = source.node("income_expression").getString();
-            Expression expression = new Expression(incomeExpression);
-            return new ExpressionIncome(plugin, expression);
+            return loadExpressionIncome(incomeExpression);
         }
         // Use the config.yml default income
         return getConfigDefaultIncome();
@@ -34,12 +34,20 @@ public class IncomeLoader {
     private SourceIncome getConfigDefaultIncome() {
         if (plugin.configBoolean(Option.JOBS_INCOME_USE_EXPRESSION)) {
             String expString = plugin.configString(Option.JOBS_INCOME_DEFAULT_EXPRESSION);
-            Expression expression = new Expression(expString);
-            return new ExpressionIncome(plugin, expression);
+            return loadExpressionIncome(expString);
         } else {
             double incomePerXp = plugin.configDouble(Option.JOBS_INCOME_DEFAULT_INCOME_PER_XP);
             return new XpIncome(plugin, incomePerXp);
         }
     }
 
+    private SourceIncome loadExpressionIncome(String expString) {
+        try {
+            return new ExpressionIncome(plugin, CompiledExpression.compile(expString, ExpressionIncome.VARIABLES));
+        } catch (ExpressionException e) {
+            plugin.logger().warn("Failed to parse income expression " + expString + ": " + e.getMessage());
+            return new FixedIncome(0);
+        }
+    }
+
 }
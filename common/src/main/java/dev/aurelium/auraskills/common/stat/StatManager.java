@@ -71,6 +71,7 @@ public abstract class StatManager {
     public void recalculateStats(User user, boolean reload) {
         if (user == null) return;
 
+        user.getUserStats().rebuildModifierTotals();
         for (Stat stat : plugin.getStatRegistry().getValues()) {
             user.getUserStats().recalculateStat(stat);
         }
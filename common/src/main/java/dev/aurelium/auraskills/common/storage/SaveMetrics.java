@@ -0,0 +1,64 @@
+package dev.aurelium.auraskills.common.storage;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts how much work dirty-section tracking saved. Rows are the records a provider
+ * writes for a section, such as one skill_levels row per skill for SQL or one skill node
+ * per skill for YAML files.
+ */
+public class SaveMetrics {
+
+    private final LongAdder usersSaved = new LongAdder();
+    private final LongAdder usersSkipped = new LongAdder();
+    private final LongAdder sectionsWritten = new LongAdder();
+    private final LongAdder sectionsSkipped = new LongAdder();
+    private final LongAdder rowsWritten = new LongAdder();
+    private final LongAdder rowsAvoided = new LongAdder();
+
+    void recordSaved(int sectionsWritten, int sectionsSkipped, int rowsWritten, int rowsAvoided) {
+        this.usersSaved.increment();
+        this.sectionsWritten.add(sectionsWritten);
+        this.sectionsSkipped.add(sectionsSkipped);
+        this.rowsWritten.add(rowsWritten);
+        this.rowsAvoided.add(rowsAvoided);
+    }
+
+    void recordSkipped(int sectionsSkipped, int rowsAvoided) {
+        this.usersSkipped.increment();
+        this.sectionsSkipped.add(sectionsSkipped);
+        this.rowsAvoided.add(rowsAvoided);
+    }
+
+    public long getUsersSaved() {
+        return usersSaved.sum();
+    }
+
+    public long getUsersSkipped() {
+        return usersSkipped.sum();
+    }
+
+    public long getSectionsWritten() {
+        return sectionsWritten.sum();
+    }
+
+    public long getSectionsSkipped() {
+        return sectionsSkipped.sum();
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten.sum();
+    }
+
+    public long getRowsAvoided() {
+        return rowsAvoided.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "users saved: " + getUsersSaved() + ", users skipped: " + getUsersSkipped()
+                + ", sections written: " + getSectionsWritten() + ", sections skipped: " + getSectionsSkipped()
+                + ", rows written: " + getRowsWritten() + ", rows avoided: " + getRowsAvoided();
+    }
+
+}
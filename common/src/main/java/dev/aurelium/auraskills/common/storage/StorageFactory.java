@@ -7,6 +7,9 @@ import dev.aurelium.auraskills.common.storage.sql.DatabaseCredentials;
 import dev.aurelium.auraskills.common.storage.sql.SqlStorageProvider;
 import dev.aurelium.auraskills.common.storage.sql.pool.ConnectionPool;
 import dev.aurelium.auraskills.common.storage.sql.pool.MySqlConnectionPool;
+import dev.aurelium.auraskills.common.storage.sql.pool.SqliteConnectionPool;
+
+import java.io.File;
 
 public abstract class StorageFactory {
 
@@ -22,6 +25,11 @@ public abstract class StorageFactory {
                 ConnectionPool pool = new MySqlConnectionPool(plugin, getCredentials());
                 pool.enable();
                 return new SqlStorageProvider(plugin, pool);
+            case SQLITE:
+                ConnectionPool sqlitePool = new SqliteConnectionPool(plugin,
+                        new File(plugin.getPluginFolder(), plugin.configString(Option.SQL_DATABASE) + ".db"));
+                sqlitePool.enable();
+                return new SqlStorageProvider(plugin, sqlitePool);
             case YAML:
                 return new FileStorageProvider(plugin, getDataDirectory());
             default:
@@ -3,23 +3,30 @@ package dev.aurelium.auraskills.common.storage;
 import dev.aurelium.auraskills.api.skill.Skill;
 import dev.aurelium.auraskills.api.stat.StatModifier;
 import dev.aurelium.auraskills.api.trait.TraitModifier;
+import dev.aurelium.auraskills.api.util.AuraSkillsModifier;
+import dev.aurelium.auraskills.common.ability.AbilityData;
 import dev.aurelium.auraskills.common.AuraSkillsPlugin;
 import dev.aurelium.auraskills.common.config.Option;
+import dev.aurelium.auraskills.common.leaderboard.LeaderboardManager;
+import dev.aurelium.auraskills.common.mana.ManaAbilityData;
 import dev.aurelium.auraskills.common.ref.PlayerRef;
 import dev.aurelium.auraskills.common.scheduler.TaskRunnable;
 import dev.aurelium.auraskills.common.user.AntiAfkLog;
 import dev.aurelium.auraskills.common.user.User;
 import dev.aurelium.auraskills.common.user.UserManager;
+import dev.aurelium.auraskills.common.user.UserSection;
 import dev.aurelium.auraskills.common.user.UserState;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 
 public abstract class StorageProvider {
 
@@ -29,6 +36,7 @@ public abstract class StorageProvider {
     public final AuraSkillsPlugin plugin;
     public final UserManager userManager;
     private final ConcurrentHashMap<UUID, ReentrantReadWriteLock> userLocks = new ConcurrentHashMap<>();
+    private final SaveMetrics saveMetrics = new SaveMetrics();
 
     public StorageProvider(AuraSkillsPlugin plugin) {
         this.userManager = plugin.getUserManager();
@@ -89,35 +97,201 @@ public abstract class StorageProvider {
      */
     public abstract void applyState(UserState state) throws Exception;
 
+    /**
+     * Gets the skill levels, xp and mana of an offline player from a summary the provider
+     * keeps readable without loading the player, such as for API lookups on the main thread.
+     *
+     * @param uuid The uuid of the player
+     * @return A state without modifiers, or null if no summary is available
+     */
+    @Nullable
+    public UserState getOfflineSummary(UUID uuid) {
+        return null;
+    }
+
     public void saveSafely(@NotNull User user) {
-        ReentrantReadWriteLock lock = getUserLock(user.getUuid());
-        boolean lockAcquired = false;
+        if (!lockForSave(user)) {
+            return;
+        }
         try {
-            lockAcquired = lock.writeLock().tryLock(SAVE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
-            if (!lockAcquired) {
-                plugin.logger().warn("Save timeout exceeded for user " + user.getUuid());
-                return;
-            }
             save(user);
         } catch (Exception e) {
             e.printStackTrace();
         } finally {
-            if (lockAcquired) {
-                lock.writeLock().unlock();
+            unlockAfterSave(user);
+        }
+    }
+
+    /**
+     * Saves multiple users, such as all online users during auto-save or shutdown.
+     * Each user is locked while it is saved like in {@link #saveSafely(User)}.
+     *
+     * @param users the users to save
+     */
+    public void saveAll(Collection<User> users) {
+        for (User user : users) {
+            saveSafely(user);
+        }
+    }
+
+    /**
+     * Acquires the write lock of a user for saving. If this returns true,
+     * {@link #unlockAfterSave(User)} must be called once the save is done.
+     *
+     * @param user the user to lock
+     * @return whether the lock was acquired before the timeout
+     */
+    protected boolean lockForSave(User user) {
+        ReentrantReadWriteLock lock = getUserLock(user.getUuid());
+        try {
+            if (lock.writeLock().tryLock(SAVE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                return true;
             }
-            removeUserLock(user.getUuid(), lock);
+            plugin.logger().warn("Save timeout exceeded for user " + user.getUuid());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
+        removeUserLock(user.getUuid(), lock);
+        return false;
+    }
+
+    protected void unlockAfterSave(User user) {
+        ReentrantReadWriteLock lock = getUserLock(user.getUuid());
+        lock.writeLock().unlock();
+        removeUserLock(user.getUuid(), lock);
     }
 
-    public abstract void save(@NotNull User user) throws Exception;
+    /**
+     * Saves the sections of a user's data that changed since the last save. Users
+     * without changes are skipped.
+     *
+     * @param user the user to save
+     * @throws Exception if the save fails, in which case the changed sections stay dirty
+     */
+    public void save(@NotNull User user) throws Exception {
+        if (user.shouldNotSave()) return;
+
+        int sections = user.takeDirtySections();
+        if (sections == 0) {
+            recordSave(user, 0);
+            return;
+        }
+        try {
+            saveSections(user, sections);
+        } catch (Exception e) {
+            user.restoreDirtySections(sections);
+            throw e;
+        }
+        recordSave(user, sections);
+    }
+
+    /**
+     * Records a save in the {@link SaveMetrics}.
+     *
+     * @param user the user that was saved
+     * @param sections the sections that were written, or 0 if the user was skipped
+     */
+    protected void recordSave(User user, int sections) {
+        int clean = UserSection.ALL & ~sections;
+        if (sections == 0) {
+            saveMetrics.recordSkipped(Integer.bitCount(clean), countRows(user, clean));
+        } else {
+            saveMetrics.recordSaved(Integer.bitCount(sections), Integer.bitCount(clean),
+                    countRows(user, sections), countRows(user, clean));
+        }
+    }
+
+    /**
+     * Writes sections of a user's data to storage.
+     *
+     * @param user the user to save
+     * @param sections a bitmask of the {@link UserSection} values to write, never 0
+     */
+    protected abstract void saveSections(@NotNull User user, int sections) throws Exception;
+
+    public SaveMetrics getSaveMetrics() {
+        return saveMetrics;
+    }
+
+    /**
+     * Counts the records written for sections of a user's data, used for {@link SaveMetrics}.
+     */
+    protected int countRows(User user, int sections) {
+        int rows = 0;
+        for (UserSection section : UserSection.all()) {
+            if (!section.isIn(sections)) continue;
+
+            rows += switch (section) {
+                case SKILLS -> user.getSkillLevelMap().size();
+                case MANA, ACTION_BAR -> 1;
+                case MODIFIERS -> countPersistent(user.getStatModifiers().values()) + countPersistent(user.getTraitModifiers().values());
+                case ABILITY_DATA -> {
+                    int count = 0;
+                    for (AbilityData data : user.getAbilityDataMap().values()) {
+                        count += data.getDataMap().size();
+                    }
+                    for (ManaAbilityData data : user.getManaAbilityDataMap().values()) {
+                        if (data.getCooldown() > 0) count++;
+                    }
+                    yield count;
+                }
+                case JOBS -> user.getJobs().isEmpty() ? 0 : 2;
+                case UNCLAIMED_ITEMS -> user.getUnclaimedItems().size();
+                case LOGS -> user.getSessionAntiAfkLogs().size();
+            };
+        }
+        return rows;
+    }
+
+    private int countPersistent(Iterable<? extends AuraSkillsModifier<?>> modifiers) {
+        int count = 0;
+        for (AuraSkillsModifier<?> modifier : modifiers) {
+            if (!modifier.isNonPersistent()) count++;
+        }
+        return count;
+    }
 
     public abstract void delete(UUID uuid) throws Exception;
 
+    // Deleted players are not seen by incremental leaderboard updates, so they are removed directly
+    protected void removeFromLeaderboards(UUID uuid) {
+        LeaderboardManager leaderboardManager = plugin.getLeaderboardManager();
+        if (leaderboardManager != null) {
+            leaderboardManager.removePlayer(uuid);
+        }
+    }
+
     public List<UserState> loadStates(boolean ignoreOnline, boolean skipKeyValues) throws Exception {
         return loadStates(ignoreOnline, skipKeyValues, 0);
     }
 
-    public abstract List<UserState> loadStates(boolean ignoreOnline, boolean skipKeyValues, long previousFetchTime) throws Exception;
+    public List<UserState> loadStates(boolean ignoreOnline, boolean skipKeyValues, long previousFetchTime) throws Exception {
+        List<UserState> states = new ArrayList<>();
+        forEachState(ignoreOnline, skipKeyValues, previousFetchTime, states::add);
+        return states;
+    }
+
+    /**
+     * Passes the state of every stored user to a consumer one at a time without holding all
+     * of them in memory. The consumer is called on the calling thread as states are read.
+     *
+     * @param consumer the consumer of each state
+     * @throws Exception if reading from storage failed
+     */
+    public void forEachState(Consumer<UserState> consumer) throws Exception {
+        forEachState(false, false, 0, consumer);
+    }
+
+    /**
+     * Passes the state of stored users to a consumer one at a time.
+     *
+     * @param ignoreOnline whether to skip users that are currently loaded
+     * @param skipKeyValues whether to skip loading modifiers
+     * @param previousFetchTime if positive, providers may only pass users updated after this time
+     * @param consumer the consumer of each state
+     * @throws Exception if reading from storage failed
+     */
+    public abstract void forEachState(boolean ignoreOnline, boolean skipKeyValues, long previousFetchTime, Consumer<UserState> consumer) throws Exception;
 
     public abstract List<AntiAfkLog> loadAntiAfkLogs(UUID uuid);
 
@@ -129,14 +303,16 @@ public abstract class StorageProvider {
         var task = new TaskRunnable() {
             @Override
             public void run() {
-                for (User user : userManager.getOnlineUsers()) {
-                    try {
-                        saveSafely(user);
-                    } catch (Exception e) {
-                        plugin.logger().warn("Error running auto-save on user data:");
-                        e.printStackTrace();
-                    }
+                long skippedBefore = saveMetrics.getUsersSkipped();
+                long avoidedBefore = saveMetrics.getRowsAvoided();
+                try {
+                    saveAll(userManager.getOnlineUsers());
+                } catch (Exception e) {
+                    plugin.logger().warn("Error running auto-save on user data:");
+                    e.printStackTrace();
                 }
+                plugin.logger().debug("Auto-save skipped " + (saveMetrics.getUsersSkipped() - skippedBefore)
+                        + " unchanged users and avoided writing " + (saveMetrics.getRowsAvoided() - avoidedBefore) + " rows");
             }
         };
         plugin.getScheduler().timerAsync(task, interval * 50, interval * 50, TimeUnit.MILLISECONDS);
@@ -16,12 +16,13 @@ import dev.aurelium.auraskills.common.user.UserState;
 import org.jetbrains.annotations.Nullable;
 import org.spongepowered.configurate.BasicConfigurationNode;
 import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.serialize.SerializationException;
 import org.spongepowered.configurate.yaml.YamlConfigurationLoader;
 
 import java.io.File;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
@@ -84,47 +85,63 @@ public class BackupProvider {
 
         config.node("backup_version").set(2);
 
-        List<UserState> states = plugin.getStorageProvider().loadStates(false, false);
-        if (states.size() > plugin.configInt(Option.AUTOMATIC_BACKUPS_MAX_USERS)) {
-            plugin.logger().info("Automatic backup saving was skipped due to too many users (" + states.size() + "), use your own backup system.");
+        // Write states to the tree as they are read instead of loading them all first
+        int maxUsers = plugin.configInt(Option.AUTOMATIC_BACKUPS_MAX_USERS);
+        AtomicInteger users = new AtomicInteger();
+        try {
+            plugin.getStorageProvider().forEachState(state -> {
+                if (users.incrementAndGet() > maxUsers) {
+                    throw new TooManyUsersException();
+                }
+                try {
+                    writeState(config, state);
+                } catch (SerializationException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (TooManyUsersException e) {
+            plugin.logger().info("Automatic backup saving was skipped due to too many users (more than " + maxUsers + "), use your own backup system.");
             return null;
-        }
-        for (UserState state : states) {
-            ConfigurationNode userNode = config.node("users", state.uuid().toString());
-            // Save skill levels and xp
-            for (Skill skill : state.skillLevels().keySet()) {
-                int level = state.skillLevels().getOrDefault(skill, plugin.config().getStartLevel());
-                double xp = state.skillXp().getOrDefault(skill, 0.0);
-
-                ConfigurationNode skillNode = userNode.node("skills", skill.getId().toString());
-
-                skillNode.node("level").set(level);
-                skillNode.node("xp").set(xp);
-            }
-            // Save mana
-            userNode.node("mana").set(state.mana());
-            // Save stat modifiers
-            for (StatModifier modifier : state.statModifiers().values()) {
-                ConfigurationNode modifierNode = userNode.node("stat_modifiers").appendListNode();
-                modifierNode.node("name").set(modifier.name());
-                modifierNode.node("stat").set(modifier.stat().getId().toString());
-                modifierNode.node("operation").set(modifier.operation().toString());
-                modifierNode.node("value").set(modifier.value());
-            }
-            // Save trait modifiers
-            for (TraitModifier modifier : state.traitModifiers().values()) {
-                ConfigurationNode modifierNode = userNode.node("trait_modifiers").appendListNode();
-                modifierNode.node("name").set(modifier.name());
-                modifierNode.node("trait").set(modifier.trait().getId().toString());
-                modifierNode.node("operation").set(modifier.operation().toString());
-                modifierNode.node("value").set(modifier.value());
-            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
         // Save the backup file
         loader.save(config);
         return backupFile;
     }
 
+    private void writeState(ConfigurationNode config, UserState state) throws SerializationException {
+        ConfigurationNode userNode = config.node("users", state.uuid().toString());
+        // Save skill levels and xp
+        for (Skill skill : state.skillLevels().keySet()) {
+            int level = state.skillLevels().getOrDefault(skill, plugin.config().getStartLevel());
+            double xp = state.skillXp().getOrDefault(skill, 0.0);
+
+            ConfigurationNode skillNode = userNode.node("skills", skill.getId().toString());
+
+            skillNode.node("level").set(level);
+            skillNode.node("xp").set(xp);
+        }
+        // Save mana
+        userNode.node("mana").set(state.mana());
+        // Save stat modifiers
+        for (StatModifier modifier : state.statModifiers().values()) {
+            ConfigurationNode modifierNode = userNode.node("stat_modifiers").appendListNode();
+            modifierNode.node("name").set(modifier.name());
+            modifierNode.node("stat").set(modifier.stat().getId().toString());
+            modifierNode.node("operation").set(modifier.operation().toString());
+            modifierNode.node("value").set(modifier.value());
+        }
+        // Save trait modifiers
+        for (TraitModifier modifier : state.traitModifiers().values()) {
+            ConfigurationNode modifierNode = userNode.node("trait_modifiers").appendListNode();
+            modifierNode.node("name").set(modifier.name());
+            modifierNode.node("trait").set(modifier.trait().getId().toString());
+            modifierNode.node("operation").set(modifier.operation().toString());
+            modifierNode.node("value").set(modifier.value());
+        }
+    }
+
     public void loadBackupAsync(File file, Runnable onComplete, Consumer<Throwable> onError) {
         plugin.getScheduler().executeAsync(() -> {
             try {
@@ -281,4 +298,12 @@ public class BackupProvider {
         return UUID.fromString(key);
     }
 
+    private static class TooManyUsersException extends RuntimeException {
+
+        TooManyUsersException() {
+            super(null, null, false, false);
+        }
+
+    }
+
 }
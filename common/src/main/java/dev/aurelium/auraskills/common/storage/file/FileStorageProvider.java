@@ -19,6 +19,7 @@ import dev.aurelium.auraskills.common.ui.ActionBarType;
 import dev.aurelium.auraskills.common.user.AntiAfkLog;
 import dev.aurelium.auraskills.common.user.SkillLevelMaps;
 import dev.aurelium.auraskills.common.user.User;
+import dev.aurelium.auraskills.common.user.UserSection;
 import dev.aurelium.auraskills.common.user.UserState;
 import dev.aurelium.auraskills.common.util.data.KeyIntPair;
 import org.jetbrains.annotations.NotNull;
@@ -31,14 +32,25 @@ import org.spongepowered.configurate.yaml.NodeStyle;
 import org.spongepowered.configurate.yaml.YamlConfigurationLoader;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 public class FileStorageProvider extends StorageProvider {
 
+    private static final String SUMMARY_FILE_NAME = "summary.dat";
+
     private final String dataDirectory;
+    private final Object summaryLock = new Object();
+    @Nullable
+    private volatile UserSummaryFile summary;
+    private boolean summaryFailed;
+    private boolean summaryClosed;
 
     public FileStorageProvider(AuraSkillsPlugin plugin, String dataDirectory) {
         super(plugin);
@@ -112,6 +124,9 @@ public class FileStorageProvider extends StorageProvider {
         long time = root.node("last_job_select_time").getLong(0L);
         user.setLastJobSelectTime(time);
 
+        // Everything loaded matches the file, so only later changes need to be saved
+        user.clearDirtySections();
+
         return user;
     }
 
@@ -318,91 +333,109 @@ public class FileStorageProvider extends StorageProvider {
         applyTraitModifiers(traitModifiersNode, state.traitModifiers());
 
         saveYamlFile(root, state.uuid());
+        updateSummary(state.uuid(), state.skillLevels(), state.skillXp(), state.mana());
     }
 
     @Override
-    public void save(@NotNull User user) throws Exception {
+    protected void saveSections(@NotNull User user, int sections) throws Exception {
         CommentedConfigurationNode root = loadYamlFile(user.getUuid());
+        if (root.empty()) { // Write everything if the file doesn't exist yet
+            sections = UserSection.ALL;
+        }
 
         root.node("uuid").set(user.getUuid().toString());
 
         // Apply skill levels and xp
-        ConfigurationNode skillsNode = root.node("skills");
-        for (Skill skill : user.getSkillLevelMap().keySet()) {
-            ConfigurationNode skillNode = skillsNode.node(skill.getId().toString());
-            skillNode.node("level").set(user.getSkillLevel(skill));
-            skillNode.node("xp").set(user.getSkillXp(skill));
+        if (UserSection.SKILLS.isIn(sections)) {
+            ConfigurationNode skillsNode = root.node("skills");
+            for (Skill skill : user.getSkillLevelMap().keySet()) {
+                ConfigurationNode skillNode = skillsNode.node(skill.getId().toString());
+                skillNode.node("level").set(user.getSkillLevel(skill));
+                skillNode.node("xp").set(user.getSkillXp(skill));
+            }
         }
 
-        // Apply locale
-        if (user.hasLocale()) {
-            root.node("locale").set(user.getLocale().toLanguageTag());
-        }
+        if (UserSection.MANA.isIn(sections)) {
+            // Apply locale
+            if (user.hasLocale()) {
+                root.node("locale").set(user.getLocale().toLanguageTag());
+            }
 
-        // Apply mana
-        root.node("mana").set(user.getMana());
+            // Apply mana
+            root.node("mana").set(user.getMana());
+        }
 
-        // Apply stat modifiers
-        ConfigurationNode statModifiersNode = root.node("stat_modifiers");
-        statModifiersNode.set(null);
-        applyStatModifiers(statModifiersNode, user.getStatModifiers());
+        if (UserSection.MODIFIERS.isIn(sections)) {
+            // Apply stat modifiers
+            ConfigurationNode statModifiersNode = root.node("stat_modifiers");
+            statModifiersNode.set(null);
+            applyStatModifiers(statModifiersNode, user.getStatModifiers());
 
-        // Apply trait modifiers
-        ConfigurationNode traitModifiersNode = root.node("trait_modifiers");
-        traitModifiersNode.set(null);
-        applyTraitModifiers(traitModifiersNode, user.getTraitModifiers());
+            // Apply trait modifiers
+            ConfigurationNode traitModifiersNode = root.node("trait_modifiers");
+            traitModifiersNode.set(null);
+            applyTraitModifiers(traitModifiersNode, user.getTraitModifiers());
+        }
 
         // Apply ability data
-        ConfigurationNode abilityDataNode = root.node("ability_data");
-        abilityDataNode.set(null);
-        for (AbstractAbility ability : user.getAbilityDataMap().keySet()) {
-            ConfigurationNode abilityNode = abilityDataNode.node(ability.getId().toString());
-            for (Map.Entry<String, Object> entry : user.getAbilityData(ability).getDataMap().entrySet()) {
-                abilityNode.node(entry.getKey()).set(entry.getValue());
+        if (UserSection.ABILITY_DATA.isIn(sections)) {
+            ConfigurationNode abilityDataNode = root.node("ability_data");
+            abilityDataNode.set(null);
+            for (AbstractAbility ability : user.getAbilityDataMap().keySet()) {
+                ConfigurationNode abilityNode = abilityDataNode.node(ability.getId().toString());
+                for (Map.Entry<String, Object> entry : user.getAbilityData(ability).getDataMap().entrySet()) {
+                    abilityNode.node(entry.getKey()).set(entry.getValue());
+                }
             }
-        }
-        // Save mana ability cooldowns
-        for (ManaAbilityData data : user.getManaAbilityDataMap().values()) {
-            if (data.getCooldown() <= 0) {
-                continue;
+            // Save mana ability cooldowns
+            for (ManaAbilityData data : user.getManaAbilityDataMap().values()) {
+                if (data.getCooldown() <= 0) {
+                    continue;
+                }
+                ConfigurationNode abilityNode = abilityDataNode.node(data.getManaAbility().getId().toString());
+                abilityNode.node("cooldown").set(data.getCooldown());
             }
-            ConfigurationNode abilityNode = abilityDataNode.node(data.getManaAbility().getId().toString());
-            abilityNode.node("cooldown").set(data.getCooldown());
         }
 
         // Apply unclaimed items
-        ConfigurationNode unclaimedItemsNode = root.node("unclaimed_items");
-        unclaimedItemsNode.set(null);
-        for (KeyIntPair item : user.getUnclaimedItems()) {
-            unclaimedItemsNode.appendListNode().set(item.getKey() + " " + item.getValue());
+        if (UserSection.UNCLAIMED_ITEMS.isIn(sections)) {
+            ConfigurationNode unclaimedItemsNode = root.node("unclaimed_items");
+            unclaimedItemsNode.set(null);
+            for (KeyIntPair item : user.getUnclaimedItems()) {
+                unclaimedItemsNode.appendListNode().set(item.getKey() + " " + item.getValue());
+            }
         }
 
         // Save action bar settings
-        ConfigurationNode actionBarNode = root.node("action_bar");
-        for (ActionBarType type : ActionBarType.values()) {
-            if (type != ActionBarType.IDLE) continue; // Only save idle action bar for now
-            boolean value = user.isActionBarEnabled(type);
-            actionBarNode.node(type.toString().toLowerCase(Locale.ROOT)).set(value);
-        }
-
-        // Save jobs
-        if (user.getJobs().isEmpty()) {
-            root.removeChild("jobs");
-        } else {
-            List<String> jobNames = new ArrayList<>();
-            for (Skill skill : user.getJobs()) {
-                jobNames.add(skill.getId().toString());
+        if (UserSection.ACTION_BAR.isIn(sections)) {
+            ConfigurationNode actionBarNode = root.node("action_bar");
+            for (ActionBarType type : ActionBarType.values()) {
+                if (type != ActionBarType.IDLE) continue; // Only save idle action bar for now
+                boolean value = user.isActionBarEnabled(type);
+                actionBarNode.node(type.toString().toLowerCase(Locale.ROOT)).set(value);
             }
-            root.node("jobs").set(jobNames);
         }
-        // Save last job select time
-        long selectTime = user.getLastJobSelectTime();
-        if (selectTime > 0) {
-            root.node("last_job_select_time").set(selectTime);
+
+        if (UserSection.JOBS.isIn(sections)) {
+            // Save jobs
+            if (user.getJobs().isEmpty()) {
+                root.removeChild("jobs");
+            } else {
+                List<String> jobNames = new ArrayList<>();
+                for (Skill skill : user.getJobs()) {
+                    jobNames.add(skill.getId().toString());
+                }
+                root.node("jobs").set(jobNames);
+            }
+            // Save last job select time
+            long selectTime = user.getLastJobSelectTime();
+            if (selectTime > 0) {
+                root.node("last_job_select_time").set(selectTime);
+            }
         }
 
         // Save anti-AFK logs
-        if (!user.getSessionAntiAfkLogs().isEmpty()) {
+        if (UserSection.LOGS.isIn(sections) && !user.getSessionAntiAfkLogs().isEmpty()) {
             // Since logs are not loaded on join, we should append new logs instead of overriding
             ConfigurationNode node = root.node("logs", "anti_afk");
             List<ConfigurationNode> nodeList = node.getList(ConfigurationNode.class, new ArrayList<>());
@@ -420,6 +453,9 @@ public class FileStorageProvider extends StorageProvider {
         }
 
         saveYamlFile(root, user.getUuid());
+        if (UserSection.SKILLS.isIn(sections) || UserSection.MANA.isIn(sections)) {
+            updateSummary(user.getUuid(), user.getSkillLevelMap(), user.getSkillXpMap(), user.getMana());
+        }
     }
 
     private void saveYamlFile(CommentedConfigurationNode root, UUID uuid) throws ConfigurateException {
@@ -480,35 +516,148 @@ public class FileStorageProvider extends StorageProvider {
     public void delete(UUID uuid) throws Exception {
         Path path = Path.of(dataDirectory, uuid.toString() + ".yml");
         Files.deleteIfExists(path);
+        UserSummaryFile summary = getSummary();
+        if (summary != null) {
+            summary.remove(uuid);
+        }
+        removeFromLeaderboards(uuid);
     }
 
     @Override
-    public List<UserState> loadStates(boolean ignoreOnline, boolean skipKeyValues, long previousFetchTime) {
-        List<UserState> states = new ArrayList<>();
+    public void forEachState(boolean ignoreOnline, boolean skipKeyValues, long previousFetchTime, Consumer<UserState> consumer) {
+        // Levels and mana can be read from the summary without parsing every file
+        if (skipKeyValues) {
+            UserSummaryFile summary = getSummary();
+            if (summary != null) {
+                summary.forEach(previousFetchTime, state -> {
+                    if (ignoreOnline && userManager.hasUser(state.uuid())) {
+                        return; // Skip if player is online
+                    }
+                    consumer.accept(state);
+                });
+                return;
+            }
+        }
+        forEachFile(ignoreOnline, (state, file) -> consumer.accept(state));
+    }
+
+    private void forEachFile(boolean ignoreOnline, BiConsumer<UserState, File> consumer) {
         // Get all files in data directory
         File[] files = new File(dataDirectory).listFiles();
         if (files == null) {
-            return states;
+            return;
         }
         // Loop through files and get UUID from file name
         for (File file : files) {
             String fileName = file.getName();
-            if (fileName.endsWith(".yml")) {
-                String uuidString = fileName.substring(0, fileName.length() - 4);
-                try {
-                    UUID uuid = UUID.fromString(uuidString);
+            if (!fileName.endsWith(".yml")) {
+                continue;
+            }
+            String uuidString = fileName.substring(0, fileName.length() - 4);
+            UserState state;
+            try {
+                UUID uuid = UUID.fromString(uuidString);
 
-                    if (ignoreOnline && userManager.hasUser(uuid)) {
-                        continue; // Skip if player is online
-                    }
+                if (ignoreOnline && userManager.hasUser(uuid)) {
+                    continue; // Skip if player is online
+                }
+
+                state = loadState(uuid); // Load state from file
+            } catch (Exception e) {
+                plugin.logger().warn("Invalid player data file name: " + fileName);
+                continue;
+            }
+            consumer.accept(state, file);
+        }
+    }
+
+    @Override
+    @Nullable
+    public UserState getOfflineSummary(UUID uuid) {
+        // Don't open the summary here since a rebuild would block the calling thread
+        UserSummaryFile summary = this.summary;
+        return summary != null ? summary.read(uuid) : null;
+    }
 
-                    states.add(loadState(uuid)); // Load state from file
-                } catch (Exception e) {
-                    plugin.logger().warn("Invalid player data file name: " + fileName);
+    /**
+     * Gets the summary file, opening it and rebuilding it from the user files first if needed.
+     *
+     * @return the summary, or null if skills aren't registered yet or the file can't be used
+     */
+    @Nullable
+    private UserSummaryFile getSummary() {
+        Collection<Skill> registered = plugin.getSkillRegistry().getValues();
+        synchronized (summaryLock) {
+            UserSummaryFile current = summary;
+            if (summaryFailed || summaryClosed || registered.isEmpty()) return null;
+            // The open file keeps its sorted columns, so they are only sorted again when skills change
+            if (current != null && current.hasSkills(registered)) return current;
+            List<Skill> skills = new ArrayList<>(registered);
+            skills.sort(Comparator.comparing(skill -> skill.getId().toString()));
+            try {
+                if (current != null) { // Skills were registered after the file was opened
+                    summary = null;
+                    current.close();
+                }
+                Files.createDirectories(Path.of(dataDirectory));
+                UserSummaryFile opened = UserSummaryFile.open(Path.of(dataDirectory, SUMMARY_FILE_NAME), skills);
+                if (opened.needsRebuild()) {
+                    try {
+                        rebuildSummary(opened);
+                    } catch (UncheckedIOException e) {
+                        opened.close();
+                        throw e.getCause();
+                    }
                 }
+                summary = opened;
+                return opened;
+            } catch (IOException e) {
+                summaryFailed = true;
+                plugin.logger().warn("Failed to open the user summary file, user files will be read instead: " + e.getMessage());
+                return null;
+            }
+        }
+    }
+
+    private void rebuildSummary(UserSummaryFile summary) {
+        long start = System.currentTimeMillis();
+        forEachFile(false, (state, file) -> {
+            try {
+                summary.update(state.uuid(), file.lastModified(), state.skillLevels(), state.skillXp(), state.mana());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        plugin.logger().info("Rebuilt the user summary file with " + summary.size() + " users in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    private void updateSummary(UUID uuid, Map<Skill, Integer> levels, Map<Skill, Double> xp, double mana) {
+        UserSummaryFile summary = getSummary();
+        if (summary == null) return;
+        try {
+            summary.update(uuid, System.currentTimeMillis(), levels, xp, mana);
+        } catch (IOException e) {
+            plugin.logger().warn("Failed to update the user summary file for " + uuid + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Closes the summary file so it can be trusted without a rebuild on the next start.
+     * Should be called after all users are saved when the plugin is disabled. Saves after
+     * this only write the user files, so the closed file stays clean.
+     */
+    public void closeSummary() {
+        synchronized (summaryLock) {
+            summaryClosed = true;
+            UserSummaryFile current = summary;
+            if (current == null) return;
+            summary = null;
+            try {
+                current.close();
+            } catch (IOException e) {
+                plugin.logger().warn("Failed to close the user summary file: " + e.getMessage());
             }
         }
-        return states;
     }
 
     @Override
@@ -0,0 +1,337 @@
+package dev.aurelium.auraskills.common.storage.file;
+
+import dev.aurelium.auraskills.api.skill.Skill;
+import dev.aurelium.auraskills.common.user.SkillArrays;
+import dev.aurelium.auraskills.common.user.UserState;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * A memory-mapped sidecar of the YAML user files holding the skill levels, xp and mana of every
+ * user in fixed-width rows, so leaderboards and offline lookups don't parse every file. Rows are
+ * updated in place when users are saved and store the time of their last update, so incremental
+ * leaderboard updates only read rows changed since the previous update.
+ *
+ * <p>The header records the skill ids of the row columns and whether the file was closed cleanly.
+ * A file that is missing, was written for other skills, or wasn't closed is reported by
+ * {@link #needsRebuild()} and must be filled from the YAML files.
+ *
+ * <p>The file is never truncated, since files can't be truncated while an earlier mapping of them
+ * is still reachable on some platforms. Starting over only resets the header, and rows are
+ * overwritten as users are added.
+ */
+public class UserSummaryFile {
+
+    private static final int MAGIC = 0x41535355;
+    private static final int VERSION = 1;
+    // Header: magic, version, clean flag, row count, skill count, data offset, then the skill ids
+    private static final int CLEAN_POS = 8;
+    private static final int ROW_COUNT_POS = 12;
+    private static final int SKILL_COUNT_POS = 16;
+    private static final int DATA_OFFSET_POS = 20;
+    private static final int HEADER_SIZE = 24;
+    // Row: uuid (16), last update time (8), mana (8), then level (4) and xp (8) per skill
+    private static final int ROW_FIXED_SIZE = 32;
+    private static final int SKILL_SIZE = 12;
+    private static final int ABSENT_LEVEL = -1;
+    private static final int INITIAL_ROWS = 1024;
+
+    private final FileChannel channel;
+    private final List<Skill> skills;
+    private final SkillArrays.Index skillIndex;
+    private final Map<UUID, Integer> rows = new HashMap<>();
+    // Rows of removed users, reused before the file grows
+    private final Deque<Integer> freeRows = new ArrayDeque<>();
+    private final int dataOffset;
+    private final int rowSize;
+    private final boolean needsRebuild;
+    private MappedByteBuffer buffer;
+    private int rowCount;
+
+    private UserSummaryFile(FileChannel channel, List<Skill> skills, int dataOffset, boolean needsRebuild) {
+        this.channel = channel;
+        this.skills = skills;
+        this.skillIndex = new SkillArrays.Index(skills);
+        this.dataOffset = dataOffset;
+        this.rowSize = ROW_FIXED_SIZE + SKILL_SIZE * skills.size();
+        this.needsRebuild = needsRebuild;
+    }
+
+    /**
+     * Opens a summary file, creating an empty one if the existing file can't be used.
+     *
+     * @param path the path of the file
+     * @param skills the skills to store, in column order
+     * @return the opened file
+     * @throws IOException if the file couldn't be read or created
+     */
+    public static UserSummaryFile open(Path path, Collection<Skill> skills) throws IOException {
+        List<Skill> columns = List.copyOf(skills);
+        byte[] skillHeader = encodeSkills(columns);
+        int dataOffset = HEADER_SIZE + skillHeader.length;
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (isValid(channel, columns.size(), skillHeader)) {
+                UserSummaryFile file = new UserSummaryFile(channel, columns, dataOffset, false);
+                file.map(Math.max(channel.size(), dataOffset + (long) file.rowSize * INITIAL_ROWS));
+                file.loadRows();
+                file.setClean(false);
+                return file;
+            }
+            // Start over with an empty file, rows left from the previous layout are past the row count
+            UserSummaryFile file = new UserSummaryFile(channel, columns, dataOffset, true);
+            file.map(dataOffset + (long) file.rowSize * INITIAL_ROWS);
+            file.buffer.putInt(0, MAGIC);
+            file.buffer.putInt(4, VERSION);
+            file.buffer.putInt(ROW_COUNT_POS, 0);
+            file.buffer.putInt(SKILL_COUNT_POS, columns.size());
+            file.buffer.putInt(DATA_OFFSET_POS, dataOffset);
+            file.buffer.put(HEADER_SIZE, skillHeader);
+            file.setClean(false);
+            return file;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets whether the file was created empty and should be filled from the YAML files.
+     *
+     * @return true if a rebuild is needed
+     */
+    public boolean needsRebuild() {
+        return needsRebuild;
+    }
+
+    /**
+     * Gets whether the file stores exactly the given skills, in any order.
+     *
+     * @param skills the skills
+     * @return true if the skills match the columns
+     */
+    public boolean hasSkills(Collection<Skill> skills) {
+        if (skills.size() != this.skills.size()) return false;
+        for (Skill skill : skills) {
+            if (skillIndex.indexOf(skill) < 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Writes the values of a user. Skills missing from the maps keep their stored values.
+     *
+     * @param uuid the user's uuid
+     * @param updateTime the time the values changed in epoch milliseconds
+     * @param levels the skill levels
+     * @param xp the skill xp
+     * @param mana the mana
+     * @throws IOException if the file couldn't be grown
+     */
+    public synchronized void update(UUID uuid, long updateTime, Map<Skill, Integer> levels, Map<Skill, Double> xp, double mana) throws IOException {
+        Integer row = rows.get(uuid);
+        boolean created = row == null;
+        if (created) {
+            Integer free = freeRows.poll();
+            if (free != null) {
+                row = free;
+            } else {
+                row = rowCount;
+                ensureCapacity(row + 1);
+            }
+        }
+        int pos = dataOffset + row * rowSize;
+        buffer.putLong(pos, uuid.getMostSignificantBits());
+        buffer.putLong(pos + 8, uuid.getLeastSignificantBits());
+        buffer.putLong(pos + 16, updateTime);
+        buffer.putDouble(pos + 24, mana);
+        for (int i = 0; i < skills.size(); i++) {
+            int skillPos = pos + ROW_FIXED_SIZE + i * SKILL_SIZE;
+            Integer level = levels.get(skills.get(i));
+            if (level != null) {
+                buffer.putInt(skillPos, level);
+                buffer.putDouble(skillPos + 4, xp.getOrDefault(skills.get(i), 0.0));
+            } else if (created) {
+                buffer.putInt(skillPos, ABSENT_LEVEL);
+                buffer.putDouble(skillPos + 4, 0.0);
+            }
+        }
+        if (created) {
+            rows.put(uuid, row);
+            if (row == rowCount) {
+                rowCount++;
+                buffer.putInt(ROW_COUNT_POS, rowCount);
+            }
+        }
+    }
+
+    /**
+     * Removes a user. The row is left empty and reused by the next user that is added.
+     *
+     * @param uuid the user's uuid
+     */
+    public synchronized void remove(UUID uuid) {
+        Integer row = rows.remove(uuid);
+        if (row == null) return;
+        int pos = dataOffset + row * rowSize;
+        buffer.putLong(pos, 0L);
+        buffer.putLong(pos + 8, 0L);
+        freeRows.push(row);
+    }
+
+    /**
+     * Reads the values of a user.
+     *
+     * @param uuid the user's uuid
+     * @return the state without modifiers, or null if the user has no row
+     */
+    @Nullable
+    public synchronized UserState read(UUID uuid) {
+        Integer row = rows.get(uuid);
+        if (row == null) return null;
+        return readRow(row);
+    }
+
+    /**
+     * Passes the state of every user updated after a time to a consumer. The file is only locked
+     * while each row is read, so saves can continue during the iteration.
+     *
+     * @param updatedAfter only rows updated after this time in epoch milliseconds are read, use 0 for every row
+     * @param consumer the consumer of each state, which don't include modifiers
+     */
+    public void forEach(long updatedAfter, Consumer<UserState> consumer) {
+        int count;
+        synchronized (this) {
+            count = rowCount;
+        }
+        for (int row = 0; row < count; row++) {
+            UserState state;
+            synchronized (this) {
+                int pos = dataOffset + row * rowSize;
+                if (buffer.getLong(pos + 16) <= updatedAfter) continue;
+                state = readRow(row);
+            }
+            if (state != null) {
+                consumer.accept(state);
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return rows.size();
+    }
+
+    /**
+     * Marks the file as cleanly closed and closes it.
+     *
+     * @throws IOException if the file couldn't be written
+     */
+    public synchronized void close() throws IOException {
+        setClean(true);
+        buffer.force();
+        channel.close();
+    }
+
+    @Nullable
+    private UserState readRow(int row) {
+        int pos = dataOffset + row * rowSize;
+        long most = buffer.getLong(pos);
+        long least = buffer.getLong(pos + 8);
+        if (most == 0L && least == 0L) return null; // Removed user
+
+        SkillArrays values = new SkillArrays(skillIndex);
+        for (int i = 0; i < skills.size(); i++) {
+            int skillPos = pos + ROW_FIXED_SIZE + i * SKILL_SIZE;
+            int level = buffer.getInt(skillPos);
+            if (level != ABSENT_LEVEL) {
+                values.set(i, level, buffer.getDouble(skillPos + 4));
+            }
+        }
+        return new UserState(new UUID(most, least), values.levels(), values.xp(), Map.of(), Map.of(), buffer.getDouble(pos + 24));
+    }
+
+    private void loadRows() {
+        rowCount = buffer.getInt(ROW_COUNT_POS);
+        for (int row = 0; row < rowCount; row++) {
+            int pos = dataOffset + row * rowSize;
+            long most = buffer.getLong(pos);
+            long least = buffer.getLong(pos + 8);
+            if (most != 0L || least != 0L) {
+                rows.put(new UUID(most, least), row);
+            } else {
+                freeRows.add(row);
+            }
+        }
+    }
+
+    private void ensureCapacity(int rowsNeeded) throws IOException {
+        long needed = dataOffset + (long) rowsNeeded * rowSize;
+        if (needed <= buffer.capacity()) return;
+        long size = buffer.capacity();
+        while (size < needed) {
+            size *= 2;
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("User summary file is too large");
+        }
+        map(size);
+    }
+
+    private void map(long size) throws IOException {
+        // Mapping past the end of the file grows it
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    private void setClean(boolean clean) {
+        buffer.putInt(CLEAN_POS, clean ? 1 : 0);
+        if (!clean) {
+            buffer.force(); // Persist the flag before any rows change
+        }
+    }
+
+    private static boolean isValid(FileChannel channel, int skillCount, byte[] skillHeader) throws IOException {
+        if (channel.size() < HEADER_SIZE + skillHeader.length) return false;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE + skillHeader.length);
+        channel.read(header, 0);
+        header.flip();
+        if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION || header.getInt(CLEAN_POS) != 1
+                || header.getInt(SKILL_COUNT_POS) != skillCount || header.getInt(DATA_OFFSET_POS) != HEADER_SIZE + skillHeader.length) {
+            return false;
+        }
+        return header.slice(HEADER_SIZE, skillHeader.length).equals(ByteBuffer.wrap(skillHeader));
+    }
+
+    private static byte[] encodeSkills(List<Skill> skills) {
+        List<byte[]> ids = new ArrayList<>(skills.size());
+        int length = 0;
+        for (Skill skill : skills) {
+            byte[] id = skill.getId().toString().getBytes(StandardCharsets.UTF_8);
+            ids.add(id);
+            length += 2 + id.length;
+        }
+        ByteBuffer encoded = ByteBuffer.allocate(length);
+        for (byte[] id : ids) {
+            encoded.putShort((short) id.length);
+            encoded.put(id);
+        }
+        return encoded.array();
+    }
+
+}
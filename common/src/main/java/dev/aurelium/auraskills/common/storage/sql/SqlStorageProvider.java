@@ -1,7 +1,5 @@
 package dev.aurelium.auraskills.common.storage.sql;
 
-import dev.aurelium.auraskills.api.ability.AbstractAbility;
-import dev.aurelium.auraskills.api.mana.ManaAbility;
 import dev.aurelium.auraskills.api.registry.NamespacedId;
 import dev.aurelium.auraskills.api.skill.Skill;
 import dev.aurelium.auraskills.api.stat.Stat;
@@ -11,20 +9,18 @@ import dev.aurelium.auraskills.api.trait.TraitModifier;
 import dev.aurelium.auraskills.api.util.AuraSkillsModifier;
 import dev.aurelium.auraskills.api.util.AuraSkillsModifier.Operation;
 import dev.aurelium.auraskills.common.AuraSkillsPlugin;
-import dev.aurelium.auraskills.common.ability.AbilityData;
 import dev.aurelium.auraskills.common.config.Option;
-import dev.aurelium.auraskills.common.mana.ManaAbilityData;
 import dev.aurelium.auraskills.common.ref.PlayerRef;
 import dev.aurelium.auraskills.common.region.BlockPosition;
 import dev.aurelium.auraskills.common.storage.StorageProvider;
+import dev.aurelium.auraskills.common.storage.sql.dialect.SqlDialect;
 import dev.aurelium.auraskills.common.storage.sql.migration.SqlMigrator;
 import dev.aurelium.auraskills.common.storage.sql.pool.ConnectionPool;
-import dev.aurelium.auraskills.common.ui.ActionBarType;
 import dev.aurelium.auraskills.common.user.AntiAfkLog;
+import dev.aurelium.auraskills.common.user.SkillArrays;
 import dev.aurelium.auraskills.common.user.SkillLevelMaps;
 import dev.aurelium.auraskills.common.user.User;
 import dev.aurelium.auraskills.common.user.UserState;
-import dev.aurelium.auraskills.common.util.data.KeyIntPair;
 import org.intellij.lang.annotations.Language;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -32,13 +28,17 @@ import org.jetbrains.annotations.Nullable;
 import java.sql.*;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 public class SqlStorageProvider extends StorageProvider {
 
     private final ConnectionPool pool;
+    private final SqlDialect dialect;
     private final SqlUserLoader userLoader;
+    private final SqlUserSaver userSaver;
     public static final String TABLE_PREFIX = "auraskills_";
+    private static final int SAVE_BATCH_SIZE = 500; // Users saved per transaction by saveAll
+    private static final int STATE_FETCH_SIZE = 1000; // Rows fetched per round trip when streaming states
 
     public static final int STAT_MODIFIER_ID = 1; // Deprecated, only used in SqlUserMigrator
     public static final int ABILITY_DATA_ID = 3;
@@ -54,7 +54,9 @@ public class SqlStorageProvider extends StorageProvider {
     public SqlStorageProvider(AuraSkillsPlugin plugin, ConnectionPool pool) {
         super(plugin);
         this.pool = pool;
-        this.userLoader = new SqlUserLoader(plugin);
+        this.dialect = pool.getDialect();
+        this.userLoader = new SqlUserLoader(plugin, dialect);
+        this.userSaver = new SqlUserSaver(dialect);
         attemptTableCreation();
 
         try {
@@ -222,17 +224,18 @@ public class SqlStorageProvider extends StorageProvider {
     @Override
     public void applyState(UserState state) throws Exception {
         // Insert into users database
-        String usersQuery = "INSERT INTO " + TABLE_PREFIX + "users (player_uuid, mana) VALUES (?, ?) ON DUPLICATE KEY UPDATE mana = ?, last_updated = CURRENT_TIMESTAMP";
+        String usersQuery = "INSERT INTO " + TABLE_PREFIX + "users (player_uuid, mana) VALUES (?, ?) " +
+                dialect.onConflictUpdate("player_uuid", "mana") + ", last_updated = " + dialect.currentTimestamp();
         try (Connection connection = pool.getConnection()) {
             try (PreparedStatement statement = connection.prepareStatement(usersQuery)) {
                 statement.setString(1, state.uuid().toString());
                 statement.setDouble(2, state.mana());
-                statement.setDouble(3, state.mana());
                 statement.executeUpdate();
             }
             // Insert into skill_levels database
             int userId = getUserId(connection, state.uuid());
-            String skillLevelsQuery = "INSERT INTO " + TABLE_PREFIX + "skill_levels (user_id, skill_name, skill_level, skill_xp) VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE skill_level=?, skill_xp=?";
+            String skillLevelsQuery = "INSERT INTO " + TABLE_PREFIX + "skill_levels (user_id, skill_name, skill_level, skill_xp) VALUES (?, ?, ?, ?) " +
+                    dialect.onConflictUpdate("user_id, skill_name", "skill_level", "skill_xp");
             try (PreparedStatement statement = connection.prepareStatement(skillLevelsQuery)) {
                 statement.setInt(1, userId);
                 for (Map.Entry<Skill, Integer> entry : state.skillLevels().entrySet()) {
@@ -242,8 +245,6 @@ public class SqlStorageProvider extends StorageProvider {
                     statement.setString(2, skillName);
                     statement.setInt(3, level);
                     statement.setDouble(4, xp);
-                    statement.setInt(5, level);
-                    statement.setDouble(6, xp);
                     statement.executeUpdate();
                 }
             }
@@ -251,7 +252,7 @@ public class SqlStorageProvider extends StorageProvider {
             modifiers.putAll(state.statModifiers());
             modifiers.putAll(state.traitModifiers());
 
-            saveModifierRows(connection, userId, getModifierRows(modifiers));
+            saveModifierRows(connection, userId, SqlUserSaver.getModifierRows(modifiers));
         }
     }
 
@@ -271,14 +272,13 @@ public class SqlStorageProvider extends StorageProvider {
     }
 
     @Override
-    public void save(@NotNull User user) throws Exception {
-        if (user.shouldNotSave()) return;
-
+    protected void saveSections(@NotNull User user, int sections) throws Exception {
         // Don't save blank profiles if the option is disabled
         if (!plugin.configBoolean(Option.SAVE_BLANK_PROFILES) && user.isBlankProfile()) {
             try (Connection connection = pool.getConnection()) {
                 deleteUser(connection, user);
                 connection.setAutoCommit(true);
+                userSaver.invalidateUserId(user.getUuid());
             } catch (SQLException e) {
                 plugin.logger().severe("Error deleting blank profile of user with UUID " + user.getUuid());
                 throw e;
@@ -287,144 +287,104 @@ public class SqlStorageProvider extends StorageProvider {
         }
 
         try (Connection connection = pool.getConnection()) {
-            connection.setAutoCommit(false); // Start transaction
-
-            saveUsersTable(connection, user);
-            saveSkillLevelsTable(connection, user);
-            int userId = getUserId(connection, user.getUuid());
-            saveKeyValuesTable(connection, user, userId);
-            saveModifiersTable(connection, user, userId);
-            saveLogsTable(connection, user);
-
-            connection.commit();
-            connection.setAutoCommit(true);
+            saveInTransaction(connection, Map.of(user, sections));
         }
     }
 
-    private void saveUsersTable(Connection connection, User user) throws SQLException {
-        String usersQuery = "INSERT INTO " + TABLE_PREFIX + "users (player_uuid, locale, mana) VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE locale = ?, mana = ?, last_updated = CURRENT_TIMESTAMP";
-        try (PreparedStatement statement = connection.prepareStatement(usersQuery)) {
-            statement.setString(1, user.getUuid().toString());
-            int curr = 2; // Current index to set
-            for (int i = 0; i < 2; i++) { // Repeat twice to set duplicate values
-                if (user.hasLocale()) {
-                    statement.setString(curr++, user.getLocale().toLanguageTag());
-                } else {
-                    statement.setNull(curr++, Types.VARCHAR);
-                }
-                statement.setDouble(curr++, user.getMana());
+    /**
+     * Saves users in transactions of {@link #SAVE_BATCH_SIZE} users that share one connection
+     * and batch their statements.
+     *
+     * @param users the users to save
+     */
+    @Override
+    public void saveAll(Collection<User> users) {
+        List<User> batch = new ArrayList<>(SAVE_BATCH_SIZE);
+        for (User user : users) {
+            batch.add(user);
+            if (batch.size() == SAVE_BATCH_SIZE) {
+                saveBatch(batch);
+                batch.clear();
             }
-            statement.executeUpdate();
         }
-    }
-
-    private void saveSkillLevelsTable(Connection connection, User user) throws SQLException {
-        int userId = getUserId(connection, user.getUuid());
-        String skillLevelsQuery = "INSERT INTO " + TABLE_PREFIX + "skill_levels (user_id, skill_name, skill_level, skill_xp) VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE skill_level=?, skill_xp=?";
-        try (PreparedStatement statement = connection.prepareStatement(skillLevelsQuery)) {
-            statement.setInt(1, userId);
-            for (Map.Entry<Skill, Integer> entry : user.getSkillLevelMap().entrySet()) {
-                String skillName = entry.getKey().getId().toString();
-                int level = entry.getValue();
-                double xp = user.getSkillXpMap().get(entry.getKey());
-                statement.setString(2, skillName);
-                statement.setInt(3, level);
-                statement.setDouble(4, xp);
-                statement.setInt(5, level);
-                statement.setDouble(6, xp);
-                statement.executeUpdate();
-            }
+        if (!batch.isEmpty()) {
+            saveBatch(batch);
         }
+        // Only keep user ids of online players cached
+        userSaver.retainUserIds(userManager.getUserMap().keySet());
     }
 
-    private void saveKeyValuesTable(Connection connection, User user, int userId) throws SQLException {
-        // Delete existing key values
-        deleteKeyValues(connection, userId);
-        // Save key values
-        List<KeyValueRow> rows = new ArrayList<>();
-        rows.addAll(getAbilityDataRows(user.getAbilityDataMap(), user.getManaAbilityDataMap()));
-        rows.addAll(getUnclaimedItemsRow(user.getUnclaimedItems()));
-        rows.addAll(getActionBarRow(user));
-        rows.addAll(getJobsRow(user, user.getJobs()));
-        // Insert all key values in a batch
-        saveKeyValueRows(connection, userId, rows);
-    }
-
-    private void saveModifiersTable(Connection connection, User user, int userId) throws SQLException {
-        deleteModifiers(connection, userId);
-
-        Map<String, AuraSkillsModifier<?>> modifiers = new ConcurrentHashMap<>();
-        modifiers.putAll(user.getStatModifiers());
-        modifiers.putAll(user.getTraitModifiers());
-
-        List<ModifierRow> rows = getModifierRows(modifiers);
+    private void saveBatch(List<User> users) {
+        List<User> locked = new ArrayList<>(users.size());
+        Map<User, Integer> dirty = new LinkedHashMap<>();
+        boolean saved = false;
+        try {
+            for (User user : users) {
+                if (!lockForSave(user)) continue;
+                locked.add(user);
+
+                if (user.shouldNotSave()) continue;
+                int sections = user.takeDirtySections();
+                if (sections == 0) {
+                    recordSave(user, 0);
+                    continue;
+                }
+                if (!plugin.configBoolean(Option.SAVE_BLANK_PROFILES) && user.isBlankProfile()) {
+                    saveBlankProfile(user, sections);
+                    continue;
+                }
+                dirty.put(user, sections);
+            }
+            if (dirty.isEmpty()) return;
 
-        saveModifierRows(connection, userId, rows);
+            try (Connection connection = pool.getConnection()) {
+                saveInTransaction(connection, dirty);
+                saved = true;
+                dirty.forEach(this::recordSave);
+            } catch (Exception e) {
+                plugin.logger().warn("Failed to save data of " + dirty.size() + " users", e);
+            }
+        } finally {
+            // Sections taken for a batch that wasn't written are saved again next time
+            if (!saved) {
+                dirty.forEach(User::restoreDirtySections);
+            }
+            locked.forEach(this::unlockAfterSave);
+        }
     }
 
-    private void saveLogsTable(Connection connection, User user) throws SQLException {
-        saveAntiAfkLogs(user.getSessionAntiAfkLogs(), connection, user);
+    private void saveBlankProfile(User user, int sections) {
+        // Deleting is rare enough to not be batched
+        try {
+            saveSections(user, sections);
+            recordSave(user, sections);
+        } catch (Exception e) {
+            user.restoreDirtySections(sections);
+            e.printStackTrace();
+        }
     }
 
-    private void saveKeyValueRows(Connection connection, int userId, List<KeyValueRow> rows) throws SQLException {
-        final String query = "INSERT INTO " + TABLE_PREFIX + "key_values (user_id, data_id, category_id, key_name, value) VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE value=?";
-        try (PreparedStatement ps = connection.prepareStatement(query)) {
-            for (KeyValueRow row : rows) {
-                ps.setInt(1, userId);
-                ps.setInt(2, row.dataId());
-                ps.setString(3, row.categoryId());
-                ps.setString(4, row.keyName());
-                ps.setString(5, row.value());
-                ps.setString(6, row.value());
-                ps.addBatch();
-            }
-            ps.executeBatch();
+    private void saveInTransaction(Connection connection, Map<User, Integer> dirty) throws SQLException {
+        connection.setAutoCommit(false); // Start transaction
+        try {
+            userSaver.save(connection, dirty);
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            // The cached ids might be stale if rows were deleted externally
+            dirty.keySet().forEach(user -> userSaver.invalidateUserId(user.getUuid()));
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
         }
     }
 
     private void saveModifierRows(Connection connection, int userId, List<ModifierRow> rows) throws SQLException {
-        String sql = """
-                INSERT INTO auraskills_modifiers (
-                    user_id,
-                    modifier_type,
-                    type_id,
-                    modifier_name,
-                    modifier_value,
-                    modifier_operation,
-                    expiration_time,
-                    remaining_duration,
-                    metadata
-                ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
-                ON DUPLICATE KEY UPDATE
-                    modifier_value = VALUES(modifier_value),
-                    expiration_time = VALUES(expiration_time),
-                    remaining_duration = VALUES(remaining_duration),
-                    metadata = VALUES(metadata)
-                """;
-
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (PreparedStatement ps = connection.prepareStatement(userSaver.getModifiersQuery())) {
             for (ModifierRow row : rows) {
-                ps.setInt(1, userId);
-                ps.setString(2, row.modifierType());
-                if (row.typeId() != null) {
-                    ps.setString(3, row.typeId());
-                } else {
-                    ps.setNull(3, Types.VARCHAR);
-                }
-                ps.setString(4, row.modifierName());
-                ps.setDouble(5, row.modifierValue());
-                ps.setByte(6, row.modifierOperation());
-                ps.setLong(7, row.expirationTime());
-                ps.setLong(8, row.remainingDuration());
-                if (row.metadata() != null) {
-                    ps.setString(9, row.metadata());
-                } else {
-                    ps.setNull(9, Types.LONGVARCHAR);
-                }
-
+                SqlUserSaver.setModifierRow(ps, userId, row);
                 ps.addBatch();
             }
-
             ps.executeBatch();
         }
     }
@@ -473,203 +433,70 @@ public class SqlStorageProvider extends StorageProvider {
         }
     }
 
-    private void deleteKeyValues(Connection connection, int userId) throws SQLException {
-        String query = "DELETE FROM " + TABLE_PREFIX + "key_values WHERE user_id=?";
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setInt(1, userId);
-            statement.executeUpdate();
-        }
-    }
-
-    private void deleteModifiers(Connection connection, int userId) throws SQLException {
-        String query = "DELETE FROM " + TABLE_PREFIX + "modifiers WHERE user_id=?";
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setInt(1, userId);
-            statement.executeUpdate();
-        }
-    }
-
-    private List<ModifierRow> getModifierRows(Map<String, AuraSkillsModifier<?>> modifiers) {
-        List<ModifierRow> rows = new ArrayList<>();
-        if (modifiers.isEmpty()) {
-            return rows;
-        }
-        for (var modifier : modifiers.values()) {
-            if (modifier.isNonPersistent()) {
-                continue;
-            }
-
-            String statId = modifier.type().getId().toString();
-            byte operationId = modifier.operation().getSqlId();
-            long expTime = modifier.getExpirationTime();
-            long remainingDuration = 0;
-            if (modifier.isTemporary() && modifier.isPauseOffline()) {
-                remainingDuration = modifier.getExpirationTime() - System.currentTimeMillis();
-            }
-            var row = new ModifierRow(
-                    modifier instanceof StatModifier ? MODIFIER_TYPE_STAT : MODIFIER_TYPE_TRAIT,
-                    statId,
-                    modifier.name(),
-                    modifier.value(),
-                    operationId,
-                    expTime,
-                    remainingDuration,
-                    null
-            );
-            rows.add(row);
-        }
-        return rows;
-    }
-
-    private List<KeyValueRow> getAbilityDataRows(Map<AbstractAbility, AbilityData> abilityDataMap, Map<ManaAbility, ManaAbilityData> manaAbilityDataMap) {
-        List<KeyValueRow> rows = new ArrayList<>();
-        if (abilityDataMap.isEmpty()) {
-            return rows;
-        }
-        for (AbilityData abilityData : abilityDataMap.values()) {
-            String categoryId = abilityData.getAbility().getId().toString();
-            for (Map.Entry<String, Object> dataEntry : abilityData.getDataMap().entrySet()) {
-                var row = new KeyValueRow(ABILITY_DATA_ID, categoryId, dataEntry.getKey(), String.valueOf(dataEntry.getValue()));
-                rows.add(row);
-            }
-        }
-        for (ManaAbilityData data : manaAbilityDataMap.values()) {
-            if (data.getCooldown() <= 0) continue;
-
-            String categoryId = data.getManaAbility().getId().toString();
-            var row = new KeyValueRow(ABILITY_DATA_ID, categoryId, "cooldown", String.valueOf(data.getCooldown()));
-            rows.add(row);
-        }
-        return rows;
-    }
-
-    private List<KeyValueRow> getUnclaimedItemsRow(List<KeyIntPair> unclaimedItems) {
-        List<KeyValueRow> rows = new ArrayList<>();
-        if (unclaimedItems.isEmpty()) {
-            return rows;
-        }
-        for (KeyIntPair unclaimedItem : unclaimedItems) {
-            var row = new KeyValueRow(UNCLAIMED_ITEMS_ID, null, unclaimedItem.getKey(), String.valueOf(unclaimedItem.getValue()));
-            rows.add(row);
-        }
-        return rows;
-    }
-
-    private List<KeyValueRow> getActionBarRow(User user) {
-        List<KeyValueRow> rows = new ArrayList<>();
-        boolean shouldSave = false;
-        // Only save if one of the action bars is disabled
-        for (ActionBarType type : ActionBarType.values()) {
-            if (!user.isActionBarEnabled(type)) {
-                shouldSave = true;
-            }
-        }
-        if (!shouldSave) {
-            return rows;
-        }
-
-        ActionBarType type = ActionBarType.IDLE;
-        String keyName = type.toString().toLowerCase(Locale.ROOT);
-        String value = String.valueOf(user.isActionBarEnabled(type));
-
-        var row = new KeyValueRow(ACTION_BAR_ID, null, keyName, value);
-        rows.add(row);
-
-        return rows;
-    }
-
-    private List<KeyValueRow> getJobsRow(User user, Set<Skill> jobs) {
-        List<KeyValueRow> rows = new ArrayList<>();
-        if (jobs.isEmpty()) {
-            return rows;
-        }
-
-        String jobCommaList = String.join(",", jobs.stream().map(s -> s.getId().toString()).toList());
-        var jobsRow = new KeyValueRow(JOBS_ID, null, "jobs", jobCommaList);
-        rows.add(jobsRow);
-
-        // Save the timestamp of the last time user selected a job for cooldown feature
-        var timeRow = new KeyValueRow(JOBS_ID, null, JOBS_LAST_SELECT_TIME, String.valueOf(user.getLastJobSelectTime()));
-        rows.add(timeRow);
-
-        return rows;
-    }
-
-    private void saveAntiAfkLogs(List<AntiAfkLog> logs, Connection connection, User user) throws SQLException {
-        final String query = "INSERT IGNORE INTO " + TABLE_PREFIX + "logs (log_type, log_time, log_level, log_message, player_uuid, player_coords, world_name) VALUES (?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement ps = connection.prepareStatement(query)) {
-            for (AntiAfkLog log : logs) {
-                ps.setString(1, LOG_TYPE_ANTI_AFK);
-                ps.setTimestamp(2, new Timestamp(log.timestamp()));
-                ps.setInt(3, LOG_LEVEL_WARN);
-                ps.setString(4, log.message());
-                ps.setString(5, user.getUuid().toString());
-                ps.setString(6, log.coords().toString());
-                ps.setString(7, log.world());
-                ps.addBatch();
-            }
-            ps.executeBatch();
-        }
-    }
-
     @Override
     public void delete(UUID uuid) throws Exception {
         try (Connection connection = pool.getConnection()) {
             int userId = getUserId(connection, uuid);
 
             deleteSkillLevelsUsers(connection, userId);
+            userSaver.invalidateUserId(uuid);
         }
+        removeFromLeaderboards(uuid);
     }
 
     @Override
-    public List<UserState> loadStates(boolean ignoreOnline, boolean skipModifiers, long previousFetchTime) throws Exception {
+    public void forEachState(boolean ignoreOnline, boolean skipModifiers, long previousFetchTime, Consumer<UserState> consumer) throws Exception {
         boolean enableLastUpdatedFilter = previousFetchTime > 0 && plugin.configBoolean(Option.SQL_OPTIMIZE_LEADERBOARD_UPDATING);
-        String query = getLoadStatesQuery(enableLastUpdatedFilter);
-
-        List<UserState> states = new ArrayList<>();
-
-        Map<String, Skill> skillCache = plugin.getSkillRegistry()
-                .getValues()
-                .stream()
-                .collect(Collectors.toMap(s -> s.getId().toString(), s -> s));
-
-        try (Connection connection = pool.getConnection(); PreparedStatement statement = connection.prepareStatement(query)) {
+        SkillArrays.Index skillIndex = new SkillArrays.Index(plugin.getSkillRegistry().getValues());
+
+        // Modifiers are read by a second cursor on its own connection since not every driver
+        // can keep two cursors open on one connection
+        try (Connection connection = pool.getConnection();
+             PreparedStatement statement = prepareCursor(connection, getLoadStatesQuery(enableLastUpdatedFilter));
+             Connection modifierConnection = skipModifiers ? null : pool.getConnection();
+             PreparedStatement modifierStatement = skipModifiers ? null : prepareCursor(modifierConnection, getLoadStateModifiersQuery(enableLastUpdatedFilter))) {
             if (enableLastUpdatedFilter) {
                 statement.setTimestamp(1, new Timestamp(previousFetchTime));
+                if (modifierStatement != null) {
+                    modifierStatement.setTimestamp(1, new Timestamp(previousFetchTime));
+                }
             }
-            try (ResultSet rs = statement.executeQuery()) {
+            try (ResultSet rs = statement.executeQuery();
+                 ResultSet modifierRs = modifierStatement != null ? modifierStatement.executeQuery() : null) {
+                ModifierCursor modifiers = modifierRs != null ? new ModifierCursor(modifierRs) : null;
                 int currentId = -1;
                 UUID uuid = null;
                 double mana = 0;
-
-                Map<Skill, Integer> lvl = new ConcurrentHashMap<>();
-                Map<Skill, Double> xp = new ConcurrentHashMap<>();
+                SkillArrays skills = null;
 
                 while (rs.next()) {
                     int userId = rs.getInt(1);
 
                     if (userId != currentId) { // Flush previous user
-                        checkAddUserState(ignoreOnline, skipModifiers, states, connection, currentId, uuid, mana, lvl, xp);
+                        acceptState(ignoreOnline, modifiers, consumer, currentId, uuid, mana, skills);
 
                         // Start new user
                         currentId = userId;
                         uuid = UUID.fromString(rs.getString(2));
                         mana = rs.getDouble(3);
-                        lvl = new ConcurrentHashMap<>();
-                        xp = new ConcurrentHashMap<>();
+                        skills = new SkillArrays(skillIndex);
                     }
 
-                    Skill skill = skillCache.get(rs.getString(4));
-                    if (skill != null) {
-                        lvl.put(skill, rs.getInt(5));
-                        xp.put(skill, rs.getDouble(6));
+                    int index = skillIndex.indexOf(rs.getString(4));
+                    if (index >= 0) {
+                        skills.set(index, rs.getInt(5), rs.getDouble(6));
                     }
                 }
 
-                checkAddUserState(ignoreOnline, skipModifiers, states, connection, currentId, uuid, mana, lvl, xp);
+                acceptState(ignoreOnline, modifiers, consumer, currentId, uuid, mana, skills);
             }
         }
-        return states;
+    }
+
+    private PreparedStatement prepareCursor(Connection connection, @Language("SQL") String query) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        statement.setFetchSize(STATE_FETCH_SIZE);
+        return statement;
     }
 
     @NotNull
@@ -695,22 +522,97 @@ public class SqlStorageProvider extends StorageProvider {
         return query;
     }
 
-    private void checkAddUserState(boolean ignoreOnline, boolean skipModifiers, List<UserState> states, Connection connection, int currentId, UUID uuid, double mana, Map<Skill, Integer> lvl, Map<Skill, Double> xp) throws SQLException {
-        if (currentId != -1) {
-            boolean online = userManager.hasUser(uuid);
-            if (!ignoreOnline || !online) {
-                Map<String, StatModifier> statMods;
-                Map<String, TraitModifier> traitMods;
-                if (!skipModifiers) {
-                    statMods = loadStatModifiers(connection, uuid, currentId);
-                    traitMods = loadTraitModifiers(connection, uuid, currentId);
-                } else {
-                    statMods = Collections.emptyMap();
-                    traitMods = Collections.emptyMap();
+    @NotNull
+    @Language("SQL")
+    private String getLoadStateModifiersQuery(boolean enableLastUpdatedFilter) {
+        @Language("SQL") String query;
+        if (enableLastUpdatedFilter) {
+            query = """
+                    SELECT m.user_id, modifier_type, type_id, modifier_name, modifier_value, modifier_operation, expiration_time, remaining_duration
+                    FROM auraskills_modifiers m
+                    JOIN auraskills_users u USING (user_id)
+                    WHERE last_updated > ?
+                    ORDER BY m.user_id
+                    """;
+        } else {
+            query = """
+                    SELECT user_id, modifier_type, type_id, modifier_name, modifier_value, modifier_operation, expiration_time, remaining_duration
+                    FROM auraskills_modifiers
+                    ORDER BY user_id
+                    """;
+        }
+        return query;
+    }
+
+    private void acceptState(boolean ignoreOnline, @Nullable ModifierCursor modifiers, Consumer<UserState> consumer, int userId, UUID uuid, double mana, SkillArrays skills) throws SQLException {
+        if (userId == -1) return;
+        if (ignoreOnline && userManager.hasUser(uuid)) return; // Rows of skipped users are passed over by the next read
+
+        Map<String, StatModifier> statMods = Collections.emptyMap();
+        Map<String, TraitModifier> traitMods = Collections.emptyMap();
+        if (modifiers != null) {
+            statMods = new ConcurrentHashMap<>();
+            traitMods = new ConcurrentHashMap<>();
+            modifiers.read(userId, uuid, statMods, traitMods);
+        }
+        consumer.accept(new UserState(uuid, skills.levels(), skills.xp(), statMods, traitMods, mana));
+    }
+
+    /**
+     * Reads the rows of the bulk modifiers query alongside the users cursor. Both are ordered by
+     * user_id, so the modifiers of each user are the next rows with a matching id.
+     */
+    private class ModifierCursor {
+
+        private final ResultSet resultSet;
+        private boolean hasRow;
+
+        ModifierCursor(ResultSet resultSet) throws SQLException {
+            this.resultSet = resultSet;
+            this.hasRow = resultSet.next();
+        }
+
+        void read(int userId, UUID uuid, Map<String, StatModifier> statMods, Map<String, TraitModifier> traitMods) throws SQLException {
+            // Skip modifiers of users that weren't accepted
+            while (hasRow && resultSet.getInt(1) < userId) {
+                hasRow = resultSet.next();
+            }
+            while (hasRow && resultSet.getInt(1) == userId) {
+                readRow(uuid, statMods, traitMods);
+                hasRow = resultSet.next();
+            }
+        }
+
+        private void readRow(UUID uuid, Map<String, StatModifier> statMods, Map<String, TraitModifier> traitMods) throws SQLException {
+            String modifierType = resultSet.getString("modifier_type");
+            String typeId = resultSet.getString("type_id");
+            if (typeId == null) return;
+
+            String modifierName = resultSet.getString("modifier_name");
+            double value = resultSet.getDouble("modifier_value");
+            Operation operation = Operation.fromSqlId(resultSet.getByte("modifier_operation"));
+
+            if (MODIFIER_TYPE_STAT.equals(modifierType)) {
+                Stat stat = plugin.getStatRegistry().getOrNull(NamespacedId.fromString(typeId));
+                if (stat == null) {
+                    plugin.logger().warn("Failed to load stat modifier for player " + uuid + " because " + typeId + " is not a registered stat");
+                    return;
                 }
-                states.add(new UserState(uuid, lvl, xp, statMods, traitMods, mana));
+                StatModifier modifier = new StatModifier(modifierName, stat, value, operation);
+                loadTemporary(resultSet, modifier);
+                statMods.put(modifierName, modifier);
+            } else if (MODIFIER_TYPE_TRAIT.equals(modifierType)) {
+                Trait trait = plugin.getTraitRegistry().getOrNull(NamespacedId.fromString(typeId));
+                if (trait == null) {
+                    plugin.logger().warn("Failed to load trait modifier for player " + uuid + " because " + typeId + " is not a registered trait");
+                    return;
+                }
+                TraitModifier modifier = new TraitModifier(modifierName, trait, value, operation);
+                loadTemporary(resultSet, modifier);
+                traitMods.put(modifierName, modifier);
             }
         }
+
     }
 
     @Override
@@ -0,0 +1,456 @@
+package dev.aurelium.auraskills.common.storage.sql;
+
+import dev.aurelium.auraskills.api.ability.AbstractAbility;
+import dev.aurelium.auraskills.api.mana.ManaAbility;
+import dev.aurelium.auraskills.api.skill.Skill;
+import dev.aurelium.auraskills.api.stat.StatModifier;
+import dev.aurelium.auraskills.api.util.AuraSkillsModifier;
+import dev.aurelium.auraskills.common.ability.AbilityData;
+import dev.aurelium.auraskills.common.mana.ManaAbilityData;
+import dev.aurelium.auraskills.common.storage.sql.dialect.SqlDialect;
+import dev.aurelium.auraskills.common.ui.ActionBarType;
+import dev.aurelium.auraskills.common.user.AntiAfkLog;
+import dev.aurelium.auraskills.common.user.User;
+import dev.aurelium.auraskills.common.user.UserSection;
+import dev.aurelium.auraskills.common.util.data.KeyIntPair;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static dev.aurelium.auraskills.common.storage.sql.SqlStorageProvider.*;
+
+/**
+ * Writes the changed sections of any number of users inside the caller's transaction.
+ * Each table is written with one prepared statement shared by all users, with rows sent
+ * in JDBC batches, and user ids are cached so they are only queried once per player.
+ */
+public class SqlUserSaver {
+
+    private static final int BATCH_ROWS = 1000;
+
+    private static final String DELETE_KEY_VALUES_QUERY = "DELETE FROM " + TABLE_PREFIX + "key_values WHERE user_id=? AND data_id=?";
+    private static final String DELETE_MODIFIERS_QUERY = "DELETE FROM " + TABLE_PREFIX + "modifiers WHERE user_id=?";
+
+    private final String usersQuery;
+    private final String skillLevelsQuery;
+    private final String keyValuesQuery;
+    private final String modifiersQuery;
+    private final String logsQuery;
+
+    private final Map<UUID, Integer> userIds = new ConcurrentHashMap<>();
+
+    public SqlUserSaver(SqlDialect dialect) {
+        this.usersQuery = "INSERT INTO " + TABLE_PREFIX + "users (player_uuid, locale, mana) VALUES (?, ?, ?) " +
+                dialect.onConflictUpdate("player_uuid", "locale", "mana") + ", last_updated = " + dialect.currentTimestamp();
+        this.skillLevelsQuery = "INSERT INTO " + TABLE_PREFIX + "skill_levels (user_id, skill_name, skill_level, skill_xp) VALUES (?, ?, ?, ?) " +
+                dialect.onConflictUpdate("user_id, skill_name", "skill_level", "skill_xp");
+        this.keyValuesQuery = "INSERT INTO " + TABLE_PREFIX + "key_values (user_id, data_id, category_id, key_name, value) VALUES (?, ?, ?, ?, ?) " +
+                dialect.onConflictUpdate("user_id, data_id, category_id, key_name", "value");
+        this.modifiersQuery = "INSERT INTO " + TABLE_PREFIX + "modifiers (user_id, modifier_type, type_id, modifier_name, modifier_value, " +
+                "modifier_operation, expiration_time, remaining_duration, metadata) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+                dialect.onConflictUpdate("user_id, modifier_type, modifier_name", "modifier_value", "expiration_time", "remaining_duration", "metadata");
+        this.logsQuery = dialect.insertIgnoreInto() + " " + TABLE_PREFIX + "logs (log_type, log_time, log_level, log_message, player_uuid, player_coords, world_name) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    }
+
+    /**
+     * Saves the given sections of each user. Users that don't have a row in the users
+     * table yet have every section saved.
+     *
+     * @param connection the connection, which should not be in auto-commit mode
+     * @param dirty the bitmask of {@link UserSection} values to save for each user
+     * @throws SQLException if a statement fails, in which case the transaction should be rolled back
+     */
+    public void save(Connection connection, Map<User, Integer> dirty) throws SQLException {
+        loadUserIds(connection, dirty.keySet());
+
+        Map<User, Integer> saves = new LinkedHashMap<>();
+        List<User> newUsers = new ArrayList<>();
+        for (Map.Entry<User, Integer> entry : dirty.entrySet()) {
+            User user = entry.getKey();
+            if (userIds.containsKey(user.getUuid())) {
+                saves.put(user, entry.getValue());
+            } else { // First save or the profile was deleted while blank
+                saves.put(user, UserSection.ALL);
+                newUsers.add(user);
+            }
+        }
+
+        saveUsers(connection, saves);
+        if (!newUsers.isEmpty()) {
+            loadUserIds(connection, newUsers);
+        }
+        saveSkillLevels(connection, saves);
+        saveKeyValues(connection, saves);
+        saveModifiers(connection, saves);
+        saveLogs(connection, saves);
+    }
+
+    String getModifiersQuery() {
+        return modifiersQuery;
+    }
+
+    public void invalidateUserId(UUID uuid) {
+        userIds.remove(uuid);
+    }
+
+    /**
+     * Removes cached user ids of players that aren't in the given set.
+     *
+     * @param uuids the players to keep cached
+     */
+    public void retainUserIds(Set<UUID> uuids) {
+        userIds.keySet().retainAll(uuids);
+    }
+
+    private void loadUserIds(Connection connection, Collection<User> users) throws SQLException {
+        List<String> missing = new ArrayList<>();
+        for (User user : users) {
+            if (!userIds.containsKey(user.getUuid())) {
+                missing.add(user.getUuid().toString());
+            }
+        }
+        for (int start = 0; start < missing.size(); start += BATCH_ROWS) {
+            List<String> chunk = missing.subList(start, Math.min(start + BATCH_ROWS, missing.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            String query = "SELECT user_id, player_uuid FROM " + TABLE_PREFIX + "users WHERE player_uuid IN (" + placeholders + ")";
+            try (PreparedStatement statement = connection.prepareStatement(query)) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    statement.setString(i + 1, chunk.get(i));
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        userIds.put(UUID.fromString(resultSet.getString("player_uuid")), resultSet.getInt("user_id"));
+                    }
+                }
+            }
+        }
+    }
+
+    private int getUserId(User user) throws SQLException {
+        Integer userId = userIds.get(user.getUuid());
+        if (userId == null) {
+            throw new SQLException("Failed to get user_id for player " + user.getUuid());
+        }
+        return userId;
+    }
+
+    private void saveUsers(Connection connection, Map<User, Integer> saves) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(usersQuery)) {
+            Batch batch = new Batch(ps);
+            for (Map.Entry<User, Integer> entry : saves.entrySet()) {
+                int sections = entry.getValue();
+                // The users row is also written when skills change to update last_updated for leaderboards
+                if (!UserSection.MANA.isIn(sections) && !UserSection.SKILLS.isIn(sections)) continue;
+
+                User user = entry.getKey();
+                ps.setString(1, user.getUuid().toString());
+                if (user.hasLocale()) {
+                    ps.setString(2, user.getLocale().toLanguageTag());
+                } else {
+                    ps.setNull(2, Types.VARCHAR);
+                }
+                ps.setDouble(3, user.getMana());
+                batch.add();
+            }
+            batch.flush();
+        }
+    }
+
+    private void saveSkillLevels(Connection connection, Map<User, Integer> saves) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(skillLevelsQuery)) {
+            Batch batch = new Batch(ps);
+            for (Map.Entry<User, Integer> entry : saves.entrySet()) {
+                if (!UserSection.SKILLS.isIn(entry.getValue())) continue;
+
+                User user = entry.getKey();
+                ps.setInt(1, getUserId(user));
+                for (Map.Entry<Skill, Integer> skillEntry : user.getSkillLevelMap().entrySet()) {
+                    ps.setString(2, skillEntry.getKey().getId().toString());
+                    ps.setInt(3, skillEntry.getValue());
+                    ps.setDouble(4, user.getSkillXp(skillEntry.getKey()));
+                    batch.add();
+                }
+            }
+            batch.flush();
+        }
+    }
+
+    private void saveKeyValues(Connection connection, Map<User, Integer> saves) throws SQLException {
+        // Delete the existing key values of changed sections before inserting the new ones
+        try (PreparedStatement ps = connection.prepareStatement(DELETE_KEY_VALUES_QUERY)) {
+            Batch batch = new Batch(ps);
+            for (Map.Entry<User, Integer> entry : saves.entrySet()) {
+                int sections = entry.getValue();
+                ps.setInt(1, getUserId(entry.getKey()));
+                if (UserSection.ABILITY_DATA.isIn(sections)) {
+                    ps.setInt(2, ABILITY_DATA_ID);
+                    batch.add();
+                }
+                if (UserSection.UNCLAIMED_ITEMS.isIn(sections)) {
+                    ps.setInt(2, UNCLAIMED_ITEMS_ID);
+                    batch.add();
+                }
+                if (UserSection.ACTION_BAR.isIn(sections)) {
+                    ps.setInt(2, ACTION_BAR_ID);
+                    batch.add();
+                }
+                if (UserSection.JOBS.isIn(sections)) {
+                    ps.setInt(2, JOBS_ID);
+                    batch.add();
+                }
+            }
+            batch.flush();
+        }
+        try (PreparedStatement ps = connection.prepareStatement(keyValuesQuery)) {
+            Batch batch = new Batch(ps);
+            for (Map.Entry<User, Integer> entry : saves.entrySet()) {
+                User user = entry.getKey();
+                int sections = entry.getValue();
+                List<KeyValueRow> rows = new ArrayList<>();
+                if (UserSection.ABILITY_DATA.isIn(sections)) {
+                    rows.addAll(getAbilityDataRows(user.getAbilityDataMap(), user.getManaAbilityDataMap()));
+                }
+                if (UserSection.UNCLAIMED_ITEMS.isIn(sections)) {
+                    rows.addAll(getUnclaimedItemsRow(user.getUnclaimedItems()));
+                }
+                if (UserSection.ACTION_BAR.isIn(sections)) {
+                    rows.addAll(getActionBarRow(user));
+                }
+                if (UserSection.JOBS.isIn(sections)) {
+                    rows.addAll(getJobsRow(user, user.getJobs()));
+                }
+                if (rows.isEmpty()) continue;
+
+                ps.setInt(1, getUserId(user));
+                for (KeyValueRow row : rows) {
+                    ps.setInt(2, row.dataId());
+                    ps.setString(3, row.categoryId());
+                    ps.setString(4, row.keyName());
+                    ps.setString(5, row.value());
+                    batch.add();
+                }
+            }
+            batch.flush();
+        }
+    }
+
+    private void saveModifiers(Connection connection, Map<User, Integer> saves) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(DELETE_MODIFIERS_QUERY)) {
+            Batch batch = new Batch(ps);
+            for (Map.Entry<User, Integer> entry : saves.entrySet()) {
+                if (!UserSection.MODIFIERS.isIn(entry.getValue())) continue;
+
+                ps.setInt(1, getUserId(entry.getKey()));
+                batch.add();
+            }
+            batch.flush();
+        }
+        try (PreparedStatement ps = connection.prepareStatement(modifiersQuery)) {
+            Batch batch = new Batch(ps);
+            for (Map.Entry<User, Integer> entry : saves.entrySet()) {
+                if (!UserSection.MODIFIERS.isIn(entry.getValue())) continue;
+
+                User user = entry.getKey();
+                Map<String, AuraSkillsModifier<?>> modifiers = new LinkedHashMap<>();
+                modifiers.putAll(user.getStatModifiers());
+                modifiers.putAll(user.getTraitModifiers());
+
+                int userId = getUserId(user);
+                for (ModifierRow row : getModifierRows(modifiers)) {
+                    setModifierRow(ps, userId, row);
+                    batch.add();
+                }
+            }
+            batch.flush();
+        }
+    }
+
+    private void saveLogs(Connection connection, Map<User, Integer> saves) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(logsQuery)) {
+            Batch batch = new Batch(ps);
+            for (Map.Entry<User, Integer> entry : saves.entrySet()) {
+                if (!UserSection.LOGS.isIn(entry.getValue())) continue;
+
+                User user = entry.getKey();
+                for (AntiAfkLog log : user.getSessionAntiAfkLogs()) {
+                    ps.setString(1, LOG_TYPE_ANTI_AFK);
+                    ps.setTimestamp(2, new Timestamp(log.timestamp()));
+                    ps.setInt(3, LOG_LEVEL_WARN);
+                    ps.setString(4, log.message());
+                    ps.setString(5, user.getUuid().toString());
+                    ps.setString(6, log.coords().toString());
+                    ps.setString(7, log.world());
+                    batch.add();
+                }
+            }
+            batch.flush();
+        }
+    }
+
+    static void setModifierRow(PreparedStatement ps, int userId, ModifierRow row) throws SQLException {
+        ps.setInt(1, userId);
+        ps.setString(2, row.modifierType());
+        if (row.typeId() != null) {
+            ps.setString(3, row.typeId());
+        } else {
+            ps.setNull(3, Types.VARCHAR);
+        }
+        ps.setString(4, row.modifierName());
+        ps.setDouble(5, row.modifierValue());
+        ps.setByte(6, row.modifierOperation());
+        ps.setLong(7, row.expirationTime());
+        ps.setLong(8, row.remainingDuration());
+        if (row.metadata() != null) {
+            ps.setString(9, row.metadata());
+        } else {
+            ps.setNull(9, Types.LONGVARCHAR);
+        }
+    }
+
+    static List<ModifierRow> getModifierRows(Map<String, AuraSkillsModifier<?>> modifiers) {
+        List<ModifierRow> rows = new ArrayList<>();
+        if (modifiers.isEmpty()) {
+            return rows;
+        }
+        for (var modifier : modifiers.values()) {
+            if (modifier.isNonPersistent()) {
+                continue;
+            }
+
+            String statId = modifier.type().getId().toString();
+            byte operationId = modifier.operation().getSqlId();
+            long expTime = modifier.getExpirationTime();
+            long remainingDuration = 0;
+            if (modifier.isTemporary() && modifier.isPauseOffline()) {
+                remainingDuration = modifier.getExpirationTime() - System.currentTimeMillis();
+            }
+            var row = new ModifierRow(
+                    modifier instanceof StatModifier ? MODIFIER_TYPE_STAT : MODIFIER_TYPE_TRAIT,
+                    statId,
+                    modifier.name(),
+                    modifier.value(),
+                    operationId,
+                    expTime,
+                    remainingDuration,
+                    null
+            );
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private List<KeyValueRow> getAbilityDataRows(Map<AbstractAbility, AbilityData> abilityDataMap, Map<ManaAbility, ManaAbilityData> manaAbilityDataMap) {
+        List<KeyValueRow> rows = new ArrayList<>();
+        for (AbilityData abilityData : abilityDataMap.values()) {
+            String categoryId = abilityData.getAbility().getId().toString();
+            for (Map.Entry<String, Object> dataEntry : abilityData.getDataMap().entrySet()) {
+                var row = new KeyValueRow(ABILITY_DATA_ID, categoryId, dataEntry.getKey(), String.valueOf(dataEntry.getValue()));
+                rows.add(row);
+            }
+        }
+        for (ManaAbilityData data : manaAbilityDataMap.values()) {
+            if (data.getCooldown() <= 0) continue;
+
+            String categoryId = data.getManaAbility().getId().toString();
+            var row = new KeyValueRow(ABILITY_DATA_ID, categoryId, "cooldown", String.valueOf(data.getCooldown()));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private List<KeyValueRow> getUnclaimedItemsRow(List<KeyIntPair> unclaimedItems) {
+        List<KeyValueRow> rows = new ArrayList<>();
+        if (unclaimedItems.isEmpty()) {
+            return rows;
+        }
+        for (KeyIntPair unclaimedItem : unclaimedItems) {
+            var row = new KeyValueRow(UNCLAIMED_ITEMS_ID, null, unclaimedItem.getKey(), String.valueOf(unclaimedItem.getValue()));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private List<KeyValueRow> getActionBarRow(User user) {
+        List<KeyValueRow> rows = new ArrayList<>();
+        boolean shouldSave = false;
+        // Only save if one of the action bars is disabled
+        for (ActionBarType type : ActionBarType.values()) {
+            if (!user.isActionBarEnabled(type)) {
+                shouldSave = true;
+            }
+        }
+        if (!shouldSave) {
+            return rows;
+        }
+
+        ActionBarType type = ActionBarType.IDLE;
+        String keyName = type.toString().toLowerCase(Locale.ROOT);
+        String value = String.valueOf(user.isActionBarEnabled(type));
+
+        var row = new KeyValueRow(ACTION_BAR_ID, null, keyName, value);
+        rows.add(row);
+
+        return rows;
+    }
+
+    private List<KeyValueRow> getJobsRow(User user, Set<Skill> jobs) {
+        List<KeyValueRow> rows = new ArrayList<>();
+        if (jobs.isEmpty()) {
+            return rows;
+        }
+
+        String jobCommaList = String.join(",", jobs.stream().map(s -> s.getId().toString()).toList());
+        var jobsRow = new KeyValueRow(JOBS_ID, null, "jobs", jobCommaList);
+        rows.add(jobsRow);
+
+        // Save the timestamp of the last time user selected a job for cooldown feature
+        var timeRow = new KeyValueRow(JOBS_ID, null, JOBS_LAST_SELECT_TIME, String.valueOf(user.getLastJobSelectTime()));
+        rows.add(timeRow);
+
+        return rows;
+    }
+
+    /**
+     * Adds rows to a statement's batch and executes it every {@link #BATCH_ROWS} rows.
+     */
+    private static class Batch {
+
+        private final PreparedStatement statement;
+        private int pending;
+
+        Batch(PreparedStatement statement) {
+            this.statement = statement;
+        }
+
+        void add() throws SQLException {
+            statement.addBatch();
+            if (++pending >= BATCH_ROWS) {
+                flush();
+            }
+        }
+
+        void flush() throws SQLException {
+            if (pending > 0) {
+                statement.executeBatch();
+                pending = 0;
+            }
+        }
+
+    }
+
+}
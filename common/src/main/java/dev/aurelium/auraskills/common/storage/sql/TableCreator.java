@@ -1,6 +1,7 @@
 package dev.aurelium.auraskills.common.storage.sql;
 
 import dev.aurelium.auraskills.common.AuraSkillsPlugin;
+import dev.aurelium.auraskills.common.storage.sql.dialect.SqlDialect;
 import dev.aurelium.auraskills.common.storage.sql.pool.ConnectionPool;
 
 import java.sql.*;
@@ -10,11 +11,13 @@ public class TableCreator {
     private final AuraSkillsPlugin plugin;
     private final ConnectionPool pool;
     private final String tablePrefix;
+    private final SqlDialect dialect;
 
     public TableCreator(AuraSkillsPlugin plugin, ConnectionPool pool, String tablePrefix) {
         this.plugin = plugin;
         this.pool = pool;
         this.tablePrefix = tablePrefix;
+        this.dialect = pool.getDialect();
     }
 
     public void createTables() throws IllegalStateException {
@@ -24,6 +27,7 @@ public class TableCreator {
             createKeyValuesTable(connection);
             createLogsTable(connection);
             createModifiersTable(connection);
+            createSkillCoinsTable(connection);
         } catch (SQLException e) {
             throw new IllegalStateException("Failed to create SQL tables. Please report this!", e);
         }
@@ -36,12 +40,18 @@ public class TableCreator {
         if (tables.next()) {
             return;
         }
-        try (Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_UPDATABLE)) {
+        // Embedded databases don't run the migrations that add later columns, so they are created here
+        String lastUpdated = "";
+        if (dialect.isEmbedded()) {
+            lastUpdated = "last_updated " + dialect.timestampType() + " not null default " + dialect.currentTimestamp() + ", ";
+        }
+        try (Statement statement = connection.createStatement()) {
             statement.execute("create table " + tablePrefix + "users ( " +
-                    "user_id int auto_increment primary key, " +
+                    "user_id " + dialect.autoIncrementPrimaryKey("int") + ", " +
                     "player_uuid varchar(40) not null, " +
                     "locale varchar(10) null, " +
                     "mana double not null, " +
+                    lastUpdated +
                     "constraint UUID unique (player_uuid))");
             plugin.logger().info("Created table " + tablePrefix + "users");
         }
@@ -55,7 +65,7 @@ public class TableCreator {
             return;
         }
         // Create the table
-        try (Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_UPDATABLE)) {
+        try (Statement statement = connection.createStatement()) {
             statement.execute("create table " + tablePrefix + "skill_levels ( " +
                     "user_id int not null, " +
                     "skill_name varchar(40) not null, " +
@@ -77,7 +87,7 @@ public class TableCreator {
             return;
         }
         // Create the table
-        try (Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_UPDATABLE)) {
+        try (Statement statement = connection.createStatement()) {
             statement.execute("create table " + tablePrefix + "key_values (" +
                     "user_id int not null, " +
                     "data_id int not null, " +
@@ -99,9 +109,9 @@ public class TableCreator {
         if (tables.next()) {
             return;
         }
-        try (Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_UPDATABLE)) {
+        try (Statement statement = connection.createStatement()) {
             statement.execute("create table " + tablePrefix + "logs (" +
-                    "log_id        bigint auto_increment primary key," +
+                    "log_id        " + dialect.autoIncrementPrimaryKey("bigint") + "," +
                     "log_type      varchar(50)  not null," +
                     "log_time      timestamp    not null," +
                     "log_level     int          null," +
@@ -115,6 +125,23 @@ public class TableCreator {
         }
     }
 
+    public void createSkillCoinsTable(Connection connection) throws SQLException {
+        DatabaseMetaData dbm = connection.getMetaData();
+        ResultSet tables = dbm.getTables(pool.getDatabaseName(), null, tablePrefix + "skillcoins", null);
+        if (tables.next()) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table if not exists " + tablePrefix + "skillcoins (" +
+                    "player_uuid varchar(40) not null, " +
+                    "currency varchar(16) not null, " +
+                    "balance double not null, " +
+                    "primary key (player_uuid, currency)" +
+                    ")");
+            plugin.logger().info("Created table " + tablePrefix + "skillcoins");
+        }
+    }
+
     private void createModifiersTable(Connection connection) throws SQLException {
         DatabaseMetaData dbm = connection.getMetaData();
         ResultSet tables = dbm.getTables(pool.getDatabaseName(), null, tablePrefix + "modifiers", null);
@@ -122,12 +149,11 @@ public class TableCreator {
             return;
         }
 
-        try (Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_UPDATABLE)) {
+        try (Statement statement = connection.createStatement()) {
             statement.execute("""
                     create table %smodifiers
                     (
-                        modifier_id        int auto_increment
-                            primary key,
+                        modifier_id        %s,
                         user_id            int          not null,
                         modifier_type      varchar(128) not null,
                         type_id            varchar(512) null,
@@ -138,11 +164,12 @@ public class TableCreator {
                         remaining_duration bigint       null,
                         metadata           text         null,
                         constraint modifiers_uk
-                            unique (user_id, modifier_type(64), modifier_name(128)),
+                            unique (user_id, %s, %s),
                         constraint modifiers_users_user_id_fk
                             foreign key (user_id) references %susers (user_id)
                     )
-                    """.formatted(tablePrefix, tablePrefix));
+                    """.formatted(tablePrefix, dialect.autoIncrementPrimaryKey("int"), dialect.keyPart("modifier_type", 64),
+                    dialect.keyPart("modifier_name", 128), tablePrefix));
             plugin.logger().info("Created table " + tablePrefix + "modifiers");
         }
     }
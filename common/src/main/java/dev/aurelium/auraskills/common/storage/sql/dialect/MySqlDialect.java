@@ -0,0 +1,52 @@
+package dev.aurelium.auraskills.common.storage.sql.dialect;
+
+import java.util.StringJoiner;
+
+public class MySqlDialect implements SqlDialect {
+
+    @Override
+    public boolean isEmbedded() {
+        return false;
+    }
+
+    @Override
+    public String onConflictUpdate(String keyColumns, String... updateColumns) {
+        // VALUES() lets the driver rewrite batches into multi-row inserts
+        StringJoiner joiner = new StringJoiner(", ", "ON DUPLICATE KEY UPDATE ", "");
+        for (String column : updateColumns) {
+            joiner.add(column + " = VALUES(" + column + ")");
+        }
+        return joiner.toString();
+    }
+
+    @Override
+    public String insertIgnoreInto() {
+        return "INSERT IGNORE INTO";
+    }
+
+    @Override
+    public String jsonArrayAgg(String... keyValues) {
+        return "JSON_ARRAYAGG(JSON_OBJECT(" + String.join(", ", keyValues) + "))";
+    }
+
+    @Override
+    public String currentTimestamp() {
+        return "CURRENT_TIMESTAMP";
+    }
+
+    @Override
+    public String timestampType() {
+        return "timestamp";
+    }
+
+    @Override
+    public String autoIncrementPrimaryKey(String type) {
+        return type + " auto_increment primary key";
+    }
+
+    @Override
+    public String keyPart(String column, int length) {
+        return column + "(" + length + ")";
+    }
+
+}
@@ -0,0 +1,80 @@
+package dev.aurelium.auraskills.common.storage.sql.dialect;
+
+/**
+ * The parts of SQL that differ between the databases supported by SQL storage.
+ * Queries are written in the subset shared by every database and ask the dialect
+ * for the rest.
+ */
+public interface SqlDialect {
+
+    SqlDialect MYSQL = new MySqlDialect();
+    SqlDialect SQLITE = new SqliteDialect();
+
+    /**
+     * Gets whether the database is a file managed by the plugin instead of a separate server.
+     * Embedded databases are created with the current schema, so migrations that only
+     * upgrade tables created by older versions are skipped.
+     *
+     * @return true if the database is embedded
+     */
+    boolean isEmbedded();
+
+    /**
+     * Gets the clause appended to an INSERT statement that updates columns of an existing
+     * row with the inserted values if the insert conflicts with a unique key.
+     *
+     * @param keyColumns the comma separated columns of the unique key
+     * @param updateColumns the columns to update
+     * @return the clause
+     */
+    String onConflictUpdate(String keyColumns, String... updateColumns);
+
+    /**
+     * Gets the start of an INSERT statement that skips rows conflicting with a unique key,
+     * up to and including INTO.
+     *
+     * @return the statement start
+     */
+    String insertIgnoreInto();
+
+    /**
+     * Gets an aggregate expression that builds a JSON array with one object per row.
+     *
+     * @param keyValues alternating object keys as string literals and value expressions
+     * @return the expression
+     */
+    String jsonArrayAgg(String... keyValues);
+
+    /**
+     * Gets an expression for the current time in the format of columns with {@link #timestampType()}.
+     *
+     * @return the expression, which can be used as a column default
+     */
+    String currentTimestamp();
+
+    /**
+     * Gets the column type for timestamps that are compared with JDBC timestamp parameters.
+     *
+     * @return the column type
+     */
+    String timestampType();
+
+    /**
+     * Gets the definition of an auto incrementing primary key column after the column name.
+     *
+     * @param type the integer type of the column
+     * @return the column definition
+     */
+    String autoIncrementPrimaryKey(String type);
+
+    /**
+     * Gets a column reference for a unique key definition, limited to a prefix of the column
+     * for databases that limit the length of keys.
+     *
+     * @param column the column name
+     * @param length the prefix length
+     * @return the key part
+     */
+    String keyPart(String column, int length);
+
+}
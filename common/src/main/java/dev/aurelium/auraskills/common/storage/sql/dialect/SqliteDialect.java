@@ -0,0 +1,53 @@
+package dev.aurelium.auraskills.common.storage.sql.dialect;
+
+import java.util.StringJoiner;
+
+public class SqliteDialect implements SqlDialect {
+
+    @Override
+    public boolean isEmbedded() {
+        return true;
+    }
+
+    @Override
+    public String onConflictUpdate(String keyColumns, String... updateColumns) {
+        StringJoiner joiner = new StringJoiner(", ", "ON CONFLICT (" + keyColumns + ") DO UPDATE SET ", "");
+        for (String column : updateColumns) {
+            joiner.add(column + " = excluded." + column);
+        }
+        return joiner.toString();
+    }
+
+    @Override
+    public String insertIgnoreInto() {
+        return "INSERT OR IGNORE INTO";
+    }
+
+    @Override
+    public String jsonArrayAgg(String... keyValues) {
+        return "json_group_array(json_object(" + String.join(", ", keyValues) + "))";
+    }
+
+    @Override
+    public String currentTimestamp() {
+        // The driver binds timestamps as epoch milliseconds, so store them the same way to compare them
+        return "(CAST(ROUND((julianday('now') - 2440587.5) * 86400000) AS INTEGER))";
+    }
+
+    @Override
+    public String timestampType() {
+        return "integer";
+    }
+
+    @Override
+    public String autoIncrementPrimaryKey(String type) {
+        // Only the exact type INTEGER creates an alias of the rowid
+        return "integer primary key autoincrement";
+    }
+
+    @Override
+    public String keyPart(String column, int length) {
+        return column;
+    }
+
+}
@@ -0,0 +1,12 @@
+package dev.aurelium.auraskills.common.storage.sql.migration;
+
+import java.sql.Connection;
+
+/**
+ * A migration run from code instead of a .sql file, used when data outside the database is involved.
+ */
+public interface JavaMigration {
+
+    void migrate(Connection connection) throws Exception;
+
+}
@@ -1,21 +1,61 @@
 package dev.aurelium.auraskills.common.storage.sql.migration;
 
+import dev.aurelium.auraskills.common.AuraSkillsPlugin;
+import dev.aurelium.auraskills.common.storage.sql.dialect.SqlDialect;
+import org.jetbrains.annotations.Nullable;
+
 import java.util.Locale;
+import java.util.function.BiFunction;
 
 public enum Migrations {
 
-    V1__MODIFIERS_TABLE,
-    V2__LAST_UPDATED_COL;
+    V1__MODIFIERS_TABLE(Scope.SERVER),
+    V2__LAST_UPDATED_COL(Scope.SERVER),
+    V3__USERS_YAML_IMPORT(Scope.EMBEDDED, UsersYamlImport::new);
 
     // Excluding .sql
     private final String fileName;
+    private final Scope scope;
+    // Migrations that can't be expressed in a .sql file
+    @Nullable
+    private final BiFunction<AuraSkillsPlugin, SqlDialect, JavaMigration> javaMigration;
+
+    Migrations(Scope scope) {
+        this(scope, null);
+    }
 
-    Migrations() {
+    Migrations(Scope scope, @Nullable BiFunction<AuraSkillsPlugin, SqlDialect, JavaMigration> javaMigration) {
         this.fileName = this.name().toLowerCase(Locale.ROOT);
+        this.scope = scope;
+        this.javaMigration = javaMigration;
     }
 
     public String getFileName() {
         return fileName;
     }
 
+    /**
+     * Gets whether the migration should run on a database with the given dialect.
+     * Migrations that don't apply are still recorded so they are never run later.
+     *
+     * @param dialect the dialect of the database
+     * @return true if the migration applies
+     */
+    public boolean appliesTo(SqlDialect dialect) {
+        return switch (scope) {
+            case SERVER -> !dialect.isEmbedded();
+            case EMBEDDED -> dialect.isEmbedded();
+        };
+    }
+
+    @Nullable
+    public JavaMigration createJavaMigration(AuraSkillsPlugin plugin, SqlDialect dialect) {
+        return javaMigration != null ? javaMigration.apply(plugin, dialect) : null;
+    }
+
+    private enum Scope {
+        SERVER, // Upgrades tables created by older versions, embedded databases are created up to date
+        EMBEDDED
+    }
+
 }
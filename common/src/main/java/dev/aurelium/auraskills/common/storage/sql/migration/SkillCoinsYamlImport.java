@@ -0,0 +1,79 @@
+package dev.aurelium.auraskills.common.storage.sql.migration;
+
+import dev.aurelium.auraskills.common.AuraSkillsPlugin;
+import dev.aurelium.auraskills.common.skillcoins.CurrencyType;
+import dev.aurelium.auraskills.common.skillcoins.SqlSkillCoinsStorage;
+import dev.aurelium.auraskills.common.storage.sql.dialect.SqlDialect;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.yaml.YamlConfigurationLoader;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Imports the per-player SkillCoins YAML files of this server into the SkillCoins SQL table.
+ * Run by {@link SqlSkillCoinsStorage} once per server rather than once per database.
+ */
+public class SkillCoinsYamlImport implements JavaMigration {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final AuraSkillsPlugin plugin;
+    private final SqlDialect dialect;
+
+    public SkillCoinsYamlImport(AuraSkillsPlugin plugin, SqlDialect dialect) {
+        this.plugin = plugin;
+        this.dialect = dialect;
+    }
+
+    @Override
+    public void migrate(Connection connection) throws SQLException {
+        File[] files = new File(plugin.getPluginFolder(), "skillcoins").listFiles((dir, name) -> name.endsWith(".yml"));
+        if (files == null || files.length == 0) {
+            return;
+        }
+        // Balances already in the table were saved by another server after it imported its own files
+        String query = dialect.insertIgnoreInto() + " " + SqlSkillCoinsStorage.TABLE_NAME + " (player_uuid, currency, balance) VALUES (?, ?, ?)";
+        int imported = 0;
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            int count = 0;
+            for (File file : files) {
+                UUID uuid;
+                try {
+                    uuid = UUID.fromString(file.getName().substring(0, file.getName().length() - 4));
+                } catch (IllegalArgumentException e) {
+                    continue;
+                }
+                ConfigurationNode root;
+                try {
+                    root = YamlConfigurationLoader.builder().file(file).build().load();
+                } catch (IOException e) {
+                    plugin.logger().warn("Failed to import SkillCoins file " + file.getName() + ": " + e.getMessage());
+                    continue;
+                }
+                for (CurrencyType type : CurrencyType.values()) {
+                    String currency = type.name().toLowerCase(Locale.ROOT);
+                    ConfigurationNode node = root.node(currency);
+                    if (node.virtual()) continue;
+
+                    statement.setString(1, uuid.toString());
+                    statement.setString(2, currency);
+                    statement.setDouble(3, node.getDouble(0.0));
+                    statement.addBatch();
+                    if (++count % BATCH_SIZE == 0) {
+                        statement.executeBatch();
+                    }
+                }
+                imported++;
+            }
+            statement.executeBatch();
+        }
+        plugin.logger().info("Imported SkillCoins balances of " + imported + " players from YAML files");
+    }
+
+}
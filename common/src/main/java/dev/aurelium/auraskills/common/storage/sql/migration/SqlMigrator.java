@@ -34,6 +34,19 @@ public class SqlMigrator {
                 // Skip already applied migrations
                 if (applied.contains(fileName)) continue;
 
+                if (!migration.appliesTo(pool.getDialect())) {
+                    recordMigration(conn, fileName);
+                    continue;
+                }
+
+                JavaMigration javaMigration = migration.createJavaMigration(plugin, pool.getDialect());
+                if (javaMigration != null) {
+                    plugin.logger().info("Applying migration: " + fileName);
+                    javaMigration.migrate(conn);
+                    recordMigration(conn, fileName);
+                    continue;
+                }
+
                 InputStream is = plugin.getResource("db/migrations/" + fileName + ".sql");
 
                 String sql = new String(is.readAllBytes(), StandardCharsets.UTF_8);
@@ -60,11 +73,11 @@ public class SqlMigrator {
         try (Statement statement = connection.createStatement()) {
             statement.executeUpdate("""
                     CREATE TABLE IF NOT EXISTS %s (
-                        id INT AUTO_INCREMENT PRIMARY KEY,
+                        id %s,
                         file_name VARCHAR(255) NOT NULL UNIQUE,
                         applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
                     )
-                    """.formatted(TABLE_PREFIX + MIGRATION_TABLE));
+                    """.formatted(TABLE_PREFIX + MIGRATION_TABLE, pool.getDialect().autoIncrementPrimaryKey("INT")));
             plugin.logger().info("Created table " + TABLE_PREFIX + SqlMigrator.MIGRATION_TABLE);
         }
     }
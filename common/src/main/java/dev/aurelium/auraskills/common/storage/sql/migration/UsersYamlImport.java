@@ -0,0 +1,184 @@
+package dev.aurelium.auraskills.common.storage.sql.migration;
+
+import dev.aurelium.auraskills.api.util.AuraSkillsModifier.Operation;
+import dev.aurelium.auraskills.common.AuraSkillsPlugin;
+import dev.aurelium.auraskills.common.storage.sql.KeyValueRow;
+import dev.aurelium.auraskills.common.storage.sql.dialect.SqlDialect;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.yaml.YamlConfigurationLoader;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+import static dev.aurelium.auraskills.common.storage.sql.SqlStorageProvider.*;
+
+/**
+ * Imports the per-player YAML files in the userdata folder into a new embedded database.
+ * Migrations run before skills and stats are registered, so the files are copied as raw
+ * values in the same format {@link dev.aurelium.auraskills.common.storage.sql.SqlUserSaver} writes,
+ * and unknown ids are validated when the users are loaded like any other SQL data.
+ */
+public class UsersYamlImport implements JavaMigration {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final AuraSkillsPlugin plugin;
+    private final SqlDialect dialect;
+
+    public UsersYamlImport(AuraSkillsPlugin plugin, SqlDialect dialect) {
+        this.plugin = plugin;
+        this.dialect = dialect;
+    }
+
+    @Override
+    public void migrate(Connection connection) throws SQLException {
+        File[] files = new File(plugin.getPluginFolder(), "userdata").listFiles((dir, name) -> name.endsWith(".yml"));
+        if (files == null || files.length == 0) {
+            return;
+        }
+        plugin.logger().info("Importing " + files.length + " YAML user files into the database, this may take a while");
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false); // Import in one transaction so a failed import can be retried
+        int imported = 0;
+        try (PreparedStatement users = connection.prepareStatement("INSERT INTO " + TABLE_PREFIX + "users (player_uuid, locale, mana) VALUES (?, ?, ?)",
+                     Statement.RETURN_GENERATED_KEYS);
+             PreparedStatement skills = connection.prepareStatement("INSERT INTO " + TABLE_PREFIX + "skill_levels (user_id, skill_name, skill_level, skill_xp) VALUES (?, ?, ?, ?)");
+             // Files edited by hand can repeat keys or modifier names, so skip duplicates instead of failing the import
+             PreparedStatement keyValues = connection.prepareStatement(dialect.insertIgnoreInto() + " " + TABLE_PREFIX + "key_values (user_id, data_id, category_id, key_name, value) VALUES (?, ?, ?, ?, ?)");
+             PreparedStatement modifiers = connection.prepareStatement(dialect.insertIgnoreInto() + " " + TABLE_PREFIX + "modifiers (user_id, modifier_type, type_id, modifier_name, " +
+                     "modifier_value, modifier_operation, expiration_time, remaining_duration) VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (File file : files) {
+                UUID uuid;
+                try {
+                    uuid = UUID.fromString(file.getName().substring(0, file.getName().length() - 4));
+                } catch (IllegalArgumentException e) {
+                    continue;
+                }
+                ConfigurationNode root;
+                try {
+                    root = YamlConfigurationLoader.builder().file(file).build().load();
+                } catch (IOException e) {
+                    plugin.logger().warn("Failed to import user file " + file.getName() + ": " + e.getMessage());
+                    continue;
+                }
+                if (root.empty()) continue;
+
+                int userId = insertUser(users, uuid, root);
+                addSkills(skills, userId, root.node("skills"));
+                addModifiers(modifiers, userId, root.node("stat_modifiers"), MODIFIER_TYPE_STAT, "stat");
+                addModifiers(modifiers, userId, root.node("trait_modifiers"), MODIFIER_TYPE_TRAIT, "trait");
+                addKeyValues(keyValues, userId, root);
+
+                if (++imported % BATCH_SIZE == 0) {
+                    skills.executeBatch();
+                    keyValues.executeBatch();
+                    modifiers.executeBatch();
+                }
+            }
+            skills.executeBatch();
+            keyValues.executeBatch();
+            modifiers.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        plugin.logger().info("Imported " + imported + " users from YAML files, the files in the userdata folder are no longer used");
+    }
+
+    private int insertUser(PreparedStatement statement, UUID uuid, ConfigurationNode root) throws SQLException {
+        statement.setString(1, uuid.toString());
+        String localeString = root.node("locale").getString();
+        if (localeString != null) {
+            statement.setString(2, Locale.forLanguageTag(localeString.replace("_", "-")).toLanguageTag());
+        } else {
+            statement.setNull(2, Types.VARCHAR);
+        }
+        statement.setDouble(3, root.node("mana").getDouble());
+        statement.executeUpdate();
+        try (ResultSet keys = statement.getGeneratedKeys()) {
+            if (!keys.next()) {
+                throw new SQLException("Failed to get user_id for player " + uuid);
+            }
+            return keys.getInt(1);
+        }
+    }
+
+    private void addSkills(PreparedStatement statement, int userId, ConfigurationNode node) throws SQLException {
+        for (Map.Entry<Object, ? extends ConfigurationNode> entry : node.childrenMap().entrySet()) {
+            statement.setInt(1, userId);
+            statement.setString(2, String.valueOf(entry.getKey()));
+            statement.setInt(3, entry.getValue().node("level").getInt());
+            statement.setDouble(4, entry.getValue().node("xp").getDouble());
+            statement.addBatch();
+        }
+    }
+
+    private void addModifiers(PreparedStatement statement, int userId, ConfigurationNode node, String modifierType, String typeKey) throws SQLException {
+        for (ConfigurationNode modifierNode : node.childrenMap().values()) {
+            String name = modifierNode.node("name").getString();
+            String typeId = modifierNode.node(typeKey).getString();
+            if (name == null || typeId == null) continue;
+
+            statement.setInt(1, userId);
+            statement.setString(2, modifierType);
+            statement.setString(3, typeId);
+            statement.setString(4, name);
+            statement.setDouble(5, modifierNode.node("value").getDouble());
+            statement.setByte(6, Operation.parse(modifierNode.node("operation").getString()).getSqlId());
+            statement.setLong(7, modifierNode.node("expiration_time").getLong(0));
+            statement.setLong(8, modifierNode.node("remaining_duration").getLong(0));
+            statement.addBatch();
+        }
+    }
+
+    private void addKeyValues(PreparedStatement statement, int userId, ConfigurationNode root) throws SQLException {
+        List<KeyValueRow> rows = new ArrayList<>();
+        root.node("ability_data").childrenMap().forEach((ability, abilityNode) ->
+                abilityNode.childrenMap().forEach((key, value) ->
+                        rows.add(new KeyValueRow(ABILITY_DATA_ID, String.valueOf(ability), String.valueOf(key), String.valueOf(value.raw())))));
+        for (ConfigurationNode itemNode : root.node("unclaimed_items").childrenList()) {
+            String itemString = itemNode.getString();
+            if (itemString == null) continue;
+            // Stored in the format 'itemName amount'
+            String[] split = itemString.split(" ");
+            rows.add(new KeyValueRow(UNCLAIMED_ITEMS_ID, null, split[0], split.length > 1 ? split[1] : "1"));
+        }
+        root.node("action_bar").childrenMap().forEach((type, typeNode) ->
+                rows.add(new KeyValueRow(ACTION_BAR_ID, null, String.valueOf(type), String.valueOf(typeNode.getBoolean()))));
+        List<String> jobs = new ArrayList<>();
+        for (ConfigurationNode jobNode : root.node("jobs").childrenList()) {
+            String skillName = jobNode.getString();
+            if (skillName != null) {
+                jobs.add(skillName);
+            }
+        }
+        if (!jobs.isEmpty()) {
+            rows.add(new KeyValueRow(JOBS_ID, null, "jobs", String.join(",", jobs)));
+            rows.add(new KeyValueRow(JOBS_ID, null, JOBS_LAST_SELECT_TIME, String.valueOf(root.node("last_job_select_time").getLong(0L))));
+        }
+
+        for (KeyValueRow row : rows) {
+            statement.setInt(1, userId);
+            statement.setInt(2, row.dataId());
+            statement.setString(3, row.categoryId());
+            statement.setString(4, row.keyName());
+            statement.setString(5, row.value());
+            statement.addBatch();
+        }
+    }
+
+}
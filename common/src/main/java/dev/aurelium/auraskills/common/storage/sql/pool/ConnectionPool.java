@@ -5,6 +5,7 @@ import com.zaxxer.hikari.HikariDataSource;
 import dev.aurelium.auraskills.common.AuraSkillsPlugin;
 import dev.aurelium.auraskills.common.config.Option;
 import dev.aurelium.auraskills.common.storage.sql.DatabaseCredentials;
+import dev.aurelium.auraskills.common.storage.sql.dialect.SqlDialect;
 
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -27,6 +28,15 @@ public abstract class ConnectionPool {
 
     public abstract void configure(HikariConfig config, DatabaseCredentials credentials);
 
+    /**
+     * Gets the dialect of the database the pool connects to.
+     *
+     * @return the dialect
+     */
+    public SqlDialect getDialect() {
+        return SqlDialect.MYSQL;
+    }
+
     public void enable() {
         HikariConfig config = new HikariConfig();
 
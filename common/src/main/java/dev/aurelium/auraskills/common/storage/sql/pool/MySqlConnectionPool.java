@@ -16,6 +16,10 @@ public class MySqlConnectionPool extends ConnectionPool {
         config.setJdbcUrl("jdbc:mysql://" + credentials.host() + ":" + credentials.port() + "/" + credentials.database() + "?useSSL=" + credentials.ssl());
         config.setUsername(credentials.username());
         config.setPassword(credentials.password());
+        // Send batched inserts as multi-row statements so saving many users takes few round trips
+        config.addDataSourceProperty("rewriteBatchedStatements", "true");
+        // Use server-side cursors for statements with a fetch size so streaming states reads in pages
+        config.addDataSourceProperty("useCursorFetch", "true");
     }
 
 }
@@ -0,0 +1,39 @@
+package dev.aurelium.auraskills.common.storage.sql.pool;
+
+import com.zaxxer.hikari.HikariConfig;
+import dev.aurelium.auraskills.common.AuraSkillsPlugin;
+import dev.aurelium.auraskills.common.storage.sql.DatabaseCredentials;
+import dev.aurelium.auraskills.common.storage.sql.dialect.SqlDialect;
+
+import java.io.File;
+
+/**
+ * Connections to an SQLite database file in the plugin folder, using the driver bundled with the server.
+ */
+public class SqliteConnectionPool extends ConnectionPool {
+
+    private final File file;
+
+    public SqliteConnectionPool(AuraSkillsPlugin plugin, File file) {
+        // There is no server to log in to, and a null database matches the main schema in metadata lookups
+        super(plugin, new DatabaseCredentials(null, 0, null, null, null, false));
+        this.file = file;
+    }
+
+    @Override
+    public void configure(HikariConfig config, DatabaseCredentials credentials) {
+        config.setDriverClassName("org.sqlite.JDBC");
+        config.setJdbcUrl("jdbc:sqlite:" + file.getAbsolutePath());
+        // Let reads continue while a save is written, and wait for the write lock instead of failing
+        config.addDataSourceProperty("journal_mode", "WAL");
+        config.addDataSourceProperty("synchronous", "NORMAL");
+        config.addDataSourceProperty("busy_timeout", "10000");
+        config.addDataSourceProperty("foreign_keys", "true");
+    }
+
+    @Override
+    public SqlDialect getDialect() {
+        return SqlDialect.SQLITE;
+    }
+
+}
@@ -1,6 +1,5 @@
 package dev.aurelium.auraskills.common.ui;
 
-import com.google.common.collect.Sets;
 import dev.aurelium.auraskills.api.skill.Skill;
 import dev.aurelium.auraskills.api.util.NumberUtil;
 import dev.aurelium.auraskills.common.AuraSkillsPlugin;
@@ -20,46 +19,26 @@ import java.util.concurrent.TimeUnit;
 public abstract class ActionBarManager {
 
     public static final int PAUSE_MS = 750;
+    // How long the XP action bar is shown after the last XP gain
+    private static final long XP_DISPLAY_MS = 41 * 50L;
+    // An unchanged idle action bar is sent again after this long so it doesn't fade on the client
+    private static final long IDLE_REFRESH_MS = 1500;
     protected final AuraSkillsPlugin plugin;
     private final UiProvider uiProvider;
 
-    private final Set<UUID> isPaused = Sets.newConcurrentHashSet();
-    private final Set<UUID> isGainingXp = Sets.newConcurrentHashSet();
-    private final Map<UUID, Integer> timer = new ConcurrentHashMap<>();
+    // Times in epoch millis when the pause and XP display of each player end
+    private final Map<UUID, Long> pausedUntil = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> gainingXpUntil = new ConcurrentHashMap<>();
     private final Map<UUID, Integer> currentAction = new ConcurrentHashMap<>();
+    private final Map<UUID, SentIdleBar> lastIdleBar = new ConcurrentHashMap<>();
     private final Map<Locale, String> idleMessageCache = new ConcurrentHashMap<>();
 
     public ActionBarManager(AuraSkillsPlugin plugin, UiProvider uiProvider) {
         this.plugin = plugin;
         this.uiProvider = uiProvider;
-        startTimerCountdown();
         startUpdatingIdleActionBar();
     }
 
-    public void startTimerCountdown() {
-        var task = new TaskRunnable() {
-            @Override
-            public void run() {
-                if (!plugin.configBoolean(Option.ACTION_BAR_ENABLED)) {
-                    return;
-                }
-
-                for (User user : plugin.getUserManager().getOnlineUsers()) {
-                    UUID uuid = user.getUuid();
-                    Integer time = timer.get(uuid);
-                    if (time != null) {
-                        if (time > 0) {
-                            timer.put(uuid, time - 1);
-                        }
-                    } else {
-                        timer.put(uuid, 0);
-                    }
-                }
-            }
-        };
-        plugin.getScheduler().timerSync(task, 0, 2 * 50L, TimeUnit.MILLISECONDS);
-    }
-
     public void startUpdatingIdleActionBar() {
         var task = new TaskRunnable() {
             @Override
@@ -67,21 +46,26 @@ public abstract class ActionBarManager {
                 if (!plugin.configBoolean(Option.ACTION_BAR_IDLE) || !plugin.configBoolean(Option.ACTION_BAR_ENABLED)) {
                     return;
                 }
+                long now = System.currentTimeMillis();
                 for (User user : plugin.getUserManager().getOnlineUsers()) {
                     UUID uuid = user.getUuid();
                     // Check player setting
                     if (!user.isActionBarEnabled(ActionBarType.IDLE)) {
+                        lastIdleBar.remove(uuid);
                         continue;
                     }
                     // Check disabled worlds
                     if (plugin.getWorldManager().isDisabledWorld(getWorldName(user))) {
+                        lastIdleBar.remove(uuid);
                         continue;
                     }
 
                     if (!currentAction.containsKey(uuid)) {
                         currentAction.put(uuid, 0);
                     }
-                    if (isGainingXp.contains(uuid) || isPaused.contains(uuid)) {
+                    if (isActive(gainingXpUntil, uuid, now) || isActive(pausedUntil, uuid, now)) {
+                        // Another action bar replaced the idle one, so send it as soon as this ends
+                        lastIdleBar.remove(uuid);
                         continue;
                     }
 
@@ -108,6 +92,13 @@ public abstract class ActionBarManager {
                             "{max_mana}", getMaxMana(user));
                     message = replacePlaceholderApi(user, message);
 
+                    // Skip sending if the client is still showing the same bar
+                    SentIdleBar last = lastIdleBar.get(uuid);
+                    if (last != null && last.message().equals(message) && now - last.sentAt() < IDLE_REFRESH_MS) {
+                        continue;
+                    }
+                    lastIdleBar.put(uuid, new SentIdleBar(message, now));
+
                     if (formatLast) {
                         message = plugin.getMessageProvider().applyFormatting(message);
                     }
@@ -136,12 +127,11 @@ public abstract class ActionBarManager {
         }
 
         UUID uuid = user.getUuid();
-        if (isPaused.contains(uuid)) {
+        if (isActive(pausedUntil, uuid, System.currentTimeMillis())) {
             return;
         }
-        // Set timer and is gaining xp
-        isGainingXp.add(uuid);
-        timer.put(uuid, 20);
+        // Show the XP action bar until XP hasn't been gained for a while
+        gainingXpUntil.put(uuid, System.currentTimeMillis() + XP_DISPLAY_MS);
 
         // Increment action number
         int thisAction = currentAction.getOrDefault(uuid, 0) + 1;
@@ -151,7 +141,7 @@ public abstract class ActionBarManager {
                 new TaskRunnable() {
                     @Override
                     public void run() {
-                        if (!isGainingXp.contains(uuid)) {
+                        if (!isActive(gainingXpUntil, uuid, System.currentTimeMillis())) {
                             cancel();
                             return;
                         }
@@ -170,51 +160,43 @@ public abstract class ActionBarManager {
                         uiProvider.sendActionBar(user, message);
                     }
                 }, 0, plugin.configInt(Option.ACTION_BAR_UPDATE_PERIOD) * 50L, TimeUnit.MILLISECONDS);
-        // Schedule task to stop updating action bar
-        plugin.getScheduler().scheduleSync(() -> {
-            Integer timerNum = timer.get(uuid);
-            if (timerNum != null) {
-                if (timerNum.equals(0)) {
-                    isGainingXp.remove(uuid);
-                }
-            }
-        }, 41 * 50L, TimeUnit.MILLISECONDS);
     }
 
     public void resetActionBars() {
-        isGainingXp.clear();
-        timer.clear();
+        gainingXpUntil.clear();
         currentAction.clear();
-        isPaused.clear();
+        pausedUntil.clear();
+        lastIdleBar.clear();
         clearMessageCache();
     }
 
     public void resetActionBar(User user) {
         UUID uuid = user.getUuid();
-        isGainingXp.remove(uuid);
-        timer.remove(uuid);
+        gainingXpUntil.remove(uuid);
         currentAction.remove(uuid);
-        isPaused.remove(uuid);
+        pausedUntil.remove(uuid);
+        lastIdleBar.remove(uuid);
     }
 
     public void setPaused(User user, int time, TimeUnit timeUnit) {
         UUID uuid = user.getUuid();
-        isPaused.add(uuid);
-        Integer action = currentAction.get(uuid);
-        if (action != null) {
-            currentAction.put(uuid, action + 1);
-        } else {
-            currentAction.put(uuid, 0);
+        // A later pause replaces the end time of an earlier one
+        pausedUntil.put(uuid, System.currentTimeMillis() + timeUnit.toMillis(time));
+        // Stops any XP action bar that is being updated
+        currentAction.merge(uuid, 1, Integer::sum);
+    }
+
+    // Whether the deadline of a player hasn't passed yet, removing it if it has
+    private boolean isActive(Map<UUID, Long> deadlines, UUID uuid, long now) {
+        Long deadline = deadlines.get(uuid);
+        if (deadline == null) {
+            return false;
         }
-        int thisAction = this.currentAction.get(uuid);
-        plugin.getScheduler().scheduleSync(() -> {
-            Integer actionBarCurrentAction = currentAction.get(uuid);
-            if (actionBarCurrentAction != null) {
-                if (thisAction == actionBarCurrentAction) {
-                    isPaused.remove(uuid);
-                }
-            }
-        }, time, timeUnit);
+        if (now < deadline) {
+            return true;
+        }
+        deadlines.remove(uuid, deadline);
+        return false;
     }
 
     public void sendAbilityActionBar(User user, String message) {
@@ -308,4 +290,8 @@ public abstract class ActionBarManager {
         idleMessageCache.clear();
     }
 
+    private record SentIdleBar(String message, long sentAt) {
+
+    }
+
 }
@@ -0,0 +1,203 @@
+package dev.aurelium.auraskills.common.user;
+
+import dev.aurelium.auraskills.api.skill.Skill;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Skill levels and xp of one user stored in arrays indexed by a shared {@link Index}. Used when
+ * streaming the states of many offline users so each state doesn't need its own hash maps.
+ * The maps returned by {@link #levels()} and {@link #xp()} are views that read and write the arrays.
+ */
+public final class SkillArrays {
+
+    private final Index index;
+    private final int[] levels;
+    private final double[] xp;
+    private final boolean[] present;
+    private int size;
+
+    public SkillArrays(Index index) {
+        this.index = index;
+        this.levels = new int[index.size()];
+        this.xp = new double[index.size()];
+        this.present = new boolean[index.size()];
+    }
+
+    /**
+     * Sets the level and xp of a skill.
+     *
+     * @param skillIndex the index of the skill from {@link Index#indexOf(String)}
+     * @param level the skill level
+     * @param xp the skill xp
+     */
+    public void set(int skillIndex, int level, double xp) {
+        this.levels[skillIndex] = level;
+        this.xp[skillIndex] = xp;
+        markPresent(skillIndex);
+    }
+
+    public Map<Skill, Integer> levels() {
+        return new View<>() {
+            @Override
+            Integer value(int i) {
+                return levels[i];
+            }
+
+            @Override
+            void setValue(int i, Integer value) {
+                levels[i] = value;
+            }
+        };
+    }
+
+    public Map<Skill, Double> xp() {
+        return new View<>() {
+            @Override
+            Double value(int i) {
+                return xp[i];
+            }
+
+            @Override
+            void setValue(int i, Double value) {
+                xp[i] = value;
+            }
+        };
+    }
+
+    private void markPresent(int i) {
+        if (!present[i]) {
+            present[i] = true;
+            size++;
+        }
+    }
+
+    /**
+     * Maps registered skills and their ids to array indices. Create one per batch of
+     * states since skills can be registered between batches.
+     */
+    public static final class Index {
+
+        private final Skill[] skills;
+        private final Map<Object, Integer> indices = new HashMap<>();
+
+        public Index(Collection<Skill> skills) {
+            this.skills = skills.toArray(new Skill[0]);
+            for (int i = 0; i < this.skills.length; i++) {
+                indices.put(this.skills[i], i);
+                indices.put(this.skills[i].getId().toString(), i);
+            }
+        }
+
+        /**
+         * Gets the index of a skill from its id.
+         *
+         * @param skillId the skill id, such as auraskills/farming
+         * @return the index, or -1 if no skill with the id is registered
+         */
+        public int indexOf(@Nullable String skillId) {
+            if (skillId == null) return -1;
+            return indices.getOrDefault(skillId, -1);
+        }
+
+        /**
+         * Gets the index of a skill.
+         *
+         * @param skill the skill
+         * @return the index, or -1 if the skill is not registered
+         */
+        public int indexOf(@Nullable Object skill) {
+            if (!(skill instanceof Skill)) return -1;
+            return indices.getOrDefault(skill, -1);
+        }
+
+        public int size() {
+            return skills.length;
+        }
+
+    }
+
+    private abstract class View<V> extends AbstractMap<Skill, V> {
+
+        abstract V value(int i);
+
+        abstract void setValue(int i, V value);
+
+        @Override
+        public V get(Object key) {
+            int i = index.indexOf(key);
+            return i >= 0 && present[i] ? value(i) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            int i = index.indexOf(key);
+            return i >= 0 && present[i];
+        }
+
+        @Override
+        public V put(Skill key, V value) {
+            int i = index.indexOf((Object) key);
+            if (i < 0) {
+                throw new IllegalArgumentException("Skill " + key.getId() + " was not registered when the state was loaded");
+            }
+            V previous = present[i] ? value(i) : null;
+            setValue(i, value);
+            markPresent(i);
+            return previous;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public @NotNull Set<Entry<Skill, V>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public @NotNull Iterator<Entry<Skill, V>> iterator() {
+                    return new Iterator<>() {
+                        private int next = advance(0);
+
+                        private int advance(int from) {
+                            while (from < present.length && !present[from]) {
+                                from++;
+                            }
+                            return from;
+                        }
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < present.length;
+                        }
+
+                        @Override
+                        public Entry<Skill, V> next() {
+                            if (!hasNext()) throw new NoSuchElementException();
+                            int i = next;
+                            next = advance(i + 1);
+                            return new SimpleImmutableEntry<>(index.skills[i], value(i));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+
+    }
+
+}
@@ -20,6 +20,7 @@ import dev.aurelium.auraskills.common.antiafk.CheckType;
 import dev.aurelium.auraskills.common.api.implementation.ApiSkillsUser;
 import dev.aurelium.auraskills.common.config.Option;
 import dev.aurelium.auraskills.common.jobs.JobsBatchData;
+import dev.aurelium.auraskills.common.leaderboard.LeaderboardManager;
 import dev.aurelium.auraskills.common.mana.ManaAbilityData;
 import dev.aurelium.auraskills.common.ui.ActionBarType;
 import dev.aurelium.auraskills.common.util.data.KeyIntPair;
@@ -37,6 +38,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public abstract class User {
 
@@ -63,6 +65,10 @@ public abstract class User {
 
     private boolean shouldSave;
     private boolean blank = true;
+    // Bits of UserSection changed since the last save, new users start fully dirty
+    private final AtomicInteger dirtySections = new AtomicInteger(UserSection.ALL);
+    private int savedUnclaimedItemsHash;
+    private int savedAntiAfkLogCount;
 
     // Not persistent data
     private final Map<String, Multiplier> multipliers;
@@ -153,9 +159,11 @@ public abstract class User {
 
     public void setSkillLevel(Skill skill, int level) {
         skillLevels.put(skill, level);
+        markDirty(UserSection.SKILLS);
         if (level > plugin.config().getStartLevel()) { // Mark as modified
             blank = false;
         }
+        markLeaderboardsDirty();
     }
 
     public double getSkillXp(Skill skill) {
@@ -168,9 +176,11 @@ public abstract class User {
 
     public void setSkillXp(Skill skill, double xp) {
         skillXp.put(skill, xp);
+        markDirty(UserSection.SKILLS);
         if (xp > 0.0) { // Mark as modified
             blank = false;
         }
+        markLeaderboardsDirty();
     }
 
     public void addSkillXp(Skill skill, double amount) {
@@ -178,9 +188,18 @@ public abstract class User {
 
         // Add XP while ensuring it is not negative
         skillXp.merge(skill, amount, (existing, added) -> Math.max(existing + added, 0.0));
+        markDirty(UserSection.SKILLS);
         if (amount > 0.0) { // Mark as modified
             blank = false;
         }
+        markLeaderboardsDirty();
+    }
+
+    private void markLeaderboardsDirty() {
+        LeaderboardManager leaderboardManager = plugin.getLeaderboardManager();
+        if (leaderboardManager != null) { // Null while the plugin is enabling
+            leaderboardManager.markDirty(this);
+        }
     }
 
     public int resetSkill(Skill skill) {
@@ -273,7 +292,10 @@ public abstract class User {
     }
 
     public void setMana(double mana) {
-        this.mana = mana;
+        if (Double.compare(this.mana, mana) != 0) {
+            this.mana = mana;
+            markDirty(UserSection.MANA);
+        }
     }
 
     public Locale getLocale() {
@@ -286,11 +308,12 @@ public abstract class User {
 
     public void setLocale(Locale locale) {
         this.locale = locale;
+        markDirty(UserSection.MANA);
         setCommandLocale(locale);
     }
 
     public AbilityData getAbilityData(AbstractAbility ability) {
-        return abilityData.computeIfAbsent(ability, AbilityData::new);
+        return abilityData.computeIfAbsent(ability, a -> new AbilityData(a, () -> markDirty(UserSection.ABILITY_DATA)));
     }
 
     public Map<AbstractAbility, AbilityData> getAbilityDataMap() {
@@ -298,7 +321,7 @@ public abstract class User {
     }
 
     public ManaAbilityData getManaAbilityData(ManaAbility manaAbility) {
-        return manaAbilityData.computeIfAbsent(manaAbility, ManaAbilityData::new);
+        return manaAbilityData.computeIfAbsent(manaAbility, a -> new ManaAbilityData(a, () -> markDirty(UserSection.ABILITY_DATA)));
     }
 
     public Map<ManaAbility, ManaAbilityData> getManaAbilityDataMap() {
@@ -400,12 +423,17 @@ public abstract class User {
     }
 
     public void removeJob(Skill skill) {
-        jobs.remove(skill);
+        if (jobs.remove(skill)) {
+            markDirty(UserSection.JOBS);
+        }
         blank = false;
     }
 
     public void clearAllJobs() {
-        jobs.clear();
+        if (!jobs.isEmpty()) {
+            jobs.clear();
+            markDirty(UserSection.JOBS);
+        }
     }
 
     public int getJobLimit() {
@@ -426,6 +454,77 @@ public abstract class User {
         this.shouldSave = shouldSave;
     }
 
+    /**
+     * Marks a section of the user's data as changed so it is written on the next save.
+     *
+     * @param section the section that changed
+     */
+    public void markDirty(UserSection section) {
+        dirtySections.getAndUpdate(sections -> sections | section.bit());
+    }
+
+    /**
+     * Gets the sections changed since the last save and marks them as saved. Sections that
+     * are mutated through returned collections (unclaimed items and anti-AFK logs) are compared
+     * against what was last saved. Temporary modifiers paused while offline are always dirty
+     * since their remaining duration is recalculated on every save. If the save fails, pass the
+     * returned sections to {@link #restoreDirtySections(int)}.
+     *
+     * @return a bitmask of {@link UserSection#bit()} values, 0 if nothing changed
+     */
+    public synchronized int takeDirtySections() {
+        int sections = dirtySections.getAndSet(0);
+
+        int unclaimedItemsHash = hashUnclaimedItems();
+        if (unclaimedItemsHash != savedUnclaimedItemsHash) {
+            savedUnclaimedItemsHash = unclaimedItemsHash;
+            sections |= UserSection.UNCLAIMED_ITEMS.bit();
+        }
+        int antiAfkLogCount = sessionAntiAfkLogs.size();
+        if (antiAfkLogCount != savedAntiAfkLogCount) {
+            savedAntiAfkLogCount = antiAfkLogCount;
+            sections |= UserSection.LOGS.bit();
+        }
+        if (hasPausedModifiers()) {
+            sections |= UserSection.MODIFIERS.bit();
+        }
+        return sections;
+    }
+
+    /**
+     * Marks sections as dirty again after a failed save.
+     *
+     * @param sections the bitmask returned by {@link #takeDirtySections()}
+     */
+    public void restoreDirtySections(int sections) {
+        dirtySections.getAndUpdate(existing -> existing | sections);
+    }
+
+    /**
+     * Marks all sections as saved, used once the user's data is loaded from storage.
+     */
+    public void clearDirtySections() {
+        takeDirtySections();
+    }
+
+    private int hashUnclaimedItems() {
+        int hash = 1;
+        for (KeyIntPair item : unclaimedItems) {
+            hash = 31 * (31 * hash + item.getKey().hashCode()) + item.getValue();
+        }
+        return hash;
+    }
+
+    private boolean hasPausedModifiers() {
+        for (StatModifier modifier : userStats.getStatModifiers().values()) {
+            if (modifier.isTemporary() && modifier.isPauseOffline() && !modifier.isNonPersistent()) return true;
+        }
+        for (TraitModifier modifier : userStats.getTraitModifiers().values()) {
+            if (modifier.isTemporary() && modifier.isPauseOffline() && !modifier.isNonPersistent()) return true;
+        }
+        return false;
+    }
+
     public double getTotalMultiplier(@Nullable Skill skill) {
         double totalMultiplier = 0.0;
         for (Multiplier multiplier : getMultipliers().values()) {
@@ -455,7 +554,10 @@ public abstract class User {
     }
 
     public void setActionBarSetting(ActionBarType type, boolean enabled) {
-        this.actionBarSettings.put(type, enabled);
+        Boolean previous = this.actionBarSettings.put(type, enabled);
+        if (previous == null || previous != enabled) {
+            markDirty(UserSection.ACTION_BAR);
+        }
     }
 
     public JobsBatchData getJobsBatchData() {
@@ -468,6 +570,7 @@ public abstract class User {
 
     public void setLastJobSelectTime(long lastJobSelectTime) {
         this.lastJobSelectTime = lastJobSelectTime;
+        markDirty(UserSection.JOBS);
     }
 
     public List<AntiAfkLog> getSessionAntiAfkLogs() {
@@ -535,15 +638,18 @@ public abstract class User {
         this.skillXp.clear();
         this.skillXp.putAll(state.skillXp());
 
-        this.userStats.getStatModifiers().clear();
-        this.userStats.getStatModifiers().putAll(state.statModifiers());
-
-        this.userStats.getTraitModifiers().clear();
-        this.userStats.getTraitModifiers().putAll(state.traitModifiers());
+        this.userStats.setModifiers(state.statModifiers(), state.traitModifiers());
 
         this.mana = state.mana();
+        markDirty(UserSection.SKILLS);
+        markDirty(UserSection.MANA);
+        markDirty(UserSection.MODIFIERS);
 
         plugin.getStatManager().recalculateStats(this);
+        LeaderboardManager leaderboardManager = plugin.getLeaderboardManager();
+        if (leaderboardManager != null) {
+            leaderboardManager.markDirty(this);
+        }
     }
 
     public void cleanUp() {
@@ -0,0 +1,34 @@
+package dev.aurelium.auraskills.common.user;
+
+/**
+ * A part of a user's persistent data that is saved independently of the others.
+ * Storage providers only write the sections a user has changed since the last save.
+ */
+public enum UserSection {
+
+    SKILLS, // Skill levels and xp
+    MANA, // Mana and locale, which share the users row
+    MODIFIERS,
+    ABILITY_DATA, // Ability data and mana ability cooldowns
+    JOBS, // Selected jobs and the last select time
+    UNCLAIMED_ITEMS,
+    ACTION_BAR,
+    LOGS; // Anti-AFK logs created this session
+
+    public static final int ALL = (1 << values().length) - 1;
+
+    private static final UserSection[] VALUES = values();
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    public boolean isIn(int sections) {
+        return (sections & bit()) != 0;
+    }
+
+    public static UserSection[] all() {
+        return VALUES;
+    }
+
+}
@@ -13,7 +13,6 @@ import dev.aurelium.auraskills.common.modifier.TemporaryModifier;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class UserStats {
@@ -26,6 +25,11 @@ public class UserStats {
     private final Map<String, StatModifier> statModifiers = new ConcurrentHashMap<>();
     private final Map<String, TraitModifier> traitModifiers = new ConcurrentHashMap<>();
     private final PriorityQueue<TemporaryModifier> tempModExpiryQueue = new PriorityQueue<>();
+    // Totals of each stat's and trait's modifiers, updated when modifiers change so calculating a level doesn't scan every modifier
+    private final Map<Stat, ModifierTotals> statTotals = new ConcurrentHashMap<>();
+    private final Map<Trait, ModifierTotals> traitTotals = new ConcurrentHashMap<>();
+    // Trait totals that also include the multiply and add_percent modifiers of the direct stat linked to the trait
+    private final Map<Trait, ModifierTotals> traitBonusTotals = new ConcurrentHashMap<>();
 
     public UserStats(AuraSkillsPlugin plugin, User user) {
         this.plugin = plugin;
@@ -60,7 +64,7 @@ public class UserStats {
     }
 
     public Map<String, StatModifier> getStatModifiers() {
-        return statModifiers;
+        return Collections.unmodifiableMap(statModifiers);
     }
 
     public void addStatModifier(StatModifier modifier, boolean reload) {
@@ -91,19 +95,7 @@ public class UserStats {
 
         double level = getTraitLevelFromStats(trait, 0.0);
 
-        List<AuraSkillsModifier<?>> modifiers = new ArrayList<>(traitModifiers.values());
-        for (var statMod : statModifiers.values()) {
-            if (statMod.stat() == null) continue;
-            // If the trait is linked to a direct stat, add the "multiply" and "add_percent" stat modifiers for that stat
-            if (statMod.stat().hasDirectTrait() && trait.equals(statMod.stat().getTraits().get(0))) {
-                if (statMod.operation() == Operation.MULTIPLY || statMod.operation() == Operation.ADD_PERCENT) {
-                    modifiers.add(statMod);
-                }
-            }
-        }
-
-        level = calculateModifiers(level, modifiers, trait);
-        return level;
+        return traitBonusTotals.getOrDefault(trait, ModifierTotals.NONE).apply(level, true);
     }
 
     @Nullable
@@ -112,7 +104,21 @@ public class UserStats {
     }
 
     public Map<String, TraitModifier> getTraitModifiers() {
-        return traitModifiers;
+        return Collections.unmodifiableMap(traitModifiers);
+    }
+
+    /**
+     * Replaces all stat and trait modifiers without reloading, such as when applying a loaded state.
+     *
+     * @param statModifiers the new stat modifiers
+     * @param traitModifiers the new trait modifiers
+     */
+    public void setModifiers(Map<String, StatModifier> statModifiers, Map<String, TraitModifier> traitModifiers) {
+        this.statModifiers.clear();
+        this.statModifiers.putAll(statModifiers);
+        this.traitModifiers.clear();
+        this.traitModifiers.putAll(traitModifiers);
+        rebuildModifierTotals();
     }
 
     public void addTraitModifier(TraitModifier modifier, boolean reload) {
@@ -143,6 +149,8 @@ public class UserStats {
             removeModifier(modifier.name(), false, map);
         }
         map.put(modifier.name(), modifier);
+        markModifiersDirty(modifier);
+        updateTotals(modifier);
 
         if (modifier instanceof StatModifier statModifier) {
             recalculateStat(statModifier.stat());
@@ -157,6 +165,8 @@ public class UserStats {
         AuraSkillsModifier<V> modifier = map.get(name);
         if (modifier == null) return false;
         map.remove(name);
+        markModifiersDirty(modifier);
+        updateTotals(modifier);
 
         if (modifier instanceof StatModifier statModifier) {
             recalculateStat(statModifier.stat());
@@ -169,6 +179,13 @@ public class UserStats {
         return true;
     }
 
+    private void markModifiersDirty(AuraSkillsModifier<?> modifier) {
+        // Item and armor modifiers are reapplied on join and never saved
+        if (!modifier.isNonPersistent()) {
+            user.markDirty(UserSection.MODIFIERS);
+        }
+    }
+
     /**
      * Fully recalculates a stat including base and modifiers, and recalculates its traits.
      *
@@ -176,48 +193,102 @@ public class UserStats {
      */
     public void recalculateStat(Stat stat) {
         double base = calculateRewardsStat(stat);
-        double level = calculateModifiers(base, statModifiers.values(), stat);
+        // If stat has a direct trait, the "multiply" and "add_percent" modifiers are applied to the trait instead
+        double level = statTotals.getOrDefault(stat, ModifierTotals.NONE).apply(base, !stat.hasDirectTrait());
 
         statLevels.put(stat, level);
         baseStatLevels.put(stat, base);
     }
 
-    private <T> double calculateModifiers(double base, Collection<? extends AuraSkillsModifier<?>> modifiers, T filter) {
-        double addModSum = 0.0;
-        double multiplyModProduct = 1.0;
-        double addPercentSum = 0.0;
+    /**
+     * Rebuilds the modifier totals of every stat and trait from the modifier maps. Used when the maps
+     * were replaced or when stats are reloaded, since which stats have direct traits can change.
+     */
+    public void rebuildModifierTotals() {
+        Set<Stat> stats = new HashSet<>();
+        Set<Trait> traits = new HashSet<>();
+        for (StatModifier modifier : statModifiers.values()) {
+            if (modifier.stat() == null) continue;
+            stats.add(modifier.stat());
+            if (isDirectPercentModifier(modifier)) {
+                traits.add(modifier.stat().getTraits().get(0));
+            }
+        }
+        for (TraitModifier modifier : traitModifiers.values()) {
+            if (modifier.trait() == null) continue;
+            traits.add(modifier.trait());
+        }
+        statTotals.keySet().retainAll(stats);
+        traitTotals.keySet().retainAll(traits);
+        traitBonusTotals.keySet().retainAll(traits);
+        for (Stat stat : stats) {
+            updateStatTotals(stat);
+        }
+        for (Trait trait : traits) {
+            updateTraitTotals(trait);
+        }
+    }
 
-        // If stat has a direct trait, we apply the "multiply" and "add_percent" modifiers to the trait instead
-        boolean skipPercents = filter instanceof Stat stat && stat.hasDirectTrait();
+    // Recomputes the totals of the stat or trait the modifier belongs to from that key's modifiers,
+    // summing in the same order as a full scan so the results are exact instead of accumulating rounding errors
+    private void updateTotals(AuraSkillsModifier<?> modifier) {
+        if (modifier instanceof StatModifier statModifier) {
+            Stat stat = statModifier.stat();
+            if (stat == null) return;
+
+            updateStatTotals(stat);
+            // If the stat has a direct trait, its "multiply" and "add_percent" modifiers also apply to the trait
+            if (isDirectPercentModifier(statModifier)) {
+                updateTraitTotals(stat.getTraits().get(0));
+            }
+        } else if (modifier instanceof TraitModifier traitModifier) {
+            Trait trait = traitModifier.trait();
+            if (trait == null) return;
+
+            updateTraitTotals(trait);
+        }
+    }
 
-        for (AuraSkillsModifier<?> modifier : modifiers) {
-            if (!modifier.type().equals(filter)) {
-                // Allow modifiers with type stat for trait filter if stat is direct and its linked trait is the filter
-                if (modifier.type() instanceof Stat stat && stat.hasDirectTrait()) {
-                    if (!filter.equals(stat.getTraits().get(0))) {
-                        continue;
-                    }
-                } else {
-                    continue;
+    private void updateStatTotals(Stat stat) {
+        statTotals.compute(stat, (k, totals) -> {
+            List<AuraSkillsModifier<?>> modifiers = new ArrayList<>();
+            for (StatModifier modifier : statModifiers.values()) {
+                if (stat.equals(modifier.stat())) {
+                    modifiers.add(modifier);
                 }
             }
+            return ModifierTotals.of(modifiers);
+        });
+    }
 
-            switch (modifier.operation()) {
-                case ADD -> addModSum += modifier.value();
-                case MULTIPLY -> {
-                    if (!skipPercents) {
-                        multiplyModProduct *= modifier.value();
-                    }
+    private void updateTraitTotals(Trait trait) {
+        traitTotals.compute(trait, (k, totals) -> {
+            List<AuraSkillsModifier<?>> modifiers = new ArrayList<>();
+            for (TraitModifier modifier : traitModifiers.values()) {
+                if (trait.equals(modifier.trait())) {
+                    modifiers.add(modifier);
                 }
-                case ADD_PERCENT -> {
-                    if (!skipPercents) {
-                        addPercentSum += modifier.value();
-                    }
+            }
+            ModifierTotals updated = ModifierTotals.of(modifiers);
+            // Computed inside the same update so the bonus totals can't be replaced by a stale list
+            for (StatModifier modifier : statModifiers.values()) {
+                if (isDirectPercentModifier(modifier) && trait.equals(modifier.stat().getTraits().get(0))) {
+                    modifiers.add(modifier);
                 }
             }
-        }
+            ModifierTotals bonus = ModifierTotals.of(modifiers);
+            if (bonus == null) {
+                traitBonusTotals.remove(trait);
+            } else {
+                traitBonusTotals.put(trait, bonus);
+            }
+            return updated;
+        });
+    }
 
-        return (base + addModSum) * multiplyModProduct * (1 + addPercentSum / 100);
+    private boolean isDirectPercentModifier(StatModifier modifier) {
+        if (modifier.stat() == null || !modifier.stat().hasDirectTrait()) return false;
+        return modifier.operation() == Operation.MULTIPLY || modifier.operation() == Operation.ADD_PERCENT;
     }
 
     private double getTraitLevelFromStats(Trait trait, double base) {
@@ -229,72 +300,31 @@ public class UserStats {
 
     // Includes base from rewards plus all ADD operation modifiers
     public double getStatBaseAddSum(Stat stat) {
-        double base = getBaseStatLevel(stat);
-        for (StatModifier modifier : statModifiers.values()) {
-            if (!modifier.stat().equals(stat)) continue;
-            if (modifier.operation() != Operation.ADD) continue;
-
-            base += modifier.value();
-        }
-        return base;
+        return statTotals.getOrDefault(stat, ModifierTotals.NONE).addTo(getBaseStatLevel(stat));
     }
 
     public double getTraitBaseAddSum(Trait trait) {
         double base = plugin.getTraitManager().getBaseLevel(user, trait);
         base = getTraitLevelFromStats(trait, base);
-        for (TraitModifier modifier : traitModifiers.values()) {
-            if (!modifier.trait().equals(trait)) continue;
-            if (modifier.operation() != Operation.ADD) continue;
-
-            base += modifier.value();
-        }
-        return base;
+        return traitTotals.getOrDefault(trait, ModifierTotals.NONE).addTo(base);
     }
 
     // Sum of all ADD_PERCENT operation modifiers
     public double getStatAddPercentSum(Stat stat) {
-        double sum = 0;
-        for (StatModifier modifier : statModifiers.values()) {
-            if (!modifier.stat().equals(stat)) continue;
-            if (modifier.operation() != Operation.ADD_PERCENT) continue;
-
-            sum += modifier.value();
-        }
-        return sum;
+        return statTotals.getOrDefault(stat, ModifierTotals.NONE).addPercentSum;
     }
 
     public double getTraitAddPercentSum(Trait trait) {
-        double sum = 0;
-        for (TraitModifier modifier : traitModifiers.values()) {
-            if (!modifier.trait().equals(trait)) continue;
-            if (modifier.operation() != Operation.ADD_PERCENT) continue;
-
-            sum += modifier.value();
-        }
-        return sum;
+        return traitTotals.getOrDefault(trait, ModifierTotals.NONE).addPercentSum;
     }
 
     // Product of all MULTIPLY operation modifiers
     public double getStatMultiplyProduct(Stat stat) {
-        double prod = 1.0;
-        for (StatModifier modifier : statModifiers.values()) {
-            if (!modifier.stat().equals(stat)) continue;
-            if (modifier.operation() != Operation.MULTIPLY) continue;
-
-            prod *= modifier.value();
-        }
-        return prod;
+        return statTotals.getOrDefault(stat, ModifierTotals.NONE).getMultiplyProduct();
     }
 
     public double getTraitMultiplyProduct(Trait trait) {
-        double prod = 1.0;
-        for (TraitModifier modifier : traitModifiers.values()) {
-            if (!modifier.trait().equals(trait)) continue;
-            if (modifier.operation() != Operation.MULTIPLY) continue;
-
-            prod *= modifier.value();
-        }
-        return prod;
+        return traitTotals.getOrDefault(trait, ModifierTotals.NONE).getMultiplyProduct();
     }
 
     public double calculateRewardsStat(Stat stat) {
@@ -303,9 +333,7 @@ public class UserStats {
         for (Skill skill : plugin.getSkillManager().getEnabledSkills()) {
             if (!user.hasSkillPermission(skill)) continue;
 
-            for (Entry<Stat, Double> entry : getStatLevelRewards(stat, skill)) {
-                level += entry.getValue();
-            }
+            level += plugin.getRewardManager().getRewardTable(skill).getStatLevel(stat, user.getSkillLevel(skill));
         }
 
         return level;
@@ -315,10 +343,7 @@ public class UserStats {
     public Map<Skill, Double> getLevelRewardedBySkill(Stat stat) {
         Map<Skill, Double> map = new ConcurrentHashMap<>();
         for (Skill skill : plugin.getSkillManager().getEnabledSkills()) {
-            double sum = 0;
-            for (Entry<Stat, Double> entry : getStatLevelRewards(stat, skill)) {
-                sum += entry.getValue();
-            }
+            double sum = plugin.getRewardManager().getRewardTable(skill).getStatLevel(stat, user.getSkillLevel(skill));
             if (sum > 0) {
                 map.put(skill, sum);
             }
@@ -326,16 +351,64 @@ public class UserStats {
         return map;
     }
 
-    private List<Entry<Stat, Double>> getStatLevelRewards(Stat stat, Skill skill) {
-        List<Entry<Stat, Double>> entries = new ArrayList<>();
+    /**
+     * The modifiers of a single stat or trait with their sums and product. Instances are immutable and replaced
+     * in the totals maps whenever one of the key's modifiers changes.
+     */
+    private static final class ModifierTotals {
+
+        private static final ModifierTotals NONE = new ModifierTotals(List.of(), 0.0, 0.0, 1.0);
+
+        private final List<AuraSkillsModifier<?>> modifiers;
+        private final double addSum;
+        private final double addPercentSum;
+        private final double multiplyProduct;
+
+        private ModifierTotals(List<AuraSkillsModifier<?>> modifiers, double addSum, double addPercentSum, double multiplyProduct) {
+            this.modifiers = modifiers;
+            this.addSum = addSum;
+            this.addPercentSum = addPercentSum;
+            this.multiplyProduct = multiplyProduct;
+        }
+
+        @Nullable
+        private static ModifierTotals of(List<AuraSkillsModifier<?>> modifiers) {
+            if (modifiers.isEmpty()) {
+                return null;
+            }
+            double addSum = 0.0;
+            double addPercentSum = 0.0;
+            double multiplyProduct = 1.0;
+            for (AuraSkillsModifier<?> modifier : modifiers) {
+                switch (modifier.operation()) {
+                    case ADD -> addSum += modifier.value();
+                    case ADD_PERCENT -> addPercentSum += modifier.value();
+                    case MULTIPLY -> multiplyProduct *= modifier.value();
+                }
+            }
+            return new ModifierTotals(List.copyOf(modifiers), addSum, addPercentSum, multiplyProduct);
+        }
+
+        private double getMultiplyProduct() {
+            return multiplyProduct;
+        }
 
-        Map<Stat, Double> skillRewardedStats = plugin.getRewardManager().getRewardTable(skill).getStatLevels(user.getSkillLevel(skill));
-        for (Entry<Stat, Double> entry : skillRewardedStats.entrySet()) {
-            if (!entry.getKey().equals(stat)) continue;
+        // Adds each ADD modifier to the base one at a time, matching how the sum was calculated before the totals
+        private double addTo(double base) {
+            for (AuraSkillsModifier<?> modifier : modifiers) {
+                if (modifier.operation() == Operation.ADD) {
+                    base += modifier.value();
+                }
+            }
+            return base;
+        }
 
-            entries.add(entry);
+        private double apply(double base, boolean includePercents) {
+            double multiply = includePercents ? multiplyProduct : 1.0;
+            double addPercent = includePercents ? addPercentSum : 0.0;
+            return (base + addSum) * multiply * (1 + addPercent / 100);
         }
-        return entries;
+
     }
 
 }
@@ -0,0 +1,131 @@
+package dev.aurelium.auraskills.common.util.math.expression;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A formula parsed once into an immutable tree that evaluates with primitive doubles.
+ * <p>
+ * Variables are declared when compiling and each is given a slot in a variable frame,
+ * in the order they were declared. Evaluating takes a frame holding the value of each
+ * variable, so the same expression can be evaluated by several threads at once without
+ * sharing state. {@link #frame()} gives a reusable frame for the current thread so that
+ * evaluating doesn't allocate.
+ * <p>
+ * Supports the arithmetic, comparison and logical operators, the constants PI, E, TRUE and FALSE,
+ * and the functions ABS, CEILING, FLOOR, ROUND, SQRT, LOG, LOG10, EXP, FACT, MIN, MAX, SUM,
+ * AVERAGE, IF, NOT, RANDOM, SIN, COS, TAN, SINR, COSR and TANR, with the same precedence as EvalEx.
+ */
+public final class CompiledExpression {
+
+    private static final double[] EMPTY_FRAME = new double[0];
+
+    private final String source;
+    private final String[] variables;
+    private final ExpressionNode root;
+    private final ThreadLocal<double[]> frames;
+
+    private CompiledExpression(String source, String[] variables, ExpressionNode root) {
+        this.source = source;
+        this.variables = variables;
+        this.root = root;
+        this.frames = ThreadLocal.withInitial(() -> new double[variables.length]);
+    }
+
+    /**
+     * Compiles an expression.
+     *
+     * @param source the expression string
+     * @param variables the names of the variables the expression can use, in the order of their frame slots
+     * @return the compiled expression
+     * @throws ExpressionException if the expression is invalid or uses an unknown variable or function
+     */
+    public static CompiledExpression compile(String source, String... variables) {
+        if (source == null || source.isBlank()) {
+            throw new ExpressionException("Expression is empty");
+        }
+        Map<String, Integer> slots = new HashMap<>();
+        for (int i = 0; i < variables.length; i++) {
+            slots.put(variables[i].toLowerCase(Locale.ROOT), i);
+        }
+        ExpressionNode root = new ExpressionParser(source, slots).parse();
+        return new CompiledExpression(source, variables.clone(), root);
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Gets the frame slot of a variable.
+     *
+     * @param variable the variable name
+     * @return the slot, or -1 if the variable was not declared
+     */
+    public int slot(String variable) {
+        for (int i = 0; i < variables.length; i++) {
+            if (variables[i].equalsIgnoreCase(variable)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the variable frame of the current thread, which can be filled and passed to
+     * {@link #evaluate(double[])} without allocating.
+     *
+     * @return the frame for this thread
+     */
+    public double[] frame() {
+        return frames.get();
+    }
+
+    /**
+     * Evaluates the expression.
+     *
+     * @param frame the values of the variables, indexed by slot
+     * @return the result
+     * @throws ExpressionException if evaluating fails, such as when dividing by zero
+     */
+    public double evaluate(double[] frame) {
+        return root.eval(frame);
+    }
+
+    /**
+     * Evaluates an expression that has no variables.
+     *
+     * @return the result
+     */
+    public double evaluate() {
+        return root.eval(EMPTY_FRAME);
+    }
+
+    /**
+     * Evaluates an expression that has a single variable.
+     *
+     * @param value the value of the variable
+     * @return the result
+     */
+    public double evaluate(double value) {
+        double[] frame = frame();
+        frame[0] = value;
+        return root.eval(frame);
+    }
+
+    /**
+     * Whether the expression doesn't depend on any variables, so always evaluates to the same value.
+     *
+     * @return whether the expression is constant
+     */
+    public boolean isConstant() {
+        return root.isConstant();
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+}
@@ -0,0 +1,12 @@
+package dev.aurelium.auraskills.common.util.math.expression;
+
+/**
+ * Thrown when an expression fails to compile or evaluate.
+ */
+public class ExpressionException extends RuntimeException {
+
+    public ExpressionException(String message) {
+        super(message);
+    }
+
+}
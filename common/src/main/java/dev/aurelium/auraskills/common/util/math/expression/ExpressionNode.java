@@ -0,0 +1,332 @@
+package dev.aurelium.auraskills.common.util.math.expression;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A node of a compiled expression tree. Nodes are immutable and evaluate using primitive
+ * doubles, reading variables from the frame passed in, so a tree can be evaluated by many
+ * threads at once. Booleans are represented as 1 for true and 0 for false.
+ */
+abstract class ExpressionNode {
+
+    abstract double eval(double[] frame);
+
+    /**
+     * Whether the node always evaluates to the same value, which allows it to be folded at compile time.
+     */
+    abstract boolean isConstant();
+
+    static boolean isTrue(double value) {
+        return value != 0;
+    }
+
+    static double of(boolean value) {
+        return value ? 1 : 0;
+    }
+
+    static final class Constant extends ExpressionNode {
+
+        private final double value;
+
+        Constant(double value) {
+            this.value = value;
+        }
+
+        @Override
+        double eval(double[] frame) {
+            return value;
+        }
+
+        @Override
+        boolean isConstant() {
+            return true;
+        }
+
+    }
+
+    static final class Variable extends ExpressionNode {
+
+        private final int slot;
+
+        Variable(int slot) {
+            this.slot = slot;
+        }
+
+        @Override
+        double eval(double[] frame) {
+            return frame[slot];
+        }
+
+        @Override
+        boolean isConstant() {
+            return false;
+        }
+
+    }
+
+    static final class Negate extends ExpressionNode {
+
+        private final ExpressionNode operand;
+
+        Negate(ExpressionNode operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        double eval(double[] frame) {
+            return -operand.eval(frame);
+        }
+
+        @Override
+        boolean isConstant() {
+            return operand.isConstant();
+        }
+
+    }
+
+    static final class Not extends ExpressionNode {
+
+        private final ExpressionNode operand;
+
+        Not(ExpressionNode operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        double eval(double[] frame) {
+            return of(!isTrue(operand.eval(frame)));
+        }
+
+        @Override
+        boolean isConstant() {
+            return operand.isConstant();
+        }
+
+    }
+
+    enum Operator {
+        OR("||", 2),
+        AND("&&", 4),
+        EQUAL("==", 7),
+        NOT_EQUAL("!=", 7),
+        LESS("<", 10),
+        LESS_OR_EQUAL("<=", 10),
+        GREATER(">", 10),
+        GREATER_OR_EQUAL(">=", 10),
+        ADD("+", 20),
+        SUBTRACT("-", 20),
+        MULTIPLY("*", 30),
+        DIVIDE("/", 30),
+        MODULO("%", 30),
+        POWER("^", 40);
+
+        private final String symbol;
+        private final int precedence;
+
+        Operator(String symbol, int precedence) {
+            this.symbol = symbol;
+            this.precedence = precedence;
+        }
+
+        String symbol() {
+            return symbol;
+        }
+
+        int precedence() {
+            return precedence;
+        }
+
+        boolean isRightAssociative() {
+            return this == POWER;
+        }
+    }
+
+    static final class Binary extends ExpressionNode {
+
+        private final Operator operator;
+        private final ExpressionNode left;
+        private final ExpressionNode right;
+
+        Binary(Operator operator, ExpressionNode left, ExpressionNode right) {
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        double eval(double[] frame) {
+            double a = left.eval(frame);
+            // Logical operators short circuit
+            switch (operator) {
+                case OR -> {
+                    return of(isTrue(a) || isTrue(right.eval(frame)));
+                }
+                case AND -> {
+                    return of(isTrue(a) && isTrue(right.eval(frame)));
+                }
+                default -> {
+                }
+            }
+            double b = right.eval(frame);
+            return switch (operator) {
+                case EQUAL -> of(a == b);
+                case NOT_EQUAL -> of(a != b);
+                case LESS -> of(a < b);
+                case LESS_OR_EQUAL -> of(a <= b);
+                case GREATER -> of(a > b);
+                case GREATER_OR_EQUAL -> of(a >= b);
+                case ADD -> a + b;
+                case SUBTRACT -> a - b;
+                case MULTIPLY -> a * b;
+                case DIVIDE -> {
+                    if (b == 0) throw new ExpressionException("Division by zero");
+                    yield a / b;
+                }
+                case MODULO -> {
+                    if (b == 0) throw new ExpressionException("Division by zero");
+                    yield a % b;
+                }
+                case POWER -> Math.pow(a, b);
+                default -> throw new IllegalStateException("Unhandled operator " + operator);
+            };
+        }
+
+        @Override
+        boolean isConstant() {
+            return left.isConstant() && right.isConstant();
+        }
+
+    }
+
+    enum Function {
+        ABS(1, 1),
+        CEILING(1, 1),
+        FLOOR(1, 1),
+        ROUND(2, 2),
+        SQRT(1, 1),
+        LOG(1, 1),
+        LOG10(1, 1),
+        EXP(1, 1),
+        FACT(1, 1),
+        MIN(1, Integer.MAX_VALUE),
+        MAX(1, Integer.MAX_VALUE),
+        SUM(1, Integer.MAX_VALUE),
+        AVERAGE(1, Integer.MAX_VALUE),
+        IF(3, 3),
+        NOT(1, 1),
+        RANDOM(0, 0),
+        // Trigonometric functions take degrees, the R variants take radians
+        SIN(1, 1),
+        COS(1, 1),
+        TAN(1, 1),
+        SINR(1, 1),
+        COSR(1, 1),
+        TANR(1, 1);
+
+        private final int minArgs;
+        private final int maxArgs;
+
+        Function(int minArgs, int maxArgs) {
+            this.minArgs = minArgs;
+            this.maxArgs = maxArgs;
+        }
+
+        boolean acceptsArgs(int count) {
+            return count >= minArgs && count <= maxArgs;
+        }
+    }
+
+    static final class Call extends ExpressionNode {
+
+        private final Function function;
+        private final ExpressionNode[] args;
+
+        Call(Function function, ExpressionNode[] args) {
+            this.function = function;
+            this.args = args;
+        }
+
+        @Override
+        double eval(double[] frame) {
+            return switch (function) {
+                case ABS -> Math.abs(arg(0, frame));
+                case CEILING -> Math.ceil(arg(0, frame));
+                case FLOOR -> Math.floor(arg(0, frame));
+                case ROUND -> round(arg(0, frame), (int) arg(1, frame));
+                case SQRT -> Math.sqrt(arg(0, frame));
+                case LOG -> Math.log(arg(0, frame));
+                case LOG10 -> Math.log10(arg(0, frame));
+                case EXP -> Math.exp(arg(0, frame));
+                case FACT -> factorial(arg(0, frame));
+                case MIN -> {
+                    double min = arg(0, frame);
+                    for (int i = 1; i < args.length; i++) {
+                        min = Math.min(min, arg(i, frame));
+                    }
+                    yield min;
+                }
+                case MAX -> {
+                    double max = arg(0, frame);
+                    for (int i = 1; i < args.length; i++) {
+                        max = Math.max(max, arg(i, frame));
+                    }
+                    yield max;
+                }
+                case SUM, AVERAGE -> {
+                    double sum = 0;
+                    for (int i = 0; i < args.length; i++) {
+                        sum += arg(i, frame);
+                    }
+                    yield function == Function.SUM ? sum : sum / args.length;
+                }
+                // Only the branch taken is evaluated
+                case IF -> isTrue(arg(0, frame)) ? arg(1, frame) : arg(2, frame);
+                case NOT -> of(!isTrue(arg(0, frame)));
+                case RANDOM -> ThreadLocalRandom.current().nextDouble();
+                case SIN -> Math.sin(Math.toRadians(arg(0, frame)));
+                case COS -> Math.cos(Math.toRadians(arg(0, frame)));
+                case TAN -> Math.tan(Math.toRadians(arg(0, frame)));
+                case SINR -> Math.sin(arg(0, frame));
+                case COSR -> Math.cos(arg(0, frame));
+                case TANR -> Math.tan(arg(0, frame));
+            };
+        }
+
+        private double arg(int index, double[] frame) {
+            return args[index].eval(frame);
+        }
+
+        @Override
+        boolean isConstant() {
+            if (function == Function.RANDOM) {
+                return false;
+            }
+            for (ExpressionNode arg : args) {
+                if (!arg.isConstant()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Rounds half up to a number of decimal places using the decimal value, so 2.675 rounds to 2.68
+        private static double round(double value, int places) {
+            if (!Double.isFinite(value)) {
+                return value;
+            }
+            return BigDecimal.valueOf(value).setScale(places, RoundingMode.HALF_UP).doubleValue();
+        }
+
+        private static double factorial(double value) {
+            double result = 1;
+            for (int i = 2; i <= (int) value; i++) {
+                result *= i;
+            }
+            return result;
+        }
+
+    }
+
+}
@@ -0,0 +1,235 @@
+package dev.aurelium.auraskills.common.util.math.expression;
+
+import dev.aurelium.auraskills.common.util.math.expression.ExpressionNode.Binary;
+import dev.aurelium.auraskills.common.util.math.expression.ExpressionNode.Call;
+import dev.aurelium.auraskills.common.util.math.expression.ExpressionNode.Constant;
+import dev.aurelium.auraskills.common.util.math.expression.ExpressionNode.Function;
+import dev.aurelium.auraskills.common.util.math.expression.ExpressionNode.Negate;
+import dev.aurelium.auraskills.common.util.math.expression.ExpressionNode.Not;
+import dev.aurelium.auraskills.common.util.math.expression.ExpressionNode.Operator;
+import dev.aurelium.auraskills.common.util.math.expression.ExpressionNode.Variable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Parses an expression into a tree of {@link ExpressionNode}s by precedence climbing.
+ * The syntax and operator precedence follow EvalEx, which formulas were previously evaluated with,
+ * so unary minus binds tighter than the power operator and power is right associative.
+ * Subtrees without variables are folded into constants.
+ */
+final class ExpressionParser {
+
+    private final String source;
+    private final Map<String, Integer> slots;
+    private int pos;
+
+    ExpressionParser(String source, Map<String, Integer> slots) {
+        this.source = source;
+        this.slots = slots;
+    }
+
+    ExpressionNode parse() {
+        ExpressionNode node = parseBinary(0);
+        skipWhitespace();
+        if (pos < source.length()) {
+            throw error("Unexpected character '" + source.charAt(pos) + "'");
+        }
+        return node;
+    }
+
+    private ExpressionNode parseBinary(int minPrecedence) {
+        ExpressionNode left = parseUnary();
+        while (true) {
+            skipWhitespace();
+            int start = pos;
+            Operator operator = readOperator();
+            if (operator == null || operator.precedence() < minPrecedence) {
+                pos = start;
+                return left;
+            }
+            int nextPrecedence = operator.isRightAssociative() ? operator.precedence() : operator.precedence() + 1;
+            ExpressionNode right = parseBinary(nextPrecedence);
+            left = fold(new Binary(operator, left, right));
+        }
+    }
+
+    private ExpressionNode parseUnary() {
+        skipWhitespace();
+        if (pos >= source.length()) {
+            throw error("Unexpected end of expression");
+        }
+        char c = source.charAt(pos);
+        if (c == '-') {
+            pos++;
+            return fold(new Negate(parseUnary()));
+        } else if (c == '+') {
+            pos++;
+            return parseUnary();
+        } else if (c == '!' && !peek("!=")) {
+            pos++;
+            return fold(new Not(parseUnary()));
+        }
+        return parsePrimary();
+    }
+
+    private ExpressionNode parsePrimary() {
+        char c = source.charAt(pos);
+        if (c == '(') {
+            pos++;
+            ExpressionNode inner = parseBinary(0);
+            expect(')');
+            return inner;
+        } else if (Character.isDigit(c) || c == '.') {
+            return parseNumber();
+        } else if (Character.isLetter(c) || c == '_') {
+            return parseIdentifier();
+        }
+        throw error("Unexpected character '" + c + "'");
+    }
+
+    private ExpressionNode parseNumber() {
+        int start = pos;
+        while (pos < source.length() && (Character.isDigit(source.charAt(pos)) || source.charAt(pos) == '.')) {
+            pos++;
+        }
+        // Scientific notation such as 1.5e3
+        if (pos < source.length() && (source.charAt(pos) == 'e' || source.charAt(pos) == 'E')) {
+            int exponent = pos + 1;
+            if (exponent < source.length() && (source.charAt(exponent) == '+' || source.charAt(exponent) == '-')) {
+                exponent++;
+            }
+            if (exponent < source.length() && Character.isDigit(source.charAt(exponent))) {
+                pos = exponent;
+                while (pos < source.length() && Character.isDigit(source.charAt(pos))) {
+                    pos++;
+                }
+            }
+        }
+        String number = source.substring(start, pos);
+        try {
+            return new Constant(Double.parseDouble(number));
+        } catch (NumberFormatException e) {
+            throw error("Invalid number " + number);
+        }
+    }
+
+    private ExpressionNode parseIdentifier() {
+        int start = pos;
+        while (pos < source.length() && (Character.isLetterOrDigit(source.charAt(pos)) || source.charAt(pos) == '_')) {
+            pos++;
+        }
+        // Names are case-insensitive like in EvalEx
+        String name = source.substring(start, pos).toLowerCase(Locale.ROOT);
+        skipWhitespace();
+        if (pos < source.length() && source.charAt(pos) == '(') {
+            pos++;
+            return parseCall(name);
+        }
+        Integer slot = slots.get(name);
+        if (slot != null) {
+            return new Variable(slot);
+        }
+        return switch (name) {
+            case "pi" -> new Constant(Math.PI);
+            case "e" -> new Constant(Math.E);
+            case "true" -> new Constant(1);
+            case "false" -> new Constant(0);
+            default -> throw error("Unknown variable " + name);
+        };
+    }
+
+    private ExpressionNode parseCall(String name) {
+        Function function;
+        try {
+            function = Function.valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw error("Unknown function " + name);
+        }
+        List<ExpressionNode> args = new ArrayList<>();
+        skipWhitespace();
+        if (pos < source.length() && source.charAt(pos) == ')') {
+            pos++;
+        } else {
+            while (true) {
+                args.add(parseBinary(0));
+                skipWhitespace();
+                if (pos < source.length() && source.charAt(pos) == ',') {
+                    pos++;
+                    continue;
+                }
+                expect(')');
+                break;
+            }
+        }
+        if (!function.acceptsArgs(args.size())) {
+            throw error("Wrong number of arguments for function " + name);
+        }
+        return fold(new Call(function, args.toArray(new ExpressionNode[0])));
+    }
+
+    private Operator readOperator() {
+        if (pos >= source.length()) {
+            return null;
+        }
+        // Longer symbols are checked first so <= isn't read as <
+        if (consume("||")) return Operator.OR;
+        if (consume("&&")) return Operator.AND;
+        if (consume("==")) return Operator.EQUAL;
+        if (consume("!=") || consume("<>")) return Operator.NOT_EQUAL;
+        if (consume("<=")) return Operator.LESS_OR_EQUAL;
+        if (consume(">=")) return Operator.GREATER_OR_EQUAL;
+        if (consume("=")) return Operator.EQUAL;
+        for (Operator operator : Operator.values()) {
+            if (operator.symbol().length() == 1 && consume(operator.symbol())) {
+                return operator;
+            }
+        }
+        return null;
+    }
+
+    // Evaluates subtrees that don't depend on variables once at compile time
+    private ExpressionNode fold(ExpressionNode node) {
+        if (node.isConstant()) {
+            try {
+                return new Constant(node.eval(new double[0]));
+            } catch (ExpressionException e) {
+                return node; // Leave errors like division by zero to be thrown when evaluated
+            }
+        }
+        return node;
+    }
+
+    private boolean peek(String symbol) {
+        return source.startsWith(symbol, pos);
+    }
+
+    private boolean consume(String symbol) {
+        if (peek(symbol)) {
+            pos += symbol.length();
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char c) {
+        skipWhitespace();
+        if (pos >= source.length() || source.charAt(pos) != c) {
+            throw error("Expected '" + c + "'");
+        }
+        pos++;
+    }
+
+    private void skipWhitespace() {
+        while (pos < source.length() && Character.isWhitespace(source.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private ExpressionException error(String message) {
+        return new ExpressionException(message + " at position " + (pos + 1) + " in expression " + source);
+    }
+
+}
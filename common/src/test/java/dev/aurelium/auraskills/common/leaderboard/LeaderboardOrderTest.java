@@ -0,0 +1,34 @@
+package dev.aurelium.auraskills.common.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static dev.aurelium.auraskills.common.leaderboard.LeaderboardManager.AVERAGE_ORDER;
+import static dev.aurelium.auraskills.common.leaderboard.LeaderboardManager.LEVEL_ORDER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LeaderboardOrderTest {
+
+    @Test
+    void testLevelOrder() {
+        assertEquals(0, LEVEL_ORDER.compare(new SkillValue(UUID.randomUUID(), 0, 0.0), new SkillValue(UUID.randomUUID(), 0, 0.0)));
+        assertTrue(LEVEL_ORDER.compare(new SkillValue(UUID.randomUUID(), 0, 0.0), new SkillValue(UUID.randomUUID(), 1, 0.0)) > 0);
+        assertTrue(LEVEL_ORDER.compare(new SkillValue(UUID.randomUUID(), 0, 5.0), new SkillValue(UUID.randomUUID(), 1, 0.0)) > 0);
+        assertTrue(LEVEL_ORDER.compare(new SkillValue(UUID.randomUUID(), 1, 0.0), new SkillValue(UUID.randomUUID(), 0, 0.0)) < 0);
+        assertTrue(LEVEL_ORDER.compare(new SkillValue(UUID.randomUUID(), 1, 100.0), new SkillValue(UUID.randomUUID(), 1, 20.0)) < 0);
+        assertTrue(LEVEL_ORDER.compare(new SkillValue(UUID.randomUUID(), 1, 100000.0), new SkillValue(UUID.randomUUID(), 1, 100001.0)) > 0);
+        // XP values that differ by less than 0.01 or would overflow an int key are still ordered
+        assertTrue(LEVEL_ORDER.compare(new SkillValue(UUID.randomUUID(), 1, 0.501), new SkillValue(UUID.randomUUID(), 1, 0.504)) > 0);
+        assertTrue(LEVEL_ORDER.compare(new SkillValue(UUID.randomUUID(), 1, 3.0E7), new SkillValue(UUID.randomUUID(), 1, 2.5E7)) < 0);
+    }
+
+    @Test
+    void testAverageOrder() {
+        assertEquals(0, AVERAGE_ORDER.compare(new SkillValue(UUID.randomUUID(), 0, 2.5), new SkillValue(UUID.randomUUID(), 0, 2.5)));
+        assertTrue(AVERAGE_ORDER.compare(new SkillValue(UUID.randomUUID(), 0, 2.5), new SkillValue(UUID.randomUUID(), 0, 3.0)) > 0);
+        assertTrue(AVERAGE_ORDER.compare(new SkillValue(UUID.randomUUID(), 0, 3.0), new SkillValue(UUID.randomUUID(), 0, 2.999)) < 0);
+    }
+
+}
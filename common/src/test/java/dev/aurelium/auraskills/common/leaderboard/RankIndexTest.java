@@ -0,0 +1,39 @@
+package dev.aurelium.auraskills.common.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RankIndexTest {
+
+    @Test
+    void testGetRank() {
+        List<SkillValue> sorted = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            sorted.add(new SkillValue(UUID.randomUUID(), 1000 - i, 0.0));
+        }
+        RankIndex index = new RankIndex(sorted);
+        for (int i = 0; i < sorted.size(); i++) {
+            assertEquals(i + 1, index.getRank(sorted.get(i).id()));
+        }
+        assertEquals(0, index.getRank(UUID.randomUUID()));
+    }
+
+    @Test
+    void testDuplicateKeepsHighestRank() {
+        UUID id = UUID.randomUUID();
+        RankIndex index = new RankIndex(List.of(new SkillValue(UUID.randomUUID(), 5, 0.0),
+                new SkillValue(id, 4, 0.0), new SkillValue(id, 3, 0.0)));
+        assertEquals(2, index.getRank(id));
+    }
+
+    @Test
+    void testEmpty() {
+        assertEquals(0, RankIndex.EMPTY.getRank(UUID.randomUUID()));
+    }
+
+}
@@ -0,0 +1,112 @@
+package dev.aurelium.auraskills.common.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RankedLeaderboardTest {
+
+    private static final Comparator<SkillValue> ORDER = LeaderboardManager.LEVEL_ORDER;
+
+    @Test
+    void testUpdateKeepsSingleEntry() {
+        RankedLeaderboard leaderboard = new RankedLeaderboard(ORDER);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        leaderboard.update(new SkillValue(first, 5, 0.0));
+        leaderboard.update(new SkillValue(second, 3, 0.0));
+        leaderboard.publish();
+        assertEquals(1, leaderboard.getRank(first));
+        assertEquals(2, leaderboard.getRank(second));
+
+        leaderboard.update(new SkillValue(second, 6, 0.0));
+        leaderboard.publish();
+        assertEquals(2, leaderboard.size());
+        assertEquals(1, leaderboard.getRank(second));
+        assertEquals(2, leaderboard.getRank(first));
+        assertEquals(List.of(new SkillValue(second, 6, 0.0), new SkillValue(first, 5, 0.0)), leaderboard.getValues());
+
+        leaderboard.remove(second);
+        leaderboard.publish();
+        assertEquals(0, leaderboard.getRank(second));
+        assertEquals(1, leaderboard.getRank(first));
+    }
+
+    @Test
+    void testMatchesFullSort() {
+        RankedLeaderboard leaderboard = new RankedLeaderboard(ORDER);
+        Map<UUID, SkillValue> expected = new HashMap<>();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        Random random = new Random(1);
+        for (int i = 0; i < 5000; i++) {
+            UUID id = ids.get(random.nextInt(ids.size()));
+            if (random.nextInt(10) == 0) {
+                leaderboard.remove(id);
+                expected.remove(id);
+            } else {
+                SkillValue value = new SkillValue(id, random.nextInt(20), random.nextInt(50) / 2.0);
+                leaderboard.update(value);
+                expected.put(id, value);
+            }
+        }
+        List<SkillValue> sorted = new ArrayList<>(expected.values());
+        sorted.sort(ORDER.thenComparing(SkillValue::id));
+
+        leaderboard.publish();
+        assertEquals(sorted, leaderboard.getValues());
+        assertEquals(sorted.subList(10, 20), leaderboard.getRange(10, 20));
+        for (int i = 0; i < sorted.size(); i++) {
+            assertEquals(i + 1, leaderboard.getRank(sorted.get(i).id()));
+        }
+    }
+
+    @Test
+    void testSmallXpDifferencesOrdered() {
+        RankedLeaderboard leaderboard = new RankedLeaderboard(ORDER);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        leaderboard.update(new SkillValue(first, 5, 0.501));
+        leaderboard.update(new SkillValue(second, 5, 0.5));
+
+        assertTrue(leaderboard.update(new SkillValue(second, 5, 0.504)));
+        assertFalse(leaderboard.update(new SkillValue(second, 5, 0.504)));
+        leaderboard.publish();
+        assertEquals(List.of(new SkillValue(second, 5, 0.504), new SkillValue(first, 5, 0.501)), leaderboard.getValues());
+        assertEquals(1, leaderboard.getRank(second));
+    }
+
+    @Test
+    void testReadsMatchPublishedSnapshot() {
+        RankedLeaderboard leaderboard = new RankedLeaderboard(ORDER);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        leaderboard.update(new SkillValue(first, 5, 0.0));
+        assertTrue(leaderboard.publish());
+        assertFalse(leaderboard.publish());
+        List<SkillValue> snapshot = leaderboard.getValues();
+
+        // Until the next publish, the list, pages and ranks all show the published state
+        leaderboard.update(new SkillValue(second, 6, 0.0));
+        assertSame(snapshot, leaderboard.getValues());
+        assertEquals(List.of(new SkillValue(first, 5, 0.0)), leaderboard.getRange(0, 10));
+        assertEquals(1, leaderboard.getRank(first));
+        assertEquals(0, leaderboard.getRank(second));
+
+        leaderboard.publish();
+        assertEquals(List.of(new SkillValue(second, 6, 0.0), new SkillValue(first, 5, 0.0)), leaderboard.getValues());
+        assertEquals(leaderboard.getValues(), leaderboard.getRange(0, 10));
+        assertEquals(1, leaderboard.getRank(second));
+        assertEquals(2, leaderboard.getRank(first));
+
+        leaderboard.removeIf(first::equals);
+        leaderboard.publish();
+        assertEquals(0, leaderboard.getRank(first));
+        assertEquals(1, leaderboard.getRank(second));
+    }
+
+}
@@ -0,0 +1,64 @@
+package dev.aurelium.auraskills.common.level;
+
+import dev.aurelium.auraskills.common.level.XpTable.LevelProgress;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class XpTableTest {
+
+    // Levels 2 to 6 from a start level of 1
+    private final XpTable table = new XpTable(1, List.of(100, 200, 300, 400, 500));
+
+    @Test
+    void testXpRequired() {
+        assertEquals(100, table.getXpRequired(2));
+        assertEquals(500, table.getXpRequired(6));
+        assertEquals(0, table.getXpRequired(7));
+        assertEquals(0, table.getXpRequired(1));
+        assertEquals(5, table.size());
+        assertEquals(6, table.getLastLevel());
+    }
+
+    @Test
+    void testCumulativeXp() {
+        assertEquals(0, table.getCumulativeXp(1));
+        assertEquals(100, table.getCumulativeXp(2));
+        assertEquals(600, table.getCumulativeXp(4));
+        assertEquals(1500, table.getCumulativeXp(6));
+        assertEquals(1500, table.getCumulativeXp(10));
+    }
+
+    @Test
+    void testResolveTotalXp() {
+        assertEquals(new LevelProgress(1, 99.0), table.resolve(99.0, 100));
+        assertEquals(new LevelProgress(2, 0.0), table.resolve(100.0, 100));
+        assertEquals(new LevelProgress(4, 50.5), table.resolve(650.5, 100));
+    }
+
+    @Test
+    void testResolveMultipleLevels() {
+        // 200 + 300 + 400 from level 2, with 25 left over
+        assertEquals(new LevelProgress(5, 25.0), table.resolve(2, 925.0, 100));
+        assertEquals(new LevelProgress(2, 199.0), table.resolve(2, 199.0, 100));
+    }
+
+    @Test
+    void testResolveStopsAtMaxLevel() {
+        assertEquals(new LevelProgress(3, 700.0), table.resolve(2, 900.0, 3));
+        assertEquals(new LevelProgress(3, 900.0), table.resolve(3, 900.0, 3));
+        // Xp beyond the end of the table is kept
+        assertEquals(new LevelProgress(6, 500.0), table.resolve(1, 2000.0, 100));
+    }
+
+    @Test
+    void testZeroAndNegativeRequirements() {
+        XpTable free = new XpTable(0, List.of(0, -10, 50));
+        assertEquals(0, free.getXpRequired(2));
+        assertEquals(new LevelProgress(2, 10.0), free.resolve(0, 10.0, 100));
+        assertEquals(new LevelProgress(3, 0.0), free.resolve(0, 50.0, 100));
+    }
+
+}
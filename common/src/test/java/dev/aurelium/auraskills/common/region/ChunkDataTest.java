@@ -0,0 +1,46 @@
+package dev.aurelium.auraskills.common.region;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChunkDataTest {
+
+    @Test
+    void testAddAndRemove() {
+        Region region = new Region("world", -1, 2);
+        ChunkData chunkData = region.getOrCreateChunkData(31, 0);
+        // Chunk x = -1, z = 64
+        chunkData.addPlacedBlock(-16, -64, 1024);
+        chunkData.addPlacedBlock(-1, 319, 1039);
+        chunkData.addPlacedBlock(-1, 319, 1039);
+
+        assertEquals(2, chunkData.getPlacedBlockCount());
+        assertTrue(chunkData.isPlacedBlock(-16, -64, 1024));
+        assertTrue(chunkData.isPlacedBlock(new BlockPosition(-1, 319, 1039)));
+        assertFalse(chunkData.isPlacedBlock(-16, -63, 1024));
+        assertEquals(List.of(new BlockPosition(-16, -64, 1024), new BlockPosition(-1, 319, 1039)), chunkData.getPlacedBlocks());
+
+        chunkData.removePlacedBlock(-16, -64, 1024);
+        assertFalse(chunkData.isPlacedBlock(-16, -64, 1024));
+        assertTrue(chunkData.isPlacedBlock(-1, 319, 1039));
+    }
+
+    @Test
+    void testManyBlocks() {
+        ChunkData chunkData = new Region("world", 0, 0).getOrCreateChunkData(0, 0);
+        for (int y = -64; y < 320; y++) {
+            chunkData.addPlacedBlock(y & 15, y, (y >> 4) & 15);
+        }
+        for (int y = -64; y < 320; y += 2) {
+            chunkData.removePlacedBlock(y & 15, y, (y >> 4) & 15);
+        }
+        assertEquals(192, chunkData.getPlacedBlockCount());
+        for (int y = -64; y < 320; y++) {
+            assertEquals(y % 2 != 0, chunkData.isPlacedBlock(y & 15, y, (y >> 4) & 15));
+        }
+    }
+
+}
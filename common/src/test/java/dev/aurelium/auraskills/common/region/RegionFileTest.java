@@ -0,0 +1,55 @@
+package dev.aurelium.auraskills.common.region;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegionFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testWriteAndRead() throws IOException {
+        Path path = directory.resolve("r.0.0" + RegionFile.EXTENSION);
+        int[] first = {PackedBlockSet.pack(0, -64, 0), PackedBlockSet.pack(3, 10, 15), PackedBlockSet.pack(15, 319, 15)};
+        int[] second = {PackedBlockSet.pack(1, 70, 2)};
+        RegionFile.write(path, Map.of(RegionFile.index(0, 0), first, RegionFile.index(31, 5), second));
+
+        Map<Integer, int[]> read = readAll(path);
+        assertEquals(2, read.size());
+        assertArrayEquals(first, read.get(RegionFile.index(0, 0)));
+        assertArrayEquals(second, read.get(RegionFile.index(31, 5)));
+
+        // Rewriting one chunk leaves the others untouched
+        int[] updated = {PackedBlockSet.pack(2, 64, 2)};
+        RegionFile.write(path, Map.of(RegionFile.index(31, 5), updated));
+        read = readAll(path);
+        assertArrayEquals(first, read.get(RegionFile.index(0, 0)));
+        assertArrayEquals(updated, read.get(RegionFile.index(31, 5)));
+    }
+
+    @Test
+    void testEmptyFileIsDeleted() throws IOException {
+        Path path = directory.resolve("r.0.0" + RegionFile.EXTENSION);
+        RegionFile.write(path, Map.of(RegionFile.index(1, 1), new int[] {PackedBlockSet.pack(0, 0, 0)}));
+        assertTrue(Files.exists(path));
+
+        RegionFile.write(path, Map.of(RegionFile.index(1, 1), new int[0]));
+        assertFalse(Files.exists(path));
+    }
+
+    private Map<Integer, int[]> readAll(Path path) throws IOException {
+        Map<Integer, int[]> chunks = new HashMap<>();
+        RegionFile.read(path, (chunkX, chunkZ, blocks) -> chunks.put(RegionFile.index(chunkX, chunkZ), blocks));
+        return chunks;
+    }
+
+}
@@ -0,0 +1,68 @@
+package dev.aurelium.auraskills.common.skillcoins;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BalanceJournalTest {
+
+    @TempDir
+    File directory;
+
+    @Test
+    void testReplayInOrder() throws IOException {
+        BalanceJournal journal = new BalanceJournal(directory);
+        journal.open();
+        UUID uuid = UUID.randomUUID();
+        journal.append(uuid, CurrencyType.COINS, 10.0);
+        journal.append(uuid, CurrencyType.TOKENS, 2.0);
+        journal.append(uuid, CurrencyType.COINS, 7.5);
+        journal.close();
+
+        List<Double> balances = new ArrayList<>();
+        for (File segment : journal.getSegments()) {
+            BalanceJournal.replay(segment, (id, type, balance) -> {
+                assertEquals(uuid, id);
+                balances.add(balance);
+            });
+        }
+        assertEquals(List.of(10.0, 2.0, 7.5), balances);
+    }
+
+    @Test
+    void testRotateSealsPreviousSegments() throws IOException {
+        BalanceJournal journal = new BalanceJournal(directory);
+        journal.open();
+        journal.append(UUID.randomUUID(), CurrencyType.COINS, 1.0);
+        List<File> sealed = journal.rotate();
+        assertEquals(1, sealed.size());
+        assertEquals(2, journal.getSegments().size());
+        journal.close();
+    }
+
+    @Test
+    void testReplayStopsAtTornRecord() throws IOException {
+        BalanceJournal journal = new BalanceJournal(directory);
+        journal.open();
+        journal.append(UUID.randomUUID(), CurrencyType.COINS, 1.0);
+        journal.append(UUID.randomUUID(), CurrencyType.COINS, 2.0);
+        journal.close();
+
+        File segment = journal.getSegments().get(0);
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            file.setLength(file.length() - 3);
+        }
+        List<Double> balances = new ArrayList<>();
+        BalanceJournal.replay(segment, (id, type, balance) -> balances.add(balance));
+        assertEquals(List.of(1.0), balances);
+    }
+
+}
@@ -0,0 +1,53 @@
+package dev.aurelium.auraskills.common.skillcoins;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LevelPricingTest {
+
+    private final LevelPricing pricing = new LevelPricing(100, 1.15, 50, 1000);
+
+    // Sums the individually rounded level prices like the menus did before the pricing table
+    private long loopCost(double base, double multiplier, int currentLevel, int targetLevel) {
+        long total = 0;
+        for (int level = currentLevel + 1; level <= targetLevel; level++) {
+            total += Math.round(base * Math.pow(multiplier, level - 1));
+        }
+        return total;
+    }
+
+    @Test
+    void testCostMatchesPerLevelRounding() {
+        for (int from = 0; from <= 50; from++) {
+            for (int to = from; to <= 60; to++) {
+                assertEquals(loopCost(100, 1.15, from, to), pricing.getCost(from, to), from + " -> " + to);
+            }
+        }
+        assertEquals(100, pricing.getLevelCost(1));
+        assertEquals(Math.round(100 * Math.pow(1.15, 9)), pricing.getLevelCost(10));
+        assertEquals(0, pricing.getCost(10, 5));
+    }
+
+    @Test
+    void testMaxAffordableLevels() {
+        for (int balance = 0; balance <= 5000; balance += 37) {
+            int affordable = pricing.getMaxAffordableLevels(3, 50, balance);
+            assertTrue(pricing.getCost(3, 3 + affordable) <= balance);
+            if (3 + affordable < 50) {
+                assertTrue(pricing.getCost(3, 4 + affordable) > balance);
+            }
+        }
+        assertEquals(47, pricing.getMaxAffordableLevels(3, 50, Double.MAX_VALUE));
+        assertEquals(0, pricing.getMaxAffordableLevels(50, 50, Double.MAX_VALUE));
+    }
+
+    @Test
+    void testTokenCost() {
+        assertEquals(5000, pricing.getTokenCost(5));
+        assertEquals(2, pricing.getMaxAffordableTokens(2999.5));
+        assertEquals(0, pricing.getMaxAffordableTokens(-10));
+    }
+
+}
@@ -0,0 +1,91 @@
+package dev.aurelium.auraskills.common.skillcoins;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SkillCoinsEconomyTest {
+
+    private static final int THREADS = 8;
+
+    @Test
+    void testConcurrentTransfersKeepTotal() throws Exception {
+        SkillCoinsEconomy economy = new SkillCoinsEconomy(null, new MemorySkillCoinsStorage());
+        List<UUID> accounts = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            UUID uuid = UUID.randomUUID();
+            economy.setBalance(uuid, CurrencyType.COINS, 100.0);
+            accounts.add(uuid);
+        }
+
+        runConcurrently(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < 5000; i++) {
+                UUID from = accounts.get(random.nextInt(accounts.size()));
+                UUID to = accounts.get(random.nextInt(accounts.size()));
+                economy.transfer(from, to, CurrencyType.COINS, random.nextInt(1, 30));
+            }
+        });
+
+        double total = 0;
+        for (UUID uuid : accounts) {
+            double balance = economy.getBalance(uuid, CurrencyType.COINS);
+            assertTrue(balance >= 0);
+            total += balance;
+        }
+        assertEquals(1000.0, total);
+    }
+
+    @Test
+    void testConcurrentWithdrawNeverGoesNegative() throws Exception {
+        SkillCoinsEconomy economy = new SkillCoinsEconomy(null, new MemorySkillCoinsStorage());
+        UUID uuid = UUID.randomUUID();
+        economy.setBalance(uuid, CurrencyType.COINS, 100.0);
+        AtomicInteger withdrawn = new AtomicInteger();
+
+        runConcurrently(() -> {
+            for (int i = 0; i < 50; i++) {
+                if (economy.withdraw(uuid, CurrencyType.COINS, 1.0)) {
+                    withdrawn.incrementAndGet();
+                }
+            }
+        });
+
+        // 8 threads try to withdraw 400 in total, but only the 100 available can succeed
+        assertEquals(100, withdrawn.get());
+        assertEquals(0.0, economy.getBalance(uuid, CurrencyType.COINS));
+    }
+
+    private void runConcurrently(Runnable task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
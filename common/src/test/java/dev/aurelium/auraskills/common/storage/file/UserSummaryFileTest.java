@@ -0,0 +1,152 @@
+package dev.aurelium.auraskills.common.storage.file;
+
+import dev.aurelium.auraskills.api.skill.Skill;
+import dev.aurelium.auraskills.api.skill.Skills;
+import dev.aurelium.auraskills.common.user.UserState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserSummaryFileTest {
+
+    private static final List<Skill> SKILLS = List.of(Skills.FARMING, Skills.MINING);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testUpdateAndRead() throws IOException {
+        UserSummaryFile file = UserSummaryFile.open(dir.resolve("summary.dat"), SKILLS);
+        assertTrue(file.needsRebuild());
+        UUID uuid = UUID.randomUUID();
+        file.update(uuid, 100, Map.of(Skills.FARMING, 5, Skills.MINING, 2), Map.of(Skills.FARMING, 12.5), 20.0);
+        // Skills missing from the maps keep their stored values
+        file.update(uuid, 200, Map.of(Skills.MINING, 3), Map.of(Skills.MINING, 1.0), 25.0);
+
+        UserState state = file.read(uuid);
+        assertNotNull(state);
+        assertEquals(Map.of(Skills.FARMING, 5, Skills.MINING, 3), state.skillLevels());
+        assertEquals(Map.of(Skills.FARMING, 12.5, Skills.MINING, 1.0), state.skillXp());
+        assertEquals(25.0, state.mana());
+        assertNull(file.read(UUID.randomUUID()));
+        file.close();
+    }
+
+    @Test
+    void testForEachOnlyReadsNewerRows() throws IOException {
+        UserSummaryFile file = UserSummaryFile.open(dir.resolve("summary.dat"), SKILLS);
+        UUID old = UUID.randomUUID();
+        UUID updated = UUID.randomUUID();
+        UUID removed = UUID.randomUUID();
+        file.update(old, 100, Map.of(Skills.FARMING, 1), Map.of(), 0);
+        file.update(updated, 300, Map.of(Skills.FARMING, 2), Map.of(), 0);
+        file.update(removed, 300, Map.of(Skills.FARMING, 3), Map.of(), 0);
+        file.remove(removed);
+
+        List<UUID> all = new ArrayList<>();
+        file.forEach(0, state -> all.add(state.uuid()));
+        assertEquals(List.of(old, updated), all);
+
+        List<UUID> newer = new ArrayList<>();
+        file.forEach(200, state -> newer.add(state.uuid()));
+        assertEquals(List.of(updated), newer);
+        file.close();
+    }
+
+    @Test
+    void testReopen() throws IOException {
+        Path path = dir.resolve("summary.dat");
+        UserSummaryFile file = UserSummaryFile.open(path, SKILLS);
+        UUID uuid = UUID.randomUUID();
+        // Enough rows to grow the file past its initial size
+        for (int i = 0; i < 2000; i++) {
+            file.update(i == 0 ? uuid : UUID.randomUUID(), 100, Map.of(Skills.MINING, i), Map.of(), 0);
+        }
+        file.close();
+
+        UserSummaryFile reopened = UserSummaryFile.open(path, SKILLS);
+        assertFalse(reopened.needsRebuild());
+        assertEquals(2000, reopened.size());
+        assertEquals(0, reopened.read(uuid).skillLevels().get(Skills.MINING));
+        reopened.close();
+
+        // The larger file of the previous layout is reused without truncating it
+        UserSummaryFile otherSkills = UserSummaryFile.open(path, List.of(Skills.FARMING));
+        assertTrue(otherSkills.needsRebuild());
+        assertEquals(0, otherSkills.size());
+        List<UUID> stale = new ArrayList<>();
+        otherSkills.forEach(0, state -> stale.add(state.uuid()));
+        assertTrue(stale.isEmpty());
+        otherSkills.update(uuid, 100, Map.of(Skills.FARMING, 7), Map.of(), 0);
+        otherSkills.close();
+
+        UserSummaryFile rebuilt = UserSummaryFile.open(path, List.of(Skills.FARMING));
+        assertFalse(rebuilt.needsRebuild());
+        assertEquals(1, rebuilt.size());
+        assertEquals(Map.of(Skills.FARMING, 7), rebuilt.read(uuid).skillLevels());
+        rebuilt.close();
+    }
+
+    @Test
+    void testRemovedRowsReused() throws IOException {
+        Path path = dir.resolve("summary.dat");
+        UserSummaryFile file = UserSummaryFile.open(path, SKILLS);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        file.update(first, 100, Map.of(Skills.FARMING, 1), Map.of(), 0);
+        file.update(second, 100, Map.of(Skills.FARMING, 2), Map.of(), 0);
+        file.remove(first);
+        file.update(third, 100, Map.of(Skills.MINING, 3), Map.of(), 0);
+
+        // The new user takes the removed user's row, and none of its old values
+        List<UUID> order = new ArrayList<>();
+        file.forEach(0, state -> order.add(state.uuid()));
+        assertEquals(List.of(third, second), order);
+        assertEquals(Map.of(Skills.MINING, 3), file.read(third).skillLevels());
+        file.remove(second);
+        file.close();
+
+        // Empty rows are found again when the file is reopened
+        UUID fourth = UUID.randomUUID();
+        UserSummaryFile reopened = UserSummaryFile.open(path, SKILLS);
+        reopened.update(fourth, 100, Map.of(Skills.FARMING, 4), Map.of(), 0);
+        order.clear();
+        reopened.forEach(0, state -> order.add(state.uuid()));
+        assertEquals(List.of(third, fourth), order);
+        reopened.close();
+    }
+
+    @Test
+    void testHasSkillsIgnoresOrder() throws IOException {
+        UserSummaryFile file = UserSummaryFile.open(dir.resolve("summary.dat"), SKILLS);
+        assertTrue(file.hasSkills(List.of(Skills.MINING, Skills.FARMING)));
+        assertFalse(file.hasSkills(List.of(Skills.MINING)));
+        assertFalse(file.hasSkills(List.of(Skills.MINING, Skills.FORAGING)));
+        file.close();
+    }
+
+    @Test
+    void testUncleanFileNeedsRebuild() throws IOException {
+        Path path = dir.resolve("summary.dat");
+        UserSummaryFile file = UserSummaryFile.open(path, SKILLS);
+        file.update(UUID.randomUUID(), 100, Map.of(Skills.MINING, 1), Map.of(), 0);
+        file.close();
+        // Opening marks the file in use until it is closed, like a server that crashed
+        UserSummaryFile.open(path, SKILLS);
+
+        UserSummaryFile unclean = UserSummaryFile.open(path, SKILLS);
+        assertTrue(unclean.needsRebuild());
+        assertEquals(0, unclean.size());
+        unclean.close();
+    }
+
+}
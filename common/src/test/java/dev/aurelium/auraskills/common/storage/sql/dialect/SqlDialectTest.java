@@ -0,0 +1,31 @@
+package dev.aurelium.auraskills.common.storage.sql.dialect;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SqlDialectTest {
+
+    @Test
+    void testOnConflictUpdate() {
+        assertEquals("ON DUPLICATE KEY UPDATE skill_level = VALUES(skill_level), skill_xp = VALUES(skill_xp)",
+                SqlDialect.MYSQL.onConflictUpdate("user_id, skill_name", "skill_level", "skill_xp"));
+        assertEquals("ON CONFLICT (user_id, skill_name) DO UPDATE SET skill_level = excluded.skill_level, skill_xp = excluded.skill_xp",
+                SqlDialect.SQLITE.onConflictUpdate("user_id, skill_name", "skill_level", "skill_xp"));
+    }
+
+    @Test
+    void testJsonArrayAgg() {
+        assertEquals("JSON_ARRAYAGG(JSON_OBJECT('name', s.skill_name, 'level', s.skill_level))",
+                SqlDialect.MYSQL.jsonArrayAgg("'name'", "s.skill_name", "'level'", "s.skill_level"));
+        assertEquals("json_group_array(json_object('name', s.skill_name, 'level', s.skill_level))",
+                SqlDialect.SQLITE.jsonArrayAgg("'name'", "s.skill_name", "'level'", "s.skill_level"));
+    }
+
+    @Test
+    void testKeyPart() {
+        assertEquals("modifier_type(64)", SqlDialect.MYSQL.keyPart("modifier_type", 64));
+        assertEquals("modifier_type", SqlDialect.SQLITE.keyPart("modifier_type", 64));
+    }
+
+}
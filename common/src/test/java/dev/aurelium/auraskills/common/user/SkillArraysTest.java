@@ -0,0 +1,50 @@
+package dev.aurelium.auraskills.common.user;
+
+import dev.aurelium.auraskills.api.skill.Skill;
+import dev.aurelium.auraskills.api.skill.Skills;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SkillArraysTest {
+
+    private final SkillArrays.Index index = new SkillArrays.Index(List.of(Skills.FARMING, Skills.MINING, Skills.FISHING));
+
+    @Test
+    void testIndexLookup() {
+        assertEquals(1, index.indexOf("auraskills/mining"));
+        assertEquals(-1, index.indexOf("auraskills/archery"));
+        assertEquals(-1, index.indexOf((String) null));
+    }
+
+    @Test
+    void testViewsMatchSetValues() {
+        SkillArrays skills = new SkillArrays(index);
+        skills.set(index.indexOf("auraskills/fishing"), 12, 40.5);
+        skills.set(index.indexOf("auraskills/farming"), 3, 1.0);
+
+        Map<Skill, Integer> levels = skills.levels();
+        Map<Skill, Double> xp = skills.xp();
+        assertEquals(Map.of(Skills.FARMING, 3, Skills.FISHING, 12), levels);
+        assertEquals(Map.of(Skills.FARMING, 1.0, Skills.FISHING, 40.5), xp);
+        assertFalse(levels.containsKey(Skills.MINING));
+        assertNull(levels.get(Skills.ARCHERY));
+        assertEquals(5, levels.getOrDefault(Skills.MINING, 5));
+    }
+
+    @Test
+    void testPut() {
+        SkillArrays skills = new SkillArrays(index);
+        Map<Skill, Integer> levels = skills.levels();
+        assertNull(levels.put(Skills.MINING, 7));
+        assertEquals(7, levels.put(Skills.MINING, 8));
+        assertEquals(1, levels.size());
+        assertEquals(8, skills.levels().get(Skills.MINING));
+        assertEquals(0.0, skills.xp().get(Skills.MINING));
+        assertThrows(IllegalArgumentException.class, () -> levels.put(Skills.ARCHERY, 1));
+    }
+
+}
@@ -0,0 +1,71 @@
+package dev.aurelium.auraskills.common.util.math.expression;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompiledExpressionTest {
+
+    private static final double DELTA = 1e-9;
+
+    @Test
+    void testArithmetic() {
+        assertEquals(7, CompiledExpression.compile("1 + 2 * 3").evaluate(), DELTA);
+        assertEquals(9, CompiledExpression.compile("(1 + 2) * 3").evaluate(), DELTA);
+        assertEquals(512, CompiledExpression.compile("2 ^ 3 ^ 2").evaluate(), DELTA);
+        assertEquals(1, CompiledExpression.compile("7 % 3").evaluate(), DELTA);
+        assertEquals(1500, CompiledExpression.compile("1.5e3").evaluate(), DELTA);
+        // Unary minus binds tighter than power like in EvalEx
+        assertEquals(4, CompiledExpression.compile("-2^2").evaluate(), DELTA);
+    }
+
+    @Test
+    void testVariables() {
+        CompiledExpression expression = CompiledExpression.compile("multiplier * level ^ 2 + base", "level", "multiplier", "base");
+        assertEquals(0, expression.slot("level"));
+        assertEquals(2, expression.slot("BASE"));
+        assertEquals(-1, expression.slot("missing"));
+        assertFalse(expression.isConstant());
+
+        double[] frame = expression.frame();
+        frame[0] = 3;
+        frame[1] = 10;
+        frame[2] = 100;
+        assertEquals(190, expression.evaluate(frame), DELTA);
+
+        CompiledExpression single = CompiledExpression.compile("-1*1.01^(-value)+1", "value");
+        assertEquals(-1 * Math.pow(1.01, -50) + 1, single.evaluate(50), DELTA);
+    }
+
+    @Test
+    void testFunctions() {
+        assertEquals(3, CompiledExpression.compile("max(1, 3, 2)").evaluate(), DELTA);
+        assertEquals(2, CompiledExpression.compile("average(1, 2, 3)").evaluate(), DELTA);
+        assertEquals(2.68, CompiledExpression.compile("round(2.675, 2)").evaluate(), DELTA);
+        assertEquals(120, CompiledExpression.compile("fact(5)").evaluate(), DELTA);
+        assertEquals(1, CompiledExpression.compile("sin(90)").evaluate(), DELTA);
+        assertEquals(5, CompiledExpression.compile("IF(x > 1, 5, 1 / 0)", "x").evaluate(2), DELTA);
+        assertEquals(1, CompiledExpression.compile("x >= 2 && x != 3", "x").evaluate(2), DELTA);
+        assertEquals(0, CompiledExpression.compile("x = 3 || !(x < 5)", "x").evaluate(4), DELTA);
+    }
+
+    @Test
+    void testConstantFolding() {
+        assertTrue(CompiledExpression.compile("PI * 2").isConstant());
+        assertFalse(CompiledExpression.compile("random()").isConstant());
+    }
+
+    @Test
+    void testErrors() {
+        assertThrows(ExpressionException.class, () -> CompiledExpression.compile(""));
+        assertThrows(ExpressionException.class, () -> CompiledExpression.compile("1 +"));
+        assertThrows(ExpressionException.class, () -> CompiledExpression.compile("(1 + 2"));
+        assertThrows(ExpressionException.class, () -> CompiledExpression.compile("level * 2"));
+        assertThrows(ExpressionException.class, () -> CompiledExpression.compile("unknown(2)"));
+        assertThrows(ExpressionException.class, () -> CompiledExpression.compile("round(2)"));
+        // Division by zero is thrown when evaluated rather than when folded
+        CompiledExpression divide = CompiledExpression.compile("1 / 0");
+        assertThrows(ExpressionException.class, divide::evaluate);
+    }
+
+}
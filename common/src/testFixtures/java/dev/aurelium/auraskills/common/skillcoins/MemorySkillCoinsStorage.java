@@ -0,0 +1,51 @@
+package dev.aurelium.auraskills.common.skillcoins;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Storage that keeps balances in memory. Saves can be made to fail to test how callers handle
+ * storage errors.
+ */
+public class MemorySkillCoinsStorage implements SkillCoinsStorage {
+
+    private final Map<UUID, Map<CurrencyType, Double>> balances = new ConcurrentHashMap<>();
+    private volatile boolean failing;
+
+    public Map<UUID, Map<CurrencyType, Double>> getBalances() {
+        return balances;
+    }
+
+    public void setFailing(boolean failing) {
+        this.failing = failing;
+    }
+
+    @Override
+    public Map<CurrencyType, Double> load(UUID uuid) {
+        return new HashMap<>(balances.getOrDefault(uuid, Map.of()));
+    }
+
+    @Override
+    public void save(UUID uuid, CurrencyType type, double amount) {
+        if (failing) {
+            throw new IllegalStateException("Failed to save balance of " + uuid);
+        }
+        balances.computeIfAbsent(uuid, k -> new ConcurrentHashMap<>()).put(type, amount);
+    }
+
+    @Override
+    public void saveAsync(UUID uuid, CurrencyType type, double amount) {
+        save(uuid, type, amount);
+    }
+
+    @Override
+    public void initialize() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+}
@@ -4,6 +4,7 @@ include("api")
 include("bukkit")
 include("common")
 include("api-bukkit")
+include("benchmarks")
 
 plugins {
     id("org.gradle.toolchains.foojay-resolver-convention") version ("1.0.0")